@@ -30,6 +30,12 @@ android {
         targetCompatibility = JavaVersion.VERSION_11
         isCoreLibraryDesugaringEnabled = true
     }
+    testOptions {
+        unitTests.all {
+            // ./gradlew test -Pbenchmark also runs the timing benchmarks
+            it.systemProperty("benchmark", project.hasProperty("benchmark"))
+        }
+    }
 }
 
 dependencies {
@@ -52,6 +58,7 @@ dependencies {
     testImplementation(libs.mockito.core)
     testImplementation(libs.robolectric)
     testImplementation(libs.androidx.test.core)
+    testImplementation(libs.mockwebserver)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
\ No newline at end of file
@@ -1,12 +1,29 @@
 package com.example.betreuer_app;
 
+import android.app.Activity;
 import android.app.Application;
+import android.content.Intent;
 import android.content.SharedPreferences;
+import android.os.Bundle;
+import android.widget.Toast;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatDelegate;
 
+import com.example.betreuer_app.api.SessionExpiryNotifier;
+import com.example.betreuer_app.repository.ReferenceDataCatalog;
+import com.example.betreuer_app.sync.MutationOutbox;
+import com.example.betreuer_app.sync.MutationResult;
+import com.example.betreuer_app.util.SessionManager;
+
 public class BetreuerApp extends Application {
 
+    // Null while no activity of the app is in front
+    private Activity resumedActivity;
+    // Set when the session expired while no activity was in front to show the login screen
+    private boolean loginPending;
+
     @Override
     /**
      * Initializes the activity and sets the theme based on user preferences.
@@ -22,5 +39,112 @@ public class BetreuerApp extends Application {
         } else {
             AppCompatDelegate.setDefaultNightMode(AppCompatDelegate.MODE_NIGHT_NO);
         }
+
+        registerActivityLifecycleCallbacks(new CurrentActivityTracker());
+        SessionExpiryNotifier.getSessionExpired().observeForever(expired -> {
+            loginPending = expired != null && expired;
+            if (loginPending && resumedActivity != null) {
+                redirectToLogin(resumedActivity);
+            }
+        });
+
+        // Resumes sending mutations left over from the last run
+        MutationOutbox outbox = MutationOutbox.getInstance(this);
+        outbox.getFailures().observeForever(this::showMutationFailure);
+
+        if (new SessionManager(this).isLoggedIn()) {
+            ReferenceDataCatalog.getInstance(this).prefetch();
+        }
+    }
+
+    /**
+     * Reports a queued change the server rejected after its screen was closed.
+     */
+    private void showMutationFailure(MutationResult result) {
+        if (result == null) {
+            return;
+        }
+        String action;
+        switch (result.getType()) {
+            case UPDATE_THESIS_STATUS:
+                action = "Status konnte nicht aktualisiert werden";
+                break;
+            case UPDATE_BILLING_STATUS:
+                action = "Rechnungsstatus konnte nicht aktualisiert werden";
+                break;
+            case RESPOND_TO_REQUEST:
+                action = "Antwort auf die Anfrage konnte nicht gesendet werden";
+                break;
+            case DELETE_REQUEST:
+                action = "Anfrage konnte nicht gelöscht werden";
+                break;
+            case CREATE_REQUEST:
+                action = "Anfrage konnte nicht gesendet werden";
+                break;
+            case CREATE_APPLICATION:
+                action = "Bewerbung konnte nicht gesendet werden";
+                break;
+            case UPLOAD_THESIS_DOCUMENT:
+                action = "Dokument konnte nicht hochgeladen werden";
+                break;
+            default:
+                action = "Änderung konnte nicht übernommen werden";
+                break;
+        }
+        Toast.makeText(this, action + " (Code: " + result.getCode() + ")", Toast.LENGTH_LONG).show();
+    }
+
+    /**
+     * Sends the user back to the login screen once per expired session, from the activity
+     * in front: the app may not start activities while it is in the background
+     * (Android 10+), so an expiry noticed there waits for the next resumed activity.
+     * Skipped when the login screen is already in front (e.g. during auto-login).
+     */
+    private void redirectToLogin(Activity activity) {
+        loginPending = false;
+        if (activity instanceof LoginActivity) {
+            return;
+        }
+        Toast.makeText(this, "Sitzung abgelaufen. Bitte erneut einloggen.", Toast.LENGTH_LONG).show();
+        Intent intent = new Intent(activity, LoginActivity.class);
+        intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+        activity.startActivity(intent);
+    }
+
+    private class CurrentActivityTracker implements ActivityLifecycleCallbacks {
+        @Override
+        public void onActivityResumed(@NonNull Activity activity) {
+            resumedActivity = activity;
+            if (loginPending) {
+                redirectToLogin(activity);
+            }
+        }
+
+        @Override
+        public void onActivityPaused(@NonNull Activity activity) {
+            if (resumedActivity == activity) {
+                resumedActivity = null;
+            }
+        }
+
+        @Override
+        public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
+        }
+
+        @Override
+        public void onActivityStarted(@NonNull Activity activity) {
+        }
+
+        @Override
+        public void onActivityStopped(@NonNull Activity activity) {
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+        }
+
+        @Override
+        public void onActivityDestroyed(@NonNull Activity activity) {
+        }
     }
 }
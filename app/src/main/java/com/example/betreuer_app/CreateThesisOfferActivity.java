@@ -10,7 +10,6 @@ import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.betreuer_app.model.CreateThesisOfferRequest;
 import com.example.betreuer_app.model.SubjectAreaResponse;
-import com.example.betreuer_app.model.SubjectAreaResponsePaginatedResponse;
 import com.example.betreuer_app.model.ThesisOfferApiModel;
 import com.example.betreuer_app.model.ThesisOfferStatusResponse;
 import com.example.betreuer_app.model.UpdateThesisOfferRequest;
@@ -124,73 +123,58 @@ public class CreateThesisOfferActivity extends AppCompatActivity {
     }
 
     private void loadSubjectAreas() {
-        subjectAreaRepository.getSubjectAreas(1, 50, new Callback<SubjectAreaResponsePaginatedResponse>() {
-            @Override
-            public void onResponse(Call<SubjectAreaResponsePaginatedResponse> call, Response<SubjectAreaResponsePaginatedResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    List<SubjectAreaResponse> areas = response.body().getItems();
-                    if (areas != null) {
-                        List<String> areaNames = new ArrayList<>();
-                        for (SubjectAreaResponse area : areas) {
-                            String name = area.getTitle();
-                            UUID id = area.getId();
-                            
-                            if (name != null && id != null) {
-                                areaNames.add(name);
-                                subjectAreaMap.put(name, id);
-                                
-                                if (isEditMode && preselectedSubjectAreaId != null && preselectedSubjectAreaId.equals(id)) {
-                                    dropdownSubjectArea.setText(name, false);
-                                }
-                            }
-                        }
+        subjectAreaRepository.getAllSubjectAreas(resource -> {
+            if (resource.isSuccess() && resource.getData() != null) {
+                List<String> areaNames = new ArrayList<>();
+                for (SubjectAreaResponse area : resource.getData()) {
+                    String name = area.getTitle();
+                    UUID id = area.getId();
+
+                    if (name != null && id != null) {
+                        areaNames.add(name);
+                        subjectAreaMap.put(name, id);
 
-                        ArrayAdapter<String> adapter = new ArrayAdapter<>(
-                                CreateThesisOfferActivity.this,
-                                android.R.layout.simple_dropdown_item_1line,
-                                areaNames
-                        );
-                        dropdownSubjectArea.setAdapter(adapter);
+                        if (isEditMode && preselectedSubjectAreaId != null && preselectedSubjectAreaId.equals(id)) {
+                            dropdownSubjectArea.setText(name, false);
+                        }
                     }
                 }
-            }
 
-            @Override
-            public void onFailure(Call<SubjectAreaResponsePaginatedResponse> call, Throwable t) {
+                ArrayAdapter<String> adapter = new ArrayAdapter<>(
+                        CreateThesisOfferActivity.this,
+                        android.R.layout.simple_dropdown_item_1line,
+                        areaNames
+                );
+                dropdownSubjectArea.setAdapter(adapter);
+            } else {
                 Toast.makeText(CreateThesisOfferActivity.this, "Fehler beim Laden der Fachbereiche", Toast.LENGTH_SHORT).show();
             }
         });
     }
 
     private void loadStatuses() {
-        thesisOfferRepository.getThesisOfferStatuses(new Callback<List<ThesisOfferStatusResponse>>() {
-            @Override
-            public void onResponse(Call<List<ThesisOfferStatusResponse>> call, Response<List<ThesisOfferStatusResponse>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    List<String> statusNames = new ArrayList<>();
-                    for (ThesisOfferStatusResponse status : response.body()) {
-                        statusNames.add(status.getName());
-                        statusMap.put(status.getName(), status.getId());
-                        
-                        // Try to preselect status if we have a matching name
-                        // Note: The EXTRA might contain the status name (e.g. "OPEN") directly
-                        if (preselectedStatus != null && preselectedStatus.equalsIgnoreCase(status.getName())) {
-                            dropdownStatus.setText(status.getName(), false);
-                        }
+        thesisOfferRepository.getThesisOfferStatuses(resource -> {
+            if (resource.isSuccess() && resource.getData() != null) {
+                List<String> statusNames = new ArrayList<>();
+                for (ThesisOfferStatusResponse status : resource.getData()) {
+                    statusNames.add(status.getName());
+                    statusMap.put(status.getName(), status.getId());
+
+                    // Try to preselect status if we have a matching name
+                    // Note: The EXTRA might contain the status name (e.g. "OPEN") directly
+                    if (preselectedStatus != null && preselectedStatus.equalsIgnoreCase(status.getName())) {
+                        dropdownStatus.setText(status.getName(), false);
                     }
-                    
-                    ArrayAdapter<String> adapter = new ArrayAdapter<>(
-                            CreateThesisOfferActivity.this,
-                            android.R.layout.simple_dropdown_item_1line,
-                            statusNames
-                    );
-                    dropdownStatus.setAdapter(adapter);
                 }
-            }
 
-            @Override
-            public void onFailure(Call<List<ThesisOfferStatusResponse>> call, Throwable t) {
-                 Toast.makeText(CreateThesisOfferActivity.this, "Fehler beim Laden der Status", Toast.LENGTH_SHORT).show();
+                ArrayAdapter<String> adapter = new ArrayAdapter<>(
+                        CreateThesisOfferActivity.this,
+                        android.R.layout.simple_dropdown_item_1line,
+                        statusNames
+                );
+                dropdownStatus.setAdapter(adapter);
+            } else {
+                Toast.makeText(CreateThesisOfferActivity.this, "Fehler beim Laden der Status", Toast.LENGTH_SHORT).show();
             }
         });
     }
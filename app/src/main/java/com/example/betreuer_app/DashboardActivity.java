@@ -1,7 +1,6 @@
 package com.example.betreuer_app;
 
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Bundle;
 import android.view.Menu;
 import android.view.MenuItem;
@@ -17,6 +16,7 @@ import com.example.betreuer_app.api.ApiClient;
 import com.example.betreuer_app.api.ThesisRequestApiService;
 import com.example.betreuer_app.repository.ThesisRepository;
 import com.example.betreuer_app.ui.DashboardUiHelper;
+import com.example.betreuer_app.util.SessionManager;
 import com.example.betreuer_app.viewmodel.DashboardViewModel;
 import com.example.betreuer_app.viewmodel.ViewModelFactory;
 import com.google.android.material.appbar.MaterialToolbar;
@@ -111,14 +111,6 @@ public class DashboardActivity extends AppCompatActivity {
                 }
             }
         });
-
-        // Observe session expiration
-        viewModel.getSessionExpired().observe(this, expired -> {
-            if (expired != null && expired) {
-                Toast.makeText(this, "Sitzung abgelaufen. Bitte erneut einloggen.", Toast.LENGTH_LONG).show();
-                logout();
-            }
-        });
     }
 
     /**
@@ -154,11 +146,8 @@ public class DashboardActivity extends AppCompatActivity {
     }
 
     private void logout() {
-        // Clear the token
-        SharedPreferences authPreferences = getSharedPreferences("auth_prefs", MODE_PRIVATE);
-        SharedPreferences.Editor editor = authPreferences.edit();
-        editor.clear();
-        editor.apply();
+        // Clear the token (prefs and in-memory cache)
+        new SessionManager(this).clearSession();
 
         // Navigate to LoginActivity
         Intent intent = new Intent(DashboardActivity.this, LoginActivity.class);
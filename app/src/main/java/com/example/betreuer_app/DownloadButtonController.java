@@ -0,0 +1,75 @@
+package com.example.betreuer_app;
+
+import android.widget.TextView;
+
+import androidx.lifecycle.LifecycleOwner;
+
+import com.example.betreuer_app.util.Resource;
+
+import java.util.function.Consumer;
+
+/**
+ * Shows a running {@link FileDownloader.Download} on the button that started it:
+ * the progress while it runs, a tap on the button cancels it, and the button's
+ * label comes back once it has finished.
+ */
+final class DownloadButtonController {
+
+    private final TextView button;
+    private CharSequence label;
+    private FileDownloader.Download running;
+
+    DownloadButtonController(TextView button) {
+        this.button = button;
+        this.label = button.getText();
+    }
+
+    /**
+     * Sets the button's label; shown once no download is running.
+     */
+    void setLabel(CharSequence label) {
+        this.label = label;
+        if (running == null) {
+            button.setText(label);
+        }
+    }
+
+    /**
+     * Cancels the running download, if any. Returns whether one was running.
+     */
+    boolean cancelRunning() {
+        if (running == null) {
+            return false;
+        }
+        running.cancel();
+        return true;
+    }
+
+    /**
+     * Shows the progress of {@code download}; {@code onFinished} gets its success or error.
+     */
+    void track(LifecycleOwner owner, FileDownloader.Download download,
+               Consumer<Resource<FileDownloader.Progress>> onFinished) {
+        running = download;
+        download.getState().observe(owner, resource -> {
+            if (resource == null || running != download) {
+                return;
+            }
+            if (resource.isLoading()) {
+                button.setText(progressText(resource.getData()));
+                return;
+            }
+            running = null;
+            button.setText(label);
+            onFinished.accept(resource);
+        });
+    }
+
+    private static String progressText(FileDownloader.Progress progress) {
+        if (progress == null || progress.getPercent() < 0) {
+            long kilobytes = progress != null ? progress.getBytesWritten() / 1024 : 0;
+            return "Abbrechen (" + kilobytes + " KB)";
+        }
+        return "Abbrechen (" + progress.getPercent() + " %)";
+    }
+}
@@ -20,27 +20,21 @@ import com.example.betreuer_app.api.ApiClient;
 import com.example.betreuer_app.api.SubjectAreaApiService;
 import com.example.betreuer_app.api.ThesisApiService;
 import com.example.betreuer_app.model.SubjectAreaResponse;
-import com.example.betreuer_app.model.SubjectAreaResponsePaginatedResponse;
 import com.example.betreuer_app.model.ThesisApiModel;
-import com.example.betreuer_app.model.ThesisDocumentResponse;
 import com.example.betreuer_app.repository.SubjectAreaRepository;
+import com.example.betreuer_app.repository.ThesisRepository;
+import com.example.betreuer_app.sync.MutationResult;
+import com.example.betreuer_app.ui.SuggestionAdapter;
 import com.example.betreuer_app.util.BillingStatusDisplayMapper;
 import com.example.betreuer_app.util.SessionManager;
 import com.example.betreuer_app.util.ThesisStatusHelper;
+import com.example.betreuer_app.viewmodel.DocumentDownloadViewModel;
 import com.example.betreuer_app.viewmodel.EditThesisViewModel;
 import com.example.betreuer_app.viewmodel.ViewModelFactory;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
-
-import okhttp3.MediaType;
-import okhttp3.MultipartBody;
-import okhttp3.RequestBody;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -54,6 +48,9 @@ public class EditThesisActivity extends AppCompatActivity {
     private TextView tvThesisStatus;
     private TextView tvBillingStatus;
     private MaterialButton btnDownloadDocument;
+    private DownloadButtonController downloadButton;
+    private DocumentDownloadViewModel downloads;
+    private final FileDownloader fileDownloader = new FileDownloader();
     private MaterialButton btnUploadDocument;
     private MaterialButton btnFindTutors;
     private MaterialButton btnSave;
@@ -70,7 +67,7 @@ public class EditThesisActivity extends AppCompatActivity {
     private java.util.Map<String, String> subjectAreaMap = new java.util.HashMap<>();
     private java.util.List<String> allSubjectAreaNames = new java.util.ArrayList<>();
 
-    private ActivityResultLauncher<String> filePickerLauncher;
+    private ActivityResultLauncher<String[]> filePickerLauncher;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -86,6 +83,7 @@ public class EditThesisActivity extends AppCompatActivity {
             tvThesisStatus = findViewById(R.id.tv_thesis_status);
             tvBillingStatus = findViewById(R.id.tv_billing_status);
             btnDownloadDocument = findViewById(R.id.btn_download_document);
+            downloadButton = new DownloadButtonController(btnDownloadDocument);
             btnUploadDocument = findViewById(R.id.btn_upload_document);
             btnSave = findViewById(R.id.btn_save_thesis);
             btnFindTutors = findViewById(R.id.btn_find_tutors);
@@ -101,6 +99,12 @@ public class EditThesisActivity extends AppCompatActivity {
 
             // Initialize ViewModel
             viewModel = createViewModel();
+            downloads = new ViewModelProvider(this).get(DocumentDownloadViewModel.class);
+            FileDownloader.Download runningDownload = downloads.getRunning();
+            if (runningDownload != null) {
+                // Started before a configuration change
+                trackDownload(runningDownload);
+            }
 
             if (getIntent().hasExtra("THESIS_ID")) {
                 thesisId = getIntent().getStringExtra("THESIS_ID");
@@ -114,16 +118,22 @@ public class EditThesisActivity extends AppCompatActivity {
             }
 
             btnSave.setOnClickListener(v -> saveThesisDetails());
-            btnDownloadDocument.setOnClickListener(v -> downloadDocument());
+            btnDownloadDocument.setOnClickListener(v -> {
+                if (!downloadButton.cancelRunning()) {
+                    downloadDocument();
+                }
+            });
             btnUploadDocument.setOnClickListener(v -> selectDocumentForUpload());
             btnFindTutors.setOnClickListener(v -> findTutors());
 
-            filePickerLauncher = registerForActivityResult(new ActivityResultContracts.GetContent(),
+            // OpenDocument, so read access to the document can be kept until the upload is through
+            filePickerLauncher = registerForActivityResult(new ActivityResultContracts.OpenDocument(),
                     uri -> {
                         if (uri != null) {
                             selectedDocumentUri = uri;
                             tvCurrentDocument.setText("Neues Dokument ausgewählt: " + getFileName(uri));
                             btnUploadDocument.setEnabled(true);
+                            uploadDocument();
                         }
                     });
 
@@ -185,25 +195,6 @@ public class EditThesisActivity extends AppCompatActivity {
                 Toast.makeText(this, resource.getMessage(), Toast.LENGTH_SHORT).show();
             }
         });
-
-        // Observe upload result
-        viewModel.getUploadResult().observe(this, resource -> {
-            if (resource.isSuccess()) {
-                Toast.makeText(this, "Dokument erfolgreich hochgeladen", Toast.LENGTH_SHORT).show();
-                finish();
-            } else if (resource.isError()) {
-                Toast.makeText(this, resource.getMessage(), Toast.LENGTH_LONG).show();
-            }
-        });
-
-        // Observe download result
-        viewModel.getDownloadResult().observe(this, resource -> {
-            if (resource.isSuccess() && resource.getData() != null) {
-                saveDownloadedFile(resource.getData(), viewModel.getDocumentFileName());
-            } else if (resource.isError()) {
-                Toast.makeText(this, resource.getMessage(), Toast.LENGTH_SHORT).show();
-            }
-        });
     }
 
     /**
@@ -281,6 +272,10 @@ public class EditThesisActivity extends AppCompatActivity {
         }
     }
 
+    /**
+     * Queues the selected document for upload. It is sent in the background and keeps
+     * going when this screen is closed; while the screen is open it shows the progress.
+     */
     private void uploadDocument() {
         try {
             if (selectedDocumentUri == null) {
@@ -288,50 +283,48 @@ public class EditThesisActivity extends AppCompatActivity {
                 return;
             }
 
-            File file = createFileFromUri(selectedDocumentUri);
-            String mimeType = getContentResolver().getType(selectedDocumentUri);
-            if (mimeType == null) {
-                mimeType = "application/octet-stream";
-            }
-            RequestBody requestFile = RequestBody.create(MediaType.parse(mimeType), file);
-            MultipartBody.Part body = MultipartBody.Part.createFormData("document", file.getName(), requestFile);
-
-            thesisApiService.updateThesisDocument(thesisId, body).enqueue(new Callback<ThesisDocumentResponse>() {
-                @Override
-                public void onResponse(Call<ThesisDocumentResponse> call, Response<ThesisDocumentResponse> response) {
-                    try {
-                        if (response.isSuccessful()) {
-                            Toast.makeText(EditThesisActivity.this, "Dokument erfolgreich hochgeladen", Toast.LENGTH_SHORT).show();
-                            finish();
-                        } else {
-                            try {
-                                String errorBody = response.errorBody() != null ? response.errorBody().string() : "Unknown error";
-                                Toast.makeText(EditThesisActivity.this, "Fehler beim Hochladen: " + errorBody, Toast.LENGTH_LONG).show();
-                            } catch (IOException e) {
-                                Toast.makeText(EditThesisActivity.this, "Fehler beim Hochladen (Code: " + response.code() + ")", Toast.LENGTH_SHORT).show();
-                            }
-                        }
-                    } catch (Exception e) {
-                        Toast.makeText(EditThesisActivity.this, "Fehler: " + e.getMessage(), Toast.LENGTH_LONG).show();
-                        e.printStackTrace();
-                    }
-                }
-
-                @Override
-                public void onFailure(Call<ThesisDocumentResponse> call, Throwable t) {
-                    Toast.makeText(EditThesisActivity.this, "Netzwerkfehler: " + t.getMessage(), Toast.LENGTH_LONG).show();
-                    t.printStackTrace();
-                }
-            });
-        } catch (IOException e) {
-            Toast.makeText(this, "Fehler beim Verarbeiten der Datei: " + e.getMessage(), Toast.LENGTH_LONG).show();
-            e.printStackTrace();
+            String fileName = getFileName(selectedDocumentUri);
+            new ThesisRepository(getApplicationContext())
+                    .uploadDocument(thesisId, selectedDocumentUri, fileName)
+                    .observe(this, result -> showUploadState(result, fileName));
         } catch (Exception e) {
             Toast.makeText(this, "Unerwarteter Fehler: " + e.getMessage(), Toast.LENGTH_LONG).show();
             e.printStackTrace();
         }
     }
 
+    private void showUploadState(MutationResult result, String fileName) {
+        if (result == null) {
+            return;
+        }
+        switch (result.getState()) {
+            case QUEUED:
+                tvCurrentDocument.setText("Wird hochgeladen: " + fileName);
+                break;
+            case SENDING:
+                if (result.getTotalBytes() > 0) {
+                    long percent = result.getBytesSent() * 100 / result.getTotalBytes();
+                    tvCurrentDocument.setText("Wird hochgeladen: " + fileName + " (" + percent + " %)");
+                } else {
+                    tvCurrentDocument.setText("Wird hochgeladen: " + fileName + " (" + result.getBytesSent() / 1024 + " KB)");
+                }
+                break;
+            case RETRYING:
+                tvCurrentDocument.setText("Upload wird wiederholt: " + fileName);
+                break;
+            case SUCCEEDED:
+                tvCurrentDocument.setText("Aktuelles Dokument: " + fileName);
+                Toast.makeText(this, "Dokument erfolgreich hochgeladen", Toast.LENGTH_SHORT).show();
+                break;
+            case FAILED:
+                tvCurrentDocument.setText("Upload fehlgeschlagen: " + fileName);
+                Toast.makeText(this, "Fehler beim Hochladen: " + result.getMessage(), Toast.LENGTH_LONG).show();
+                break;
+            default:
+                break;
+        }
+    }
+
     private void downloadDocument() {
         try {
             if (currentThesis == null || currentThesis.getDocumentFileName() == null) {
@@ -339,60 +332,34 @@ public class EditThesisActivity extends AppCompatActivity {
                 return;
             }
 
-            thesisApiService.downloadThesisDocument(thesisId).enqueue(new Callback<okhttp3.ResponseBody>() {
-                @Override
-                public void onResponse(Call<okhttp3.ResponseBody> call, Response<okhttp3.ResponseBody> response) {
-                    try {
-                        if (response.isSuccessful() && response.body() != null) {
-                            saveDownloadedFile(response.body(), currentThesis.getDocumentFileName());
-                        } else {
-                            Toast.makeText(EditThesisActivity.this, "Fehler beim Herunterladen des Dokuments", Toast.LENGTH_SHORT).show();
-                        }
-                    } catch (Exception e) {
-                        Toast.makeText(EditThesisActivity.this, "Fehler beim Speichern: " + e.getMessage(), Toast.LENGTH_LONG).show();
-                        e.printStackTrace();
-                    }
-                }
-
-                @Override
-                public void onFailure(Call<okhttp3.ResponseBody> call, Throwable t) {
-                    Toast.makeText(EditThesisActivity.this, "Netzwerkfehler: " + t.getMessage(), Toast.LENGTH_LONG).show();
-                    t.printStackTrace();
-                }
-            });
+            String fileName = currentThesis.getDocumentFileName();
+            FileDownloader.Download download = fileDownloader.download(this, currentThesis.getDocumentId(),
+                    "thesis-" + thesisId,
+                    (range, ifRange) -> thesisApiService.downloadThesisDocument(thesisId, range, ifRange), fileName);
+            downloads.start(download, fileName);
+            trackDownload(download);
         } catch (Exception e) {
             Toast.makeText(this, "Fehler beim Download: " + e.getMessage(), Toast.LENGTH_LONG).show();
             e.printStackTrace();
         }
     }
 
-    private void selectDocumentForUpload() {
-        try {
-            filePickerLauncher.launch("*/*");
-        } catch (Exception e) {
-            Toast.makeText(this, "Fehler beim Öffnen der Dateiauswahl: " + e.getMessage(), Toast.LENGTH_LONG).show();
-            e.printStackTrace();
-        }
+    private void trackDownload(FileDownloader.Download download) {
+        downloadButton.track(this, download, resource -> {
+            if (resource.isSuccess()) {
+                Toast.makeText(this, "Dokument heruntergeladen: " + downloads.getFileName(), Toast.LENGTH_LONG).show();
+            } else {
+                Toast.makeText(this, resource.getMessage(), Toast.LENGTH_LONG).show();
+            }
+        });
     }
 
-    private File createFileFromUri(Uri uri) throws IOException {
+    private void selectDocumentForUpload() {
         try {
-            File tempFile = File.createTempFile("upload", ".tmp", getCacheDir());
-            try (InputStream inputStream = getContentResolver().openInputStream(uri);
-                 FileOutputStream outputStream = new FileOutputStream(tempFile)) {
-                if (inputStream == null) {
-                    throw new IOException("Cannot open input stream");
-                }
-                byte[] buffer = new byte[1024];
-                int length;
-                while ((length = inputStream.read(buffer)) > 0) {
-                    outputStream.write(buffer, 0, length);
-                }
-            }
-            return tempFile;
+            filePickerLauncher.launch(new String[]{"*/*"});
         } catch (Exception e) {
+            Toast.makeText(this, "Fehler beim Öffnen der Dateiauswahl: " + e.getMessage(), Toast.LENGTH_LONG).show();
             e.printStackTrace();
-            throw new IOException("Failed to create file from URI: " + e.getMessage(), e);
         }
     }
 
@@ -428,46 +395,6 @@ public class EditThesisActivity extends AppCompatActivity {
         }
     }
 
-    private void saveDownloadedFile(okhttp3.ResponseBody body, String fileName) {
-        try {
-            File downloadsDir = android.os.Environment.getExternalStoragePublicDirectory(android.os.Environment.DIRECTORY_DOWNLOADS);
-            File file = new File(downloadsDir, fileName);
-
-            try (InputStream inputStream = body.byteStream();
-                 FileOutputStream outputStream = new FileOutputStream(file)) {
-
-                byte[] buffer = new byte[4096];
-                int length;
-                while ((length = inputStream.read(buffer)) > 0) {
-                    outputStream.write(buffer, 0, length);
-                }
-                outputStream.flush();
-            }
-
-            Toast.makeText(this, "Dokument heruntergeladen: " + file.getAbsolutePath(), Toast.LENGTH_LONG).show();
-
-        } catch (IOException e) {
-            Toast.makeText(this, "Fehler beim Speichern der Datei: " + e.getMessage(), Toast.LENGTH_LONG).show();
-            e.printStackTrace();
-        }
-    }
-
-    private void loadSubjectAreas() {
-        subjectAreaRepository.getSubjectAreas(1, 100, new Callback<SubjectAreaResponsePaginatedResponse>() {
-            @Override
-            public void onResponse(Call<SubjectAreaResponsePaginatedResponse> call, Response<SubjectAreaResponsePaginatedResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    updateDropdown(response.body().getItems());
-                }
-            }
-
-            @Override
-            public void onFailure(Call<SubjectAreaResponsePaginatedResponse> call, Throwable t) {
-                // Silently fail, user can still attempt to search
-            }
-        });
-    }
-
     private void setupSubjectAreaSearch() {
         dropdownSubjectArea.addTextChangedListener(new TextWatcher() {
             @Override
@@ -475,6 +402,10 @@ public class EditThesisActivity extends AppCompatActivity {
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
+                if (dropdownSubjectArea.isPerformingCompletion()) {
+                    // A suggestion was picked; no need to search for it
+                    return;
+                }
                 if (s.length() >= 2) {
                     // Start searching after 2 characters
                     viewModel.searchSubjectAreas(s.toString());
@@ -509,12 +440,17 @@ public class EditThesisActivity extends AppCompatActivity {
 
     private void updateDropdown(java.util.List<SubjectAreaResponse> areas) {
         if (areas != null && !areas.isEmpty()) {
-            // Update the adapter with ViewModel's names
-            ArrayAdapter<String> adapter = new ArrayAdapter<>(
-                    EditThesisActivity.this,
-                    android.R.layout.simple_dropdown_item_1line,
-                    viewModel.getSubjectAreaNames());
-            dropdownSubjectArea.setAdapter(adapter);
+            java.util.List<String> areaNames = new java.util.ArrayList<>();
+            for (SubjectAreaResponse area : areas) {
+                if (area.getTitle() != null && area.getId() != null) {
+                    areaNames.add(area.getTitle());
+                }
+            }
+            // The suggestions already match the typed text; the adapter must not filter them again
+            dropdownSubjectArea.setAdapter(new SuggestionAdapter(EditThesisActivity.this, areaNames));
+            if (dropdownSubjectArea.hasFocus() && dropdownSubjectArea.getText().length() > 0) {
+                dropdownSubjectArea.showDropDown();
+            }
         }
     }
 
@@ -560,7 +496,7 @@ public class EditThesisActivity extends AppCompatActivity {
     private void updateDocumentDisplay() {
         if (viewModel.hasDocument()) {
             btnDownloadDocument.setVisibility(View.VISIBLE);
-            btnDownloadDocument.setText("Exposé herunterladen (" + viewModel.getDocumentFileName() + ")");
+            downloadButton.setLabel("Exposé herunterladen (" + viewModel.getDocumentFileName() + ")");
             tvCurrentDocument.setVisibility(View.GONE); // Hide the text view since button shows the filename
         } else {
             btnDownloadDocument.setVisibility(View.GONE);
@@ -1,37 +1,261 @@
 package com.example.betreuer_app;
 
+import android.content.ContentResolver;
 import android.content.ContentValues;
 import android.content.Context;
+import android.database.Cursor;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Environment;
+import android.os.SystemClock;
 import android.provider.MediaStore;
 import android.util.Log;
 
 import androidx.annotation.RequiresApi;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.betreuer_app.local.DocumentCache;
+import com.example.betreuer_app.util.Resource;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Response;
 
+/**
+ * Downloads documents into the public Downloads folder.
+ *
+ * The request is executed and its body streamed to disk on a background thread, so
+ * large (@Streaming) documents never block the UI. Progress is reported through
+ * {@link Download#getState()}.
+ *
+ * The bytes first go to a {@link PartialDownload} in the app's cache. A dropped
+ * connection is retried with a Range request from where it stopped (validated with
+ * If-Range), as is a later download of the same document after a failure, so every
+ * byte is transferred only once unless the document changed on the server. The
+ * complete document moves to the {@link DocumentCache} and is copied to Downloads from
+ * there; a cancelled download removes everything written so far, including the pending
+ * MediaStore entry.
+ *
+ * Only one download per key runs at a time, since they share the partial file: asking
+ * for a key that is still downloading returns the running {@link Download}.
+ */
 public class FileDownloader {
 
+    /**
+     * Creates the request for a document.
+     */
+    public interface DocumentRequest {
+        /**
+         * @param range   the Range header to send, or null for the whole document
+         * @param ifRange the If-Range header to send with it, or null
+         */
+        Call<ResponseBody> create(String range, String ifRange);
+    }
+
     private static final String TAG = "FileDownloader";
+    private static final String PARTIAL_DIRECTORY = "downloads";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long PROGRESS_INTERVAL_MILLIS = 100;
+    // Attempts in a row that fail without receiving a single new byte
+    private static final int MAX_FAILED_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private static final ExecutorService DOWNLOAD_EXECUTOR =
+            Executors.newFixedThreadPool(2, r -> new Thread(r, "file-download"));
+    // One buffer per download thread, reused for every download it runs
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+    // Guarded by itself
+    private static final Map<String, Download> RUNNING = new HashMap<>();
+
+    /**
+     * Starts downloading a document and saving it as {@code fileName}. Can be called
+     * from the main thread.
+     *
+     * @param documentId the document's id; a document downloaded before is taken from the
+     *                   {@link DocumentCache} and not saved again if the saved copy still
+     *                   exists. May be null, then nothing is cached.
+     * @param key        identifies the download, e.g. {@code "thesis-<id>"}; a failed download
+     *                   with the same key is continued, a running one is returned as it is
+     */
+    public Download download(Context context, UUID documentId, String key, DocumentRequest request, String fileName) {
+        Context appContext = context.getApplicationContext();
+        Download download;
+        Download previous;
+        synchronized (RUNNING) {
+            previous = RUNNING.get(key);
+            if (previous != null && !previous.isCancelled()) {
+                return previous;
+            }
+            download = new Download();
+            RUNNING.put(key, download);
+        }
+        download.state.setValue(Resource.loading(new Progress(0, -1)));
+        DOWNLOAD_EXECUTOR.execute(() -> {
+            try {
+                if (previous != null) {
+                    // A cancelled download still cleaning up its partial file
+                    previous.awaitFinished();
+                }
+                run(appContext, download, documentId, key, request, fileName);
+            } finally {
+                synchronized (RUNNING) {
+                    RUNNING.remove(key, download);
+                }
+                download.finished.countDown();
+            }
+        });
+        return download;
+    }
+
+    private void run(Context context, Download download, UUID documentId, String key,
+                     DocumentRequest request, String fileName) {
+        DocumentCache cache = documentId != null ? DocumentCache.getInstance(context) : null;
+        File document = cache != null ? cache.get(documentId) : null;
+        PartialDownload partial = null;
+        if (document != null) {
+            download.progress = new Progress(document.length(), document.length());
+        } else {
+            partial = PartialDownload.open(new File(context.getCacheDir(), PARTIAL_DIRECTORY), key);
+            if (!fetch(partial, download, request)) {
+                if (download.isCancelled()) {
+                    partial.delete();
+                }
+                return;
+            }
+            document = partial.getFile();
+            if (cache != null) {
+                try {
+                    document = cache.put(documentId, document);
+                    partial.delete();
+                    partial = null;
+                } catch (IOException e) {
+                    Log.w(TAG, "Failed to cache document " + documentId, e);
+                }
+            }
+        }
+
+        String savedLocation = cache != null ? cache.getSavedLocation(documentId) : null;
+        if (savedLocation != null && exists(context, savedLocation)) {
+            // Saved before and still there; another copy would only be a duplicate
+            download.state.postValue(Resource.success(download.progress));
+            return;
+        }
 
-    public boolean writeResponseBodyToDisk(Context context, ResponseBody body, String fileName) {
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
-            return saveFileWithMediaStore(context, body, fileName);
+            savedLocation = saveFileWithMediaStore(context, document, fileName, download);
+        } else {
+            savedLocation = saveFileLegacy(document, fileName, download);
+        }
+
+        if (savedLocation != null) {
+            if (cache != null) {
+                cache.setSavedLocation(documentId, savedLocation);
+            }
+            if (partial != null) {
+                partial.delete();
+            }
+            download.state.postValue(Resource.success(download.progress));
         } else {
-            return saveFileLegacy(body, fileName);
+            if (download.isCancelled() && partial != null) {
+                partial.delete();
+            }
+            download.fail("Fehler beim Speichern der Datei", 0);
+        }
+    }
+
+    /**
+     * Downloads the document into {@code partial}, resuming after dropped connections.
+     * Returns false after reporting the failure.
+     */
+    private boolean fetch(PartialDownload partial, Download download, DocumentRequest request) {
+        int failedAttempts = 0;
+        while (true) {
+            if (download.isCancelled()) {
+                download.fail(null, 0);
+                return false;
+            }
+            long lengthBefore = partial.length();
+            String range = partial.rangeHeader();
+            Call<ResponseBody> call = request.create(range, range != null ? partial.getValidator() : null);
+            download.setCall(call);
+            try {
+                Response<ResponseBody> response = call.execute();
+                return transfer(response, partial, range != null, download);
+            } catch (IOException e) {
+                Log.w(TAG, "Download interrupted at " + partial.length() + " bytes.", e);
+                if (partial.length() > lengthBefore) {
+                    failedAttempts = 0;
+                }
+                if (download.isCancelled() || ++failedAttempts >= MAX_FAILED_ATTEMPTS) {
+                    download.fail("Netzwerkfehler: " + e.getMessage(), 0);
+                    return false;
+                }
+                SystemClock.sleep(RETRY_DELAY_MILLIS * failedAttempts);
+            }
+        }
+    }
+
+    /**
+     * Writes the body of {@code response} into {@code partial}. Returns false after
+     * reporting an unsuccessful response; throws if the transfer should be retried.
+     */
+    private boolean transfer(Response<ResponseBody> response, PartialDownload partial, boolean resumed,
+                             Download download) throws IOException {
+        try (ResponseBody body = response.body()) {
+            if (response.code() == 416) {
+                // What we have does not fit the document any more
+                partial.delete();
+                throw new IOException("Range not satisfiable");
+            }
+            if (!response.isSuccessful() || body == null) {
+                download.fail("Download fehlgeschlagen", response.code());
+                return false;
+            }
+
+            long offset;
+            long totalBytes;
+            OutputStream outputStream;
+            if (response.code() == 206) {
+                String contentRange = response.headers().get("Content-Range");
+                if (!resumed || PartialDownload.contentRangeStart(contentRange) != partial.length()) {
+                    partial.delete();
+                    throw new IOException("Unexpected range: " + contentRange);
+                }
+                offset = partial.length();
+                totalBytes = PartialDownload.contentRangeTotal(contentRange);
+                outputStream = partial.append(totalBytes);
+            } else {
+                // The whole document: a first request, or the server ignored the range
+                // because the document has changed
+                offset = 0;
+                totalBytes = body.contentLength();
+                outputStream = partial.restart(PartialDownload.validatorOf(response.headers()), totalBytes);
+            }
+
+            try (InputStream inputStream = body.byteStream(); OutputStream out = outputStream) {
+                writeStream(inputStream, out, offset, totalBytes, download);
+            }
+            return true;
         }
     }
 
     @RequiresApi(api = Build.VERSION_CODES.Q)
-    private boolean saveFileWithMediaStore(Context context, ResponseBody body, String fileName) {
+    private String saveFileWithMediaStore(Context context, File source, String fileName, Download download) {
         ContentValues values = new ContentValues();
         values.put(MediaStore.Downloads.DISPLAY_NAME, fileName);
         values.put(MediaStore.Downloads.MIME_TYPE, "application/octet-stream");
@@ -40,48 +264,64 @@ public class FileDownloader {
         Uri uri = context.getContentResolver().insert(MediaStore.Downloads.EXTERNAL_CONTENT_URI, values);
         if (uri == null) {
             Log.e(TAG, "Failed to create new MediaStore record.");
-            return false;
+            return null;
         }
 
-        try (InputStream inputStream = body.byteStream();
+        try (InputStream inputStream = new FileInputStream(source);
              OutputStream outputStream = context.getContentResolver().openOutputStream(uri)) {
             if (outputStream == null) {
                 Log.e(TAG, "Failed to open output stream for URI: " + uri);
                 context.getContentResolver().delete(uri, null, null); // Clean up pending entry
-                return false;
+                return null;
             }
 
-            writeStream(inputStream, outputStream);
+            copy(inputStream, outputStream, download);
 
             values.clear();
             values.put(MediaStore.Downloads.IS_PENDING, 0);
             context.getContentResolver().update(uri, values, null, null);
-            return true;
+            return uri.toString();
         } catch (IOException e) {
             Log.e(TAG, "Failed to save file.", e);
-            // If the download fails, delete the created entry
+            // If saving fails or is cancelled, delete the created entry
             context.getContentResolver().delete(uri, null, null);
-            return false;
+            return null;
         }
     }
 
-    private boolean saveFileLegacy(ResponseBody body, String fileName) {
+    private String saveFileLegacy(File source, String fileName, Download download) {
         File downloadDir = Environment.getExternalStoragePublicDirectory(Environment.DIRECTORY_DOWNLOADS);
         if (!downloadDir.exists()) {
             if (!downloadDir.mkdirs()) {
                 Log.e(TAG, "Failed to create download directory: " + downloadDir.getAbsolutePath());
-                return false;
+                return null;
             }
         }
 
         File file = createUniqueFile(downloadDir, fileName);
 
-        try (InputStream inputStream = body.byteStream();
+        try (InputStream inputStream = new FileInputStream(source);
              OutputStream outputStream = new FileOutputStream(file)) {
-            writeStream(inputStream, outputStream);
-            return true;
+            copy(inputStream, outputStream, download);
+            return file.getAbsolutePath();
         } catch (IOException e) {
             Log.e(TAG, "Failed to save file.", e);
+            if (file.exists() && !file.delete()) {
+                Log.w(TAG, "Failed to delete partial file: " + file.getAbsolutePath());
+            }
+            return null;
+        }
+    }
+
+    private boolean exists(Context context, String location) {
+        if (!location.startsWith(ContentResolver.SCHEME_CONTENT)) {
+            return new File(location).exists();
+        }
+        try (Cursor cursor = context.getContentResolver().query(Uri.parse(location),
+                new String[]{MediaStore.MediaColumns._ID}, null, null, null)) {
+            return cursor != null && cursor.moveToFirst();
+        } catch (RuntimeException e) {
+            // No longer ours or no longer there
             return false;
         }
     }
@@ -110,11 +350,141 @@ public class FileDownloader {
         return file;
     }
 
-    private void writeStream(InputStream inputStream, OutputStream outputStream) throws IOException {
-        byte[] buffer = new byte[4096];
+    private void writeStream(InputStream inputStream, OutputStream outputStream, long offset, long totalBytes,
+                             Download download) throws IOException {
+        byte[] buffer = BUFFER.get();
+        long written = offset;
+        long lastReportAt = 0;
+        int bytesRead;
+        download.report(new Progress(written, totalBytes));
+        while ((bytesRead = inputStream.read(buffer)) != -1) {
+            if (download.isCancelled()) {
+                throw new InterruptedIOException("Download cancelled");
+            }
+            outputStream.write(buffer, 0, bytesRead);
+            written += bytesRead;
+
+            long now = SystemClock.elapsedRealtime();
+            if (now - lastReportAt >= PROGRESS_INTERVAL_MILLIS) {
+                lastReportAt = now;
+                download.report(new Progress(written, totalBytes));
+            }
+        }
+        outputStream.flush();
+        if (totalBytes >= 0 && written < totalBytes) {
+            // The connection ended early without an error
+            throw new IOException("Expected " + totalBytes + " bytes, got " + written);
+        }
+        download.progress = new Progress(written, totalBytes);
+    }
+
+    private void copy(InputStream inputStream, OutputStream outputStream, Download download) throws IOException {
+        byte[] buffer = BUFFER.get();
         int bytesRead;
         while ((bytesRead = inputStream.read(buffer)) != -1) {
+            if (download.isCancelled()) {
+                throw new InterruptedIOException("Download cancelled");
+            }
             outputStream.write(buffer, 0, bytesRead);
         }
+        outputStream.flush();
+    }
+
+    /**
+     * A running download.
+     */
+    public static final class Download {
+        private final MutableLiveData<Resource<Progress>> state = new MutableLiveData<>();
+        private volatile Call<ResponseBody> call;
+        private volatile boolean cancelled;
+        private volatile Progress progress = new Progress(0, -1);
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        Download() {
+        }
+
+        /**
+         * Whether the download has stopped, after success, failure or cancellation.
+         */
+        public boolean isFinished() {
+            return finished.getCount() == 0;
+        }
+
+        private void awaitFinished() {
+            try {
+                finished.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Loading with the bytes written so far, then success, or error with a message to show.
+         */
+        public LiveData<Resource<Progress>> getState() {
+            return state;
+        }
+
+        /**
+         * Stops the download and deletes the partly written file; the state ends as an error.
+         */
+        public void cancel() {
+            cancelled = true;
+            Call<ResponseBody> running = call;
+            if (running != null) {
+                running.cancel();
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void setCall(Call<ResponseBody> call) {
+            this.call = call;
+            if (cancelled) {
+                call.cancel();
+            }
+        }
+
+        private void report(Progress progress) {
+            this.progress = progress;
+            state.postValue(Resource.loading(progress));
+        }
+
+        private void fail(String message, int code) {
+            state.postValue(Resource.error(cancelled ? "Download abgebrochen" : message, progress, code));
+        }
+    }
+
+    /**
+     * Bytes written so far out of {@code totalBytes}, which is -1 if the server did not send a length.
+     */
+    public static final class Progress {
+        private final long bytesWritten;
+        private final long totalBytes;
+
+        Progress(long bytesWritten, long totalBytes) {
+            this.bytesWritten = bytesWritten;
+            this.totalBytes = totalBytes;
+        }
+
+        public long getBytesWritten() {
+            return bytesWritten;
+        }
+
+        public long getTotalBytes() {
+            return totalBytes;
+        }
+
+        /**
+         * Returns 0 to 100, or -1 while the total size is unknown.
+         */
+        public int getPercent() {
+            if (totalBytes <= 0) {
+                return -1;
+            }
+            return (int) Math.min(100, bytesWritten * 100 / totalBytes);
+        }
     }
 }
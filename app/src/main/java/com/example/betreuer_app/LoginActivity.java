@@ -18,6 +18,7 @@ import com.example.betreuer_app.model.LoggedInUser;
 import com.example.betreuer_app.model.LoginResponse;
 import com.example.betreuer_app.model.ThesesResponse;
 import com.example.betreuer_app.repository.LoginRepository;
+import com.example.betreuer_app.repository.ReferenceDataCatalog;
 import com.example.betreuer_app.repository.ThesisRepository;
 import com.example.betreuer_app.util.SessionManager;
 import com.google.android.material.switchmaterial.SwitchMaterial;
@@ -182,6 +183,8 @@ public class LoginActivity extends AppCompatActivity {
      */
     private void saveUserData(LoggedInUser user, String role, String token) {
         sessionManager.saveUserSession(token, user.getId(), user.getEmail(), role);
+        // Warm the lookup lists so the first forms open without waiting for them
+        ReferenceDataCatalog.getInstance(this).prefetch();
 
         // Also save user name for backward compatibility with DashboardActivity
         SharedPreferences authPreferences = getSharedPreferences(AuthConstants.PREFS_NAME, MODE_PRIVATE);
@@ -233,7 +236,7 @@ public class LoginActivity extends AppCompatActivity {
         // Validate we have all required data
         if (token == null || savedName == null || savedRole == null) {
             // Missing data - clear session and show login
-            sessionManager.clearSession();
+            sessionManager.expireSession();
             showLogin();
             return;
         }
@@ -260,7 +263,7 @@ public class LoginActivity extends AppCompatActivity {
                     navigateToDashboard(savedName, savedRole);
                 } else {
                     // Token invalid - clear session and show login
-                    sessionManager.clearSession();
+                    sessionManager.expireSession();
                     showLogin();
                 }
             }
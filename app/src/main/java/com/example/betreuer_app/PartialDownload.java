@@ -0,0 +1,190 @@
+package com.example.betreuer_app;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import okhttp3.Headers;
+
+/**
+ * The part of a document downloaded so far, kept so an interrupted download can
+ * continue where it stopped instead of starting over.
+ *
+ * The bytes live in {@code <key>.part}; {@code <key>.meta} remembers the validator
+ * (ETag or Last-Modified) and full length of the version they belong to. A resumed
+ * request sends the validator as If-Range, so the server answers with the whole
+ * document if it has changed in the meantime.
+ */
+final class PartialDownload {
+
+    private static final String KEY_VALIDATOR = "validator";
+    private static final String KEY_TOTAL_BYTES = "totalBytes";
+
+    private final File dataFile;
+    private final File metaFile;
+    private String validator;
+    private long totalBytes = -1;
+
+    private PartialDownload(File dataFile, File metaFile) {
+        this.dataFile = dataFile;
+        this.metaFile = metaFile;
+    }
+
+    /**
+     * Opens the partial download stored under {@code key} in {@code directory}, or an empty one.
+     */
+    static PartialDownload open(File directory, String key) {
+        String name = key.replaceAll("[^A-Za-z0-9._-]", "_");
+        PartialDownload partial = new PartialDownload(new File(directory, name + ".part"), new File(directory, name + ".meta"));
+        partial.readMeta();
+        return partial;
+    }
+
+    File getFile() {
+        return dataFile;
+    }
+
+    long length() {
+        return dataFile.length();
+    }
+
+    String getValidator() {
+        return validator;
+    }
+
+    /**
+     * Full length of the document, or -1 if unknown.
+     */
+    long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * The Range header to continue this download, or null if it has to start from the beginning.
+     */
+    String rangeHeader() {
+        long length = length();
+        if (length <= 0 || validator == null) {
+            return null;
+        }
+        return "bytes=" + length + "-";
+    }
+
+    /**
+     * Whether every byte of the document is here.
+     */
+    boolean isComplete() {
+        return totalBytes >= 0 && validator != null && length() == totalBytes;
+    }
+
+    /**
+     * Drops what was downloaded and starts over with the given version; the returned
+     * stream writes from the first byte.
+     */
+    OutputStream restart(String validator, long totalBytes) throws IOException {
+        this.validator = validator;
+        this.totalBytes = totalBytes;
+        writeMeta();
+        return new FileOutputStream(dataFile, false);
+    }
+
+    /**
+     * Returns a stream appending to the bytes downloaded so far.
+     */
+    OutputStream append(long totalBytes) throws IOException {
+        if (totalBytes >= 0 && totalBytes != this.totalBytes) {
+            this.totalBytes = totalBytes;
+            writeMeta();
+        }
+        return new FileOutputStream(dataFile, true);
+    }
+
+    void delete() {
+        dataFile.delete();
+        metaFile.delete();
+        validator = null;
+        totalBytes = -1;
+    }
+
+    /**
+     * The strong ETag of a response, else its Last-Modified date; null if neither can be
+     * used with If-Range (weak ETags cannot).
+     */
+    static String validatorOf(Headers headers) {
+        String etag = headers.get("ETag");
+        if (etag != null && !etag.startsWith("W/")) {
+            return etag;
+        }
+        return headers.get("Last-Modified");
+    }
+
+    /**
+     * First byte of a {@code Content-Range: bytes first-last/total} header, or -1.
+     */
+    static long contentRangeStart(String contentRange) {
+        if (contentRange == null || !contentRange.startsWith("bytes ")) {
+            return -1;
+        }
+        int dash = contentRange.indexOf('-');
+        if (dash < 0) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentRange.substring("bytes ".length(), dash).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Total length from a {@code Content-Range} header, or -1 if missing or {@code *}.
+     */
+    static long contentRangeTotal(String contentRange) {
+        if (contentRange == null) {
+            return -1;
+        }
+        int slash = contentRange.lastIndexOf('/');
+        if (slash < 0) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(contentRange.substring(slash + 1).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void readMeta() {
+        if (!metaFile.exists() || !dataFile.exists()) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(metaFile)) {
+            properties.load(in);
+            validator = properties.getProperty(KEY_VALIDATOR);
+            totalBytes = Long.parseLong(properties.getProperty(KEY_TOTAL_BYTES, "-1"));
+        } catch (IOException | NumberFormatException e) {
+            // Unreadable metadata: the bytes cannot be trusted either
+            delete();
+        }
+    }
+
+    private void writeMeta() throws IOException {
+        File directory = metaFile.getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Failed to create directory: " + directory.getAbsolutePath());
+        }
+        Properties properties = new Properties();
+        if (validator != null) {
+            properties.setProperty(KEY_VALIDATOR, validator);
+        }
+        properties.setProperty(KEY_TOTAL_BYTES, Long.toString(totalBytes));
+        try (OutputStream out = new FileOutputStream(metaFile)) {
+            properties.store(out, null);
+        }
+    }
+}
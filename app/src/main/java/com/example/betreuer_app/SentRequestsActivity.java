@@ -7,25 +7,20 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.LiveData;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.betreuer_app.api.ApiClient;
-import com.example.betreuer_app.api.ThesisRequestApiService;
-import com.example.betreuer_app.model.RespondToThesisRequestRequest;
 import com.example.betreuer_app.model.ThesisRequestResponse;
-import com.example.betreuer_app.model.ThesisRequestResponsePaginatedResponse;
+import com.example.betreuer_app.repository.ThesisRequestRepository;
+import com.example.betreuer_app.sync.MutationResult;
 import com.example.betreuer_app.ui.requests.ThesisRequestAdapter;
+import com.example.betreuer_app.util.Resource;
 import com.example.betreuer_app.util.SessionManager;
 import com.google.android.material.appbar.MaterialToolbar;
 
-import java.util.ArrayList;
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 /**
  * Activity to display ONLY outgoing/sent requests (where the current user is the requester).
  * Used by tutors to see requests they have sent (e.g., for co-supervision with a second supervisor).
@@ -35,8 +30,9 @@ public class SentRequestsActivity extends AppCompatActivity {
     private RecyclerView recyclerView;
     private TextView emptyView;
     private ThesisRequestAdapter adapter;
-    private ThesisRequestApiService apiService;
     private SessionManager sessionManager;
+    private ThesisRequestRepository requestRepository;
+    private LiveData<Resource<List<ThesisRequestResponse>>> requestsSource;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -50,7 +46,7 @@ public class SentRequestsActivity extends AppCompatActivity {
         recyclerView = findViewById(R.id.recyclerViewRequests);
         emptyView = findViewById(R.id.textViewEmpty);
 
-        apiService = ApiClient.getThesisRequestApiService(this);
+        requestRepository = new ThesisRequestRepository(this);
         sessionManager = new SessionManager(this);
 
         setupRecyclerView();
@@ -104,52 +100,39 @@ public class SentRequestsActivity extends AppCompatActivity {
     }
 
     private void loadSentRequests() {
-        // Load ONLY outgoing/sent requests using the appropriate API endpoint
-        if (sessionManager.isTutor()) {
-            // Tutors use the tutor-specific endpoint
-            apiService.getOutgoingRequests(null, 1, 50).enqueue(new Callback<ThesisRequestResponsePaginatedResponse>() {
-                @Override
-                public void onResponse(Call<ThesisRequestResponsePaginatedResponse> call, Response<ThesisRequestResponsePaginatedResponse> response) {
-                    handleResponse(response);
-                }
-
-                @Override
-                public void onFailure(Call<ThesisRequestResponsePaginatedResponse> call, Throwable t) {
-                    handleFailure(t);
-                }
-            });
-        } else {
-            // Students use the general endpoint (which returns their sent requests)
-            apiService.getMyRequests(1, 50).enqueue(new Callback<ThesisRequestResponsePaginatedResponse>() {
-                @Override
-                public void onResponse(Call<ThesisRequestResponsePaginatedResponse> call, Response<ThesisRequestResponsePaginatedResponse> response) {
-                    handleResponse(response);
-                }
-
-                @Override
-                public void onFailure(Call<ThesisRequestResponsePaginatedResponse> call, Throwable t) {
-                    handleFailure(t);
-                }
-            });
+        // Load ONLY outgoing/sent requests using the appropriate API endpoint, all pages of them
+        LiveData<Resource<List<ThesisRequestResponse>>> source = sessionManager.isTutor()
+                // Tutors use the tutor-specific endpoint
+                ? requestRepository.observeAllOutgoingRequests(null)
+                // Students use the general endpoint (which returns their sent requests)
+                : requestRepository.observeAllMyRequests();
+
+        if (requestsSource != null) {
+            requestsSource.removeObservers(this);
         }
+        requestsSource = source;
+        source.observe(this, this::handleResource);
     }
 
-    private void handleResponse(Response<ThesisRequestResponsePaginatedResponse> response) {
-        if (response.isSuccessful() && response.body() != null) {
-            List<ThesisRequestResponse> requests = response.body().getItems();
-            if (requests == null) requests = new ArrayList<>();
-            updateRequestList(requests);
-        } else {
-            Toast.makeText(SentRequestsActivity.this, "Fehler beim Laden der gesendeten Anfragen", Toast.LENGTH_SHORT).show();
+    private void handleResource(Resource<List<ThesisRequestResponse>> resource) {
+        if (resource == null) {
+            return;
+        }
+        // Stored list first, then the server's answer, growing page by page
+        if (resource.getData() != null) {
+            updateRequestList(resource.getData());
+        }
+        if (resource.isError()) {
+            if (resource.getCode() != 0) {
+                Toast.makeText(SentRequestsActivity.this, "Fehler beim Laden der gesendeten Anfragen", Toast.LENGTH_SHORT).show();
+            } else {
+                Toast.makeText(SentRequestsActivity.this, "Netzwerkfehler: " + resource.getMessage(), Toast.LENGTH_SHORT).show();
+            }
         }
-    }
-
-    private void handleFailure(Throwable t) {
-        Toast.makeText(SentRequestsActivity.this, "Netzwerkfehler: " + t.getMessage(), Toast.LENGTH_SHORT).show();
     }
 
     private void updateRequestList(List<ThesisRequestResponse> requests) {
-        adapter.setRequests(requests);
+        adapter.submitList(requests);
 
         if (requests.isEmpty()) {
             emptyView.setVisibility(View.VISIBLE);
@@ -162,43 +145,30 @@ public class SentRequestsActivity extends AppCompatActivity {
     }
 
     private void cancelRequest(ThesisRequestResponse request) {
-        RespondToThesisRequestRequest body = new RespondToThesisRequestRequest(false, "Anfrage vom Sender abgebrochen");
-
-        apiService.respondToRequest(request.getId(), body).enqueue(new Callback<Void>() {
-            @Override
-            public void onResponse(Call<Void> call, Response<Void> response) {
-                if (response.isSuccessful()) {
-                    Toast.makeText(SentRequestsActivity.this, "Anfrage abgebrochen", Toast.LENGTH_SHORT).show();
-                    loadSentRequests();
-                } else {
-                    Toast.makeText(SentRequestsActivity.this, "Abbrechen fehlgeschlagen: " + response.code(), Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(Call<Void> call, Throwable t) {
-                Toast.makeText(SentRequestsActivity.this, "Fehler: " + t.getMessage(), Toast.LENGTH_SHORT).show();
-            }
-        });
+        // Queued in the outbox: the list updates at once, the server in the background
+        LiveData<MutationResult> result = requestRepository.respondToRequest(
+                request.getId(), false, "Anfrage vom Sender abgebrochen");
+        Toast.makeText(SentRequestsActivity.this, "Anfrage abgebrochen", Toast.LENGTH_SHORT).show();
+        loadSentRequests();
+        observeMutation(result, "Abbrechen fehlgeschlagen: ");
     }
 
     private void deleteRequest(ThesisRequestResponse request) {
-        apiService.deleteRequest(request.getId()).enqueue(new Callback<Void>() {
-            @Override
-            public void onResponse(Call<Void> call, Response<Void> response) {
-                if (response.isSuccessful()) {
-                    Toast.makeText(SentRequestsActivity.this, "Anfrage gelöscht", Toast.LENGTH_SHORT).show();
-                    loadSentRequests();
-                } else {
-                    Toast.makeText(SentRequestsActivity.this, "Löschen fehlgeschlagen: " + response.code(), Toast.LENGTH_SHORT).show();
-                }
-            }
+        LiveData<MutationResult> result = requestRepository.deleteRequest(request.getId());
+        Toast.makeText(SentRequestsActivity.this, "Anfrage gelöscht", Toast.LENGTH_SHORT).show();
+        loadSentRequests();
+        observeMutation(result, "Löschen fehlgeschlagen: ");
+    }
 
-            @Override
-            public void onFailure(Call<Void> call, Throwable t) {
-                Toast.makeText(SentRequestsActivity.this, "Fehler: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+    /**
+     * Reloads the list if the server rejected a queued action, which drops its local effect.
+     */
+    private void observeMutation(LiveData<MutationResult> result, String failurePrefix) {
+        result.observe(this, mutationResult -> {
+            if (mutationResult != null && mutationResult.getState() == MutationResult.State.FAILED) {
+                Toast.makeText(SentRequestsActivity.this, failurePrefix + mutationResult.getCode(), Toast.LENGTH_SHORT).show();
+                loadSentRequests();
             }
         });
     }
 }
-
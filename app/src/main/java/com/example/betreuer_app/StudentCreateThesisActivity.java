@@ -1,14 +1,11 @@
 package com.example.betreuer_app;
 
-import android.app.Activity;
-import android.content.Intent;
 import android.database.Cursor;
 import android.net.Uri;
 import android.os.Bundle;
 import android.provider.OpenableColumns;
 import android.text.Editable;
 import android.text.TextWatcher;
-import android.widget.ArrayAdapter;
 import android.widget.AutoCompleteTextView;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -18,10 +15,11 @@ import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.betreuer_app.model.SubjectAreaResponse;
-import com.example.betreuer_app.model.SubjectAreaResponsePaginatedResponse;
 import com.example.betreuer_app.model.ThesisApiModel;
 import com.example.betreuer_app.repository.SubjectAreaRepository;
 import com.example.betreuer_app.repository.ThesisRepository;
+import com.example.betreuer_app.ui.SuggestionAdapter;
+import com.example.betreuer_app.util.SearchPipeline;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.textfield.TextInputEditText;
 
@@ -44,7 +42,8 @@ import retrofit2.Response;
  * <ul>
  *     <li>Title Input: Required field for the thesis title.</li>
  *     <li>Subject Area Search: AutoCompleteTextView that queries the API for matching subject areas as the user types.</li>
- *     <li>Document Upload: Option to select a file from the device storage.</li>
+ *     <li>Document Upload: Option to select a file from the device storage. It is uploaded in the
+ *     background once the thesis exists.</li>
  * </ul>
  *
  * <p>Upon successful creation, the activity displays a success message and closes.
@@ -82,6 +81,15 @@ public class StudentCreateThesisActivity extends AppCompatActivity {
     /** URI of the file selected by the user for upload. Null if no file selected. */
     private Uri selectedFileUri = null;
 
+    /** Maximum number of subject areas suggested while typing. */
+    private static final int SUBJECT_AREA_SUGGESTION_LIMIT = 20;
+
+    /** Delay in milliseconds for debouncing subject area searches while typing. */
+    private static final long SUBJECT_AREA_SEARCH_DEBOUNCE_MS = 200L;
+
+    /** Debounced subject area lookup that only delivers the results of the latest query. */
+    private SearchPipeline<String, List<SubjectAreaResponse>> subjectAreaSearch;
+
     /**
      * Called when the activity is starting. This method initializes the UI components,
      * sets up the repositories, configures the subject area search behavior,
@@ -104,33 +112,35 @@ public class StudentCreateThesisActivity extends AppCompatActivity {
 
         thesisRepository = new ThesisRepository(getApplicationContext());
         subjectAreaRepository = new SubjectAreaRepository(getApplicationContext());
+        subjectAreaSearch = new SearchPipeline<>(SUBJECT_AREA_SEARCH_DEBOUNCE_MS, (query, callback) ->
+                subjectAreaRepository.lookUpSubjectAreas(query, SUBJECT_AREA_SUGGESTION_LIMIT, callback));
+        subjectAreaSearch.getResults().observe(this, resource -> {
+            // Failures are silent for search suggestions; the user can still keep typing
+            if (resource != null && resource.isSuccess() && resource.getData() != null) {
+                updateDropdown(resource.getData());
+            }
+        });
 
-        // Load the initial list of subject areas (e.g., top 100) to populate the dropdown before searching.
+        // Load the full list of subject areas to populate the dropdown before searching.
         loadInitialSubjectAreas();
 
         // Setup text watcher and listeners for the search functionality
         setupSubjectAreaSearch();
 
-        // File Selection Launcher using ActivityResultContracts
-        ActivityResultLauncher<Intent> filePickerLauncher = registerForActivityResult(
-                new ActivityResultContracts.StartActivityForResult(),
-                result -> {
-                    if (result.getResultCode() == Activity.RESULT_OK && result.getData() != null) {
-                        selectedFileUri = result.getData().getData();
-                        if (selectedFileUri != null) {
-                            String fileName = getFileName(selectedFileUri);
-                            tvSelectedFile.setText(fileName != null ? fileName : "Datei ausgewählt");
-                        }
+        // OpenDocument, so read access to the document can be kept until the upload is through
+        ActivityResultLauncher<String[]> filePickerLauncher = registerForActivityResult(
+                new ActivityResultContracts.OpenDocument(),
+                uri -> {
+                    if (uri != null) {
+                        selectedFileUri = uri;
+                        String fileName = getFileName(uri);
+                        tvSelectedFile.setText(fileName != null ? fileName : "Datei ausgewählt");
                     }
                 }
         );
 
-        btnSelectFile.setOnClickListener(v -> {
-            Intent intent = new Intent(Intent.ACTION_GET_CONTENT);
-            intent.setType("*/*"); // Allow all file types; restrict to "application/pdf" etc. if needed
-            intent.addCategory(Intent.CATEGORY_OPENABLE);
-            filePickerLauncher.launch(intent);
-        });
+        // Allow all file types; restrict to "application/pdf" etc. if needed
+        btnSelectFile.setOnClickListener(v -> filePickerLauncher.launch(new String[]{"*/*"}));
 
         btnCreate.setOnClickListener(v -> {
             String title = String.valueOf(etTitle.getText()).trim();
@@ -152,13 +162,7 @@ public class StudentCreateThesisActivity extends AppCompatActivity {
             }
 
             btnCreate.setEnabled(false);
-
-            // Choose the appropriate API method based on whether a file was selected
-            if (selectedFileUri != null) {
-                createThesisWithFile(title, description, subjectAreaId, selectedFileUri);
-            } else {
-                createThesis(title, description, subjectAreaId);
-            }
+            createThesis(title, description, subjectAreaId);
         });
 
         com.google.android.material.appbar.MaterialToolbar toolbar = findViewById(R.id.toolbar);
@@ -197,28 +201,16 @@ public class StudentCreateThesisActivity extends AppCompatActivity {
     }
 
     /**
-     * Loads the initial list of subject areas from the API to populate the dropdown.
+     * Loads the initial list of subject areas from the reference data catalogue to populate the dropdown.
      * This ensures the user sees some options immediately when opening the dropdown.
      */
     private void loadInitialSubjectAreas() {
-        subjectAreaRepository.getSubjectAreas(1, 100, new Callback<SubjectAreaResponsePaginatedResponse>() {
-            @Override
-            public void onResponse(Call<SubjectAreaResponsePaginatedResponse> call, Response<SubjectAreaResponsePaginatedResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    updateDropdown(response.body().getItems());
-                }
-            }
-
-            @Override
-            public void onFailure(Call<SubjectAreaResponsePaginatedResponse> call, Throwable t) {
-                // Silently fail, user can still attempt to search
-            }
-        });
+        subjectAreaSearch.submitNow("");
     }
 
     /**
      * Sets up the search functionality for the subject area dropdown.
-     * Adds a TextWatcher to trigger API searches as the user types (debounce could be added for optimization).
+     * Adds a TextWatcher that looks up matching subject areas as the user types.
      * Handles focus and click events to show the dropdown appropriately.
      */
     private void setupSubjectAreaSearch() {
@@ -228,6 +220,10 @@ public class StudentCreateThesisActivity extends AppCompatActivity {
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
+                if (dropdownSubjectArea.isPerformingCompletion()) {
+                    // A suggestion was picked; no need to search for it
+                    return;
+                }
                 if (s.length() >= 2) { 
                     // Start searching after 2 characters
                     performSearch(s.toString());
@@ -252,37 +248,25 @@ public class StudentCreateThesisActivity extends AppCompatActivity {
     }
 
     /**
-     * Performs a search for subject areas using the API search endpoint.
-     * Updates the dropdown adapter with the search results.
+     * Looks up subject areas matching the query once the user stopped typing, locally from
+     * the subject area index while the catalogue is fresh and through the API search endpoint otherwise.
+     * A superseded search is cancelled and its late results are dropped.
      *
      * @param query The search query entered by the user.
      */
     private void performSearch(String query) {
-        subjectAreaRepository.searchSubjectAreas(query, 1, 20, new Callback<SubjectAreaResponsePaginatedResponse>() {
-            @Override
-            public void onResponse(Call<SubjectAreaResponsePaginatedResponse> call, Response<SubjectAreaResponsePaginatedResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    updateDropdown(response.body().getItems());
-                }
-            }
-
-            @Override
-            public void onFailure(Call<SubjectAreaResponsePaginatedResponse> call, Throwable t) {
-                // Silently fail for search suggestions to avoid spamming user
-            }
-        });
+        subjectAreaSearch.submit(query);
     }
 
     /**
      * Updates the dropdown adapter with a list of subject areas.
-     * Also updates the internal map for name-to-ID resolution.
+     * Also adds them to the internal map for name-to-ID resolution.
      *
      * @param areas The list of subject areas to display.
      */
     private void updateDropdown(List<SubjectAreaResponse> areas) {
         if (areas != null) {
             List<String> areaNames = new ArrayList<>();
-            subjectAreaMap.clear();
 
             for (SubjectAreaResponse area : areas) {
                 String name = area.getTitle();
@@ -294,50 +278,32 @@ public class StudentCreateThesisActivity extends AppCompatActivity {
                 }
             }
 
-            ArrayAdapter<String> adapter = new ArrayAdapter<>(
-                    StudentCreateThesisActivity.this,
-                    android.R.layout.simple_dropdown_item_1line,
-                    areaNames
-            );
-            dropdownSubjectArea.setAdapter(adapter);
+            // The suggestions already match the typed text; the adapter must not filter them again
+            dropdownSubjectArea.setAdapter(new SuggestionAdapter(StudentCreateThesisActivity.this, areaNames));
 
-            // If user is typing, filtering might hide results, force show to display new API results
+            // If user is typing, filtering might hide results, force show to display new results
             if (dropdownSubjectArea.hasFocus()) {
                 dropdownSubjectArea.showDropDown();
             }
         }
     }
 
-    /**
-     * Initiates the thesis creation process (without file) by calling the API.
-     *
-     * @param title The title of the thesis.
-     * @param description The optional description of the thesis.
-     * @param subjectAreaId The optional subject area ID.
-     */
-    private void createThesis(String title, String description, String subjectAreaId) {
-        thesisRepository.createThesis(title, description, subjectAreaId, null, null, new Callback<ThesisApiModel>() {
-            @Override
-            public void onResponse(Call<ThesisApiModel> call, Response<ThesisApiModel> response) {
-                handleResponse(response);
-            }
-            @Override
-            public void onFailure(Call<ThesisApiModel> call, Throwable t) {
-                handleFailure(t);
-            }
-        });
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        subjectAreaSearch.cancel();
     }
 
     /**
-     * Initiates the thesis creation process WITH a file upload by calling the API.
+     * Initiates the thesis creation process by calling the API. A selected file is uploaded
+     * once the thesis exists, see {@link #handleResponse(Response)}.
      *
      * @param title The title of the thesis.
      * @param description The optional description of the thesis.
      * @param subjectAreaId The optional subject area ID.
-     * @param fileUri The URI of the selected file to upload.
      */
-    private void createThesisWithFile(String title, String description, String subjectAreaId, Uri fileUri) {
-        thesisRepository.createThesisWithFile(title, description, subjectAreaId, fileUri, new Callback<ThesisApiModel>() {
+    private void createThesis(String title, String description, String subjectAreaId) {
+        thesisRepository.createThesis(title, description, subjectAreaId, null, null, new Callback<ThesisApiModel>() {
             @Override
             public void onResponse(Call<ThesisApiModel> call, Response<ThesisApiModel> response) {
                 handleResponse(response);
@@ -351,14 +317,22 @@ public class StudentCreateThesisActivity extends AppCompatActivity {
 
     /**
      * Handles successful or failed API responses.
-     * Re-enables the create button and shows appropriate toast messages.
+     * Re-enables the create button and shows appropriate toast messages. A selected file is
+     * queued for upload to the new thesis; the upload is retried in the background and keeps
+     * going after this screen is closed, like uploads from the edit screen.
      *
      * @param response The retrofit response.
      */
     private void handleResponse(Response<ThesisApiModel> response) {
         btnCreate.setEnabled(true);
         if (response.isSuccessful()) {
-            Toast.makeText(StudentCreateThesisActivity.this, "Thesis erfolgreich erstellt", Toast.LENGTH_SHORT).show();
+            ThesisApiModel thesis = response.body();
+            if (selectedFileUri != null && thesis != null && thesis.getId() != null) {
+                thesisRepository.uploadDocument(thesis.getId().toString(), selectedFileUri, getFileName(selectedFileUri));
+                Toast.makeText(StudentCreateThesisActivity.this, "Thesis erstellt, Dokument wird hochgeladen", Toast.LENGTH_SHORT).show();
+            } else {
+                Toast.makeText(StudentCreateThesisActivity.this, "Thesis erfolgreich erstellt", Toast.LENGTH_SHORT).show();
+            }
             finish(); // Close activity and go back
         } else {
             Toast.makeText(StudentCreateThesisActivity.this, "Fehler beim Erstellen: " + response.code(), Toast.LENGTH_SHORT).show();
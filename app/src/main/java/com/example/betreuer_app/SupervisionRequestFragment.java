@@ -15,20 +15,20 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
 import androidx.fragment.app.FragmentActivity;
+import androidx.lifecycle.LiveData;
 
-import com.example.betreuer_app.api.ApiClient;
-import com.example.betreuer_app.api.ThesisApiService;
-import com.example.betreuer_app.api.ThesisRequestApiService;
 import com.example.betreuer_app.model.CreateThesisRequestRequest;
-import com.example.betreuer_app.model.ThesesResponse;
 import com.example.betreuer_app.model.ThesisApiModel;
 import com.example.betreuer_app.model.ThesisRequestResponse;
+import com.example.betreuer_app.repository.RequestIndex;
+import com.example.betreuer_app.repository.ThesisRepository;
+import com.example.betreuer_app.repository.ThesisRequestRepository;
+import com.example.betreuer_app.sync.MutationResult;
 import com.google.android.material.textfield.TextInputEditText;
 
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
@@ -36,19 +36,14 @@ import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class SupervisionRequestFragment extends Fragment {
 
     private AutoCompleteTextView thesisTitleInput;
     private TextInputEditText etStartDate;
     private TextInputEditText etEndDate;
     private TextInputEditText etMessage;
-    private ThesisApiService thesisApiService;
-    private ThesisRequestApiService thesisRequestApiService;
-    private List<ThesisApiModel> thesesList = new ArrayList<>();
+    private ThesisRepository thesisRepository;
+    private ThesisRequestRepository thesisRequestRepository;
     private String tutorId;
     private boolean isSelectingSecondSupervisor = false;
     private String thesisIdForSecondSupervisor = null;
@@ -70,8 +65,8 @@ public class SupervisionRequestFragment extends Fragment {
         etEndDate = view.findViewById(R.id.et_end_date);
         etMessage = view.findViewById(R.id.et_message);
 
-        thesisApiService = ApiClient.getThesisApiService(getContext());
-        thesisRequestApiService = ApiClient.getThesisRequestApiService(getContext());
+        thesisRepository = new ThesisRepository(requireContext());
+        thesisRequestRepository = new ThesisRequestRepository(requireContext());
 
         // --- Process Intent ---
         String tutorName = "";
@@ -157,109 +152,102 @@ public class SupervisionRequestFragment extends Fragment {
         Context context = getContext();
         if (context == null) return;
 
-        // Lade alle Anfragen und filtere nach der ThesisId
-        thesisRequestApiService.getMyRequests(1, 100).enqueue(new Callback<com.example.betreuer_app.model.ThesisRequestResponsePaginatedResponse>() {
-            @Override
-            public void onResponse(Call<com.example.betreuer_app.model.ThesisRequestResponsePaginatedResponse> call, Response<com.example.betreuer_app.model.ThesisRequestResponsePaginatedResponse> response) {
-                if (response.isSuccessful() && response.body() != null && response.body().getItems() != null) {
-                    // Finde die erste (älteste) Betreuungsanfrage für diese Thesis
-                    ThesisRequestResponse oldestRequest = null;
-                    for (ThesisRequestResponse request : response.body().getItems()) {
-                        if (request.getThesisId() != null
-                            && request.getThesisId().toString().equals(thesisId)
-                            && "SUPERVISION".equals(request.getRequestType())
-                            && "ACCEPTED".equals(request.getStatus())) {
-
-                            if (oldestRequest == null ||
-                                (request.getCreatedAt() != null &&
-                                 (oldestRequest.getCreatedAt() == null ||
-                                  request.getCreatedAt().compareTo(oldestRequest.getCreatedAt()) < 0))) {
-                                oldestRequest = request;
-                            }
-                        }
-                    }
+        UUID thesisUuid;
+        try {
+            thesisUuid = UUID.fromString(thesisId);
+        } catch (IllegalArgumentException e) {
+            return;
+        }
 
-                    if (oldestRequest != null) {
-                        firstSupervisionRequest = oldestRequest;
-                        // Setze die Datumsfelder mit den Daten aus der ersten Anfrage
-                        if (oldestRequest.getPlannedStartOfSupervision() != null) {
-                            etStartDate.setText(oldestRequest.getPlannedStartOfSupervision());
-                        }
-                        if (oldestRequest.getPlannedEndOfSupervision() != null) {
-                            etEndDate.setText(oldestRequest.getPlannedEndOfSupervision());
-                        }
-
-                        // Mache die Felder read-only
-                        etStartDate.setEnabled(false);
-                        etStartDate.setFocusable(false);
-                        etEndDate.setEnabled(false);
-                        etEndDate.setFocusable(false);
-                    }
-                }
-            }
+        // Die Anfragen der Thesis kommen aus dem Index, sortiert nach Erstellungsdatum
+        thesisRequestRepository.findMyRequests(thesisUuid, "SUPERVISION", resource -> {
+            if (getView() == null) return;
 
-            @Override
-            public void onFailure(Call<com.example.betreuer_app.model.ThesisRequestResponsePaginatedResponse> call, Throwable t) {
+            if (resource.isError() && resource.getData() == null) {
                 Context ctx = getContext();
                 if (ctx != null) {
-                    Toast.makeText(ctx, "Fehler beim Laden der ersten Anfrage: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+                    Toast.makeText(ctx, "Fehler beim Laden der ersten Anfrage: " + resource.getMessage(), Toast.LENGTH_SHORT).show();
+                }
+                return;
+            }
+
+            // Finde die erste (älteste) angenommene Betreuungsanfrage für diese Thesis
+            ThesisRequestResponse oldestRequest = null;
+            for (ThesisRequestResponse request : resource.getData()) {
+                if ("ACCEPTED".equals(request.getStatus())) {
+                    oldestRequest = request;
+                    break;
+                }
+            }
+
+            if (oldestRequest != null) {
+                firstSupervisionRequest = oldestRequest;
+                // Setze die Datumsfelder mit den Daten aus der ersten Anfrage
+                if (oldestRequest.getPlannedStartOfSupervision() != null) {
+                    etStartDate.setText(oldestRequest.getPlannedStartOfSupervision());
                 }
+                if (oldestRequest.getPlannedEndOfSupervision() != null) {
+                    etEndDate.setText(oldestRequest.getPlannedEndOfSupervision());
+                }
+
+                // Mache die Felder read-only
+                etStartDate.setEnabled(false);
+                etStartDate.setFocusable(false);
+                etEndDate.setEnabled(false);
+                etEndDate.setFocusable(false);
             }
         });
     }
 
     private void fetchTheses() {
-        thesisApiService.getTheses(1, 100).enqueue(new Callback<ThesesResponse>() {
-            @Override
-            public void onResponse(Call<ThesesResponse> call, Response<ThesesResponse> response) {
-                Context context = getContext();
-                if (context == null) return; // Prevent crash if fragment is detached
-
-                if (response.isSuccessful() && response.body() != null) {
-                    thesesList = response.body().getItems();
-                    List<String> thesisTitles = new ArrayList<>();
-                    for (ThesisApiModel thesis : thesesList) {
-                        thesisTitles.add(thesis.getTitle());
-                    }
-                    ArrayAdapter<String> adapter = new ArrayAdapter<>(context, android.R.layout.simple_dropdown_item_1line, thesisTitles);
-                    thesisTitleInput.setAdapter(adapter);
-
-                    // Wenn wir einen zweiten Supervisor auswählen, wähle die richtige Thesis aus
-                    if (isSelectingSecondSupervisor && thesisIdForSecondSupervisor != null) {
-                        for (ThesisApiModel thesis : thesesList) {
-                            if (thesis.getId() != null && thesis.getId().toString().equals(thesisIdForSecondSupervisor)) {
-                                thesisTitleInput.setText(thesis.getTitle(), false);
-                                thesisTitleInput.setEnabled(false); // Mache das Feld read-only
-                                break;
-                            }
-                        }
-                    }
-                } else {
-                    Toast.makeText(context, "Fehler beim Laden der Daten", Toast.LENGTH_SHORT).show();
+        // Lädt alle Seiten, damit auch Arbeiten jenseits der ersten Seite auswählbar sind
+        thesisRepository.observeAllTheses().observe(getViewLifecycleOwner(), resource -> {
+            Context context = getContext();
+            if (context == null || resource == null) return;
+
+            List<ThesisApiModel> theses = resource.getData();
+            if (theses != null) {
+                List<String> thesisTitles = new ArrayList<>(theses.size());
+                for (ThesisApiModel thesis : theses) {
+                    thesisTitles.add(thesis.getTitle());
                 }
+                ArrayAdapter<String> adapter = new ArrayAdapter<>(context, android.R.layout.simple_dropdown_item_1line, thesisTitles);
+                thesisTitleInput.setAdapter(adapter);
             }
 
-            @Override
-            public void onFailure(Call<ThesesResponse> call, Throwable t) {
-                Context context = getContext();
-                if (context == null) return;
-                Toast.makeText(context, "Netzwerkfehler: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+            if (resource.isSuccess()) {
+                // Wenn wir einen zweiten Supervisor auswählen, wähle die richtige Thesis aus
+                if (isSelectingSecondSupervisor && thesisIdForSecondSupervisor != null) {
+                    ThesisApiModel thesis = findThesis(thesisIdForSecondSupervisor);
+                    if (thesis != null) {
+                        thesisTitleInput.setText(thesis.getTitle(), false);
+                        thesisTitleInput.setEnabled(false); // Mache das Feld read-only
+                    }
+                }
+            } else if (resource.isError()) {
+                if (resource.getCode() != 0) {
+                    Toast.makeText(context, "Fehler beim Laden der Daten", Toast.LENGTH_SHORT).show();
+                } else {
+                    Toast.makeText(context, "Netzwerkfehler: " + resource.getMessage(), Toast.LENGTH_SHORT).show();
+                }
             }
         });
     }
 
+    private @Nullable ThesisApiModel findThesis(String thesisId) {
+        try {
+            return RequestIndex.getInstance().getThesis(UUID.fromString(thesisId));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private void sendSupervisionRequest() {
         Context context = getContext();
         if (context == null) return;
 
         String selectedTitle = thesisTitleInput.getText().toString().trim();
-        ThesisApiModel selectedThesis = null;
-        for (ThesisApiModel thesis : thesesList) {
-            if (thesis.getTitle().equals(selectedTitle)) {
-                selectedThesis = thesis;
-                break;
-            }
-        }
+        ThesisApiModel selectedThesis = RequestIndex.getInstance().getThesisByTitle(selectedTitle);
 
         if (selectedThesis == null) {
             Toast.makeText(context, "Bitte wählen Sie einen gültigen Titel aus.", Toast.LENGTH_SHORT).show();
@@ -306,34 +294,21 @@ public class SupervisionRequestFragment extends Fragment {
                 endDate
         );
 
-        thesisRequestApiService.createRequest(request).enqueue(new Callback<ThesisRequestResponse>() {
-            @Override
-            public void onResponse(Call<ThesisRequestResponse> call, Response<ThesisRequestResponse> response) {
-                FragmentActivity activity = getActivity();
-                if (activity == null) return;
-
-                if (response.isSuccessful() && response.body() != null) {
-                    Toast.makeText(activity, "Anfrage erfolgreich gesendet.", Toast.LENGTH_SHORT).show();
-                    activity.finish();
-                } else {
-                    String errorBodyString = null;
-                    if (response.errorBody() != null) {
-                        try {
-                            errorBodyString = response.errorBody().string();
-                        } catch (IOException e) {
-                            errorBodyString = null;
-                        }
-                    }
-                    String userMessage = mapReviewRequestErrorToUserMessage(activity, response.code(), errorBodyString);
-                    Toast.makeText(activity, userMessage, Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(Call<ThesisRequestResponse> call, Throwable t) {
-                FragmentActivity activity = getActivity();
-                if (activity == null) return;
-                Toast.makeText(activity, "Netzwerkfehler: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+        // Queued in the outbox so the request is not lost on a flaky connection
+        LiveData<MutationResult> result = thesisRequestRepository.createRequest(request);
+        result.observe(getViewLifecycleOwner(), mutationResult -> {
+            FragmentActivity activity = getActivity();
+            if (activity == null || mutationResult == null) return;
+
+            if (mutationResult.getState() == MutationResult.State.SUCCEEDED) {
+                Toast.makeText(activity, "Anfrage erfolgreich gesendet.", Toast.LENGTH_SHORT).show();
+                activity.finish();
+            } else if (mutationResult.getState() == MutationResult.State.FAILED) {
+                String userMessage = mapReviewRequestErrorToUserMessage(activity, mutationResult.getCode(), mutationResult.getMessage());
+                Toast.makeText(activity, userMessage, Toast.LENGTH_SHORT).show();
+            } else if (mutationResult.getState() == MutationResult.State.RETRYING) {
+                Toast.makeText(activity, "Keine Verbindung. Die Anfrage wird automatisch gesendet, sobald wieder eine Verbindung besteht.", Toast.LENGTH_LONG).show();
+                activity.finish();
             }
         });
     }
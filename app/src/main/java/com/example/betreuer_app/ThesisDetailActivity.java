@@ -18,32 +18,29 @@ import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.ViewModelProvider;
 
 import com.example.betreuer_app.api.ApiClient;
-import com.example.betreuer_app.api.SubjectAreaApiService;
 import com.example.betreuer_app.api.ThesisApiService;
-import com.example.betreuer_app.api.ThesisRequestApiService;
-import com.example.betreuer_app.api.UserApiService;
 import com.example.betreuer_app.model.BillingStatusResponse;
-import com.example.betreuer_app.model.SubjectAreaResponse;
 import com.example.betreuer_app.model.ThesisApiModel;
-import com.example.betreuer_app.model.ThesisRequestResponse;
-import com.example.betreuer_app.model.ThesisRequestResponsePaginatedResponse;
+import com.example.betreuer_app.model.ThesisDetailState;
 import com.example.betreuer_app.model.UserResponse;
+import com.example.betreuer_app.repository.ThesisRepository;
+import com.example.betreuer_app.sync.MutationResult;
 import com.example.betreuer_app.util.BillingStatusDisplayMapper;
+import com.example.betreuer_app.util.Resource;
 import com.example.betreuer_app.util.SessionManager;
 import com.example.betreuer_app.util.ThesisStatusDisplayLogic;
 import com.example.betreuer_app.util.ThesisStatusHelper;
+import com.example.betreuer_app.util.ThesisWorkflow;
+import com.example.betreuer_app.viewmodel.DocumentDownloadViewModel;
+import com.example.betreuer_app.viewmodel.ThesisDetailViewModel;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.button.MaterialButton;
 
 import java.util.List;
-import java.util.UUID;
-
-import okhttp3.ResponseBody;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 public class ThesisDetailActivity extends AppCompatActivity {
 
@@ -64,14 +61,17 @@ public class ThesisDetailActivity extends AppCompatActivity {
     private TextView secondSupervisorName;
 
     private ThesisApiService thesisApiService;
-    private ThesisRequestApiService thesisRequestApiService;
-    private UserApiService userApiService;
-    private SubjectAreaApiService subjectAreaApiService;
+    private ThesisRepository thesisRepository;
+    private ThesisDetailViewModel viewModel;
 
     private FileDownloader fileDownloader;
+    private DownloadButtonController downloadButton;
+    private DocumentDownloadViewModel downloads;
 
     private String thesisId;
     private ThesisApiModel currentThesis;
+    private List<BillingStatusResponse> shownBillingStatuses;
+    private String shownStatusDisplayKey;
     private ThesisApiModel thesisToDownload;
     private ActivityResultLauncher<String> requestPermissionLauncher;
     private boolean isSpinnerInitializing = false;
@@ -106,6 +106,7 @@ public class ThesisDetailActivity extends AppCompatActivity {
         textViewStatus = findViewById(R.id.textViewStatus);
         textViewSubjectArea = findViewById(R.id.textViewSubjectArea);
         btnDownloadDocument = findViewById(R.id.btn_download_document);
+        downloadButton = new DownloadButtonController(btnDownloadDocument);
         btnEditThesis = findViewById(R.id.btn_edit_thesis);
         btnAddSecondSupervisor = findViewById(R.id.btn_add_second_supervisor);
         spinnerStatus = findViewById(R.id.spinner_status);
@@ -126,14 +127,21 @@ public class ThesisDetailActivity extends AppCompatActivity {
         secondSupervisorName = secondSupervisorItem.findViewById(R.id.person_name);
 
         thesisApiService = ApiClient.getThesisApiService(this);
-        thesisRequestApiService = ApiClient.getThesisRequestApiService(this);
-        userApiService = ApiClient.getUserApiService(this);
-        subjectAreaApiService = ApiClient.getSubjectAreaApiService(this);
+        thesisRepository = new ThesisRepository(this);
+        viewModel = new ViewModelProvider(this).get(ThesisDetailViewModel.class);
+        downloads = new ViewModelProvider(this).get(DocumentDownloadViewModel.class);
+        FileDownloader.Download runningDownload = downloads.getRunning();
+        if (runningDownload != null) {
+            // Started before a configuration change
+            trackDownload(runningDownload);
+        }
 
         if (getIntent().hasExtra("THESIS_ID")) {
             thesisId = getIntent().getStringExtra("THESIS_ID");
             setupThesisStatusSpinner();
-            loadBillingStatuses(); // This will load statuses, then thesis details
+            // Thesis, billing statuses, people etc. are loaded in parallel and rendered once
+            viewModel.getState().observe(this, this::onDetailState);
+            viewModel.load(thesisId);
         } else {
             Toast.makeText(this, "Thesis ID not provided", Toast.LENGTH_SHORT).show();
             finish();
@@ -153,23 +161,31 @@ public class ThesisDetailActivity extends AppCompatActivity {
         });
     }
 
-    private void loadBillingStatuses() {
-        thesisApiService.getBillingStatuses().enqueue(new Callback<List<BillingStatusResponse>>() {
-            @Override
-            public void onResponse(Call<List<BillingStatusResponse>> call, Response<List<BillingStatusResponse>> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    setupBillingStatusSpinner(response.body());
-                    loadThesisDetails(thesisId);
-                } else {
-                    Toast.makeText(ThesisDetailActivity.this, "Failed to load billing statuses", Toast.LENGTH_SHORT).show();
-                }
-            }
+    private void onDetailState(Resource<ThesisDetailState> resource) {
+        if (resource == null) {
+            return;
+        }
+        if (resource.isError()) {
+            Toast.makeText(this, "Failed to load thesis details", Toast.LENGTH_SHORT).show();
+        } else if (resource.isSuccess() && resource.getData() != null) {
+            render(resource.getData());
+        }
+    }
 
-            @Override
-            public void onFailure(Call<List<BillingStatusResponse>> call, Throwable t) {
-                Toast.makeText(ThesisDetailActivity.this, "Error loading billing statuses: " + t.getMessage(), Toast.LENGTH_SHORT).show();
-            }
-        });
+    private void render(ThesisDetailState state) {
+        List<BillingStatusResponse> billingStatuses = state.getBillingStatuses();
+        if (billingStatuses != null && billingStatuses != shownBillingStatuses) {
+            shownBillingStatuses = billingStatuses;
+            setupBillingStatusSpinner(billingStatuses);
+        } else if (billingStatuses == null && state.isComplete()) {
+            Toast.makeText(this, "Failed to load billing statuses", Toast.LENGTH_SHORT).show();
+        }
+
+        hasSupervisionRequest = state.hasSupervisionRequest();
+        isSupervisionRequestAccepted = state.isSupervisionRequestAccepted();
+        currentThesis = state.getThesis();
+        displayThesisDetails(currentThesis);
+        displayPeople(state);
     }
 
     private void setupThesisStatusSpinner() {
@@ -258,42 +274,38 @@ public class ThesisDetailActivity extends AppCompatActivity {
             return;
         }
 
-        ThesisApiService.StatusUpdateRequest request = new ThesisApiService.StatusUpdateRequest(newStatus.getName());
+        // Queued in the outbox: the new status is shown at once and sent in the background
+        LiveData<MutationResult> result = thesisRepository.updateStatus(currentThesis.getId().toString(), newStatus.getName());
+        currentThesis = thesisRepository.applyPendingChanges(currentThesis);
+        if (isStudent && ("REGISTERED".equals(newStatus.getName()) || "SUBMITTED".equals(newStatus.getName()))) {
+            ThesisStatusHelper.markStudentRegistrationConfirmed(ThesisDetailActivity.this, currentThesis);
+        }
+        viewModel.updateThesis(currentThesis);
 
-        thesisApiService.updateStatus(currentThesis.getId().toString(), request).enqueue(new Callback<ThesisApiModel>() {
-            @Override
-            public void onResponse(Call<ThesisApiModel> call, Response<ThesisApiModel> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    Toast.makeText(ThesisDetailActivity.this, "Status erfolgreich aktualisiert", Toast.LENGTH_SHORT).show();
-                    currentThesis = response.body();
-                    if (isStudent && ("REGISTERED".equals(newStatus.getName()) || "SUBMITTED".equals(newStatus.getName()))) {
-                        ThesisStatusHelper.markStudentRegistrationConfirmed(ThesisDetailActivity.this, currentThesis);
-                    }
-                    displayThesisDetails(currentThesis);
+        result.observe(this, mutationResult -> {
+            if (mutationResult == null) {
+                return;
+            }
+            if (mutationResult.getState() == MutationResult.State.SUCCEEDED) {
+                Toast.makeText(ThesisDetailActivity.this, "Status erfolgreich aktualisiert", Toast.LENGTH_SHORT).show();
+                if (mutationResult.getBody() instanceof ThesisApiModel) {
+                    viewModel.updateThesis(thesisRepository.applyPendingChanges((ThesisApiModel) mutationResult.getBody()));
+                }
+            } else if (mutationResult.getState() == MutationResult.State.FAILED) {
+                String errorMessage;
+                if (mutationResult.getCode() == 403) {
+                    errorMessage = "Sie sind nicht berechtigt, den Status zu ändern";
                 } else {
-                    String errorMessage;
-                    if (response.code() == 403) {
-                        errorMessage = "Sie sind nicht berechtigt, den Status zu ändern";
+                    errorMessage = "Fehler beim Aktualisieren des Status";
+                    if (mutationResult.getMessage() != null) {
+                        errorMessage += ": " + mutationResult.getMessage();
                     } else {
-                        errorMessage = "Fehler beim Aktualisieren des Status";
-                        try {
-                            if (response.errorBody() != null) {
-                                errorMessage += ": " + response.errorBody().string();
-                            }
-                        } catch (Exception e) {
-                            errorMessage += " (Code: " + response.code() + ")";
-                        }
+                        errorMessage += " (Code: " + mutationResult.getCode() + ")";
                     }
-                    Toast.makeText(ThesisDetailActivity.this, errorMessage, Toast.LENGTH_LONG).show();
-                    // Revert spinner to previous selection
-                    revertStatusSpinner();
                 }
-            }
-
-            @Override
-            public void onFailure(Call<ThesisApiModel> call, Throwable t) {
-                Toast.makeText(ThesisDetailActivity.this, "Netzwerkfehler: " + t.getMessage(), Toast.LENGTH_LONG).show();
-                revertStatusSpinner();
+                Toast.makeText(ThesisDetailActivity.this, errorMessage, Toast.LENGTH_LONG).show();
+                // The local change was dropped; reload the server state
+                viewModel.reload();
             }
         });
     }
@@ -377,41 +389,37 @@ public class ThesisDetailActivity extends AppCompatActivity {
     private void updateBillingStatus(BillingStatusResponse newStatus) {
         if (currentThesis == null) return;
 
-        ThesisApiService.BillingStatusUpdateRequest request = new ThesisApiService.BillingStatusUpdateRequest(newStatus.getId());
+        // Queued in the outbox: the new billing status is shown at once and sent in the background
+        LiveData<MutationResult> result = thesisRepository.updateBillingStatus(
+                currentThesis.getId().toString(), newStatus.getId(), newStatus.getName());
+        currentThesis = thesisRepository.applyPendingChanges(currentThesis);
+        viewModel.updateThesis(currentThesis);
 
-        thesisApiService.updateBillingStatus(currentThesis.getId().toString(), request).enqueue(new Callback<ThesisApiModel>() {
-            @Override
-            public void onResponse(Call<ThesisApiModel> call, Response<ThesisApiModel> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    Toast.makeText(ThesisDetailActivity.this, "Rechnungsstatus erfolgreich aktualisiert", Toast.LENGTH_SHORT).show();
-                    currentThesis = response.body();
+        result.observe(this, mutationResult -> {
+            if (mutationResult == null) {
+                return;
+            }
+            if (mutationResult.getState() == MutationResult.State.SUCCEEDED) {
+                Toast.makeText(ThesisDetailActivity.this, "Rechnungsstatus erfolgreich aktualisiert", Toast.LENGTH_SHORT).show();
+                if (mutationResult.getBody() instanceof ThesisApiModel) {
                     // Refresh the display to show updated thesis data
-                    displayThesisDetails(currentThesis);
+                    viewModel.updateThesis(thesisRepository.applyPendingChanges((ThesisApiModel) mutationResult.getBody()));
+                }
+            } else if (mutationResult.getState() == MutationResult.State.FAILED) {
+                String errorMessage;
+                if (mutationResult.getCode() == 403) {
+                    errorMessage = "Sie sind nicht berechtigt, den Rechnungsstatus zu ändern. Nur Betreuer oder Zweitkorrektoren dieser Arbeit können dies tun.";
                 } else {
-                    String errorMessage;
-                    if (response.code() == 403) {
-                        errorMessage = "Sie sind nicht berechtigt, den Rechnungsstatus zu ändern. Nur Betreuer oder Zweitkorrektoren dieser Arbeit können dies tun.";
+                    errorMessage = "Fehler beim Aktualisieren des Rechnungsstatus";
+                    if (mutationResult.getMessage() != null) {
+                        errorMessage += ": " + mutationResult.getMessage();
                     } else {
-                        errorMessage = "Fehler beim Aktualisieren des Rechnungsstatus";
-                        try {
-                            if (response.errorBody() != null) {
-                                errorMessage += ": " + response.errorBody().string();
-                            }
-                        } catch (Exception e) {
-                            errorMessage += " (Code: " + response.code() + ")";
-                        }
+                        errorMessage += " (Code: " + mutationResult.getCode() + ")";
                     }
-                    Toast.makeText(ThesisDetailActivity.this, errorMessage, Toast.LENGTH_LONG).show();
-                    // Revert spinner to previous selection
-                    spinnerBillingStatus.setSelection(((ArrayAdapter<BillingStatusResponse>) spinnerBillingStatus.getAdapter()).getPosition(getBillingStatusByName(currentThesis.getBillingStatus())));
                 }
-            }
-
-            @Override
-            public void onFailure(Call<ThesisApiModel> call, Throwable t) {
-                Toast.makeText(ThesisDetailActivity.this, "Netzwerkfehler: " + t.getMessage(), Toast.LENGTH_LONG).show();
-                // Revert spinner to previous selection
-                spinnerBillingStatus.setSelection(((ArrayAdapter<BillingStatusResponse>) spinnerBillingStatus.getAdapter()).getPosition(getBillingStatusByName(currentThesis.getBillingStatus())));
+                Toast.makeText(ThesisDetailActivity.this, errorMessage, Toast.LENGTH_LONG).show();
+                // The local change was dropped; reload the server state
+                viewModel.reload();
             }
         });
     }
@@ -430,27 +438,6 @@ public class ThesisDetailActivity extends AppCompatActivity {
         return null;
     }
 
-    private void loadThesisDetails(String id) {
-        thesisApiService.getThesis(id).enqueue(new Callback<ThesisApiModel>() {
-            @Override
-            public void onResponse(Call<ThesisApiModel> call, Response<ThesisApiModel> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    currentThesis = response.body();
-                    displayThesisDetails(currentThesis);
-                    loadAdditionalInfo(currentThesis);
-                    loadSupervisionRequestStatus(currentThesis.getId().toString());
-                } else {
-                    Toast.makeText(ThesisDetailActivity.this, "Failed to load thesis details", Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(Call<ThesisApiModel> call, Throwable t) {
-                Toast.makeText(ThesisDetailActivity.this, "Error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
-            }
-        });
-    }
-
     private void displayThesisDetails(ThesisApiModel thesis) {
         textViewTitle.setText(thesis.getTitle());
         textViewDescription.setText(thesis.getDescription());
@@ -459,9 +446,13 @@ public class ThesisDetailActivity extends AppCompatActivity {
         boolean isStudent = !sessionManager.isTutor();
         boolean isTutor = sessionManager.isTutor();
 
-        // Setup ThesisStatus Spinner/TextView
-        isSpinnerInitializing = true; // Prevent spinner listener from triggering during setup
-        setupThesisStatusDisplay(thesis, isStudent, isTutor);
+        // Setup ThesisStatus Spinner/TextView, but only when something it depends on changed
+        String statusDisplayKey = statusDisplayKey(thesis);
+        if (!statusDisplayKey.equals(shownStatusDisplayKey)) {
+            shownStatusDisplayKey = statusDisplayKey;
+            isSpinnerInitializing = true; // Prevent spinner listener from triggering during setup
+            setupThesisStatusDisplay(thesis, isStudent, isTutor);
+        }
 
         // Setze Rechnungsstatus für TextView (Studenten) und Spinner (Tutoren)
         String billingStatus = thesis.getBillingStatus();
@@ -482,8 +473,11 @@ public class ThesisDetailActivity extends AppCompatActivity {
 
         if (thesis.getDocumentFileName() != null && !thesis.getDocumentFileName().isEmpty()) {
             btnDownloadDocument.setVisibility(View.VISIBLE);
-            btnDownloadDocument.setText("Exposé herunterladen (" + thesis.getDocumentFileName() + ")");
+            downloadButton.setLabel("Exposé herunterladen (" + thesis.getDocumentFileName() + ")");
             btnDownloadDocument.setOnClickListener(v -> {
+                if (downloadButton.cancelRunning()) {
+                    return;
+                }
                 this.thesisToDownload = thesis;
                 requestDownloadPermission();
             });
@@ -494,6 +488,13 @@ public class ThesisDetailActivity extends AppCompatActivity {
         updateAddSecondSupervisorButtonVisibility();
     }
 
+    private String statusDisplayKey(ThesisApiModel thesis) {
+        return thesis.getStatus() + "|" + thesis.getTutorId() + "|" + thesis.getSecondSupervisorId()
+                + "|" + thesis.getDocumentFileName()
+                + "|" + hasSupervisionRequest + "|" + isSupervisionRequestAccepted
+                + "|" + ThesisStatusHelper.isStudentRegistrationConfirmed(this, thesis);
+    }
+
     private void setupThesisStatusDisplay(ThesisApiModel thesis, boolean isStudent, boolean isTutor) {
         // CRITICAL DEBUGGING: Log all status information BEFORE any UI changes
         android.util.Log.e("STATUS_BUG", "=== SETUP THESIS STATUS DISPLAY ===");
@@ -573,113 +574,27 @@ public class ThesisDetailActivity extends AppCompatActivity {
         android.util.Log.e("STATUS_BUG", "======================");
     }
 
-    private void loadSupervisionRequestStatus(String thesisId) {
-        SessionManager sessionManager = new SessionManager(this);
-        if (sessionManager.isTutor()) {
-            hasSupervisionRequest = false;
-            isSupervisionRequestAccepted = false;
-            return;
-        }
-
-        thesisRequestApiService.getMyRequests(1, 100).enqueue(new Callback<ThesisRequestResponsePaginatedResponse>() {
-            @Override
-            public void onResponse(Call<ThesisRequestResponsePaginatedResponse> call, Response<ThesisRequestResponsePaginatedResponse> response) {
-                if (response.isSuccessful() && response.body() != null && response.body().getItems() != null) {
-                    boolean requestExists = false;
-                    boolean requestAccepted = false;
-
-                    for (ThesisRequestResponse request : response.body().getItems()) {
-                        if (request.getThesisId() != null
-                            && request.getThesisId().toString().equals(thesisId)
-                            && "SUPERVISION".equals(request.getRequestType())) {
-                            requestExists = true;
-                            if ("ACCEPTED".equals(request.getStatus())) {
-                                requestAccepted = true;
-                                break;
-                            }
-                        }
-                    }
-
-                    boolean statusChanged = (hasSupervisionRequest != requestExists || isSupervisionRequestAccepted != requestAccepted);
-                    hasSupervisionRequest = requestExists;
-                    isSupervisionRequestAccepted = requestAccepted;
-
-                    // Only re-setup the display if the supervision request status actually changed
-                    // This prevents unnecessary re-initialization that could trigger the spinner listener
-                    if (currentThesis != null && statusChanged) {
-                        // Set flag BEFORE re-initializing to prevent listener from triggering
-                        isSpinnerInitializing = true;
-                        SessionManager manager = new SessionManager(ThesisDetailActivity.this);
-                        boolean isStudent = !manager.isTutor();
-                        boolean isTutor = manager.isTutor();
-                        setupThesisStatusDisplay(currentThesis, isStudent, isTutor);
-                        // Note: isSpinnerInitializing is set to false inside setupThesisStatusDisplay
-                    }
-                }
-            }
-
-            @Override
-            public void onFailure(Call<ThesisRequestResponsePaginatedResponse> call, Throwable t) {
-                // Keep defaults and avoid blocking the UI
-            }
-        });
-    }
-
     private boolean canStudentSetStatus(ThesisApiModel thesis, String targetStatus) {
-        if (thesis == null || targetStatus == null) {
-            Toast.makeText(this, getString(R.string.toast_not_allowed), Toast.LENGTH_SHORT).show();
-            return false;
-        }
-
-        boolean hasTutor = thesis.getTutorId() != null;
-        boolean hasFile = thesis.getDocumentFileName() != null && !thesis.getDocumentFileName().isEmpty();
-        String currentStatus = thesis.getStatus();
-
-        if ("REGISTERED".equals(targetStatus)) {
-            if ("IN_DISCUSSION".equals(currentStatus) && hasTutor) {
-                return true;
-            }
-        }
-
-        if ("SUBMITTED".equals(targetStatus)) {
-            if (!"REGISTERED".equals(currentStatus)) {
-                Toast.makeText(this, getString(R.string.toast_not_allowed), Toast.LENGTH_SHORT).show();
-                return false;
-            }
-            if (!hasFile) {
-                Toast.makeText(this, getString(R.string.toast_need_expose), Toast.LENGTH_SHORT).show();
-                return false;
-            }
-            return true;
-        }
-
-        Toast.makeText(this, getString(R.string.toast_not_allowed), Toast.LENGTH_SHORT).show();
-        return false;
+        return canSetStatus(ThesisWorkflow.Role.STUDENT, thesis, targetStatus);
     }
 
     private boolean canTutorSetStatus(ThesisApiModel thesis, String targetStatus) {
-        if (thesis == null || targetStatus == null) {
+        return canSetStatus(ThesisWorkflow.Role.TUTOR, thesis, targetStatus);
+    }
+
+    private boolean canSetStatus(ThesisWorkflow.Role role, ThesisApiModel thesis, String targetStatus) {
+        ThesisWorkflow.Transition transition = thesis != null
+                ? ThesisWorkflow.Transition.of(role, thesis.getStatus(), targetStatus) : null;
+        if (transition == null) {
             Toast.makeText(this, getString(R.string.toast_not_allowed), Toast.LENGTH_SHORT).show();
             return false;
         }
-
-        String currentStatus = thesis.getStatus();
-        boolean hasSecondSupervisor = thesis.getSecondSupervisorId() != null;
-
-        if ("DEFENDED".equals(targetStatus)) {
-            if (!"SUBMITTED".equals(currentStatus)) {
-                Toast.makeText(this, getString(R.string.toast_not_allowed), Toast.LENGTH_SHORT).show();
-                return false;
-            }
-            if (!hasSecondSupervisor) {
-                Toast.makeText(this, getString(R.string.toast_need_second_examiner), Toast.LENGTH_SHORT).show();
-                return false;
-            }
-            return true;
+        ThesisWorkflow.Requirement missing = transition.missing(thesis);
+        if (missing != null) {
+            Toast.makeText(this, getString(missing.getMessageRes()), Toast.LENGTH_SHORT).show();
+            return false;
         }
-
-        Toast.makeText(this, getString(R.string.toast_not_allowed), Toast.LENGTH_SHORT).show();
-        return false;
+        return true;
     }
 
     private void promptTutorStatusChange(com.example.betreuer_app.model.ThesisStatusResponse newStatus) {
@@ -730,90 +645,51 @@ public class ThesisDetailActivity extends AppCompatActivity {
 
         Toast.makeText(this, "Download gestartet...", Toast.LENGTH_SHORT).show();
 
-        thesisApiService.downloadThesisDocument(thesis.getId().toString()).enqueue(new Callback<ResponseBody>() {
-            @Override
-            public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    boolean written = fileDownloader.writeResponseBodyToDisk(ThesisDetailActivity.this, response.body(), thesis.getDocumentFileName());
-                    if (written) {
-                        Toast.makeText(ThesisDetailActivity.this, "Download erfolgreich: " + thesis.getDocumentFileName(), Toast.LENGTH_LONG).show();
-                    } else {
-                        Toast.makeText(ThesisDetailActivity.this, "Fehler beim Speichern der Datei", Toast.LENGTH_SHORT).show();
-                    }
-                } else {
-                    Toast.makeText(ThesisDetailActivity.this, "Download fehlgeschlagen", Toast.LENGTH_SHORT).show();
-                }
-            }
+        String fileName = thesis.getDocumentFileName();
+        String documentThesisId = thesis.getId().toString();
+        FileDownloader.Download download = fileDownloader.download(this, thesis.getDocumentId(),
+                "thesis-" + documentThesisId,
+                (range, ifRange) -> thesisApiService.downloadThesisDocument(documentThesisId, range, ifRange), fileName);
+        downloads.start(download, fileName);
+        trackDownload(download);
+    }
 
-            @Override
-            public void onFailure(Call<ResponseBody> call, Throwable t) {
-                Toast.makeText(ThesisDetailActivity.this, "Netzwerkfehler: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+    private void trackDownload(FileDownloader.Download download) {
+        downloadButton.track(this, download, resource -> {
+            if (resource.isSuccess()) {
+                Toast.makeText(this, "Download erfolgreich: " + downloads.getFileName(), Toast.LENGTH_LONG).show();
+            } else {
+                Toast.makeText(this, resource.getMessage(), Toast.LENGTH_SHORT).show();
             }
         });
     }
 
-    private void loadAdditionalInfo(ThesisApiModel thesis) {
-        if (thesis.getSubjectAreaId() != null) {
-            loadSubjectArea(thesis.getSubjectAreaId());
-        } else {
+    private void displayPeople(ThesisDetailState state) {
+        ThesisApiModel thesis = state.getThesis();
+        if (thesis.getSubjectAreaId() == null) {
             textViewSubjectArea.setText("N/A");
-        }
-
-        if (thesis.getOwnerId() != null) {
-            loadUser(thesis.getOwnerId(), ownerName);
+        } else if (state.getSubjectArea() != null) {
+            textViewSubjectArea.setText(state.getSubjectArea().getTitle());
         } else {
-            ownerName.setText("Unknown");
+            textViewSubjectArea.setText(state.isComplete() ? "N/A" : "…");
         }
 
-        if (thesis.getTutorId() != null) {
-            loadUser(thesis.getTutorId(), tutorName);
-        } else {
-            tutorName.setText("None");
-        }
+        displayUser(ownerName, thesis.getOwnerId() != null, state.getOwner(), "Unknown", state.isComplete());
+        displayUser(tutorName, thesis.getTutorId() != null, state.getTutor(), "None", state.isComplete());
+        displayUser(secondSupervisorName, thesis.getSecondSupervisorId() != null,
+                state.getSecondSupervisor(), "None", state.isComplete());
+    }
 
-        if (thesis.getSecondSupervisorId() != null) {
-            loadUser(thesis.getSecondSupervisorId(), secondSupervisorName);
+    private void displayUser(TextView targetView, boolean assigned, UserResponse user, String unassignedText, boolean complete) {
+        if (!assigned) {
+            targetView.setText(unassignedText);
+        } else if (user != null) {
+            String name = (user.getFirstName() != null ? user.getFirstName() : "") + " " +
+                    (user.getLastName() != null ? user.getLastName() : "");
+            targetView.setText(name.trim());
         } else {
-            secondSupervisorName.setText("None");
+            // Still loading after the time budget, or the request failed
+            targetView.setText(complete ? "Error loading user" : "…");
         }
     }
-
-    private void loadUser(UUID userId, TextView targetView) {
-        userApiService.getUser(userId).enqueue(new Callback<UserResponse>() {
-            @Override
-            public void onResponse(Call<UserResponse> call, Response<UserResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    UserResponse user = response.body();
-                    String name = (user.getFirstName() != null ? user.getFirstName() : "") + " " +
-                            (user.getLastName() != null ? user.getLastName() : "");
-                    targetView.setText(name.trim());
-                } else {
-                    targetView.setText("Error loading user");
-                }
-            }
-
-            @Override
-            public void onFailure(Call<UserResponse> call, Throwable t) {
-                targetView.setText("Error");
-            }
-        });
-    }
-
-    private void loadSubjectArea(UUID subjectAreaId) {
-        subjectAreaApiService.getSubjectArea(subjectAreaId).enqueue(new Callback<SubjectAreaResponse>() {
-            @Override
-            public void onResponse(Call<SubjectAreaResponse> call, Response<SubjectAreaResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    textViewSubjectArea.setText(response.body().getTitle());
-                } else {
-                    textViewSubjectArea.setText("N/A");
-                }
-            }
-
-            @Override
-            public void onFailure(Call<SubjectAreaResponse> call, Throwable t) {
-                textViewSubjectArea.setText("N/A");
-            }
-        });
-    }
 }
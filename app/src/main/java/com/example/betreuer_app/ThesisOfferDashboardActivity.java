@@ -7,6 +7,7 @@ import android.view.View;
 import android.widget.TextView;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.LiveData;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.betreuer_app.adapter.ThesisOfferAdapter;
@@ -14,18 +15,18 @@ import com.example.betreuer_app.constants.AuthConstants;
 import com.example.betreuer_app.model.ThesisOfferApiModel;
 import com.example.betreuer_app.model.ThesisOfferResponse;
 import com.example.betreuer_app.repository.ThesisOfferRepository;
+import com.example.betreuer_app.util.Resource;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import java.util.List;
 import java.util.UUID;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 public class ThesisOfferDashboardActivity extends AppCompatActivity {
 
     private RecyclerView recyclerView;
+    private ThesisOfferAdapter adapter;
     private TextView emptyView;
     private ThesisOfferRepository repository;
+    private LiveData<Resource<ThesisOfferResponse>> offersSource;
     private String userId;
 
     // Flag to determine if we are viewing another tutor's offers
@@ -55,6 +56,27 @@ public class ThesisOfferDashboardActivity extends AppCompatActivity {
         emptyView = findViewById(R.id.tv_empty_list);
 
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        adapter = new ThesisOfferAdapter(offer -> {
+            if (!isViewingTutorOffers) {
+                // Owner mode: Edit offer
+                Intent intent = new Intent(ThesisOfferDashboardActivity.this, CreateThesisOfferActivity.class);
+                intent.putExtra(CreateThesisOfferActivity.EXTRA_OFFER_ID, offer.getId().toString());
+                intent.putExtra(CreateThesisOfferActivity.EXTRA_OFFER_TITLE, offer.getTitle());
+                intent.putExtra(CreateThesisOfferActivity.EXTRA_OFFER_DESCRIPTION, offer.getDescription());
+                if (offer.getSubjectAreaId() != null) {
+                    intent.putExtra(CreateThesisOfferActivity.EXTRA_OFFER_SUBJECT_AREA_ID, offer.getSubjectAreaId().toString());
+                }
+                startActivity(intent);
+            } else {
+                // Viewer mode: View offer details and apply
+                Intent intent = new Intent(ThesisOfferDashboardActivity.this, ThesisOfferDetailActivity.class);
+                intent.putExtra("THESIS_OFFER_ID", offer.getId().toString());
+                intent.putExtra("THESIS_OFFER_TITLE", offer.getTitle());
+                intent.putExtra("THESIS_OFFER_DESCRIPTION", offer.getDescription());
+                startActivity(intent);
+            }
+        });
+        recyclerView.setAdapter(adapter);
 
         FloatingActionButton fab = findViewById(R.id.fab_add_thesis_offer);
 
@@ -87,55 +109,48 @@ public class ThesisOfferDashboardActivity extends AppCompatActivity {
     }
 
     private void loadThesisOffers(String idToLoad) {
+        UUID id;
         try {
-            repository.getThesisOffersByUser(UUID.fromString(idToLoad), 1, 50, new Callback<ThesisOfferResponse>() {
-                @Override
-                public void onResponse(Call<ThesisOfferResponse> call, Response<ThesisOfferResponse> response) {
-                    if (response.isSuccessful() && response.body() != null) {
-                        List<ThesisOfferApiModel> offers = response.body().getItems();
-                        if (offers != null && !offers.isEmpty()) {
-                            ThesisOfferAdapter adapter = new ThesisOfferAdapter(offers, offer -> {
-                                if (!isViewingTutorOffers) {
-                                    // Owner mode: Edit offer
-                                    Intent intent = new Intent(ThesisOfferDashboardActivity.this, CreateThesisOfferActivity.class);
-                                    intent.putExtra(CreateThesisOfferActivity.EXTRA_OFFER_ID, offer.getId().toString());
-                                    intent.putExtra(CreateThesisOfferActivity.EXTRA_OFFER_TITLE, offer.getTitle());
-                                    intent.putExtra(CreateThesisOfferActivity.EXTRA_OFFER_DESCRIPTION, offer.getDescription());
-                                    if (offer.getSubjectAreaId() != null) {
-                                        intent.putExtra(CreateThesisOfferActivity.EXTRA_OFFER_SUBJECT_AREA_ID, offer.getSubjectAreaId().toString());
-                                    }
-                                    startActivity(intent);
-                                } else {
-                                    // Viewer mode: View offer details and apply
-                                    Intent intent = new Intent(ThesisOfferDashboardActivity.this, ThesisOfferDetailActivity.class);
-                                    intent.putExtra("THESIS_OFFER_ID", offer.getId().toString());
-                                    intent.putExtra("THESIS_OFFER_TITLE", offer.getTitle());
-                                    intent.putExtra("THESIS_OFFER_DESCRIPTION", offer.getDescription());
-                                    startActivity(intent);
-                                }
-                            });
-                            recyclerView.setAdapter(adapter);
-                            recyclerView.setVisibility(View.VISIBLE);
-                            emptyView.setVisibility(View.GONE);
-                        } else {
-                            recyclerView.setVisibility(View.GONE);
-                            emptyView.setVisibility(View.VISIBLE);
-                            if (isViewingTutorOffers) {
-                                emptyView.setText("Keine Ausschreibungen gefunden.");
-                            }
-                        }
-                    } else {
-                        Toast.makeText(ThesisOfferDashboardActivity.this, "Fehler beim Laden: " + response.code(), Toast.LENGTH_SHORT).show();
-                    }
-                }
-
-                @Override
-                public void onFailure(Call<ThesisOfferResponse> call, Throwable t) {
-                    Toast.makeText(ThesisOfferDashboardActivity.this, "Netzwerkfehler: " + t.getMessage(), Toast.LENGTH_SHORT).show();
-                }
-            });
+            id = UUID.fromString(idToLoad);
         } catch (IllegalArgumentException e) {
             Toast.makeText(this, "Fehler: Ungültige ID.", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        if (offersSource != null) {
+            offersSource.removeObservers(this);
+        }
+        offersSource = repository.observeThesisOffersByUser(id, 1, 50);
+        offersSource.observe(this, resource -> {
+            if (resource == null) {
+                return;
+            }
+            // Stored offers are shown first, the server's answer replaces them
+            if (resource.getData() != null) {
+                showOffers(resource.getData());
+            }
+            if (resource.isError()) {
+                if (resource.getCode() != 0) {
+                    Toast.makeText(ThesisOfferDashboardActivity.this, "Fehler beim Laden: " + resource.getCode(), Toast.LENGTH_SHORT).show();
+                } else {
+                    Toast.makeText(ThesisOfferDashboardActivity.this, "Netzwerkfehler: " + resource.getMessage(), Toast.LENGTH_SHORT).show();
+                }
+            }
+        });
+    }
+
+    private void showOffers(ThesisOfferResponse response) {
+        List<ThesisOfferApiModel> offers = response.getItems();
+        if (offers != null && !offers.isEmpty()) {
+            adapter.submitList(offers);
+            recyclerView.setVisibility(View.VISIBLE);
+            emptyView.setVisibility(View.GONE);
+        } else {
+            recyclerView.setVisibility(View.GONE);
+            emptyView.setVisibility(View.VISIBLE);
+            if (isViewingTutorOffers) {
+                emptyView.setText("Keine Ausschreibungen gefunden.");
+            }
         }
     }
 }
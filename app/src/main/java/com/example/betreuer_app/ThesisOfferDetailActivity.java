@@ -9,22 +9,18 @@ import android.widget.Toast;
 
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.LiveData;
 
-import com.example.betreuer_app.api.ApiClient;
-import com.example.betreuer_app.api.ThesisOfferApplicationApiService;
 import com.example.betreuer_app.constants.AuthConstants;
 import com.example.betreuer_app.model.CreateThesisOfferApplicationRequest;
-import com.example.betreuer_app.model.ThesisOfferApplicationResponse;
+import com.example.betreuer_app.repository.ThesisOfferRepository;
+import com.example.betreuer_app.sync.MutationResult;
 
 import java.util.UUID;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class ThesisOfferDetailActivity extends AppCompatActivity {
 
-    private ThesisOfferApplicationApiService apiService;
+    private ThesisOfferRepository repository;
     private String thesisOfferId;
 
     @Override
@@ -32,7 +28,7 @@ public class ThesisOfferDetailActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_thesis_offer_detail);
 
-        apiService = ApiClient.getThesisOfferApplicationApiService(this);
+        repository = new ThesisOfferRepository(this);
 
         String title = getIntent().getStringExtra("THESIS_OFFER_TITLE");
         String description = getIntent().getStringExtra("THESIS_OFFER_DESCRIPTION");
@@ -73,20 +69,20 @@ public class ThesisOfferDetailActivity extends AppCompatActivity {
                 UUID.fromString(studentId)
         );
 
-        apiService.createApplication(request).enqueue(new Callback<ThesisOfferApplicationResponse>() {
-            @Override
-            public void onResponse(Call<ThesisOfferApplicationResponse> call, Response<ThesisOfferApplicationResponse> response) {
-                if (response.isSuccessful()) {
-                    Toast.makeText(ThesisOfferDetailActivity.this, "Bewerbung erfolgreich gesendet!", Toast.LENGTH_LONG).show();
-                    finish();
-                } else {
-                    Toast.makeText(ThesisOfferDetailActivity.this, "Fehler bei der Bewerbung: " + response.code(), Toast.LENGTH_SHORT).show();
-                }
+        // Queued in the outbox so the application is not lost on a flaky connection
+        LiveData<MutationResult> result = repository.applyForThesisOffer(request);
+        result.observe(this, mutationResult -> {
+            if (mutationResult == null) {
+                return;
             }
-
-            @Override
-            public void onFailure(Call<ThesisOfferApplicationResponse> call, Throwable t) {
-                Toast.makeText(ThesisOfferDetailActivity.this, "Netzwerkfehler: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+            if (mutationResult.getState() == MutationResult.State.SUCCEEDED) {
+                Toast.makeText(ThesisOfferDetailActivity.this, "Bewerbung erfolgreich gesendet!", Toast.LENGTH_LONG).show();
+                finish();
+            } else if (mutationResult.getState() == MutationResult.State.FAILED) {
+                Toast.makeText(ThesisOfferDetailActivity.this, "Fehler bei der Bewerbung: " + mutationResult.getCode(), Toast.LENGTH_SHORT).show();
+            } else if (mutationResult.getState() == MutationResult.State.RETRYING) {
+                Toast.makeText(ThesisOfferDetailActivity.this, "Keine Verbindung. Die Bewerbung wird automatisch gesendet, sobald wieder eine Verbindung besteht.", Toast.LENGTH_LONG).show();
+                finish();
             }
         });
     }
@@ -7,32 +7,28 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.LiveData;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.betreuer_app.api.ApiClient;
-import com.example.betreuer_app.api.ThesisRequestApiService;
-import com.example.betreuer_app.model.RespondToThesisRequestRequest;
 import com.example.betreuer_app.model.ThesisRequestResponse;
-import com.example.betreuer_app.model.ThesisRequestResponsePaginatedResponse;
+import com.example.betreuer_app.repository.ThesisRequestRepository;
+import com.example.betreuer_app.sync.MutationResult;
 import com.example.betreuer_app.ui.requests.ThesisRequestAdapter;
+import com.example.betreuer_app.util.Resource;
 import com.example.betreuer_app.util.SessionManager;
 import com.google.android.material.appbar.MaterialToolbar;
 
-import java.util.ArrayList;
 import java.util.List;
 
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
-
 public class ThesisRequestActivity extends AppCompatActivity {
 
     private RecyclerView recyclerView;
     private TextView emptyView;
     private ThesisRequestAdapter adapter;
-    private ThesisRequestApiService apiService;
     private SessionManager sessionManager;
+    private ThesisRequestRepository requestRepository;
+    private LiveData<Resource<List<ThesisRequestResponse>>> requestsSource;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -45,7 +41,7 @@ public class ThesisRequestActivity extends AppCompatActivity {
         recyclerView = findViewById(R.id.recyclerViewRequests);
         emptyView = findViewById(R.id.textViewEmpty);
 
-        apiService = ApiClient.getThesisRequestApiService(this);
+        requestRepository = new ThesisRequestRepository(this);
         sessionManager = new SessionManager(this);
 
         setupRecyclerView();
@@ -112,50 +108,41 @@ public class ThesisRequestActivity extends AppCompatActivity {
 
     private void loadMyRequests() {
         // Für Studenten: Lade ihre eigenen Anfragen
-        apiService.getMyRequests(1, 50).enqueue(new Callback<ThesisRequestResponsePaginatedResponse>() {
-            @Override
-            public void onResponse(Call<ThesisRequestResponsePaginatedResponse> call, Response<ThesisRequestResponsePaginatedResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    List<ThesisRequestResponse> requests = response.body().getItems();
-                    if (requests == null) requests = new ArrayList<>();
-                    
-                    updateRequestList(requests);
-                } else {
-                    Toast.makeText(ThesisRequestActivity.this, "Failed to load requests", Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(Call<ThesisRequestResponsePaginatedResponse> call, Throwable t) {
-                Toast.makeText(ThesisRequestActivity.this, "Error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
-            }
-        });
+        observeRequests(requestRepository.observeAllMyRequests(), "Failed to load requests", "Error: ");
     }
 
     private void loadIncomingRequests() {
         // Für Tutoren: Lade NUR eingehende Anfragen (als Receiver)
-        apiService.getIncomingRequests(null, 1, 50).enqueue(new Callback<ThesisRequestResponsePaginatedResponse>() {
-            @Override
-            public void onResponse(Call<ThesisRequestResponsePaginatedResponse> call, Response<ThesisRequestResponsePaginatedResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    List<ThesisRequestResponse> requests = response.body().getItems();
-                    if (requests == null) requests = new ArrayList<>();
-
-                    updateRequestList(requests);
-                } else {
-                    Toast.makeText(ThesisRequestActivity.this, "Fehler beim Laden der Anfragen", Toast.LENGTH_SHORT).show();
-                }
-            }
+        observeRequests(requestRepository.observeAllIncomingRequests(null), "Fehler beim Laden der Anfragen", "Fehler: ");
+    }
 
-            @Override
-            public void onFailure(Call<ThesisRequestResponsePaginatedResponse> call, Throwable t) {
-                Toast.makeText(ThesisRequestActivity.this, "Fehler: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+    /**
+     * Shows the stored list right away and replaces it as the server's pages arrive.
+     */
+    private void observeRequests(LiveData<Resource<List<ThesisRequestResponse>>> source,
+                                 String httpErrorMessage, String networkErrorPrefix) {
+        if (requestsSource != null) {
+            requestsSource.removeObservers(this);
+        }
+        requestsSource = source;
+        source.observe(this, resource -> {
+            if (resource == null) {
+                return;
+            }
+            if (resource.getData() != null) {
+                updateRequestList(resource.getData());
+            }
+            if (resource.isError()) {
+                String message = resource.getCode() != 0
+                        ? httpErrorMessage
+                        : networkErrorPrefix + resource.getMessage();
+                Toast.makeText(ThesisRequestActivity.this, message, Toast.LENGTH_SHORT).show();
             }
         });
     }
 
     private void updateRequestList(List<ThesisRequestResponse> requests) {
-        adapter.setRequests(requests);
+        adapter.submitList(requests);
 
         if (requests.isEmpty()) {
             emptyView.setVisibility(View.VISIBLE);
@@ -167,63 +154,38 @@ public class ThesisRequestActivity extends AppCompatActivity {
     }
 
     private void respondToRequest(ThesisRequestResponse request, boolean accept) {
-        RespondToThesisRequestRequest body = new RespondToThesisRequestRequest(accept, accept ? "Accepted" : "Rejected");
-        
-        apiService.respondToRequest(request.getId(), body).enqueue(new Callback<Void>() {
-            @Override
-            public void onResponse(Call<Void> call, Response<Void> response) {
-                if (response.isSuccessful()) {
-                    String message = accept ? "Request accepted" : "Request rejected";
-                    Toast.makeText(ThesisRequestActivity.this, message, Toast.LENGTH_SHORT).show();
-                    loadRequests(); // Reload list to update status
-                } else {
-                    Toast.makeText(ThesisRequestActivity.this, "Action failed: " + response.code(), Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(Call<Void> call, Throwable t) {
-                Toast.makeText(ThesisRequestActivity.this, "Error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
-            }
-        });
+        // Queued in the outbox: the list shows the new status at once, the server is updated in the background
+        LiveData<MutationResult> result = requestRepository.respondToRequest(
+                request.getId(), accept, accept ? "Accepted" : "Rejected");
+        String message = accept ? "Request accepted" : "Request rejected";
+        Toast.makeText(ThesisRequestActivity.this, message, Toast.LENGTH_SHORT).show();
+        loadRequests();
+        observeMutation(result, "Action failed: ");
     }
 
     private void cancelRequest(ThesisRequestResponse request) {
-        RespondToThesisRequestRequest body = new RespondToThesisRequestRequest(false, "Request canceled by sender");
-
-        apiService.respondToRequest(request.getId(), body).enqueue(new Callback<Void>() {
-            @Override
-            public void onResponse(Call<Void> call, Response<Void> response) {
-                if (response.isSuccessful()) {
-                    Toast.makeText(ThesisRequestActivity.this, "Request canceled", Toast.LENGTH_SHORT).show();
-                    loadRequests(); // Reload list to update status
-                } else {
-                    Toast.makeText(ThesisRequestActivity.this, "Cancel failed: " + response.code(), Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(Call<Void> call, Throwable t) {
-                Toast.makeText(ThesisRequestActivity.this, "Error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
-            }
-        });
+        LiveData<MutationResult> result = requestRepository.respondToRequest(
+                request.getId(), false, "Request canceled by sender");
+        Toast.makeText(ThesisRequestActivity.this, "Request canceled", Toast.LENGTH_SHORT).show();
+        loadRequests();
+        observeMutation(result, "Cancel failed: ");
     }
 
     private void deleteRequest(ThesisRequestResponse request) {
-        apiService.deleteRequest(request.getId()).enqueue(new Callback<Void>() {
-            @Override
-            public void onResponse(Call<Void> call, Response<Void> response) {
-                if (response.isSuccessful()) {
-                    Toast.makeText(ThesisRequestActivity.this, "Request deleted", Toast.LENGTH_SHORT).show();
-                    loadRequests(); // Reload list to update status
-                } else {
-                    Toast.makeText(ThesisRequestActivity.this, "Delete failed: " + response.code(), Toast.LENGTH_SHORT).show();
-                }
-            }
+        LiveData<MutationResult> result = requestRepository.deleteRequest(request.getId());
+        Toast.makeText(ThesisRequestActivity.this, "Request deleted", Toast.LENGTH_SHORT).show();
+        loadRequests();
+        observeMutation(result, "Delete failed: ");
+    }
 
-            @Override
-            public void onFailure(Call<Void> call, Throwable t) {
-                Toast.makeText(ThesisRequestActivity.this, "Error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+    /**
+     * Reloads the list if the server rejected a queued action, which drops its local effect.
+     */
+    private void observeMutation(LiveData<MutationResult> result, String failurePrefix) {
+        result.observe(this, mutationResult -> {
+            if (mutationResult != null && mutationResult.getState() == MutationResult.State.FAILED) {
+                Toast.makeText(ThesisRequestActivity.this, failurePrefix + mutationResult.getCode(), Toast.LENGTH_SHORT).show();
+                loadRequests();
             }
         });
     }
@@ -9,18 +9,21 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.ViewModelProvider;
 
 import com.example.betreuer_app.api.ApiClient;
 import com.example.betreuer_app.api.ThesisApiService;
 import com.example.betreuer_app.api.ThesisRequestApiService;
 import com.example.betreuer_app.constants.RequestStatuses;
-import com.example.betreuer_app.model.RespondToThesisRequestRequest;
 import com.example.betreuer_app.model.ThesisRequestResponse;
+import com.example.betreuer_app.repository.ThesisRequestRepository;
+import com.example.betreuer_app.sync.MutationResult;
+import com.example.betreuer_app.viewmodel.DocumentDownloadViewModel;
 import com.google.android.material.appbar.MaterialToolbar;
 
 import java.util.UUID;
 
-import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -30,7 +33,10 @@ public class ThesisRequestDetailActivity extends AppCompatActivity {
     private UUID requestId;
     private ThesisRequestApiService apiService;
     private ThesisApiService thesisApiService;
+    private ThesisRequestRepository requestRepository;
     private FileDownloader fileDownloader;
+    private DownloadButtonController downloadButton;
+    private DocumentDownloadViewModel downloads;
 
     private TextView thesisTitle;
     private TextView requesterName;
@@ -91,11 +97,23 @@ public class ThesisRequestDetailActivity extends AppCompatActivity {
 
         apiService = ApiClient.getThesisRequestApiService(this);
         thesisApiService = ApiClient.getThesisApiService(this);
+        requestRepository = new ThesisRequestRepository(this);
         fileDownloader = new FileDownloader();
+        downloadButton = new DownloadButtonController(btnDownloadDocument);
+        downloads = new ViewModelProvider(this).get(DocumentDownloadViewModel.class);
+        FileDownloader.Download runningDownload = downloads.getRunning();
+        if (runningDownload != null) {
+            // Started before a configuration change
+            trackDownload(runningDownload);
+        }
 
         btnAccept.setOnClickListener(v -> respondToRequest(true));
         btnReject.setOnClickListener(v -> respondToRequest(false));
-        btnDownloadDocument.setOnClickListener(v -> downloadDocument());
+        btnDownloadDocument.setOnClickListener(v -> {
+            if (!downloadButton.cancelRunning()) {
+                downloadDocument();
+            }
+        });
 
         loadRequestDetails();
     }
@@ -105,7 +123,13 @@ public class ThesisRequestDetailActivity extends AppCompatActivity {
             @Override
             public void onResponse(Call<ThesisRequestResponse> call, Response<ThesisRequestResponse> response) {
                 if (response.isSuccessful() && response.body() != null) {
-                    displayDetails(response.body());
+                    ThesisRequestResponse request = requestRepository.applyPendingChanges(response.body());
+                    if (request == null) {
+                        // Deletion is still queued
+                        finish();
+                        return;
+                    }
+                    displayDetails(request);
                 } else {
                     Toast.makeText(ThesisRequestDetailActivity.this, "Failed to load details", Toast.LENGTH_SHORT).show();
                     finish();
@@ -161,7 +185,7 @@ public class ThesisRequestDetailActivity extends AppCompatActivity {
             // Show/hide download button based on document availability
             if (request.getDocumentFileName() != null && request.getDocumentId() != null) {
                 btnDownloadDocument.setVisibility(View.VISIBLE);
-                btnDownloadDocument.setText("Dokument herunterladen: " + request.getDocumentFileName());
+                downloadButton.setLabel("Dokument herunterladen: " + request.getDocumentFileName());
             } else {
                 btnDownloadDocument.setVisibility(View.GONE);
             }
@@ -213,24 +237,18 @@ public class ThesisRequestDetailActivity extends AppCompatActivity {
             // Use DELETE API for deletion
             deleteRequest();
         } else {
-            // Use respond API for accept/reject
-            RespondToThesisRequestRequest body = new RespondToThesisRequestRequest(accept, accept ? "Accepted" : "Rejected");
-
-            apiService.respondToRequest(requestId, body).enqueue(new Callback<Void>() {
-                @Override
-                public void onResponse(Call<Void> call, Response<Void> response) {
-                    if (response.isSuccessful()) {
-                        String msg = accept ? "Request accepted" : "Request rejected";
-                        Toast.makeText(ThesisRequestDetailActivity.this, msg, Toast.LENGTH_SHORT).show();
-                        loadRequestDetails(); // Refresh view
-                    } else {
-                        Toast.makeText(ThesisRequestDetailActivity.this, "Action failed: " + response.code(), Toast.LENGTH_SHORT).show();
-                    }
-                }
-
-                @Override
-                public void onFailure(Call<Void> call, Throwable t) {
-                    Toast.makeText(ThesisRequestDetailActivity.this, "Error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+            // Queued in the outbox; the new status is shown right away
+            LiveData<MutationResult> result = requestRepository.respondToRequest(
+                    requestId, accept, accept ? "Accepted" : "Rejected");
+            String msg = accept ? "Request accepted" : "Request rejected";
+            Toast.makeText(ThesisRequestDetailActivity.this, msg, Toast.LENGTH_SHORT).show();
+            if (currentRequest != null) {
+                displayDetails(requestRepository.applyPendingChanges(currentRequest));
+            }
+            result.observe(this, mutationResult -> {
+                if (mutationResult != null && mutationResult.getState() == MutationResult.State.FAILED) {
+                    Toast.makeText(ThesisRequestDetailActivity.this, "Action failed: " + mutationResult.getCode(), Toast.LENGTH_SHORT).show();
+                    loadRequestDetails(); // Refresh view
                 }
             });
         }
@@ -240,9 +258,9 @@ public class ThesisRequestDetailActivity extends AppCompatActivity {
      * Initiates the download of a document associated with the current request.
      *
      * This method checks if the currentRequest and its required fields are not null.
-     * If valid, it starts the download process by calling the thesisApiService to fetch
-     * the document. The response is handled to either confirm a successful download
-     * or report any errors encountered during the process.
+     * If valid, it starts the download through the FileDownloader, which saves the
+     * document in the background while the button shows the progress; tapping the
+     * button again cancels it. The outcome is reported as a toast.
      */
     private void downloadDocument() {
         if (currentRequest == null || currentRequest.getDocumentFileName() == null || currentRequest.getThesisId() == null) {
@@ -252,44 +270,29 @@ public class ThesisRequestDetailActivity extends AppCompatActivity {
 
         Toast.makeText(this, "Download gestartet...", Toast.LENGTH_SHORT).show();
 
-        thesisApiService.downloadThesisDocument(currentRequest.getThesisId().toString()).enqueue(new Callback<ResponseBody>() {
-            @Override
-            public void onResponse(Call<ResponseBody> call, Response<ResponseBody> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    boolean written = fileDownloader.writeResponseBodyToDisk(ThesisRequestDetailActivity.this, response.body(), currentRequest.getDocumentFileName());
-                    if (written) {
-                        Toast.makeText(ThesisRequestDetailActivity.this, "Download erfolgreich: " + currentRequest.getDocumentFileName(), Toast.LENGTH_LONG).show();
-                    } else {
-                        Toast.makeText(ThesisRequestDetailActivity.this, "Fehler beim Speichern der Datei", Toast.LENGTH_SHORT).show();
-                    }
-                } else {
-                    Toast.makeText(ThesisRequestDetailActivity.this, "Download fehlgeschlagen", Toast.LENGTH_SHORT).show();
-                }
-            }
+        String fileName = currentRequest.getDocumentFileName();
+        String documentThesisId = currentRequest.getThesisId().toString();
+        FileDownloader.Download download = fileDownloader.download(this, currentRequest.getDocumentId(),
+                "thesis-" + documentThesisId,
+                (range, ifRange) -> thesisApiService.downloadThesisDocument(documentThesisId, range, ifRange), fileName);
+        downloads.start(download, fileName);
+        trackDownload(download);
+    }
 
-            @Override
-            public void onFailure(Call<ResponseBody> call, Throwable t) {
-                Toast.makeText(ThesisRequestDetailActivity.this, "Netzwerkfehler: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+    private void trackDownload(FileDownloader.Download download) {
+        downloadButton.track(this, download, resource -> {
+            if (resource.isSuccess()) {
+                Toast.makeText(this, "Download erfolgreich: " + downloads.getFileName(), Toast.LENGTH_LONG).show();
+            } else {
+                Toast.makeText(this, resource.getMessage(), Toast.LENGTH_SHORT).show();
             }
         });
     }
 
     private void deleteRequest() {
-        apiService.deleteRequest(requestId).enqueue(new Callback<Void>() {
-            @Override
-            public void onResponse(Call<Void> call, Response<Void> response) {
-                if (response.isSuccessful()) {
-                    Toast.makeText(ThesisRequestDetailActivity.this, "Request deleted", Toast.LENGTH_SHORT).show();
-                    finish(); // Close the detail activity since the request is deleted
-                } else {
-                    Toast.makeText(ThesisRequestDetailActivity.this, "Delete failed: " + response.code(), Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(Call<Void> call, Throwable t) {
-                Toast.makeText(ThesisRequestDetailActivity.this, "Error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
-            }
-        });
+        // Sent in the background; a rejection is reported app-wide once this screen is gone
+        requestRepository.deleteRequest(requestId);
+        Toast.makeText(ThesisRequestDetailActivity.this, "Request deleted", Toast.LENGTH_SHORT).show();
+        finish(); // Close the detail activity since the request is deleted
     }
 }
@@ -12,19 +12,17 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.LiveData;
 import androidx.lifecycle.ViewModelProvider;
 
-import com.example.betreuer_app.api.ApiClient;
-import com.example.betreuer_app.api.ThesisApiService;
 import com.example.betreuer_app.model.ThesisApiModel;
 import com.example.betreuer_app.model.RoleApiModel;
 import com.example.betreuer_app.model.ThesisStatus;
+import com.example.betreuer_app.repository.ThesisRepository;
+import com.example.betreuer_app.sync.MutationResult;
 import com.example.betreuer_app.viewmodel.ThesisStatusViewModel;
 import com.example.betreuer_app.util.ThesisStatusHelper;
-
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import com.example.betreuer_app.util.ThesisWorkflow;
 
 /**
  * Fragment zur Anzeige und Steuerung des Arbeitsstatus.
@@ -33,7 +31,7 @@ import retrofit2.Response;
 public class ThesisStatusFragment extends Fragment {
 
     private ThesisStatusViewModel viewModel;
-    private ThesisApiService thesisApiService;
+    private ThesisRepository thesisRepository;
 
     private ImageView iconRegistered, iconInProgress, iconSubmitted, iconGraded;
     private TextView titleRegistered, titleInProgress, titleSubmitted, titleGraded;
@@ -60,7 +58,7 @@ public class ThesisStatusFragment extends Fragment {
         actionButton = view.findViewById(R.id.action_button);
 
         viewModel = new ViewModelProvider(this).get(ThesisStatusViewModel.class);
-        thesisApiService = ApiClient.getThesisApiService(requireContext());
+        thesisRepository = new ThesisRepository(requireContext());
 
         viewModel.thesisData.observe(getViewLifecycleOwner(), this::updateUi);
         
@@ -81,40 +79,49 @@ public class ThesisStatusFragment extends Fragment {
 
     /**
      * Sendet den neuen Status an die API.
+     * Die Änderung wird über die Outbox sofort lokal angezeigt und im Hintergrund übertragen.
      */
     private void updateThesisStatus(String thesisId, String newStatus) {
-        actionButton.setEnabled(false); // Deaktiviere Button während API-Call
-
-        ThesisApiService.StatusUpdateRequest request = new ThesisApiService.StatusUpdateRequest(newStatus);
-
-        thesisApiService.updateStatus(thesisId, request).enqueue(new Callback<>() {
-            @Override
-            public void onResponse(@NonNull Call<ThesisApiModel> call, @NonNull Response<ThesisApiModel> response) {
-                actionButton.setEnabled(true);
+        ThesisApiModel current = viewModel.thesisData.getValue();
+        String previousStatus = current != null ? current.getStatus() : null;
+
+        LiveData<MutationResult> result = thesisRepository.updateStatus(thesisId, newStatus);
+
+        if (current != null) {
+            current.setStatus(newStatus);
+            RoleApiModel role = viewModel.currentUserRole.getValue();
+            if (role != null
+                    && "STUDENT".equals(role.getName())
+                    && ("REGISTERED".equals(newStatus) || "SUBMITTED".equals(newStatus))) {
+                ThesisStatusHelper.markStudentRegistrationConfirmed(requireContext(), current);
+            }
+            viewModel.thesisData.setValue(current);
+        }
 
-                if (response.isSuccessful() && response.body() != null) {
-                    // Aktualisiere das ViewModel mit der Antwort vom Server
-                    viewModel.thesisData.setValue(response.body());
-                    RoleApiModel role = viewModel.currentUserRole.getValue();
-                    if (role != null
-                            && "STUDENT".equals(role.getName())
-                            && ("REGISTERED".equals(newStatus) || "SUBMITTED".equals(newStatus))) {
-                        ThesisStatusHelper.markStudentRegistrationConfirmed(requireContext(), response.body());
-                    }
-                    Toast.makeText(getContext(), "Status erfolgreich aktualisiert", Toast.LENGTH_SHORT).show();
-                } else {
-                    String errorMessage = "Fehler beim Aktualisieren des Status";
-                    if (response.code() == 403) {
-                        errorMessage = "Sie sind nicht berechtigt, den Status zu ändern";
-                    }
-                    Toast.makeText(getContext(), errorMessage, Toast.LENGTH_LONG).show();
-                }
+        result.observe(getViewLifecycleOwner(), mutationResult -> {
+            if (mutationResult == null) {
+                return;
             }
+            if (mutationResult.getState() == MutationResult.State.SUCCEEDED) {
+                // Aktualisiere das ViewModel mit der Antwort vom Server
+                if (mutationResult.getBody() instanceof ThesisApiModel) {
+                    viewModel.thesisData.setValue(
+                            thesisRepository.applyPendingChanges((ThesisApiModel) mutationResult.getBody()));
+                }
+                Toast.makeText(getContext(), "Status erfolgreich aktualisiert", Toast.LENGTH_SHORT).show();
+            } else if (mutationResult.getState() == MutationResult.State.FAILED) {
+                String errorMessage = "Fehler beim Aktualisieren des Status";
+                if (mutationResult.getCode() == 403) {
+                    errorMessage = "Sie sind nicht berechtigt, den Status zu ändern";
+                }
+                Toast.makeText(getContext(), errorMessage, Toast.LENGTH_LONG).show();
 
-            @Override
-            public void onFailure(@NonNull Call<ThesisApiModel> call, @NonNull Throwable t) {
-                actionButton.setEnabled(true);
-                Toast.makeText(getContext(), "Netzwerkfehler: " + t.getMessage(), Toast.LENGTH_LONG).show();
+                // Lokale Änderung zurücknehmen, sofern sie nicht schon überschrieben wurde
+                ThesisApiModel shown = viewModel.thesisData.getValue();
+                if (shown != null && newStatus.equals(shown.getStatus())) {
+                    shown.setStatus(previousStatus);
+                    viewModel.thesisData.setValue(shown);
+                }
             }
         });
     }
@@ -148,60 +155,26 @@ public class ThesisStatusFragment extends Fragment {
     }
 
     private boolean canStudentSetStatus(ThesisApiModel thesis, String targetStatus) {
-        if (thesis == null || targetStatus == null) {
-            Toast.makeText(getContext(), getString(R.string.toast_not_allowed), Toast.LENGTH_SHORT).show();
-            return false;
-        }
-
-        boolean hasTutor = thesis.getTutorId() != null;
-        boolean hasFile = thesis.getDocumentFileName() != null && !thesis.getDocumentFileName().isEmpty();
-        String currentStatus = thesis.getStatus();
-
-        if ("REGISTERED".equals(targetStatus)) {
-            if ("IN_DISCUSSION".equals(currentStatus) && hasTutor) {
-                return true;
-            }
-        }
-
-        if ("SUBMITTED".equals(targetStatus)) {
-            if (!"REGISTERED".equals(currentStatus)) {
-                Toast.makeText(getContext(), getString(R.string.toast_not_allowed), Toast.LENGTH_SHORT).show();
-                return false;
-            }
-            if (!hasFile) {
-                Toast.makeText(getContext(), getString(R.string.toast_need_expose), Toast.LENGTH_SHORT).show();
-                return false;
-            }
-            return true;
-        }
-
-        Toast.makeText(getContext(), getString(R.string.toast_not_allowed), Toast.LENGTH_SHORT).show();
-        return false;
+        return canSetStatus(ThesisWorkflow.Role.STUDENT, thesis, targetStatus);
     }
 
     private boolean canTutorSetStatus(ThesisApiModel thesis, String targetStatus) {
-        if (thesis == null || targetStatus == null) {
+        return canSetStatus(ThesisWorkflow.Role.TUTOR, thesis, targetStatus);
+    }
+
+    private boolean canSetStatus(ThesisWorkflow.Role role, ThesisApiModel thesis, String targetStatus) {
+        ThesisWorkflow.Transition transition = thesis != null
+                ? ThesisWorkflow.Transition.of(role, thesis.getStatus(), targetStatus) : null;
+        if (transition == null) {
             Toast.makeText(getContext(), getString(R.string.toast_not_allowed), Toast.LENGTH_SHORT).show();
             return false;
         }
-
-        String currentStatus = thesis.getStatus();
-        boolean hasSecondSupervisor = thesis.getSecondSupervisorId() != null;
-
-        if ("DEFENDED".equals(targetStatus)) {
-            if (!"SUBMITTED".equals(currentStatus)) {
-                Toast.makeText(getContext(), getString(R.string.toast_not_allowed), Toast.LENGTH_SHORT).show();
-                return false;
-            }
-            if (!hasSecondSupervisor) {
-                Toast.makeText(getContext(), getString(R.string.toast_need_second_examiner), Toast.LENGTH_SHORT).show();
-                return false;
-            }
-            return true;
+        ThesisWorkflow.Requirement missing = transition.missing(thesis);
+        if (missing != null) {
+            Toast.makeText(getContext(), getString(missing.getMessageRes()), Toast.LENGTH_SHORT).show();
+            return false;
         }
-
-        Toast.makeText(getContext(), getString(R.string.toast_not_allowed), Toast.LENGTH_SHORT).show();
-        return false;
+        return true;
     }
 
     private void setStepVisuals(ImageView icon, TextView text, boolean completed, boolean isActive) {
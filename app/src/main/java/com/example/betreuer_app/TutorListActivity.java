@@ -2,33 +2,31 @@ package com.example.betreuer_app;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.text.Editable;
 import android.text.TextWatcher;
 import android.widget.EditText;
 import android.widget.Toast;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.betreuer_app.model.SubjectAreaResponse;
-import com.example.betreuer_app.model.SubjectAreaResponsePaginatedResponse;
-import com.example.betreuer_app.model.TutorsResponse;
+import com.example.betreuer_app.model.TutorProfileResponse;
 import com.example.betreuer_app.repository.SubjectAreaRepository;
-import com.example.betreuer_app.repository.TutorRepository;
 import com.example.betreuer_app.ui.tutorlist.TutorListAdapter;
+import com.example.betreuer_app.util.Resource;
+import com.example.betreuer_app.viewmodel.TutorListViewModel;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+
+import java.util.List;
 
 /**
  * TutorListActivity displays a list of tutors with search and filtering capabilities.
  * Users can search for tutors by name and filter by subject area using chips.
- * The activity implements debounced search to avoid excessive API calls during typing.
- * It loads subject areas dynamically to populate filter chips and fetches tutors based on search criteria.
+ * The search itself lives in {@link TutorListViewModel}, which debounces typing and only shows the latest results.
+ * It loads subject areas dynamically to populate filter chips.
  */
 public class TutorListActivity extends AppCompatActivity {
 
@@ -38,8 +36,8 @@ public class TutorListActivity extends AppCompatActivity {
     /** Adapter for managing the tutor list data in the RecyclerView. */
     private TutorListAdapter adapter;
 
-    /** Repository for handling tutor-related API operations. */
-    private TutorRepository tutorRepository;
+    /** ViewModel holding the tutor search. */
+    private TutorListViewModel viewModel;
 
     /** Repository for handling subject area-related API operations. */
     private SubjectAreaRepository subjectAreaRepository;
@@ -50,24 +48,12 @@ public class TutorListActivity extends AppCompatActivity {
     /** ChipGroup for displaying subject area filter chips. */
     private ChipGroup subjectAreaChipGroup;
 
-    /** The currently selected subject area ID for filtering tutors. Null if no subject area is selected. */
-    private String selectedSubjectAreaId = null;
-
-    /** The pre-selected subject area ID from intent extras, if any. */
-    private String preSelectedSubjectAreaId = null;
-
-    /** Delay in milliseconds for debouncing search requests. */
-    private static final long SEARCH_DEBOUNCE_DELAY_MS = 300L;
-
-    /** Handler for posting delayed search runnables on the main thread. */
-    private final Handler searchHandler = new Handler(Looper.getMainLooper());
-
-    /** Runnable for the pending debounced search operation. */
-    private Runnable pendingSearchRunnable;
+    /** Maximum number of subject area filter chips shown above the list. */
+    private static final int MAX_SUBJECT_AREA_CHIPS = 10;
 
     /**
      * Called when the activity is starting. This method initializes the UI components,
-     * sets up repositories, loads initial data, and configures the debounced search listener.
+     * sets up the ViewModel and repositories, loads initial data, and forwards typed text to the search.
      * @param savedInstanceState If the activity is being re-initialized after previously being shut down,
      * this Bundle contains the data it most recently supplied in onSaveInstanceState.
      * This value may be null.
@@ -82,17 +68,34 @@ public class TutorListActivity extends AppCompatActivity {
 
         recyclerView = findViewById(R.id.tutorsRecyclerView);
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
+        // Opens the TutorProfileActivity with the tutor's ID, name, and email
+        adapter = new TutorListAdapter(tutor -> {
+            // Changed navigation: Go to TutorProfileActivity instead of SupervisionRequestActivity directly
+            Intent intent = new Intent(TutorListActivity.this, TutorProfileActivity.class);
+            intent.putExtra("TUTOR_ID", tutor.getId().toString());
+            intent.putExtra("TUTOR_NAME", (tutor.getFirstName() != null ? tutor.getFirstName() : "") + " " + (tutor.getLastName() != null ? tutor.getLastName() : ""));
+            intent.putExtra("TUTOR_EMAIL", tutor.getEmail());
+
+            // Leite Intent-Extras für zweiten Supervisor weiter
+            if (getIntent().getBooleanExtra("SELECTING_SECOND_SUPERVISOR", false)) {
+                intent.putExtra("SELECTING_SECOND_SUPERVISOR", true);
+                intent.putExtra("THESIS_ID", getIntent().getStringExtra("THESIS_ID"));
+            }
+
+            startActivity(intent);
+        });
+        recyclerView.setAdapter(adapter);
+
         searchInput = findViewById(R.id.search_input);
         subjectAreaChipGroup = findViewById(R.id.subject_area_chip_group);
 
-        tutorRepository = new TutorRepository(getApplicationContext());
         subjectAreaRepository = new SubjectAreaRepository(getApplicationContext());
+        viewModel = new ViewModelProvider(this).get(TutorListViewModel.class);
+        viewModel.getTutors().observe(this, this::showTutors);
 
-        // Get pre-selected subject area ID from intent extras, if available
-        preSelectedSubjectAreaId = getIntent().getStringExtra("SELECTED_SUBJECT_AREA_ID");
-
+        // Filter by the pre-selected subject area ID from intent extras, if available
+        viewModel.start(getIntent().getStringExtra("SELECTED_SUBJECT_AREA_ID"));
         loadSubjectAreas();
-        loadTutors(null);
 
         searchInput.addTextChangedListener(new TextWatcher() {
             @Override
@@ -100,12 +103,7 @@ public class TutorListActivity extends AppCompatActivity {
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                if (pendingSearchRunnable != null) {
-                    searchHandler.removeCallbacks(pendingSearchRunnable);
-                }
-                final String query = s.toString();
-                pendingSearchRunnable = () -> loadTutors(query);
-                searchHandler.postDelayed(pendingSearchRunnable, SEARCH_DEBOUNCE_DELAY_MS);
+                viewModel.setSearchText(s.toString());
             }
 
             @Override
@@ -114,40 +112,39 @@ public class TutorListActivity extends AppCompatActivity {
     }
 
     /**
-     * Loads the list of subject areas from the API and populates the ChipGroup with filter chips.
+     * Loads the list of subject areas from the reference data catalogue and populates the ChipGroup with filter chips.
      * Each chip represents a subject area and allows users to filter tutors by that subject area.
-     * If the API call fails, an error message is displayed to the user.
+     * If the list cannot be loaded, an error message is displayed to the user.
      */
     private void loadSubjectAreas() {
-        subjectAreaRepository.getSubjectAreas(1, 10, new Callback<SubjectAreaResponsePaginatedResponse>() {
-            @Override
-            public void onResponse(Call<SubjectAreaResponsePaginatedResponse> call, Response<SubjectAreaResponsePaginatedResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    subjectAreaChipGroup.removeAllViews();
-                    var items = response.body().getItems();
-                    if (items != null) {
-                        for (SubjectAreaResponse subjectArea : items) {
-                            addSubjectAreaChip(subjectArea);
-                        }
+        subjectAreaRepository.getAllSubjectAreas(resource -> {
+            if (isFinishing() || isDestroyed()) {
+                return;
+            }
+            if (resource.isSuccess() && resource.getData() != null) {
+                subjectAreaChipGroup.removeAllViews();
+                List<SubjectAreaResponse> items = resource.getData();
+                String selectedId = viewModel.getSubjectAreaId();
+                for (int i = 0; i < items.size(); i++) {
+                    SubjectAreaResponse subjectArea = items.get(i);
+                    // Always show the chip of the active filter so it can be removed
+                    if (i < MAX_SUBJECT_AREA_CHIPS || isSelected(subjectArea, selectedId)) {
+                        addSubjectAreaChip(subjectArea, isSelected(subjectArea, selectedId));
                     }
-                } else {
-                    Toast.makeText(TutorListActivity.this, "Failed to load subject areas", Toast.LENGTH_SHORT).show();
                 }
-            }
-
-            @Override
-            public void onFailure(Call<SubjectAreaResponsePaginatedResponse> call, Throwable t) {
-                Toast.makeText(TutorListActivity.this, "Failed to load subject areas: " + t.getMessage(), Toast.LENGTH_SHORT).show();
+            } else {
+                Toast.makeText(TutorListActivity.this, "Failed to load subject areas: " + resource.getMessage(), Toast.LENGTH_SHORT).show();
             }
         });
     }
 
     /**
      * Creates and adds a Chip to the ChipGroup for the given subject area.
-     * The chip is checkable and triggers a tutor reload when its checked state changes.
+     * The chip is checkable and changes the tutor filter when its checked state changes.
      * @param subjectArea The subject area model containing the title and ID for the chip.
+     * @param checked Whether the subject area is the active filter.
      */
-    private void addSubjectAreaChip(SubjectAreaResponse subjectArea) {
+    private void addSubjectAreaChip(SubjectAreaResponse subjectArea, boolean checked) {
         Chip chip = new Chip(this);
         chip.setText(subjectArea.getTitle());
         chip.setCheckable(true);
@@ -157,75 +154,39 @@ public class TutorListActivity extends AppCompatActivity {
         }
         chip.setTag(subjectArea.getId());
 
-        // Pre-select the chip if it matches the pre-selected subject area ID
-        if (preSelectedSubjectAreaId != null && preSelectedSubjectAreaId.equals(subjectArea.getId())) {
-            chip.setChecked(true);
-            selectedSubjectAreaId = subjectArea.getId() != null ? subjectArea.getId().toString() : null;
-        }
+        // Checked before the listener is attached, so restoring the filter does not search again
+        chip.setChecked(checked);
 
         chip.setOnCheckedChangeListener((buttonView, isChecked) -> {
             if (isChecked) {
-                selectedSubjectAreaId = subjectArea.getId() != null ? subjectArea.getId().toString() : null;
+                viewModel.setSubjectAreaId(subjectArea.getId() != null ? subjectArea.getId().toString() : null);
             } else {
-                selectedSubjectAreaId = null;
+                viewModel.setSubjectAreaId(null);
             }
-            loadTutors(searchInput.getText().toString());
         });
 
         subjectAreaChipGroup.addView(chip);
     }
 
+    private static boolean isSelected(SubjectAreaResponse subjectArea, String selectedId) {
+        return selectedId != null && subjectArea.getId() != null && selectedId.equals(subjectArea.getId().toString());
+    }
+
     /**
-     * Loads the list of tutors from the API based on the selected subject area and search name.
-     * This method fetches tutors using the tutorRepository and updates the RecyclerView with the
-     * fetched tutors. If the request fails or no tutors are found, an appropriate error message
-     * is displayed. The method also handles navigation to the TutorProfileActivity with relevant
-     * tutor details, including the tutor's ID, name, and email.
+     * Shows the latest search results in the RecyclerView; only rows that changed are
+     * bound again. While a search is running the previous results stay visible; failures
+     * are reported with a toast.
      *
-     * @param name The search query for tutor names. Can be null or empty for no name filter.
+     * @param resource The result of the latest tutor search.
      */
-    private void loadTutors(String name) {
-        tutorRepository.getTutors(selectedSubjectAreaId, null, name, 1, 20, new Callback<TutorsResponse>() {
-            @Override
-            /**
-             * Handles the response from a Tutors API call.
-             *
-             * This method checks if the response is successful and contains a non-null body.
-             * If valid items are present, it initializes a TutorListAdapter with the items and sets up an intent to navigate to the TutorProfileActivity,
-             * passing relevant tutor information. If no items are found or the response is unsuccessful, it displays a toast message indicating the issue.
-             */
-            public void onResponse(Call<TutorsResponse> call, Response<TutorsResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    var items = response.body().getItems();
-                    if (items != null) {
-                        adapter = new TutorListAdapter(items, tutor -> {
-                            // Changed navigation: Go to TutorProfileActivity instead of SupervisionRequestActivity directly
-                            Intent intent = new Intent(TutorListActivity.this, TutorProfileActivity.class);
-                            intent.putExtra("TUTOR_ID", tutor.getId().toString());
-                            intent.putExtra("TUTOR_NAME", (tutor.getFirstName() != null ? tutor.getFirstName() : "") + " " + (tutor.getLastName() != null ? tutor.getLastName() : ""));
-                            intent.putExtra("TUTOR_EMAIL", tutor.getEmail());
-
-                            // Leite Intent-Extras für zweiten Supervisor weiter
-                            if (getIntent().getBooleanExtra("SELECTING_SECOND_SUPERVISOR", false)) {
-                                intent.putExtra("SELECTING_SECOND_SUPERVISOR", true);
-                                intent.putExtra("THESIS_ID", getIntent().getStringExtra("THESIS_ID"));
-                            }
-
-                            startActivity(intent);
-                        });
-                        recyclerView.setAdapter(adapter);
-                    } else {
-                        Toast.makeText(TutorListActivity.this, "No tutors found", Toast.LENGTH_SHORT).show();
-                    }
-                } else {
-                    Toast.makeText(TutorListActivity.this, "No tutors found or error loading", Toast.LENGTH_SHORT).show();
-                }
-            }
-
-            @Override
-            public void onFailure(Call<TutorsResponse> call, Throwable t) {
-                Toast.makeText(TutorListActivity.this, "Request failed: " + t.getMessage(), Toast.LENGTH_SHORT).show();
-            }
-        });
+    private void showTutors(Resource<List<TutorProfileResponse>> resource) {
+        if (resource == null || resource.isLoading()) {
+            return;
+        }
+        if (resource.isError() || resource.getData() == null) {
+            Toast.makeText(TutorListActivity.this, resource.getMessage(), Toast.LENGTH_SHORT).show();
+            return;
+        }
+        adapter.submitList(resource.getData());
     }
 }
@@ -5,23 +5,44 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.betreuer_app.R;
 import com.example.betreuer_app.model.ThesisOfferApiModel;
-import java.util.List;
+import com.example.betreuer_app.util.StableIds;
+import java.util.Objects;
 
-public class ThesisOfferAdapter extends RecyclerView.Adapter<ThesisOfferAdapter.ViewHolder> {
+public class ThesisOfferAdapter extends ListAdapter<ThesisOfferApiModel, ThesisOfferAdapter.ViewHolder> {
+
+    static final DiffUtil.ItemCallback<ThesisOfferApiModel> DIFF_CALLBACK = new DiffUtil.ItemCallback<ThesisOfferApiModel>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull ThesisOfferApiModel oldItem, @NonNull ThesisOfferApiModel newItem) {
+            return Objects.equals(oldItem.getId(), newItem.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull ThesisOfferApiModel oldItem, @NonNull ThesisOfferApiModel newItem) {
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getDescription(), newItem.getDescription());
+        }
+    };
 
-    private final List<ThesisOfferApiModel> offers;
     private final OnItemClickListener listener;
 
     public interface OnItemClickListener {
         void onItemClick(ThesisOfferApiModel offer);
     }
 
-    public ThesisOfferAdapter(List<ThesisOfferApiModel> offers, OnItemClickListener listener) {
-        this.offers = offers;
+    public ThesisOfferAdapter(OnItemClickListener listener) {
+        super(DIFF_CALLBACK);
         this.listener = listener;
+        setHasStableIds(true);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return StableIds.of(getItem(position).getId());
     }
 
     @NonNull
@@ -33,7 +54,7 @@ public class ThesisOfferAdapter extends RecyclerView.Adapter<ThesisOfferAdapter.
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        ThesisOfferApiModel offer = offers.get(position);
+        ThesisOfferApiModel offer = getItem(position);
         holder.tvTitle.setText(offer.getTitle());
         holder.tvDescription.setText(offer.getDescription() != null ? offer.getDescription() : "");
         
@@ -44,11 +65,6 @@ public class ThesisOfferAdapter extends RecyclerView.Adapter<ThesisOfferAdapter.
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return offers.size();
-    }
-
     public static class ViewHolder extends RecyclerView.ViewHolder {
         TextView tvTitle;
         TextView tvDescription;
@@ -1,55 +1,163 @@
 package com.example.betreuer_app.api;
 
 import android.content.Context;
+import android.util.Log;
 
+import com.example.betreuer_app.model.ModelTypeAdapterFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.OkHttpClient;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
+/**
+ * Shared HTTP transport. One OkHttpClient (connection pool, dispatcher) and one
+ * Retrofit instance are built lazily; every service interface is created once
+ * and then served from {@link #services}. Identical GETs that overlap in time
+ * share one exchange (see {@link CoalescingCallAdapterFactory}).
+ */
 public class ApiClient {
+    private static final String TAG = "ApiClient";
     private static final String BASE_URL = "http://10.0.2.2:8080/";
+    private static final String HTTP_CACHE_DIR = "http_cache";
     private static Retrofit retrofit = null;
+    private static OkHttpClient okHttpClient = null;
+    private static Cache httpCache = null;
+    private static TransportConfig transportConfig = new TransportConfig();
+
+    private static final Map<Class<?>, Object> services = new ConcurrentHashMap<>();
+
+    /**
+     * Replaces the transport configuration. Must be called before the first
+     * service is requested (e.g. from Application.onCreate); later calls have no effect
+     * on the already built client.
+     */
+    public static synchronized void configure(TransportConfig config) {
+        if (config != null && okHttpClient == null) {
+            transportConfig = config;
+        }
+    }
 
-    private static Retrofit getClient(Context context) {
+    private static synchronized Retrofit getClient(Context context) {
         if (retrofit == null) {
-            OkHttpClient okHttpClient = new OkHttpClient.Builder()
-                    .addInterceptor(new AuthInterceptor(context.getApplicationContext()))
-                    .build();
+            okHttpClient = buildHttpClient(context);
 
             retrofit = new Retrofit.Builder()
                     .baseUrl(BASE_URL)
                     .client(okHttpClient)
-                    .addConverterFactory(GsonConverterFactory.create())
+                    .addCallAdapterFactory(new CoalescingCallAdapterFactory(context))
+                    .addConverterFactory(ItemStreamConverterFactory.create(ModelTypeAdapterFactory.gson()))
+                    .addConverterFactory(GsonConverterFactory.create(ModelTypeAdapterFactory.gson()))
                     .build();
         }
         return retrofit;
     }
 
+    private static OkHttpClient buildHttpClient(Context context) {
+        TransportConfig config = transportConfig;
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(config.getMaxRequests());
+        dispatcher.setMaxRequestsPerHost(config.getMaxRequestsPerHost());
+
+        File cacheDir = context.getCacheDir();
+        if (cacheDir != null && config.getHttpCacheSizeBytes() > 0) {
+            httpCache = new Cache(new File(cacheDir, HTTP_CACHE_DIR), config.getHttpCacheSizeBytes());
+        }
+
+        return new OkHttpClient.Builder()
+                .cache(httpCache)
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(
+                        config.getMaxIdleConnections(),
+                        config.getKeepAliveSeconds(),
+                        TimeUnit.SECONDS))
+                .protocols(config.getProtocols())
+                .connectTimeout(config.getConnectTimeoutSeconds(), TimeUnit.SECONDS)
+                .readTimeout(config.getReadTimeoutSeconds(), TimeUnit.SECONDS)
+                .writeTimeout(config.getWriteTimeoutSeconds(), TimeUnit.SECONDS)
+                .callTimeout(config.getCallTimeoutSeconds(), TimeUnit.SECONDS)
+                .addInterceptor(new OfflineCacheInterceptor())
+                .addInterceptor(new AuthInterceptor(context.getApplicationContext()))
+                .addNetworkInterceptor(new CachePolicyInterceptor())
+                .authenticator(new SessionAuthenticator(context.getApplicationContext(), config.getTokenRefresher()))
+                .build();
+    }
+
+    /**
+     * Drops every cached HTTP response. The cache is keyed by URL only, so it
+     * must be emptied when the user changes (logout / session expiry).
+     */
+    public static void evictHttpCache() {
+        Cache cache;
+        synchronized (ApiClient.class) {
+            cache = httpCache;
+        }
+        if (cache == null) {
+            return;
+        }
+        new Thread(() -> {
+            try {
+                cache.evictAll();
+            } catch (IOException e) {
+                Log.w(TAG, "Failed to evict HTTP cache", e);
+            }
+        }, "http-cache-evict").start();
+    }
+
+    /**
+     * Returns the cached proxy for the given Retrofit service interface,
+     * creating it on first use.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T getService(Context context, Class<T> serviceClass) {
+        Object service = services.get(serviceClass);
+        if (service == null) {
+            Retrofit client = getClient(context);
+            synchronized (services) {
+                service = services.get(serviceClass);
+                if (service == null) {
+                    service = client.create(serviceClass);
+                    services.put(serviceClass, service);
+                }
+            }
+        }
+        return (T) service;
+    }
+
     public static UserApiService getUserApiService(Context context) {
-        return getClient(context).create(UserApiService.class);
+        return getService(context, UserApiService.class);
     }
 
     public static ThesisApiService getThesisApiService(Context context) {
-        return getClient(context).create(ThesisApiService.class);
+        return getService(context, ThesisApiService.class);
     }
 
     public static SubjectAreaApiService getSubjectAreaApiService(Context context) {
-        return getClient(context).create(SubjectAreaApiService.class);
+        return getService(context, SubjectAreaApiService.class);
     }
 
     public static TutorApiService getTutorApiService(Context context) {
-        return getClient(context).create(TutorApiService.class);
+        return getService(context, TutorApiService.class);
     }
 
     public static ThesisOfferApiService getThesisOfferApiService(Context context) {
-        return getClient(context).create(ThesisOfferApiService.class);
+        return getService(context, ThesisOfferApiService.class);
     }
 
     public static ThesisRequestApiService getThesisRequestApiService(Context context) {
-        return getClient(context).create(ThesisRequestApiService.class);
+        return getService(context, ThesisRequestApiService.class);
     }
 
     public static ThesisOfferApplicationApiService getThesisOfferApplicationApiService(Context context) {
-        return getClient(context).create(ThesisOfferApplicationApiService.class);
+        return getService(context, ThesisOfferApplicationApiService.class);
     }
 }
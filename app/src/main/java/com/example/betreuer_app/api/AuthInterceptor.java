@@ -1,7 +1,8 @@
 package com.example.betreuer_app.api;
 
 import android.content.Context;
-import android.content.SharedPreferences;
+
+import com.example.betreuer_app.util.SessionTokenCache;
 
 import java.io.IOException;
 
@@ -19,14 +20,16 @@ public class AuthInterceptor implements Interceptor {
 
     @Override
     public Response intercept(Chain chain) throws IOException {
-        SharedPreferences sharedPreferences = context.getSharedPreferences("auth_prefs", Context.MODE_PRIVATE);
-        String token = sharedPreferences.getString("jwt_token", null);
+        // Served from memory; SharedPreferences is only read once on cold start
+        String authorization = SessionTokenCache.getAuthorizationHeader(context);
 
-        Request.Builder requestBuilder = chain.request().newBuilder();
-        if (token != null) {
-            requestBuilder.addHeader("Authorization", "Bearer " + token);
+        if (authorization == null) {
+            return chain.proceed(chain.request());
         }
 
-        return chain.proceed(requestBuilder.build());
+        Request request = chain.request().newBuilder()
+                .header("Authorization", authorization)
+                .build();
+        return chain.proceed(request);
     }
 }
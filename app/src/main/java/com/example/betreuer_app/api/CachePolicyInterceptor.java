@@ -0,0 +1,122 @@
+package com.example.betreuer_app.api;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that assigns per-endpoint cache lifetimes to GET responses
+ * when the server does not send its own Cache-Control header.
+ *
+ * Reference data is kept for a long time, user/tutor lists only briefly, and
+ * everything else is stored with "no-cache" so OkHttp revalidates it with
+ * If-None-Match / If-Modified-Since and gets a cheap 304 when nothing changed.
+ */
+public class CachePolicyInterceptor implements Interceptor {
+
+    private static final String HEADER_CACHE_CONTROL = "Cache-Control";
+
+    static final int ONE_MINUTE = 60;
+    static final int ONE_HOUR = 60 * 60;
+    static final int ONE_DAY = 24 * ONE_HOUR;
+
+    /** Marks responses that must never be written to the cache (e.g. documents). */
+    static final int NO_STORE = -1;
+    /** Marks responses that are stored but revalidated on every use. */
+    static final int REVALIDATE = 0;
+
+    private static final List<Rule> RULES;
+
+    static {
+        List<Rule> rules = new ArrayList<>();
+        rules.add(Rule.exact("/theses/billing-statuses", ONE_DAY));
+        rules.add(Rule.exact("/thesis-offers/statuses", ONE_DAY));
+        rules.add(Rule.suffix("/document", NO_STORE));
+        rules.add(Rule.prefix("/subject-areas", ONE_HOUR));
+        rules.add(Rule.prefix("/users", ONE_MINUTE));
+        rules.add(Rule.prefix("/api/Tutor", ONE_MINUTE));
+        RULES = Collections.unmodifiableList(rules);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+
+        if (!"GET".equals(request.method()) || response.header(HEADER_CACHE_CONTROL) != null) {
+            return response;
+        }
+
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .header(HEADER_CACHE_CONTROL, cacheControlFor(maxAgeFor(request.url().encodedPath())))
+                .build();
+    }
+
+    /**
+     * Returns the cache lifetime in seconds for the given path, or
+     * {@link #REVALIDATE} / {@link #NO_STORE}.
+     */
+    static int maxAgeFor(String path) {
+        for (Rule rule : RULES) {
+            if (rule.matches(path)) {
+                return rule.maxAgeSeconds;
+            }
+        }
+        return REVALIDATE;
+    }
+
+    static String cacheControlFor(int maxAgeSeconds) {
+        if (maxAgeSeconds == NO_STORE) {
+            return "no-store";
+        }
+        if (maxAgeSeconds == REVALIDATE) {
+            return "private, no-cache";
+        }
+        return "private, max-age=" + maxAgeSeconds;
+    }
+
+    private static final class Rule {
+        private static final int EXACT = 0;
+        private static final int PREFIX = 1;
+        private static final int SUFFIX = 2;
+
+        final int kind;
+        final String path;
+        final int maxAgeSeconds;
+
+        private Rule(int kind, String path, int maxAgeSeconds) {
+            this.kind = kind;
+            this.path = path;
+            this.maxAgeSeconds = maxAgeSeconds;
+        }
+
+        static Rule exact(String path, int maxAgeSeconds) {
+            return new Rule(EXACT, path, maxAgeSeconds);
+        }
+
+        static Rule prefix(String path, int maxAgeSeconds) {
+            return new Rule(PREFIX, path, maxAgeSeconds);
+        }
+
+        static Rule suffix(String path, int maxAgeSeconds) {
+            return new Rule(SUFFIX, path, maxAgeSeconds);
+        }
+
+        boolean matches(String requestPath) {
+            switch (kind) {
+                case EXACT:
+                    return requestPath.equals(path);
+                case PREFIX:
+                    return requestPath.startsWith(path);
+                default:
+                    return requestPath.endsWith(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.betreuer_app.api;
+
+import android.content.Context;
+
+import com.example.betreuer_app.util.SessionTokenCache;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Shares one in-flight GET among all callers that enqueue the same request.
+ *
+ * Calls are keyed by method, URL and Authorization header. While a call with the
+ * same key is running, further {@link Call#enqueue(Callback)}s attach to it instead
+ * of opening another exchange, and every caller receives the same parsed body.
+ * Shared bodies must therefore be treated as read-only.
+ *
+ * {@link Call#execute()} and non-GET calls are passed through unchanged, and calls
+ * returning an {@link ItemStream} are not wrapped at all.
+ */
+public class CoalescingCallAdapterFactory extends CallAdapter.Factory {
+
+    private final Context context;
+    private final Map<String, InFlight<?>> inFlight = new HashMap<>();
+
+    public CoalescingCallAdapterFactory(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        if (getRawType(returnType) != Call.class || !(returnType instanceof ParameterizedType)) {
+            return null;
+        }
+        // A stream can be read by one caller only
+        if (getRawType(getParameterUpperBound(0, (ParameterizedType) returnType)) == ItemStream.class) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        CallAdapter<Object, Call<Object>> delegate =
+                (CallAdapter<Object, Call<Object>>) retrofit.nextCallAdapter(this, returnType, annotations);
+
+        return new CallAdapter<Object, Call<Object>>() {
+            @Override
+            public Type responseType() {
+                return delegate.responseType();
+            }
+
+            @Override
+            public Call<Object> adapt(Call<Object> call) {
+                return new CoalescingCall<>(delegate.adapt(call));
+            }
+        };
+    }
+
+    /**
+     * Returns the number of distinct requests currently in flight.
+     */
+    int inFlightCount() {
+        synchronized (inFlight) {
+            return inFlight.size();
+        }
+    }
+
+    static String keyOf(Request request, String authorization) {
+        return request.method() + ' ' + request.url() + ' ' + (authorization != null ? authorization : "");
+    }
+
+    /**
+     * One running exchange and the callers waiting for its result.
+     */
+    private final class InFlight<T> implements Callback<T> {
+        private final String key;
+        private final Call<T> call;
+        private final List<CoalescingCall<T>> waiters = new ArrayList<>();
+
+        InFlight(String key, Call<T> call) {
+            this.key = key;
+            this.call = call;
+        }
+
+        @Override
+        public void onResponse(Call<T> ignored, Response<T> response) {
+            List<CoalescingCall<T>> callers = finish();
+            if (response.isSuccessful() || callers.size() == 1) {
+                for (CoalescingCall<T> caller : callers) {
+                    caller.deliver(response);
+                }
+                return;
+            }
+
+            // Error bodies are one-shot streams; hand every caller its own copy
+            byte[] errorBytes = readErrorBody(response);
+            MediaType contentType = response.errorBody() != null ? response.errorBody().contentType() : null;
+            for (CoalescingCall<T> caller : callers) {
+                caller.deliver(Response.error(ResponseBody.create(contentType, errorBytes), response.raw()));
+            }
+        }
+
+        @Override
+        public void onFailure(Call<T> ignored, Throwable t) {
+            for (CoalescingCall<T> caller : finish()) {
+                caller.fail(t);
+            }
+        }
+
+        private List<CoalescingCall<T>> finish() {
+            synchronized (inFlight) {
+                if (inFlight.get(key) == this) {
+                    inFlight.remove(key);
+                }
+                return new ArrayList<>(waiters);
+            }
+        }
+
+        /**
+         * Detaches a cancelled caller; the exchange itself is only cancelled
+         * once nobody is waiting for it any more.
+         */
+        void leave(CoalescingCall<T> caller) {
+            boolean cancelExchange = true;
+            synchronized (inFlight) {
+                for (CoalescingCall<T> waiter : waiters) {
+                    if (waiter != caller && !waiter.canceled) {
+                        cancelExchange = false;
+                        break;
+                    }
+                }
+                if (cancelExchange && inFlight.get(key) == this) {
+                    inFlight.remove(key);
+                }
+            }
+            if (cancelExchange) {
+                call.cancel();
+            }
+        }
+
+        private byte[] readErrorBody(Response<T> response) {
+            ResponseBody errorBody = response.errorBody();
+            if (errorBody == null) {
+                return new byte[0];
+            }
+            try {
+                // Retrofit has already buffered error bodies in memory
+                return errorBody.bytes();
+            } catch (IOException e) {
+                return new byte[0];
+            }
+        }
+    }
+
+    private final class CoalescingCall<T> implements Call<T> {
+        private final Call<T> delegate;
+        private Callback<T> callback;
+        private InFlight<T> joined;
+        private volatile boolean executed;
+        private volatile boolean canceled;
+
+        CoalescingCall(Call<T> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Response<T> execute() throws IOException {
+            executed = true;
+            return delegate.execute();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void enqueue(Callback<T> callback) {
+            Request request = delegate.request();
+            if (!"GET".equals(request.method())) {
+                executed = true;
+                delegate.enqueue(callback);
+                return;
+            }
+
+            String key = keyOf(request, SessionTokenCache.getAuthorizationHeader(context));
+            InFlight<T> target;
+            boolean start = false;
+            synchronized (inFlight) {
+                if (executed) {
+                    throw new IllegalStateException("Already executed.");
+                }
+                executed = true;
+                this.callback = callback;
+                target = (InFlight<T>) inFlight.get(key);
+                if (target == null) {
+                    target = new InFlight<>(key, delegate);
+                    inFlight.put(key, target);
+                    start = true;
+                }
+                target.waiters.add(this);
+                joined = target;
+            }
+            if (start) {
+                delegate.enqueue(target);
+            }
+        }
+
+        void deliver(Response<T> response) {
+            if (canceled) {
+                callback.onFailure(this, new IOException("Canceled"));
+            } else {
+                callback.onResponse(this, response);
+            }
+        }
+
+        void fail(Throwable t) {
+            callback.onFailure(this, canceled ? new IOException("Canceled") : t);
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return executed;
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+            InFlight<T> target;
+            synchronized (inFlight) {
+                target = joined;
+            }
+            if (target != null) {
+                target.leave(this);
+            } else {
+                delegate.cancel();
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Override
+        public Call<T> clone() {
+            return new CoalescingCall<>(delegate.clone());
+        }
+
+        @Override
+        public Request request() {
+            return delegate.request();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return delegate.timeout();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.betreuer_app.api;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import okhttp3.ResponseBody;
+
+/**
+ * A paginated list response ({@code {"items": [...], "totalCount": ..., "page": ..., "pageSize": ...}})
+ * that is parsed while it is read, instead of being bound to a page object up front.
+ * Declare a service method as {@code Call<ItemStream<T>>} to get one (see
+ * {@link ItemStreamConverterFactory}).
+ *
+ * The items are handed to a {@link Visitor} one by one as they are parsed, so callers can
+ * show the first ones before the rest has arrived, and can stop reading once they found
+ * what they need. Reading blocks on the network and must not happen on the main thread;
+ * the stream can be read once.
+ */
+public final class ItemStream<T> implements Closeable {
+
+    public interface Visitor<T> {
+        /**
+         * Called for each item in order.
+         *
+         * @return false to stop reading; the rest of the response is discarded
+         */
+        boolean visit(T item);
+    }
+
+    /**
+     * What was learned about the page while reading it.
+     */
+    public static final class Page {
+        private int itemCount;
+        private int totalCount = -1;
+        private int page = -1;
+        private int pageSize = -1;
+        private boolean stopped;
+
+        public int getItemCount() {
+            return itemCount;
+        }
+
+        /**
+         * The total number of items on the server, or -1 if the response did not say so
+         * before reading stopped.
+         */
+        public int getTotalCount() {
+            return totalCount;
+        }
+
+        public int getPage() {
+            return page;
+        }
+
+        public int getPageSize() {
+            return pageSize;
+        }
+
+        /**
+         * Whether the visitor stopped reading before the end of the items.
+         */
+        public boolean isStopped() {
+            return stopped;
+        }
+    }
+
+    private final ResponseBody body;
+    private final TypeAdapter<T> itemAdapter;
+    private final Gson gson;
+
+    ItemStream(ResponseBody body, TypeAdapter<T> itemAdapter, Gson gson) {
+        this.body = body;
+        this.itemAdapter = itemAdapter;
+        this.gson = gson;
+    }
+
+    /**
+     * Reads the response, passing every item to {@code visitor}, and closes it.
+     * A bare JSON array is read as the items of a page without metadata.
+     */
+    public Page read(Visitor<? super T> visitor) throws IOException {
+        Page page = new Page();
+        try (JsonReader in = gson.newJsonReader(body.charStream())) {
+            if (in.peek() == JsonToken.BEGIN_ARRAY) {
+                readItems(in, visitor, page);
+                return page;
+            }
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "items":
+                        if (!readItems(in, visitor, page)) {
+                            return page;
+                        }
+                        break;
+                    case "totalCount":
+                        page.totalCount = readInt(in, page.totalCount);
+                        break;
+                    case "page":
+                        page.page = readInt(in, page.page);
+                        break;
+                    case "pageSize":
+                        page.pageSize = readInt(in, page.pageSize);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return page;
+        }
+    }
+
+    /**
+     * Discards the response without reading it.
+     */
+    @Override
+    public void close() {
+        body.close();
+    }
+
+    // Returns false if the visitor stopped
+    private boolean readItems(JsonReader in, Visitor<? super T> visitor, Page page) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        in.beginArray();
+        while (in.hasNext()) {
+            T item = itemAdapter.read(in);
+            page.itemCount++;
+            if (!visitor.visit(item)) {
+                page.stopped = true;
+                return false;
+            }
+        }
+        in.endArray();
+        return true;
+    }
+
+    private static int readInt(JsonReader in, int fallback) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return fallback;
+        }
+        return in.nextInt();
+    }
+}
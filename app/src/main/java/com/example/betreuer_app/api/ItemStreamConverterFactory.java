@@ -0,0 +1,43 @@
+package com.example.betreuer_app.api;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Hands {@code ItemStream<T>} responses over unread, with the item adapter of the given Gson.
+ * Must be added before the Gson converter, which would otherwise bind the whole body.
+ */
+public final class ItemStreamConverterFactory extends Converter.Factory {
+
+    private final Gson gson;
+
+    private ItemStreamConverterFactory(Gson gson) {
+        this.gson = gson;
+    }
+
+    public static ItemStreamConverterFactory create(Gson gson) {
+        return new ItemStreamConverterFactory(gson);
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        if (getRawType(type) != ItemStream.class || !(type instanceof ParameterizedType)) {
+            return null;
+        }
+        TypeAdapter<?> itemAdapter = gson.getAdapter(TypeToken.get(getParameterUpperBound(0, (ParameterizedType) type)));
+        return body -> newStream(body, itemAdapter);
+    }
+
+    private <T> ItemStream<T> newStream(ResponseBody body, TypeAdapter<T> itemAdapter) {
+        return new ItemStream<>(body, itemAdapter, gson);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.betreuer_app.api;
+
+import java.io.IOException;
+
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Falls back to the disk cache when a GET cannot reach the server,
+ * serving the last stored response even if it is stale.
+ */
+public class OfflineCacheInterceptor implements Interceptor {
+
+    private static final int HTTP_GATEWAY_TIMEOUT = 504;
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        try {
+            return chain.proceed(request);
+        } catch (IOException e) {
+            if (!"GET".equals(request.method()) || chain.call().isCanceled()) {
+                throw e;
+            }
+
+            Request cachedOnly = request.newBuilder()
+                    .cacheControl(CacheControl.FORCE_CACHE)
+                    .build();
+            Response cached = chain.proceed(cachedOnly);
+            if (cached.code() == HTTP_GATEWAY_TIMEOUT) {
+                // Nothing in the cache - report the original network error
+                cached.close();
+                throw e;
+            }
+            return cached;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.betreuer_app.api;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.betreuer_app.util.SessionManager;
+import com.example.betreuer_app.util.SessionTokenCache;
+
+import java.io.IOException;
+
+import okhttp3.Authenticator;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+
+/**
+ * Central 401 handling for all API calls.
+ *
+ * Concurrent 401s are serialized on one lock: the first caller tries to renew the
+ * token (if a {@link TokenRefresher} is configured) or ends the session; everyone
+ * queued behind it then either replays with the new token or fails with the same 401.
+ * The session-expiry event is published once via {@link SessionExpiryNotifier}.
+ */
+public class SessionAuthenticator implements Authenticator {
+
+    private static final String TAG = "SessionAuthenticator";
+    private static final String HEADER_AUTHORIZATION = "Authorization";
+
+    private final Context context;
+    private final TokenRefresher tokenRefresher;
+    private final Object lock = new Object();
+
+    public SessionAuthenticator(Context context, TokenRefresher tokenRefresher) {
+        this.context = context;
+        this.tokenRefresher = tokenRefresher;
+    }
+
+    @Override
+    public Request authenticate(Route route, Response response) throws IOException {
+        String failedAuthorization = response.request().header(HEADER_AUTHORIZATION);
+        if (failedAuthorization == null) {
+            // Unauthenticated call (e.g. login with wrong credentials) - nothing to renew
+            return null;
+        }
+        if (priorResponseCount(response) > 1) {
+            // Already replayed once and still rejected
+            return null;
+        }
+
+        synchronized (lock) {
+            String currentAuthorization = SessionTokenCache.getAuthorizationHeader(context);
+
+            if (currentAuthorization == null) {
+                // Session was ended by a call that failed before us
+                return null;
+            }
+            if (!currentAuthorization.equals(failedAuthorization)) {
+                // Token was renewed while we were waiting - replay with it
+                return withAuthorization(response.request(), currentAuthorization);
+            }
+
+            String newToken = null;
+            if (tokenRefresher != null) {
+                try {
+                    newToken = tokenRefresher.refreshToken(SessionTokenCache.getToken(context));
+                } catch (IOException e) {
+                    Log.w(TAG, "Token refresh failed", e);
+                }
+            }
+
+            if (newToken != null) {
+                new SessionManager(context).updateToken(newToken);
+                return withAuthorization(response.request(), SessionTokenCache.getAuthorizationHeader(context));
+            }
+
+            new SessionManager(context).expireSession();
+            SessionExpiryNotifier.notifyExpired();
+            return null;
+        }
+    }
+
+    private static Request withAuthorization(Request request, String authorization) {
+        return request.newBuilder()
+                .header(HEADER_AUTHORIZATION, authorization)
+                .build();
+    }
+
+    private static int priorResponseCount(Response response) {
+        int count = 1;
+        while ((response = response.priorResponse()) != null) {
+            count++;
+        }
+        return count;
+    }
+}
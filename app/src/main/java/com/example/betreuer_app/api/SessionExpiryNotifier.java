@@ -0,0 +1,44 @@
+package com.example.betreuer_app.api;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Process-wide "session expired" signal.
+ * Fires at most once per session, no matter how many parallel calls hit a 401;
+ * it is re-armed when a new session is saved.
+ */
+public final class SessionExpiryNotifier {
+
+    private static final MutableLiveData<Boolean> sessionExpired = new MutableLiveData<>(false);
+    private static final AtomicBoolean fired = new AtomicBoolean(false);
+
+    private SessionExpiryNotifier() {
+    }
+
+    public static LiveData<Boolean> getSessionExpired() {
+        return sessionExpired;
+    }
+
+    /**
+     * Publishes the expiry event. Returns false if it was already published for this session.
+     */
+    static boolean notifyExpired() {
+        if (fired.compareAndSet(false, true)) {
+            sessionExpired.postValue(true);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Re-arms the notifier after a successful login.
+     */
+    public static void reset() {
+        if (fired.compareAndSet(true, false)) {
+            sessionExpired.postValue(false);
+        }
+    }
+}
@@ -14,6 +14,12 @@ public interface SubjectAreaApiService {
     @GET("subject-areas")
     Call<SubjectAreaResponsePaginatedResponse> getSubjectAreas(@Query("page") int page, @Query("pageSize") int pageSize);
 
+    /**
+     * Same as {@link #getSubjectAreas}, parsed while it is read.
+     */
+    @GET("subject-areas")
+    Call<ItemStream<SubjectAreaResponse>> streamSubjectAreas(@Query("page") int page, @Query("pageSize") int pageSize);
+
     @GET("subject-areas/{id}")
     Call<SubjectAreaResponse> getSubjectArea(@Path("id") UUID id);
 
@@ -10,6 +10,8 @@ import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.Body;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.Headers;
 import retrofit2.http.Multipart;
 import retrofit2.http.PATCH;
 import retrofit2.http.POST;
@@ -53,9 +55,19 @@ public interface ThesisApiService {
     @GET("theses/{id}")
     Call<ThesisApiModel> getThesis(@Path("id") String id);
 
+    /**
+     * Lädt das Dokument einer Abschlussarbeit herunter, optional ab einer Byte-Position.
+     *
+     * @param range   z. B. {@code bytes=1024-}, oder null für das ganze Dokument
+     * @param ifRange ETag oder Last-Modified des bereits geladenen Teils; passt er nicht mehr,
+     *                liefert der Server das ganze Dokument
+     */
     @Streaming
+    @Headers("Accept-Encoding: identity")
     @GET("theses/{id}/document")
-    Call<ResponseBody> downloadThesisDocument(@Path("id") String id);
+    Call<ResponseBody> downloadThesisDocument(@Path("id") String id,
+                                              @Header("Range") String range,
+                                              @Header("If-Range") String ifRange);
 
     @Multipart
     @PUT("theses/{thesisId}/document")
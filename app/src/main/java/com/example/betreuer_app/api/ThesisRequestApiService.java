@@ -23,6 +23,15 @@ public interface ThesisRequestApiService {
             @Query("pageSize") int pageSize
     );
 
+    /**
+     * Same as {@link #getMyRequests}, parsed while it is read.
+     */
+    @GET("thesis-requests")
+    Call<ItemStream<ThesisRequestResponse>> streamMyRequests(
+            @Query("page") int page,
+            @Query("pageSize") int pageSize
+    );
+
     @GET("thesis-requests/{id}")
     Call<ThesisRequestResponse> getThesisRequest(
             @Path("id") UUID id
@@ -57,4 +66,24 @@ public interface ThesisRequestApiService {
             @Query("page") int page,
             @Query("pageSize") int pageSize
     );
+
+    /**
+     * Same as {@link #getIncomingRequests}, parsed while it is read.
+     */
+    @GET("thesis-requests/tutor/receiver")
+    Call<ItemStream<ThesisRequestResponse>> streamIncomingRequests(
+            @Query("status") String status,
+            @Query("page") int page,
+            @Query("pageSize") int pageSize
+    );
+
+    /**
+     * Same as {@link #getOutgoingRequests}, parsed while it is read.
+     */
+    @GET("thesis-requests/tutor/requester")
+    Call<ItemStream<ThesisRequestResponse>> streamOutgoingRequests(
+            @Query("status") String status,
+            @Query("page") int page,
+            @Query("pageSize") int pageSize
+    );
 }
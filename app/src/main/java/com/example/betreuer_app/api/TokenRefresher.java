@@ -0,0 +1,17 @@
+package com.example.betreuer_app.api;
+
+import java.io.IOException;
+
+/**
+ * Obtains a fresh JWT after the server rejected the current one.
+ * Called synchronously from {@link SessionAuthenticator} on an OkHttp thread,
+ * at most once per expired token.
+ */
+public interface TokenRefresher {
+
+    /**
+     * @param expiredToken The token that was answered with 401.
+     * @return The new token, or null if the session cannot be renewed.
+     */
+    String refreshToken(String expiredToken) throws IOException;
+}
@@ -0,0 +1,153 @@
+package com.example.betreuer_app.api;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import okhttp3.Protocol;
+
+/**
+ * Tuning parameters for the shared OkHttp transport built by {@link ApiClient}.
+ * The defaults are sized for screens such as the thesis detail view, which fire
+ * several requests against the same host at once.
+ */
+public class TransportConfig {
+
+    /** Default number of idle connections kept alive in the pool. */
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+
+    /** Default keep-alive duration for idle connections, in seconds. */
+    public static final long DEFAULT_KEEP_ALIVE_SECONDS = 300;
+
+    /** Default number of concurrent requests across all hosts. */
+    public static final int DEFAULT_MAX_REQUESTS = 64;
+
+    /** Default number of concurrent requests per host (OkHttp ships with 5). */
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 8;
+
+    /** Default timeouts in seconds. A call timeout of 0 disables it. */
+    public static final long DEFAULT_CONNECT_TIMEOUT_SECONDS = 10;
+    public static final long DEFAULT_READ_TIMEOUT_SECONDS = 30;
+    public static final long DEFAULT_WRITE_TIMEOUT_SECONDS = 30;
+    public static final long DEFAULT_CALL_TIMEOUT_SECONDS = 0;
+
+    /** Default size limit of the on-disk HTTP cache. */
+    public static final long DEFAULT_HTTP_CACHE_SIZE_BYTES = 10L * 1024 * 1024;
+
+    private int maxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+    private long keepAliveSeconds = DEFAULT_KEEP_ALIVE_SECONDS;
+    private int maxRequests = DEFAULT_MAX_REQUESTS;
+    private int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+    private long connectTimeoutSeconds = DEFAULT_CONNECT_TIMEOUT_SECONDS;
+    private long readTimeoutSeconds = DEFAULT_READ_TIMEOUT_SECONDS;
+    private long writeTimeoutSeconds = DEFAULT_WRITE_TIMEOUT_SECONDS;
+    private long callTimeoutSeconds = DEFAULT_CALL_TIMEOUT_SECONDS;
+    private boolean http2Enabled = true;
+    private long httpCacheSizeBytes = DEFAULT_HTTP_CACHE_SIZE_BYTES;
+    private TokenRefresher tokenRefresher = null;
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public void setMaxIdleConnections(int maxIdleConnections) {
+        this.maxIdleConnections = maxIdleConnections;
+    }
+
+    public long getKeepAliveSeconds() {
+        return keepAliveSeconds;
+    }
+
+    public void setKeepAliveSeconds(long keepAliveSeconds) {
+        this.keepAliveSeconds = keepAliveSeconds;
+    }
+
+    public int getMaxRequests() {
+        return maxRequests;
+    }
+
+    public void setMaxRequests(int maxRequests) {
+        this.maxRequests = maxRequests;
+    }
+
+    public int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    public void setMaxRequestsPerHost(int maxRequestsPerHost) {
+        this.maxRequestsPerHost = maxRequestsPerHost;
+    }
+
+    public long getConnectTimeoutSeconds() {
+        return connectTimeoutSeconds;
+    }
+
+    public void setConnectTimeoutSeconds(long connectTimeoutSeconds) {
+        this.connectTimeoutSeconds = connectTimeoutSeconds;
+    }
+
+    public long getReadTimeoutSeconds() {
+        return readTimeoutSeconds;
+    }
+
+    public void setReadTimeoutSeconds(long readTimeoutSeconds) {
+        this.readTimeoutSeconds = readTimeoutSeconds;
+    }
+
+    public long getWriteTimeoutSeconds() {
+        return writeTimeoutSeconds;
+    }
+
+    public void setWriteTimeoutSeconds(long writeTimeoutSeconds) {
+        this.writeTimeoutSeconds = writeTimeoutSeconds;
+    }
+
+    public long getCallTimeoutSeconds() {
+        return callTimeoutSeconds;
+    }
+
+    public void setCallTimeoutSeconds(long callTimeoutSeconds) {
+        this.callTimeoutSeconds = callTimeoutSeconds;
+    }
+
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    public void setHttp2Enabled(boolean http2Enabled) {
+        this.http2Enabled = http2Enabled;
+    }
+
+    /**
+     * Returns the disk cache limit in bytes; 0 disables the HTTP cache.
+     */
+    public long getHttpCacheSizeBytes() {
+        return httpCacheSizeBytes;
+    }
+
+    public void setHttpCacheSizeBytes(long httpCacheSizeBytes) {
+        this.httpCacheSizeBytes = httpCacheSizeBytes;
+    }
+
+    /**
+     * Returns the hook used to renew an expired token, or null if a 401 ends the session.
+     */
+    public TokenRefresher getTokenRefresher() {
+        return tokenRefresher;
+    }
+
+    public void setTokenRefresher(TokenRefresher tokenRefresher) {
+        this.tokenRefresher = tokenRefresher;
+    }
+
+    /**
+     * Returns the protocols offered via ALPN. HTTP/2 is only negotiated over TLS;
+     * plain-HTTP connections (e.g. the emulator base URL) stay on HTTP/1.1.
+     */
+    public List<Protocol> getProtocols() {
+        if (http2Enabled) {
+            return Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1);
+        }
+        return Collections.singletonList(Protocol.HTTP_1_1);
+    }
+}
@@ -17,6 +17,18 @@ public interface TutorApiService {
             @Query("pageSize") int pageSize
     );
 
+    /**
+     * Same as {@link #getTutors}, parsed while it is read.
+     */
+    @GET("api/Tutor")
+    Call<ItemStream<TutorProfileResponse>> streamTutors(
+            @Query("subjectAreaId") String subjectAreaId,
+            @Query("subjectAreaName") String subjectAreaName,
+            @Query("name") String name,
+            @Query("page") int page,
+            @Query("pageSize") int pageSize
+    );
+
     @GET("api/Tutor/{id}")
     Call<TutorProfileResponse> getTutorById(@Path("id") String id);
 }
@@ -0,0 +1,126 @@
+package com.example.betreuer_app.api;
+
+import android.content.ContentResolver;
+import android.content.res.AssetFileDescriptor;
+import android.database.Cursor;
+import android.net.Uri;
+import android.provider.OpenableColumns;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * Request body that streams a picked document straight from its content Uri, so an
+ * upload starts right away instead of first copying the file into the cache.
+ *
+ * Every write opens the Uri again, so the body can be sent more than once (e.g. when
+ * a request is retried). The length is taken from the provider when it knows it;
+ * otherwise the body is sent chunked.
+ */
+public class UriRequestBody extends RequestBody {
+
+    /**
+     * Called on the thread sending the request.
+     */
+    public interface ProgressListener {
+        /**
+         * @param contentLength the full length, or -1 if unknown
+         */
+        void onProgress(long bytesWritten, long contentLength);
+    }
+
+    private static final int SEGMENT_SIZE = 64 * 1024;
+    // Without a known length, progress is reported every this many bytes
+    private static final long UNKNOWN_LENGTH_REPORT_BYTES = 256 * 1024;
+    private static final long LENGTH_NOT_QUERIED = -2;
+
+    private final ContentResolver contentResolver;
+    private final Uri uri;
+    private final MediaType contentType;
+    private final ProgressListener progressListener;
+    private long contentLength = LENGTH_NOT_QUERIED;
+
+    public UriRequestBody(ContentResolver contentResolver, Uri uri, MediaType contentType,
+                          ProgressListener progressListener) {
+        this.contentResolver = contentResolver;
+        this.uri = uri;
+        this.contentType = contentType;
+        this.progressListener = progressListener;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public synchronized long contentLength() {
+        if (contentLength == LENGTH_NOT_QUERIED) {
+            contentLength = queryLength();
+        }
+        return contentLength;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        InputStream inputStream = contentResolver.openInputStream(uri);
+        if (inputStream == null) {
+            throw new FileNotFoundException("Cannot open " + uri);
+        }
+
+        long total = contentLength();
+        long written = 0;
+        long lastReported = 0;
+        try (Source source = Okio.source(inputStream)) {
+            long read;
+            while ((read = source.read(sink.buffer(), SEGMENT_SIZE)) != -1) {
+                sink.emitCompleteSegments();
+                written += read;
+                if (progressListener != null && shouldReport(lastReported, written, total)) {
+                    lastReported = written;
+                    progressListener.onProgress(written, total);
+                }
+            }
+        }
+        sink.flush();
+        if (progressListener != null && lastReported != written) {
+            progressListener.onProgress(written, total);
+        }
+    }
+
+    private static boolean shouldReport(long lastReported, long written, long total) {
+        if (total <= 0) {
+            return written - lastReported >= UNKNOWN_LENGTH_REPORT_BYTES;
+        }
+        // Once per percent
+        return written * 100 / total != lastReported * 100 / total;
+    }
+
+    private long queryLength() {
+        try (Cursor cursor = contentResolver.query(uri, new String[]{OpenableColumns.SIZE}, null, null, null)) {
+            if (cursor != null && cursor.moveToFirst() && !cursor.isNull(0)) {
+                long size = cursor.getLong(0);
+                if (size >= 0) {
+                    return size;
+                }
+            }
+        } catch (RuntimeException e) {
+            // Not queryable, e.g. a file Uri; try the descriptor below
+        }
+        try (AssetFileDescriptor descriptor = contentResolver.openAssetFileDescriptor(uri, "r")) {
+            if (descriptor != null && descriptor.getLength() != AssetFileDescriptor.UNKNOWN_LENGTH) {
+                return descriptor.getLength();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Unknown; the body is sent chunked
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.betreuer_app.local;
+
+import java.util.List;
+
+/**
+ * One page of a list query as it was last stored, with the entities resolved.
+ */
+public class CachedPage<T> {
+    private final List<T> items;
+    private final int totalCount;
+    private final int page;
+    private final int pageSize;
+
+    public CachedPage(List<T> items, int totalCount, int page, int pageSize) {
+        this.items = items;
+        this.totalCount = totalCount;
+        this.page = page;
+        this.pageSize = pageSize;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.betreuer_app.local;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Documents that were downloaded before, keyed by their documentId. A new upload gets
+ * a new documentId, so a cached document never goes stale.
+ *
+ * Holds at most {@code maxBytes}; the least recently used documents are evicted first.
+ * Each entry records the length and SHA-256 of its bytes; an entry whose bytes no longer
+ * match is dropped. Also remembers where a document was saved for the user, so it is
+ * not saved a second time.
+ *
+ * All methods block on disk I/O and must not be called from the main thread.
+ */
+public final class DocumentCache {
+
+    private static final String TAG = "DocumentCache";
+    private static final String DIRECTORY = "documents";
+    private static final long MAX_BYTES = 100L * 1024 * 1024;
+    private static final String KEY_LENGTH = "length";
+    private static final String KEY_SHA256 = "sha256";
+    private static final String KEY_SAVED_LOCATION = "savedLocation";
+
+    private static volatile DocumentCache instance;
+
+    private final File directory;
+    private final long maxBytes;
+    // Entries whose hash was checked since the process started
+    private final Set<UUID> verified = new HashSet<>();
+
+    DocumentCache(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    public static DocumentCache getInstance(Context context) {
+        if (instance == null) {
+            synchronized (DocumentCache.class) {
+                if (instance == null) {
+                    instance = new DocumentCache(new File(context.getApplicationContext().getCacheDir(), DIRECTORY), MAX_BYTES);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Deletes all cached documents in the background, e.g. on logout.
+     */
+    public static void clearAll(Context context) {
+        Context appContext = context.getApplicationContext();
+        if (appContext == null) {
+            return;
+        }
+        EntityStore.getIoExecutor().execute(() -> getInstance(appContext).clear());
+    }
+
+    /**
+     * Returns the intact cached document, or null.
+     */
+    public synchronized File get(UUID documentId) {
+        if (documentId == null) {
+            return null;
+        }
+        File file = dataFile(documentId);
+        Properties meta = readMeta(documentId);
+        if (!file.exists() || meta == null) {
+            return null;
+        }
+
+        boolean intact = Long.toString(file.length()).equals(meta.getProperty(KEY_LENGTH));
+        if (intact && !verified.contains(documentId)) {
+            try {
+                intact = sha256(file).equals(meta.getProperty(KEY_SHA256));
+            } catch (IOException e) {
+                intact = false;
+            }
+        }
+        if (!intact) {
+            Log.w(TAG, "Dropping corrupted document " + documentId);
+            remove(documentId);
+            return null;
+        }
+
+        verified.add(documentId);
+        // Marks the entry as recently used
+        file.setLastModified(System.currentTimeMillis());
+        return file;
+    }
+
+    /**
+     * Moves {@code source} into the cache as {@code documentId} and returns the cached file.
+     */
+    public synchronized File put(UUID documentId, File source) throws IOException {
+        File file = dataFile(documentId);
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Failed to create directory: " + directory.getAbsolutePath());
+        }
+        if (!source.renameTo(file)) {
+            copy(source, file);
+            source.delete();
+        }
+
+        Properties meta = new Properties();
+        meta.setProperty(KEY_LENGTH, Long.toString(file.length()));
+        meta.setProperty(KEY_SHA256, sha256(file));
+        writeMeta(documentId, meta);
+        verified.add(documentId);
+        file.setLastModified(System.currentTimeMillis());
+
+        evict(file);
+        return file;
+    }
+
+    /**
+     * Where the document was saved for the user (a content Uri or a path), or null.
+     */
+    public synchronized String getSavedLocation(UUID documentId) {
+        Properties meta = documentId != null ? readMeta(documentId) : null;
+        return meta != null ? meta.getProperty(KEY_SAVED_LOCATION) : null;
+    }
+
+    public synchronized void setSavedLocation(UUID documentId, String location) {
+        Properties meta = readMeta(documentId);
+        if (meta == null) {
+            return;
+        }
+        meta.setProperty(KEY_SAVED_LOCATION, location);
+        try {
+            writeMeta(documentId, meta);
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to remember saved location of " + documentId, e);
+        }
+    }
+
+    public synchronized void clear() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        verified.clear();
+    }
+
+    private void evict(File keep) {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(".doc"));
+        if (files == null) {
+            return;
+        }
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+
+        List<File> oldestFirst = new ArrayList<>(Arrays.asList(files));
+        oldestFirst.sort((a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (File file : oldestFirst) {
+            if (total <= maxBytes) {
+                break;
+            }
+            if (file.equals(keep)) {
+                continue;
+            }
+            total -= file.length();
+            String name = file.getName();
+            remove(UUID.fromString(name.substring(0, name.length() - ".doc".length())));
+        }
+    }
+
+    private void remove(UUID documentId) {
+        dataFile(documentId).delete();
+        metaFile(documentId).delete();
+        verified.remove(documentId);
+    }
+
+    private File dataFile(UUID documentId) {
+        return new File(directory, documentId + ".doc");
+    }
+
+    private File metaFile(UUID documentId) {
+        return new File(directory, documentId + ".meta");
+    }
+
+    private Properties readMeta(UUID documentId) {
+        File file = metaFile(documentId);
+        if (!file.exists()) {
+            return null;
+        }
+        Properties meta = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            meta.load(in);
+            return meta;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void writeMeta(UUID documentId, Properties meta) throws IOException {
+        try (OutputStream out = new FileOutputStream(metaFile(documentId))) {
+            meta.store(out, null);
+        }
+    }
+
+    private static void copy(File source, File target) throws IOException {
+        try (InputStream in = new FileInputStream(source); OutputStream out = new FileOutputStream(target)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    private static String sha256(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
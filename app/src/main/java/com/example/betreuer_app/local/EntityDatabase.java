@@ -0,0 +1,104 @@
+package com.example.betreuer_app.local;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+
+/**
+ * SQLite schema of the local entity store.
+ * Entities are stored as JSON rows keyed by (type, UUID); list queries only
+ * keep the ordered ids of their result so an entity exists exactly once.
+ * The outbox table holds mutations that have not reached the server yet, the
+ * reference data table small lookup lists (subject areas, statuses) as JSON.
+ */
+class EntityDatabase extends SQLiteOpenHelper {
+
+    static final String DATABASE_NAME = "entity_store.db";
+    private static final int DATABASE_VERSION = 4;
+
+    static final String TABLE_ENTITIES = "entities";
+    static final String COLUMN_TYPE = "type";
+    static final String COLUMN_ID = "id";
+    static final String COLUMN_JSON = "json";
+    static final String COLUMN_UPDATED_AT = "updated_at";
+
+    static final String TABLE_QUERIES = "query_results";
+    static final String COLUMN_QUERY_KEY = "query_key";
+    static final String COLUMN_IDS = "ids";
+    static final String COLUMN_TOTAL_COUNT = "total_count";
+    static final String COLUMN_PAGE = "page";
+    static final String COLUMN_PAGE_SIZE = "page_size";
+
+    static final String TABLE_REFERENCE_DATA = "reference_data";
+    static final String COLUMN_NAME = "name";
+    static final String COLUMN_VERSION = "version";
+
+    static final String TABLE_OUTBOX = "outbox";
+    static final String COLUMN_SEQUENCE = "_id";
+    static final String COLUMN_MUTATION_ID = "mutation_id";
+    static final String COLUMN_ENTITY_ID = "entity_id";
+    static final String COLUMN_COALESCE_KEY = "coalesce_key";
+    static final String COLUMN_PAYLOAD = "payload";
+    static final String COLUMN_ATTEMPTS = "attempts";
+    static final String COLUMN_NEXT_ATTEMPT_AT = "next_attempt_at";
+    static final String COLUMN_REJECTIONS = "rejections";
+
+    EntityDatabase(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        createCacheTables(db);
+        createOutboxTable(db);
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Cached entities can be re-fetched from the server; pending mutations cannot
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_ENTITIES);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_QUERIES);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_REFERENCE_DATA);
+        createCacheTables(db);
+        if (oldVersion < 2) {
+            createOutboxTable(db);
+        } else if (oldVersion < 4) {
+            db.execSQL("ALTER TABLE " + TABLE_OUTBOX + " ADD COLUMN " + COLUMN_REJECTIONS + " INTEGER NOT NULL DEFAULT 0");
+        }
+    }
+
+    private void createCacheTables(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_ENTITIES + " ("
+                + COLUMN_TYPE + " TEXT NOT NULL, "
+                + COLUMN_ID + " TEXT NOT NULL, "
+                + COLUMN_JSON + " TEXT NOT NULL, "
+                + COLUMN_UPDATED_AT + " INTEGER NOT NULL, "
+                + "PRIMARY KEY (" + COLUMN_TYPE + ", " + COLUMN_ID + "))");
+        db.execSQL("CREATE TABLE " + TABLE_QUERIES + " ("
+                + COLUMN_QUERY_KEY + " TEXT PRIMARY KEY, "
+                + COLUMN_TYPE + " TEXT NOT NULL, "
+                + COLUMN_IDS + " TEXT NOT NULL, "
+                + COLUMN_TOTAL_COUNT + " INTEGER NOT NULL, "
+                + COLUMN_PAGE + " INTEGER NOT NULL, "
+                + COLUMN_PAGE_SIZE + " INTEGER NOT NULL, "
+                + COLUMN_UPDATED_AT + " INTEGER NOT NULL)");
+        db.execSQL("CREATE TABLE " + TABLE_REFERENCE_DATA + " ("
+                + COLUMN_NAME + " TEXT PRIMARY KEY, "
+                + COLUMN_VERSION + " TEXT NOT NULL, "
+                + COLUMN_JSON + " TEXT NOT NULL, "
+                + COLUMN_UPDATED_AT + " INTEGER NOT NULL)");
+    }
+
+    private void createOutboxTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_OUTBOX + " ("
+                + COLUMN_SEQUENCE + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+                + COLUMN_MUTATION_ID + " TEXT NOT NULL UNIQUE, "
+                + COLUMN_TYPE + " TEXT NOT NULL, "
+                + COLUMN_ENTITY_ID + " TEXT, "
+                + COLUMN_COALESCE_KEY + " TEXT, "
+                + COLUMN_PAYLOAD + " TEXT, "
+                + COLUMN_ATTEMPTS + " INTEGER NOT NULL DEFAULT 0, "
+                + COLUMN_NEXT_ATTEMPT_AT + " INTEGER NOT NULL DEFAULT 0, "
+                + COLUMN_REJECTIONS + " INTEGER NOT NULL DEFAULT 0)");
+    }
+}
@@ -0,0 +1,300 @@
+package com.example.betreuer_app.local;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.text.TextUtils;
+import android.util.Log;
+
+import com.example.betreuer_app.model.ModelTypeAdapterFactory;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Persistent, UUID-keyed store for API entities (theses, requests, offers,
+ * users, subject areas). Lets repositories show the last known data
+ * immediately and refresh it in the background.
+ *
+ * All read/write methods block on disk I/O and must run on {@link #getIoExecutor()}.
+ */
+public final class EntityStore {
+
+    public static final String TYPE_THESIS = "thesis";
+    public static final String TYPE_THESIS_REQUEST = "thesis_request";
+    public static final String TYPE_THESIS_OFFER = "thesis_offer";
+    public static final String TYPE_USER = "user";
+    public static final String TYPE_SUBJECT_AREA = "subject_area";
+    public static final String TYPE_TUTOR = "tutor";
+
+    private static final String TAG = "EntityStore";
+    private static final String ID_SEPARATOR = ",";
+    private static final int MAX_IDS_PER_QUERY = 500;
+
+    // Single writer thread: keeps SQLite access serialized and ordered
+    private static final ExecutorService IO_EXECUTOR =
+            Executors.newSingleThreadExecutor(r -> new Thread(r, "entity-store"));
+
+    private static volatile EntityStore instance;
+
+    private final EntityDatabase database;
+    private final OutboxStore outboxStore;
+    private final ReferenceDataStore referenceDataStore;
+    private final Gson gson = ModelTypeAdapterFactory.gson();
+
+    // For tests: a store of its own instead of the shared instance
+    public EntityStore(Context context) {
+        database = new EntityDatabase(context);
+        outboxStore = new OutboxStore(database);
+        referenceDataStore = new ReferenceDataStore(database);
+    }
+
+    public static EntityStore getInstance(Context context) {
+        if (instance == null) {
+            synchronized (EntityStore.class) {
+                if (instance == null) {
+                    instance = new EntityStore(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    public static Executor getIoExecutor() {
+        return IO_EXECUTOR;
+    }
+
+    /**
+     * Returns the table of mutations waiting to be sent, kept in the same database.
+     */
+    public OutboxStore getOutboxStore() {
+        return outboxStore;
+    }
+
+    /**
+     * Returns the table of lookup lists, kept in the same database. It is not
+     * user specific and therefore survives {@link #clear()}.
+     */
+    public ReferenceDataStore getReferenceDataStore() {
+        return referenceDataStore;
+    }
+
+    /**
+     * Deletes all stored entities and pending mutations in the background, e.g. on logout.
+     */
+    public static void clearAll(Context context) {
+        Context appContext = context.getApplicationContext();
+        if (appContext == null) {
+            return;
+        }
+        IO_EXECUTOR.execute(() -> getInstance(appContext).clear());
+    }
+
+    public <T> T get(String type, UUID id, Class<T> entityClass) {
+        if (id == null) {
+            return null;
+        }
+        SQLiteDatabase db = database.getReadableDatabase();
+        try (Cursor cursor = db.query(EntityDatabase.TABLE_ENTITIES,
+                new String[]{EntityDatabase.COLUMN_JSON},
+                EntityDatabase.COLUMN_TYPE + " = ? AND " + EntityDatabase.COLUMN_ID + " = ?",
+                new String[]{type, id.toString()},
+                null, null, null)) {
+            if (cursor.moveToFirst()) {
+                return fromJson(cursor.getString(0), entityClass);
+            }
+        }
+        return null;
+    }
+
+    public void put(String type, UUID id, Object entity) {
+        if (id == null || entity == null) {
+            return;
+        }
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.insertWithOnConflict(EntityDatabase.TABLE_ENTITIES, null,
+                entityValues(type, id, entity, System.currentTimeMillis()),
+                SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    public <T> void putAll(String type, List<T> entities, Function<T, UUID> idOf) {
+        if (entities == null || entities.isEmpty()) {
+            return;
+        }
+        SQLiteDatabase db = database.getWritableDatabase();
+        long now = System.currentTimeMillis();
+        db.beginTransaction();
+        try {
+            for (T entity : entities) {
+                UUID id = entity != null ? idOf.apply(entity) : null;
+                if (id != null) {
+                    db.insertWithOnConflict(EntityDatabase.TABLE_ENTITIES, null,
+                            entityValues(type, id, entity, now), SQLiteDatabase.CONFLICT_REPLACE);
+                }
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public void delete(String type, UUID id) {
+        if (id == null) {
+            return;
+        }
+        database.getWritableDatabase().delete(EntityDatabase.TABLE_ENTITIES,
+                EntityDatabase.COLUMN_TYPE + " = ? AND " + EntityDatabase.COLUMN_ID + " = ?",
+                new String[]{type, id.toString()});
+    }
+
+    /**
+     * Stores the entities of a list query and remembers their order under {@code queryKey}.
+     */
+    public <T> void putPage(String queryKey, String type, List<T> items, Function<T, UUID> idOf,
+                            int totalCount, int page, int pageSize) {
+        List<String> ids = new ArrayList<>();
+        if (items != null) {
+            for (T item : items) {
+                UUID id = item != null ? idOf.apply(item) : null;
+                if (id != null) {
+                    ids.add(id.toString());
+                }
+            }
+        }
+
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            putAll(type, items, idOf);
+
+            ContentValues values = new ContentValues();
+            values.put(EntityDatabase.COLUMN_QUERY_KEY, queryKey);
+            values.put(EntityDatabase.COLUMN_TYPE, type);
+            values.put(EntityDatabase.COLUMN_IDS, TextUtils.join(ID_SEPARATOR, ids));
+            values.put(EntityDatabase.COLUMN_TOTAL_COUNT, totalCount);
+            values.put(EntityDatabase.COLUMN_PAGE, page);
+            values.put(EntityDatabase.COLUMN_PAGE_SIZE, pageSize);
+            values.put(EntityDatabase.COLUMN_UPDATED_AT, System.currentTimeMillis());
+            db.insertWithOnConflict(EntityDatabase.TABLE_QUERIES, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Returns the stored result of a list query, or null if it was never stored.
+     * Entities that were deleted in the meantime are left out.
+     */
+    public <T> CachedPage<T> getPage(String queryKey, Class<T> entityClass) {
+        SQLiteDatabase db = database.getReadableDatabase();
+        String type;
+        String joinedIds;
+        int totalCount;
+        int page;
+        int pageSize;
+        try (Cursor cursor = db.query(EntityDatabase.TABLE_QUERIES,
+                new String[]{EntityDatabase.COLUMN_TYPE, EntityDatabase.COLUMN_IDS,
+                        EntityDatabase.COLUMN_TOTAL_COUNT, EntityDatabase.COLUMN_PAGE,
+                        EntityDatabase.COLUMN_PAGE_SIZE},
+                EntityDatabase.COLUMN_QUERY_KEY + " = ?",
+                new String[]{queryKey},
+                null, null, null)) {
+            if (!cursor.moveToFirst()) {
+                return null;
+            }
+            type = cursor.getString(0);
+            joinedIds = cursor.getString(1);
+            totalCount = cursor.getInt(2);
+            page = cursor.getInt(3);
+            pageSize = cursor.getInt(4);
+        }
+
+        if (TextUtils.isEmpty(joinedIds)) {
+            return new CachedPage<>(Collections.emptyList(), totalCount, page, pageSize);
+        }
+        String[] ids = joinedIds.split(ID_SEPARATOR);
+        Map<String, T> byId = getByIds(db, type, ids, entityClass);
+
+        List<T> items = new ArrayList<>(ids.length);
+        for (String id : ids) {
+            T item = byId.get(id);
+            if (item != null) {
+                items.add(item);
+            }
+        }
+        return new CachedPage<>(items, totalCount, page, pageSize);
+    }
+
+    public void clear() {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(EntityDatabase.TABLE_ENTITIES, null, null);
+            db.delete(EntityDatabase.TABLE_QUERIES, null, null);
+            db.delete(EntityDatabase.TABLE_OUTBOX, null, null);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private <T> Map<String, T> getByIds(SQLiteDatabase db, String type, String[] ids, Class<T> entityClass) {
+        Map<String, T> result = new HashMap<>();
+        // Older SQLite versions allow at most 999 bound arguments per statement
+        for (int from = 0; from < ids.length; from += MAX_IDS_PER_QUERY) {
+            int to = Math.min(ids.length, from + MAX_IDS_PER_QUERY);
+            StringBuilder placeholders = new StringBuilder();
+            String[] args = new String[to - from + 1];
+            args[0] = type;
+            for (int i = from; i < to; i++) {
+                placeholders.append(i == from ? "?" : ",?");
+                args[i - from + 1] = ids[i];
+            }
+
+            try (Cursor cursor = db.query(EntityDatabase.TABLE_ENTITIES,
+                    new String[]{EntityDatabase.COLUMN_ID, EntityDatabase.COLUMN_JSON},
+                    EntityDatabase.COLUMN_TYPE + " = ? AND " + EntityDatabase.COLUMN_ID + " IN (" + placeholders + ")",
+                    args, null, null, null)) {
+                while (cursor.moveToNext()) {
+                    T entity = fromJson(cursor.getString(1), entityClass);
+                    if (entity != null) {
+                        result.put(cursor.getString(0), entity);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private ContentValues entityValues(String type, UUID id, Object entity, long updatedAt) {
+        ContentValues values = new ContentValues();
+        values.put(EntityDatabase.COLUMN_TYPE, type);
+        values.put(EntityDatabase.COLUMN_ID, id.toString());
+        values.put(EntityDatabase.COLUMN_JSON, gson.toJson(entity));
+        values.put(EntityDatabase.COLUMN_UPDATED_AT, updatedAt);
+        return values;
+    }
+
+    private <T> T fromJson(String json, Class<T> entityClass) {
+        try {
+            return gson.fromJson(json, entityClass);
+        } catch (JsonParseException e) {
+            // Model changed since the row was written; treat as a cache miss
+            Log.w(TAG, "Dropping unreadable " + entityClass.getSimpleName(), e);
+            return null;
+        }
+    }
+}
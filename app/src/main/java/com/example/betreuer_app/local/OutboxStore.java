@@ -0,0 +1,147 @@
+package com.example.betreuer_app.local;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persistence of not yet delivered mutations, in insertion order.
+ * Like {@link EntityStore}, every method blocks on disk I/O.
+ */
+public class OutboxStore {
+
+    /**
+     * One stored mutation.
+     */
+    public static class Entry {
+        private final String mutationId;
+        private final String type;
+        private final String entityId;
+        private final String coalesceKey;
+        private final String payload;
+        private final int attempts;
+        private final int rejections;
+        private final long nextAttemptAt;
+
+        public Entry(String mutationId, String type, String entityId, String coalesceKey,
+                     String payload, int attempts, int rejections, long nextAttemptAt) {
+            this.mutationId = mutationId;
+            this.type = type;
+            this.entityId = entityId;
+            this.coalesceKey = coalesceKey;
+            this.payload = payload;
+            this.attempts = attempts;
+            this.rejections = rejections;
+            this.nextAttemptAt = nextAttemptAt;
+        }
+
+        public String getMutationId() {
+            return mutationId;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getEntityId() {
+            return entityId;
+        }
+
+        public String getCoalesceKey() {
+            return coalesceKey;
+        }
+
+        public String getPayload() {
+            return payload;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        /**
+         * Returns how many attempts the server answered with an error that is retried.
+         */
+        public int getRejections() {
+            return rejections;
+        }
+
+        public long getNextAttemptAt() {
+            return nextAttemptAt;
+        }
+    }
+
+    private final EntityDatabase database;
+
+    OutboxStore(EntityDatabase database) {
+        this.database = database;
+    }
+
+    public List<Entry> loadAll() {
+        List<Entry> entries = new ArrayList<>();
+        try (Cursor cursor = database.getReadableDatabase().query(EntityDatabase.TABLE_OUTBOX,
+                new String[]{EntityDatabase.COLUMN_MUTATION_ID, EntityDatabase.COLUMN_TYPE,
+                        EntityDatabase.COLUMN_ENTITY_ID, EntityDatabase.COLUMN_COALESCE_KEY,
+                        EntityDatabase.COLUMN_PAYLOAD, EntityDatabase.COLUMN_ATTEMPTS,
+                        EntityDatabase.COLUMN_REJECTIONS, EntityDatabase.COLUMN_NEXT_ATTEMPT_AT},
+                null, null, null, null, EntityDatabase.COLUMN_SEQUENCE + " ASC")) {
+            while (cursor.moveToNext()) {
+                entries.add(new Entry(cursor.getString(0), cursor.getString(1), cursor.getString(2),
+                        cursor.getString(3), cursor.getString(4), cursor.getInt(5), cursor.getInt(6), cursor.getLong(7)));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Appends an entry. Pending entries with the same coalesce key, except
+     * {@code keepMutationId} (the one currently being sent), are replaced by it.
+     */
+    public void add(Entry entry, String keepMutationId) {
+        SQLiteDatabase db = database.getWritableDatabase();
+        db.beginTransaction();
+        try {
+            if (entry.getCoalesceKey() != null) {
+                db.delete(EntityDatabase.TABLE_OUTBOX,
+                        EntityDatabase.COLUMN_COALESCE_KEY + " = ? AND " + EntityDatabase.COLUMN_MUTATION_ID + " != ?",
+                        new String[]{entry.getCoalesceKey(), keepMutationId != null ? keepMutationId : ""});
+            }
+
+            ContentValues values = new ContentValues();
+            values.put(EntityDatabase.COLUMN_MUTATION_ID, entry.getMutationId());
+            values.put(EntityDatabase.COLUMN_TYPE, entry.getType());
+            values.put(EntityDatabase.COLUMN_ENTITY_ID, entry.getEntityId());
+            values.put(EntityDatabase.COLUMN_COALESCE_KEY, entry.getCoalesceKey());
+            values.put(EntityDatabase.COLUMN_PAYLOAD, entry.getPayload());
+            values.put(EntityDatabase.COLUMN_ATTEMPTS, entry.getAttempts());
+            values.put(EntityDatabase.COLUMN_REJECTIONS, entry.getRejections());
+            values.put(EntityDatabase.COLUMN_NEXT_ATTEMPT_AT, entry.getNextAttemptAt());
+            db.insertOrThrow(EntityDatabase.TABLE_OUTBOX, null, values);
+
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    public void updateAttempts(String mutationId, int attempts, int rejections, long nextAttemptAt) {
+        ContentValues values = new ContentValues();
+        values.put(EntityDatabase.COLUMN_ATTEMPTS, attempts);
+        values.put(EntityDatabase.COLUMN_REJECTIONS, rejections);
+        values.put(EntityDatabase.COLUMN_NEXT_ATTEMPT_AT, nextAttemptAt);
+        database.getWritableDatabase().update(EntityDatabase.TABLE_OUTBOX, values,
+                EntityDatabase.COLUMN_MUTATION_ID + " = ?", new String[]{mutationId});
+    }
+
+    public void remove(String mutationId) {
+        database.getWritableDatabase().delete(EntityDatabase.TABLE_OUTBOX,
+                EntityDatabase.COLUMN_MUTATION_ID + " = ?", new String[]{mutationId});
+    }
+
+    public void clear() {
+        database.getWritableDatabase().delete(EntityDatabase.TABLE_OUTBOX, null, null);
+    }
+}
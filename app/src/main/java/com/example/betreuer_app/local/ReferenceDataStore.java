@@ -0,0 +1,81 @@
+package com.example.betreuer_app.local;
+
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+/**
+ * Persistence of small lookup lists (subject areas, statuses) as one JSON
+ * document per list. Like {@link EntityStore}, every method blocks on disk I/O.
+ */
+public class ReferenceDataStore {
+
+    /**
+     * One stored list.
+     */
+    public static class Entry {
+        private final String version;
+        private final String json;
+        private final long updatedAt;
+
+        public Entry(String version, String json, long updatedAt) {
+            this.version = version;
+            this.json = json;
+            this.updatedAt = updatedAt;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public String getJson() {
+            return json;
+        }
+
+        public long getUpdatedAt() {
+            return updatedAt;
+        }
+    }
+
+    private final EntityDatabase database;
+
+    ReferenceDataStore(EntityDatabase database) {
+        this.database = database;
+    }
+
+    public Entry get(String name) {
+        try (Cursor cursor = database.getReadableDatabase().query(EntityDatabase.TABLE_REFERENCE_DATA,
+                new String[]{EntityDatabase.COLUMN_VERSION, EntityDatabase.COLUMN_JSON, EntityDatabase.COLUMN_UPDATED_AT},
+                EntityDatabase.COLUMN_NAME + " = ?", new String[]{name},
+                null, null, null)) {
+            if (cursor.moveToFirst()) {
+                return new Entry(cursor.getString(0), cursor.getString(1), cursor.getLong(2));
+            }
+        }
+        return null;
+    }
+
+    public void put(String name, Entry entry) {
+        ContentValues values = new ContentValues();
+        values.put(EntityDatabase.COLUMN_NAME, name);
+        values.put(EntityDatabase.COLUMN_VERSION, entry.getVersion());
+        values.put(EntityDatabase.COLUMN_JSON, entry.getJson());
+        values.put(EntityDatabase.COLUMN_UPDATED_AT, entry.getUpdatedAt());
+        database.getWritableDatabase().insertWithOnConflict(EntityDatabase.TABLE_REFERENCE_DATA, null, values,
+                SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    /**
+     * Marks a list as fresh without rewriting it, after the server returned the same version.
+     */
+    public void touch(String name, long updatedAt) {
+        ContentValues values = new ContentValues();
+        values.put(EntityDatabase.COLUMN_UPDATED_AT, updatedAt);
+        database.getWritableDatabase().update(EntityDatabase.TABLE_REFERENCE_DATA, values,
+                EntityDatabase.COLUMN_NAME + " = ?", new String[]{name});
+    }
+
+    public void clear() {
+        database.getWritableDatabase().delete(EntityDatabase.TABLE_REFERENCE_DATA, null, null);
+    }
+}
@@ -1,5 +1,10 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.Date;
 import java.util.UUID;
 
@@ -8,9 +13,33 @@ import java.util.UUID;
  * Provides common fields such as ID, creation and update timestamps.
  */
 public abstract class BaseEntityApiModel {
-    private UUID id = UUID.randomUUID();
-    private Date createdAt = new Date();
-    private Date updatedAt = new Date();
+    private UUID id;
+    private Date createdAt;
+    private Date updatedAt;
+
+    /**
+     * Creates an entity with a fresh ID and the current time as timestamps.
+     */
+    protected BaseEntityApiModel() {
+        id = UUID.randomUUID();
+        createdAt = new Date();
+        updatedAt = new Date();
+    }
+
+    /**
+     * Leaves ID and timestamps unset; used by the JSON adapters, which read them from the payload.
+     */
+    BaseEntityApiModel(JsonReader in) {
+    }
+
+    /**
+     * Takes ID and timestamps from {@code other}; used by copy constructors.
+     */
+    protected BaseEntityApiModel(BaseEntityApiModel other) {
+        id = other.id;
+        createdAt = other.createdAt;
+        updatedAt = other.updatedAt;
+    }
 
     /**
      * Returns the unique ID of the entity.
@@ -59,4 +88,48 @@ public abstract class BaseEntityApiModel {
     public void setUpdatedAt(Date updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    /**
+     * Reads one of the fields declared here into this entity.
+     * @return false if {@code name} is not one of them
+     */
+    boolean readBaseField(String name, JsonReader in, TypeAdapter<Date> dates) throws IOException {
+        switch (name) {
+            case "id":
+                id = JsonFields.readUuid(in);
+                return true;
+            case "createdAt":
+                createdAt = JsonFields.readDate(in, dates);
+                return true;
+            case "updatedAt":
+                updatedAt = JsonFields.readDate(in, dates);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    void writeBaseFields(JsonWriter out, TypeAdapter<Date> dates) throws IOException {
+        out.name("id");
+        JsonFields.writeUuid(out, id);
+        out.name("createdAt");
+        dates.write(out, createdAt);
+        out.name("updatedAt");
+        dates.write(out, updatedAt);
+    }
+
+    /**
+     * Gives a read entity the defaults of the no-arg constructor for fields the payload left out.
+     */
+    void fillMissingBaseFields() {
+        if (id == null) {
+            id = UUID.randomUUID();
+        }
+        if (createdAt == null) {
+            createdAt = new Date();
+        }
+        if (updatedAt == null) {
+            updatedAt = new Date();
+        }
+    }
 }
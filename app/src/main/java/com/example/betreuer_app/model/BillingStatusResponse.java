@@ -1,7 +1,11 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.TypeAdapter;
 import com.google.gson.annotations.SerializedName;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
 import java.util.Objects;
 
 public class BillingStatusResponse {
@@ -45,4 +49,43 @@ public class BillingStatusResponse {
     public String toString() {
         return name; // This is useful for displaying in UI components like Spinners
     }
+
+    static final class JsonAdapter extends TypeAdapter<BillingStatusResponse> {
+        @Override
+        public void write(JsonWriter out, BillingStatusResponse model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id").value(model.id);
+            out.name("name").value(model.name);
+            out.endObject();
+        }
+
+        @Override
+        public BillingStatusResponse read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            BillingStatusResponse model = new BillingStatusResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "id":
+                        model.id = JsonFields.readString(in);
+                        break;
+                    case "name":
+                        model.name = JsonFields.readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
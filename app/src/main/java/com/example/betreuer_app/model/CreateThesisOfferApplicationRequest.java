@@ -1,5 +1,10 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.UUID;
 
 public class CreateThesisOfferApplicationRequest {
@@ -12,4 +17,49 @@ public class CreateThesisOfferApplicationRequest {
         this.message = message;
         this.studentId = studentId;
     }
+
+    static final class JsonAdapter extends TypeAdapter<CreateThesisOfferApplicationRequest> {
+        @Override
+        public void write(JsonWriter out, CreateThesisOfferApplicationRequest model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("thesisOfferId");
+            JsonFields.writeUuid(out, model.thesisOfferId);
+            out.name("message").value(model.message);
+            out.name("studentId");
+            JsonFields.writeUuid(out, model.studentId);
+            out.endObject();
+        }
+
+        @Override
+        public CreateThesisOfferApplicationRequest read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            CreateThesisOfferApplicationRequest model = new CreateThesisOfferApplicationRequest(null, null, null);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "thesisOfferId":
+                        model.thesisOfferId = JsonFields.readUuid(in);
+                        break;
+                    case "message":
+                        model.message = JsonFields.readString(in);
+                        break;
+                    case "studentId":
+                        model.studentId = JsonFields.readUuid(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
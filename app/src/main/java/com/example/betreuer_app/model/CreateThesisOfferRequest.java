@@ -1,5 +1,11 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
@@ -63,4 +69,81 @@ public class CreateThesisOfferRequest {
     public void setTutorId(UUID tutorId) {
         this.tutorId = tutorId;
     }
+
+    static final class JsonAdapter extends TypeAdapter<CreateThesisOfferRequest> {
+        private final Gson gson;
+        // Resolved on first use; only offers with an expiry date need it
+        private TypeAdapter<OffsetDateTime> offsetDateTimes;
+
+        JsonAdapter(Gson gson) {
+            this.gson = gson;
+        }
+
+        @Override
+        public void write(JsonWriter out, CreateThesisOfferRequest model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("title").value(model.title);
+            out.name("subjectAreaId");
+            JsonFields.writeUuid(out, model.subjectAreaId);
+            out.name("description").value(model.description);
+            out.name("maxStudents").value(model.maxStudents);
+            out.name("expiresAt");
+            if (model.expiresAt != null) {
+                offsetDateTimes().write(out, model.expiresAt);
+            } else {
+                out.nullValue();
+            }
+            out.name("tutorId");
+            JsonFields.writeUuid(out, model.tutorId);
+            out.endObject();
+        }
+
+        @Override
+        public CreateThesisOfferRequest read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            CreateThesisOfferRequest model = new CreateThesisOfferRequest(null, null);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "title":
+                        model.title = JsonFields.readString(in);
+                        break;
+                    case "subjectAreaId":
+                        model.subjectAreaId = JsonFields.readUuid(in);
+                        break;
+                    case "description":
+                        model.description = JsonFields.readString(in);
+                        break;
+                    case "maxStudents":
+                        model.maxStudents = JsonFields.readInteger(in);
+                        break;
+                    case "expiresAt":
+                        model.expiresAt = JsonFields.nextIsNull(in) ? null : offsetDateTimes().read(in);
+                        break;
+                    case "tutorId":
+                        model.tutorId = JsonFields.readUuid(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+
+        private TypeAdapter<OffsetDateTime> offsetDateTimes() {
+            if (offsetDateTimes == null) {
+                offsetDateTimes = gson.getAdapter(OffsetDateTime.class);
+            }
+            return offsetDateTimes;
+        }
+    }
 }
@@ -1,5 +1,11 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 public class CreateThesisRequest {
     private String title;
     private String description;
@@ -34,4 +40,47 @@ public class CreateThesisRequest {
     public void setSubjectAreaId(String subjectAreaId) {
         this.subjectAreaId = subjectAreaId;
     }
+
+    static final class JsonAdapter extends TypeAdapter<CreateThesisRequest> {
+        @Override
+        public void write(JsonWriter out, CreateThesisRequest model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("title").value(model.title);
+            out.name("description").value(model.description);
+            out.name("subjectAreaId").value(model.subjectAreaId);
+            out.endObject();
+        }
+
+        @Override
+        public CreateThesisRequest read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            CreateThesisRequest model = new CreateThesisRequest(null, null, null);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "title":
+                        model.title = JsonFields.readString(in);
+                        break;
+                    case "description":
+                        model.description = JsonFields.readString(in);
+                        break;
+                    case "subjectAreaId":
+                        model.subjectAreaId = JsonFields.readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
@@ -1,5 +1,10 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.UUID;
 
 public class CreateThesisRequestRequest {
@@ -20,4 +25,61 @@ public class CreateThesisRequestRequest {
     }
 
     // Getters and setters can be added if needed for serialization or other purposes
+
+    static final class JsonAdapter extends TypeAdapter<CreateThesisRequestRequest> {
+        @Override
+        public void write(JsonWriter out, CreateThesisRequestRequest model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("thesisId");
+            JsonFields.writeUuid(out, model.thesisId);
+            out.name("receiverId");
+            JsonFields.writeUuid(out, model.receiverId);
+            out.name("requestType").value(model.requestType);
+            out.name("message").value(model.message);
+            out.name("plannedStartOfSupervision").value(model.plannedStartOfSupervision);
+            out.name("plannedEndOfSupervision").value(model.plannedEndOfSupervision);
+            out.endObject();
+        }
+
+        @Override
+        public CreateThesisRequestRequest read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            CreateThesisRequestRequest model = new CreateThesisRequestRequest(null, null, null, null, null, null);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "thesisId":
+                        model.thesisId = JsonFields.readUuid(in);
+                        break;
+                    case "receiverId":
+                        model.receiverId = JsonFields.readUuid(in);
+                        break;
+                    case "requestType":
+                        model.requestType = JsonFields.readStatus(in);
+                        break;
+                    case "message":
+                        model.message = JsonFields.readString(in);
+                        break;
+                    case "plannedStartOfSupervision":
+                        model.plannedStartOfSupervision = JsonFields.readString(in);
+                        break;
+                    case "plannedEndOfSupervision":
+                        model.plannedEndOfSupervision = JsonFields.readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
@@ -0,0 +1,351 @@
+package com.example.betreuer_app.model;
+
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Field readers and writers shared by the model JSON adapters. They accept the same
+ * input as Gson's built-in adapters (e.g. numbers and booleans given as strings).
+ */
+final class JsonFields {
+
+    private JsonFields() {
+    }
+
+    /**
+     * Returns true (and consumes the null) if the next value is JSON null.
+     */
+    static boolean nextIsNull(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    static String readString(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    /**
+     * Reads a status or type name. Known names are returned as shared constants, so rows
+     * do not each keep their own copy and comparisons hit the identity check; other names
+     * are shared through {@link SharedValues}.
+     */
+    static String readStatus(JsonReader in) throws IOException {
+        String value = readString(in);
+        if (value == null) {
+            return null;
+        }
+        switch (value) {
+            case "IN_DISCUSSION":
+                return "IN_DISCUSSION";
+            case "REGISTERED":
+                return "REGISTERED";
+            case "SUBMITTED":
+                return "SUBMITTED";
+            case "DEFENDED":
+                return "DEFENDED";
+            case "PENDING":
+                return "PENDING";
+            case "ACCEPTED":
+                return "ACCEPTED";
+            case "REJECTED":
+                return "REJECTED";
+            case "SUPERVISION":
+                return "SUPERVISION";
+            case "CO_SUPERVISION":
+                return "CO_SUPERVISION";
+            default:
+                return SharedValues.name(value);
+        }
+    }
+
+    /**
+     * Returns {@code fallback} for JSON null, like Gson leaves a primitive field untouched.
+     */
+    static int readInt(JsonReader in, int fallback) throws IOException {
+        if (nextIsNull(in)) {
+            return fallback;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    static Integer readInteger(JsonReader in) throws IOException {
+        if (nextIsNull(in)) {
+            return null;
+        }
+        try {
+            return in.nextInt();
+        } catch (NumberFormatException e) {
+            throw new JsonSyntaxException(e);
+        }
+    }
+
+    static boolean readBoolean(JsonReader in, boolean fallback) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return fallback;
+        }
+        if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    static UUID readUuid(JsonReader in) throws IOException {
+        if (nextIsNull(in)) {
+            return null;
+        }
+        String value = in.nextString();
+        try {
+            return parseUuid(value);
+        } catch (IllegalArgumentException e) {
+            throw new JsonSyntaxException("Failed parsing '" + value + "' as UUID; at path " + in.getPreviousPath(), e);
+        }
+    }
+
+    /**
+     * Reads an id that many rows refer to, e.g. an owner or subject area, as a shared instance.
+     */
+    static UUID readSharedUuid(JsonReader in) throws IOException {
+        return SharedValues.id(readUuid(in));
+    }
+
+    /**
+     * Parses the canonical 8-4-4-4-12 form directly into the two longs; anything else
+     * goes through {@link UUID#fromString}.
+     */
+    static UUID parseUuid(String value) {
+        if (value.length() == 36
+                && value.charAt(8) == '-' && value.charAt(13) == '-'
+                && value.charAt(18) == '-' && value.charAt(23) == '-') {
+            long timeLow = hex(value, 0, 8);
+            long timeMid = hex(value, 9, 13);
+            long timeHigh = hex(value, 14, 18);
+            long clockSeq = hex(value, 19, 23);
+            long node = hex(value, 24, 36);
+            if ((timeLow | timeMid | timeHigh | clockSeq | node) >= 0) {
+                return new UUID(timeLow << 32 | timeMid << 16 | timeHigh, clockSeq << 48 | node);
+            }
+        }
+        return UUID.fromString(value);
+    }
+
+    // At most 12 digits, so a valid result is never negative; -1 marks a non-hex char
+    private static long hex(String value, int start, int end) {
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = Character.digit(value.charAt(i), 16);
+            if (digit < 0) {
+                return -1;
+            }
+            result = result << 4 | digit;
+        }
+        return result;
+    }
+
+    /**
+     * Reads an ISO-8601 timestamp with zone ({@code 2024-03-01T10:15:30.123Z}) directly.
+     * Every other form goes through {@code fallback}, Gson's date adapter, which would first
+     * try (and fail) the locale formats for each ISO value.
+     */
+    static Date readDate(JsonReader in, TypeAdapter<Date> fallback) throws IOException {
+        if (in.peek() != JsonToken.STRING) {
+            return fallback.read(in);
+        }
+        String value = in.nextString();
+        long millis = parseIsoMillis(value);
+        if (millis != Long.MIN_VALUE) {
+            return new Date(millis);
+        }
+        return fallback.fromJsonTree(new JsonPrimitive(value));
+    }
+
+    /**
+     * Returns the epoch millis of {@code yyyy-MM-ddTHH:mm:ss[.fraction](Z|+HH:mm|+HHmm)},
+     * or {@link Long#MIN_VALUE} if the value has another form or is out of range.
+     * Digits of the fraction beyond milliseconds are cut off.
+     */
+    static long parseIsoMillis(String value) {
+        int length = value.length();
+        if (length < 20 || value.charAt(4) != '-' || value.charAt(7) != '-' || value.charAt(10) != 'T'
+                || value.charAt(13) != ':' || value.charAt(16) != ':') {
+            return Long.MIN_VALUE;
+        }
+        int year = decimal(value, 0, 4);
+        int month = decimal(value, 5, 7);
+        int day = decimal(value, 8, 10);
+        int hour = decimal(value, 11, 13);
+        int minute = decimal(value, 14, 16);
+        int second = decimal(value, 17, 19);
+        // Before 1583 Gson's calendar switches to Julian dates; leave those to it
+        if (year < 1583 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return Long.MIN_VALUE;
+        }
+
+        int position = 19;
+        int millis = 0;
+        if (value.charAt(position) == '.') {
+            position++;
+            int digits = 0;
+            while (position < length && value.charAt(position) >= '0' && value.charAt(position) <= '9') {
+                if (digits < 3) {
+                    millis = millis * 10 + (value.charAt(position) - '0');
+                }
+                digits++;
+                position++;
+            }
+            if (digits == 0) {
+                return Long.MIN_VALUE;
+            }
+            for (; digits < 3; digits++) {
+                millis *= 10;
+            }
+        }
+
+        int offsetMinutes;
+        if (position == length - 1 && value.charAt(position) == 'Z') {
+            offsetMinutes = 0;
+        } else if (position < length && (value.charAt(position) == '+' || value.charAt(position) == '-')) {
+            int sign = value.charAt(position) == '-' ? -1 : 1;
+            int offsetHours;
+            int offsetMins;
+            if (length - position == 6 && value.charAt(position + 3) == ':') {
+                offsetHours = decimal(value, position + 1, position + 3);
+                offsetMins = decimal(value, position + 4, position + 6);
+            } else if (length - position == 5) {
+                offsetHours = decimal(value, position + 1, position + 3);
+                offsetMins = decimal(value, position + 3, position + 5);
+            } else {
+                return Long.MIN_VALUE;
+            }
+            if (offsetHours < 0 || offsetHours > 23 || offsetMins < 0 || offsetMins > 59) {
+                return Long.MIN_VALUE;
+            }
+            offsetMinutes = sign * (offsetHours * 60 + offsetMins);
+        } else {
+            return Long.MIN_VALUE;
+        }
+
+        long days = daysFromEpoch(year, month, day);
+        long seconds = days * 86_400 + hour * 3_600L + minute * 60L + second - offsetMinutes * 60L;
+        return seconds * 1_000 + millis;
+    }
+
+    // -1 if the range holds anything but ASCII digits
+    private static int decimal(String value, int start, int end) {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    // Gregorian calendar, days since 1970-01-01; year is positive
+    private static long daysFromEpoch(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = y / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468;
+    }
+
+    static List<String> readStringList(JsonReader in) throws IOException {
+        if (nextIsNull(in)) {
+            return null;
+        }
+        List<String> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            list.add(readString(in));
+        }
+        in.endArray();
+        return list;
+    }
+
+    static <T> List<T> readList(JsonReader in, TypeAdapter<T> elementAdapter) throws IOException {
+        if (nextIsNull(in)) {
+            return null;
+        }
+        List<T> list = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            list.add(elementAdapter.read(in));
+        }
+        in.endArray();
+        return list;
+    }
+
+    static void writeUuid(JsonWriter out, UUID value) throws IOException {
+        out.value(value != null ? value.toString() : null);
+    }
+
+    static void writeStringList(JsonWriter out, List<String> list) throws IOException {
+        if (list == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (String value : list) {
+            out.value(value);
+        }
+        out.endArray();
+    }
+
+    static <T> void writeList(JsonWriter out, List<T> list, TypeAdapter<T> elementAdapter) throws IOException {
+        if (list == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginArray();
+        for (T value : list) {
+            elementAdapter.write(out, value);
+        }
+        out.endArray();
+    }
+}
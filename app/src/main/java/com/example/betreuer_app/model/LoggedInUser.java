@@ -1,5 +1,10 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -108,4 +113,56 @@ public class LoggedInUser {
     public void setRoles(List<String> roles) {
         this.roles = roles;
     }
+
+    static final class JsonAdapter extends TypeAdapter<LoggedInUser> {
+        @Override
+        public void write(JsonWriter out, LoggedInUser model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id").value(model.id);
+            out.name("firstName").value(model.firstName);
+            out.name("lastName").value(model.lastName);
+            out.name("email").value(model.email);
+            out.name("roles");
+            JsonFields.writeStringList(out, model.roles);
+            out.endObject();
+        }
+
+        @Override
+        public LoggedInUser read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            LoggedInUser model = new LoggedInUser(null, null, null, null, null);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "id":
+                        model.id = JsonFields.readString(in);
+                        break;
+                    case "firstName":
+                        model.firstName = JsonFields.readString(in);
+                        break;
+                    case "lastName":
+                        model.lastName = JsonFields.readString(in);
+                        break;
+                    case "email":
+                        model.email = JsonFields.readString(in);
+                        break;
+                    case "roles":
+                        model.roles = JsonFields.readStringList(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
@@ -1,5 +1,11 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 /**
  * Represents a login request containing user credentials.
  * Used for authentication purposes.
@@ -49,4 +55,43 @@ public class LoginRequest {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    static final class JsonAdapter extends TypeAdapter<LoginRequest> {
+        @Override
+        public void write(JsonWriter out, LoginRequest model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("email").value(model.email);
+            out.name("password").value(model.password);
+            out.endObject();
+        }
+
+        @Override
+        public LoginRequest read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            LoginRequest model = new LoginRequest(null, null);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "email":
+                        model.email = JsonFields.readString(in);
+                        break;
+                    case "password":
+                        model.password = JsonFields.readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
@@ -1,5 +1,12 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 /**
  * Represents a login response containing authentication token and user information.
  * Returned after successful login.
@@ -49,4 +56,50 @@ public class LoginResponse {
     public void setUser(LoggedInUser user) {
         this.user = user;
     }
+
+    static final class JsonAdapter extends TypeAdapter<LoginResponse> {
+        private final TypeAdapter<LoggedInUser> users;
+
+        JsonAdapter(Gson gson) {
+            users = gson.getAdapter(LoggedInUser.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, LoginResponse model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("token").value(model.token);
+            out.name("user");
+            users.write(out, model.user);
+            out.endObject();
+        }
+
+        @Override
+        public LoginResponse read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            LoginResponse model = new LoginResponse(null, null);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "token":
+                        model.token = JsonFields.readString(in);
+                        break;
+                    case "user":
+                        model.user = users.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
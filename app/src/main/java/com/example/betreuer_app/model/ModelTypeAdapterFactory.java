@@ -0,0 +1,115 @@
+package com.example.betreuer_app.model;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Binds the API models with the hand-written {@code JsonAdapter} each of them declares,
+ * instead of Gson's reflective binding. Fields are read in a single switch on the name,
+ * canonical UUIDs are parsed without {@link java.util.UUID#fromString}, status names are
+ * shared constants, and entities are no longer built through their no-arg constructor
+ * (which would draw a random UUID for every row before the payload overwrites it).
+ *
+ * Unknown names are skipped and the accepted input matches Gson's own adapters, so stored
+ * JSON and server payloads read the same as before. {@link ThesisDetailState} is never
+ * serialized and has no adapter; every other class in this package is covered here.
+ */
+public final class ModelTypeAdapterFactory implements TypeAdapterFactory {
+
+    private static volatile Gson gson;
+
+    /**
+     * Shared Gson with this factory registered; use it wherever models are (de)serialized.
+     */
+    public static Gson gson() {
+        if (gson == null) {
+            synchronized (ModelTypeAdapterFactory.class) {
+                if (gson == null) {
+                    gson = new GsonBuilder()
+                            .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+                            .create();
+                }
+            }
+        }
+        return gson;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        return (TypeAdapter<T>) adapterFor(gson, type.getRawType());
+    }
+
+    private static TypeAdapter<?> adapterFor(Gson gson, Class<?> rawType) {
+        // Hot list paths first
+        if (rawType == ThesisApiModel.class) {
+            return new ThesisApiModel.JsonAdapter(gson);
+        } else if (rawType == ThesesResponse.class) {
+            return new ThesesResponse.JsonAdapter(gson);
+        } else if (rawType == ThesisRequestResponse.class) {
+            return new ThesisRequestResponse.JsonAdapter(gson);
+        } else if (rawType == ThesisRequestResponsePaginatedResponse.class) {
+            return new ThesisRequestResponsePaginatedResponse.JsonAdapter(gson);
+        } else if (rawType == UserResponse.class) {
+            return new UserResponse.JsonAdapter();
+        } else if (rawType == SubjectAreaResponse.class) {
+            return new SubjectAreaResponse.JsonAdapter(gson);
+        } else if (rawType == SubjectAreaResponsePaginatedResponse.class) {
+            return new SubjectAreaResponsePaginatedResponse.JsonAdapter(gson);
+        } else if (rawType == TutorProfileResponse.class) {
+            return new TutorProfileResponse.JsonAdapter(gson);
+        } else if (rawType == TutorsResponse.class) {
+            return new TutorsResponse.JsonAdapter(gson);
+        } else if (rawType == ThesisOfferApiModel.class) {
+            return new ThesisOfferApiModel.JsonAdapter(gson);
+        } else if (rawType == ThesisOfferResponse.class) {
+            return new ThesisOfferResponse.JsonAdapter(gson);
+        } else if (rawType == UserApiModel.class) {
+            return new UserApiModel.JsonAdapter(gson);
+        } else if (rawType == UsersResponse.class) {
+            return new UsersResponse.JsonAdapter(gson);
+        } else if (rawType == BillingStatusResponse.class) {
+            return new BillingStatusResponse.JsonAdapter();
+        } else if (rawType == ThesisOfferStatusResponse.class) {
+            return new ThesisOfferStatusResponse.JsonAdapter();
+        } else if (rawType == ThesisStatusResponse.class) {
+            return new ThesisStatusResponse.JsonAdapter();
+        } else if (rawType == ThesisDocumentResponse.class) {
+            return new ThesisDocumentResponse.JsonAdapter();
+        } else if (rawType == ThesisOfferApplicationResponse.class) {
+            return new ThesisOfferApplicationResponse.JsonAdapter();
+        } else if (rawType == LoggedInUser.class) {
+            return new LoggedInUser.JsonAdapter();
+        } else if (rawType == LoginResponse.class) {
+            return new LoginResponse.JsonAdapter(gson);
+        } else if (rawType == LoginRequest.class) {
+            return new LoginRequest.JsonAdapter();
+        } else if (rawType == CreateThesisRequest.class) {
+            return new CreateThesisRequest.JsonAdapter();
+        } else if (rawType == CreateThesisRequestRequest.class) {
+            return new CreateThesisRequestRequest.JsonAdapter();
+        } else if (rawType == RespondToThesisRequestRequest.class) {
+            return new RespondToThesisRequestRequest.JsonAdapter();
+        } else if (rawType == CreateThesisOfferRequest.class) {
+            return new CreateThesisOfferRequest.JsonAdapter(gson);
+        } else if (rawType == UpdateThesisOfferRequest.class) {
+            return new UpdateThesisOfferRequest.JsonAdapter(gson);
+        } else if (rawType == CreateThesisOfferApplicationRequest.class) {
+            return new CreateThesisOfferApplicationRequest.JsonAdapter();
+        } else if (rawType == BillingStatusApiModel.class) {
+            return new BillingStatusApiModel.JsonAdapter(gson);
+        } else if (rawType == ThesisStatus.class) {
+            return new ThesisStatus.JsonAdapter(gson);
+        } else if (rawType == RoleApiModel.class) {
+            return new RoleApiModel.JsonAdapter(gson);
+        } else if (rawType == UserRoleApiModel.class) {
+            return new UserRoleApiModel.JsonAdapter(gson);
+        } else if (rawType == UserSubjectArea.class) {
+            return new UserSubjectArea.JsonAdapter(gson);
+        }
+        return null;
+    }
+}
@@ -1,5 +1,11 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 public class RespondToThesisRequestRequest {
     private boolean accepted;
     private String message;
@@ -24,4 +30,43 @@ public class RespondToThesisRequestRequest {
     public void setMessage(String message) {
         this.message = message;
     }
+
+    static final class JsonAdapter extends TypeAdapter<RespondToThesisRequestRequest> {
+        @Override
+        public void write(JsonWriter out, RespondToThesisRequestRequest model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("accepted").value(model.accepted);
+            out.name("message").value(model.message);
+            out.endObject();
+        }
+
+        @Override
+        public RespondToThesisRequestRequest read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            RespondToThesisRequestRequest model = new RespondToThesisRequestRequest(false, null);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "accepted":
+                        model.accepted = JsonFields.readBoolean(in, model.accepted);
+                        break;
+                    case "message":
+                        model.message = JsonFields.readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
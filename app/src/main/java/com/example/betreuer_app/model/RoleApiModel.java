@@ -1,5 +1,12 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -10,6 +17,10 @@ public class RoleApiModel extends BaseEntityApiModel {
     private String name;
     private List<UserRoleApiModel> userRoles;
 
+    private RoleApiModel(JsonReader in) {
+        super(in);
+    }
+
     /**
      * Default constructor.
      */
@@ -55,4 +66,56 @@ public class RoleApiModel extends BaseEntityApiModel {
     public void setUserRoles(List<UserRoleApiModel> userRoles) {
         this.userRoles = userRoles;
     }
+
+    static final class JsonAdapter extends TypeAdapter<RoleApiModel> {
+        private final TypeAdapter<Date> dates;
+        private final TypeAdapter<UserRoleApiModel> userRoles;
+
+        JsonAdapter(Gson gson) {
+            dates = gson.getAdapter(Date.class);
+            userRoles = gson.getAdapter(UserRoleApiModel.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, RoleApiModel model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("name").value(model.name);
+            out.name("userRoles");
+            JsonFields.writeList(out, model.userRoles, userRoles);
+            model.writeBaseFields(out, dates);
+            out.endObject();
+        }
+
+        @Override
+        public RoleApiModel read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            RoleApiModel model = new RoleApiModel(in);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "name":
+                        model.name = JsonFields.readString(in);
+                        break;
+                    case "userRoles":
+                        model.userRoles = JsonFields.readList(in, userRoles);
+                        break;
+                    default:
+                        if (!model.readBaseField(name, in, dates)) {
+                            in.skipValue();
+                        }
+                        break;
+                }
+            }
+            in.endObject();
+            model.fillMissingBaseFields();
+            return model;
+        }
+    }
 }
@@ -0,0 +1,63 @@
+package com.example.betreuer_app.model;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+
+/**
+ * Weakly held canonical instances of values that repeat across many rows of a response:
+ * ids that other rows refer to (owner, tutor, subject area, ...), status names, and the
+ * users embedded in every request. Each distinct value is kept once for as long as any
+ * model refers to it, so a long list holds one copy per user instead of one per row.
+ *
+ * Shared instances are handed to every row that had an equal value and must be treated
+ * as read-only.
+ */
+final class SharedValues {
+
+    private static final Map<UUID, WeakReference<UUID>> IDS = new WeakHashMap<>();
+    private static final Map<String, WeakReference<String>> NAMES = new WeakHashMap<>();
+    // Keyed by the user's own id, so an entry is not dropped while the user is in use
+    private static final Map<UUID, WeakReference<UserResponse>> USERS = new WeakHashMap<>();
+
+    private SharedValues() {
+    }
+
+    static synchronized UUID id(UUID id) {
+        return id != null ? intern(IDS, id) : null;
+    }
+
+    static synchronized String name(String name) {
+        return name != null ? intern(NAMES, name) : null;
+    }
+
+    /**
+     * Returns the user already read with the same id and the same content, or {@code user}
+     * itself, which then replaces an outdated copy for later rows.
+     */
+    static synchronized UserResponse user(UserResponse user) {
+        if (user == null || user.getId() == null) {
+            return user;
+        }
+        WeakReference<UserResponse> reference = USERS.get(user.getId());
+        UserResponse shared = reference != null ? reference.get() : null;
+        if (shared != null && shared.sameAs(user)) {
+            return shared;
+        }
+        // Remove first, otherwise the map keeps the old key instance
+        USERS.remove(user.getId());
+        USERS.put(user.getId(), new WeakReference<>(user));
+        return user;
+    }
+
+    private static <T> T intern(Map<T, WeakReference<T>> values, T value) {
+        WeakReference<T> reference = values.get(value);
+        T shared = reference != null ? reference.get() : null;
+        if (shared != null) {
+            return shared;
+        }
+        values.put(value, new WeakReference<>(value));
+        return value;
+    }
+}
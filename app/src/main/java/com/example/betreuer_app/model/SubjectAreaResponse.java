@@ -1,8 +1,16 @@
 package com.example.betreuer_app.model;
 
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
-import android.util.Log;
 
 /**
  * SubjectAreaResponse represents a subject area entity from the API.
@@ -17,6 +25,10 @@ public class SubjectAreaResponse extends BaseEntityApiModel {
     private boolean isActive;
     private List<String> tutorIds;
 
+    private SubjectAreaResponse(JsonReader in) {
+        super(in);
+    }
+
     /**
      * Constructs a new SubjectAreaResponse with the specified parameters.
      * Attempts to parse the ID as a UUID; if invalid, logs an error and leaves the ID unset.
@@ -123,4 +135,65 @@ public class SubjectAreaResponse extends BaseEntityApiModel {
     public void setTutorIds(List<String> tutorIds) {
         this.tutorIds = tutorIds;
     }
+
+    static final class JsonAdapter extends TypeAdapter<SubjectAreaResponse> {
+        private final TypeAdapter<Date> dates;
+
+        JsonAdapter(Gson gson) {
+            dates = gson.getAdapter(Date.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, SubjectAreaResponse model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("title").value(model.title);
+            out.name("description").value(model.description);
+            out.name("subjectArea").value(model.subjectArea);
+            out.name("isActive").value(model.isActive);
+            out.name("tutorIds");
+            JsonFields.writeStringList(out, model.tutorIds);
+            model.writeBaseFields(out, dates);
+            out.endObject();
+        }
+
+        @Override
+        public SubjectAreaResponse read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            SubjectAreaResponse model = new SubjectAreaResponse(in);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "title":
+                        model.title = JsonFields.readString(in);
+                        break;
+                    case "description":
+                        model.description = JsonFields.readString(in);
+                        break;
+                    case "subjectArea":
+                        model.subjectArea = JsonFields.readString(in);
+                        break;
+                    case "isActive":
+                        model.isActive = JsonFields.readBoolean(in, model.isActive);
+                        break;
+                    case "tutorIds":
+                        model.tutorIds = JsonFields.readStringList(in);
+                        break;
+                    default:
+                        if (!model.readBaseField(name, in, dates)) {
+                            in.skipValue();
+                        }
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
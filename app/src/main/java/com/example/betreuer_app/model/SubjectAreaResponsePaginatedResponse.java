@@ -1,5 +1,11 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.List;
 
 public class SubjectAreaResponsePaginatedResponse {
@@ -46,4 +52,58 @@ public class SubjectAreaResponsePaginatedResponse {
     public void setPageSize(int pageSize) {
         this.pageSize = pageSize;
     }
+
+    static final class JsonAdapter extends TypeAdapter<SubjectAreaResponsePaginatedResponse> {
+        private final TypeAdapter<SubjectAreaResponse> subjectAreas;
+
+        JsonAdapter(Gson gson) {
+            subjectAreas = gson.getAdapter(SubjectAreaResponse.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, SubjectAreaResponsePaginatedResponse model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("items");
+            JsonFields.writeList(out, model.items, subjectAreas);
+            out.name("totalCount").value(model.totalCount);
+            out.name("page").value(model.page);
+            out.name("pageSize").value(model.pageSize);
+            out.endObject();
+        }
+
+        @Override
+        public SubjectAreaResponsePaginatedResponse read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            SubjectAreaResponsePaginatedResponse model = new SubjectAreaResponsePaginatedResponse(null, 0, 0, 0);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "items":
+                        model.items = JsonFields.readList(in, subjectAreas);
+                        break;
+                    case "totalCount":
+                        model.totalCount = JsonFields.readInt(in, model.totalCount);
+                        break;
+                    case "page":
+                        model.page = JsonFields.readInt(in, model.page);
+                        break;
+                    case "pageSize":
+                        model.pageSize = JsonFields.readInt(in, model.pageSize);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
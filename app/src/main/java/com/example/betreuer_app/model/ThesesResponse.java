@@ -1,5 +1,11 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.List;
 
 public class ThesesResponse {
@@ -46,4 +52,58 @@ public class ThesesResponse {
     public void setPageSize(int pageSize) {
         this.pageSize = pageSize;
     }
+
+    static final class JsonAdapter extends TypeAdapter<ThesesResponse> {
+        private final TypeAdapter<ThesisApiModel> theses;
+
+        JsonAdapter(Gson gson) {
+            theses = gson.getAdapter(ThesisApiModel.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, ThesesResponse model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("items");
+            JsonFields.writeList(out, model.items, theses);
+            out.name("totalCount").value(model.totalCount);
+            out.name("page").value(model.page);
+            out.name("pageSize").value(model.pageSize);
+            out.endObject();
+        }
+
+        @Override
+        public ThesesResponse read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            ThesesResponse model = new ThesesResponse(null, 0, 0, 0);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "items":
+                        model.items = JsonFields.readList(in, theses);
+                        break;
+                    case "totalCount":
+                        model.totalCount = JsonFields.readInt(in, model.totalCount);
+                        break;
+                    case "page":
+                        model.page = JsonFields.readInt(in, model.page);
+                        break;
+                    case "pageSize":
+                        model.pageSize = JsonFields.readInt(in, model.pageSize);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
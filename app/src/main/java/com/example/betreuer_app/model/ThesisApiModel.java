@@ -1,5 +1,12 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Date;
 import java.util.UUID;
 
 /**
@@ -18,12 +25,33 @@ public class ThesisApiModel extends BaseEntityApiModel {
     private String documentFileName;
     private UUID documentId;
 
+    private ThesisApiModel(JsonReader in) {
+        super(in);
+    }
+
     /**
      * Default constructor.
      */
     public ThesisApiModel() {
     }
 
+    /**
+     * Creates a copy of {@code other} that can be changed without affecting its other holders.
+     */
+    public ThesisApiModel(ThesisApiModel other) {
+        super(other);
+        title = other.title;
+        description = other.description;
+        status = other.status;
+        billingStatus = other.billingStatus;
+        ownerId = other.ownerId;
+        tutorId = other.tutorId;
+        secondSupervisorId = other.secondSupervisorId;
+        subjectAreaId = other.subjectAreaId;
+        documentFileName = other.documentFileName;
+        documentId = other.documentId;
+    }
+
     // Getters and setters
     public String getTitle() {
         return title;
@@ -104,4 +132,90 @@ public class ThesisApiModel extends BaseEntityApiModel {
     public void setDocumentId(UUID documentId) {
         this.documentId = documentId;
     }
+
+    static final class JsonAdapter extends TypeAdapter<ThesisApiModel> {
+        private final TypeAdapter<Date> dates;
+
+        JsonAdapter(Gson gson) {
+            dates = gson.getAdapter(Date.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, ThesisApiModel model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("title").value(model.title);
+            out.name("description").value(model.description);
+            out.name("status").value(model.status);
+            out.name("billingStatus").value(model.billingStatus);
+            out.name("ownerId");
+            JsonFields.writeUuid(out, model.ownerId);
+            out.name("tutorId");
+            JsonFields.writeUuid(out, model.tutorId);
+            out.name("secondSupervisorId");
+            JsonFields.writeUuid(out, model.secondSupervisorId);
+            out.name("subjectAreaId");
+            JsonFields.writeUuid(out, model.subjectAreaId);
+            out.name("documentFileName").value(model.documentFileName);
+            out.name("documentId");
+            JsonFields.writeUuid(out, model.documentId);
+            model.writeBaseFields(out, dates);
+            out.endObject();
+        }
+
+        @Override
+        public ThesisApiModel read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            ThesisApiModel model = new ThesisApiModel(in);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "title":
+                        model.title = JsonFields.readString(in);
+                        break;
+                    case "description":
+                        model.description = JsonFields.readString(in);
+                        break;
+                    case "status":
+                        model.status = JsonFields.readStatus(in);
+                        break;
+                    case "billingStatus":
+                        model.billingStatus = JsonFields.readStatus(in);
+                        break;
+                    case "ownerId":
+                        model.ownerId = JsonFields.readSharedUuid(in);
+                        break;
+                    case "tutorId":
+                        model.tutorId = JsonFields.readSharedUuid(in);
+                        break;
+                    case "secondSupervisorId":
+                        model.secondSupervisorId = JsonFields.readSharedUuid(in);
+                        break;
+                    case "subjectAreaId":
+                        model.subjectAreaId = JsonFields.readSharedUuid(in);
+                        break;
+                    case "documentFileName":
+                        model.documentFileName = JsonFields.readString(in);
+                        break;
+                    case "documentId":
+                        model.documentId = JsonFields.readUuid(in);
+                        break;
+                    default:
+                        if (!model.readBaseField(name, in, dates)) {
+                            in.skipValue();
+                        }
+                        break;
+                }
+            }
+            in.endObject();
+            model.fillMissingBaseFields();
+            return model;
+        }
+    }
 }
@@ -0,0 +1,149 @@
+package com.example.betreuer_app.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Everything the thesis detail screen shows, loaded together by
+ * {@link com.example.betreuer_app.repository.ThesisDetailLoader}.
+ * Parts whose request failed or did not finish within the time budget are null;
+ * {@link #isComplete()} tells whether every request has finished.
+ */
+public final class ThesisDetailState {
+
+    private final ThesisApiModel thesis;
+    private final List<BillingStatusResponse> billingStatuses;
+    private final SubjectAreaResponse subjectArea;
+    private final UserResponse owner;
+    private final UserResponse tutor;
+    private final UserResponse secondSupervisor;
+    private final boolean hasSupervisionRequest;
+    private final boolean supervisionRequestAccepted;
+    private final boolean complete;
+
+    private ThesisDetailState(Builder builder, ThesisApiModel thesis, boolean complete) {
+        this.thesis = thesis;
+        this.billingStatuses = builder.billingStatuses != null
+                ? Collections.unmodifiableList(builder.billingStatuses) : null;
+        this.subjectArea = builder.subjectArea;
+        this.owner = builder.owner;
+        this.tutor = builder.tutor;
+        this.secondSupervisor = builder.secondSupervisor;
+        this.hasSupervisionRequest = builder.hasSupervisionRequest;
+        this.supervisionRequestAccepted = builder.supervisionRequestAccepted;
+        this.complete = complete;
+    }
+
+    private ThesisDetailState(ThesisDetailState other, ThesisApiModel thesis) {
+        this.thesis = thesis;
+        this.billingStatuses = other.billingStatuses;
+        this.subjectArea = other.subjectArea;
+        this.owner = other.owner;
+        this.tutor = other.tutor;
+        this.secondSupervisor = other.secondSupervisor;
+        this.hasSupervisionRequest = other.hasSupervisionRequest;
+        this.supervisionRequestAccepted = other.supervisionRequestAccepted;
+        this.complete = other.complete;
+    }
+
+    /**
+     * Returns a copy showing the given version of the thesis, e.g. after a local status change.
+     */
+    public ThesisDetailState withThesis(ThesisApiModel thesis) {
+        return new ThesisDetailState(this, thesis);
+    }
+
+    public ThesisApiModel getThesis() {
+        return thesis;
+    }
+
+    public List<BillingStatusResponse> getBillingStatuses() {
+        return billingStatuses;
+    }
+
+    public SubjectAreaResponse getSubjectArea() {
+        return subjectArea;
+    }
+
+    public UserResponse getOwner() {
+        return owner;
+    }
+
+    public UserResponse getTutor() {
+        return tutor;
+    }
+
+    public UserResponse getSecondSupervisor() {
+        return secondSupervisor;
+    }
+
+    public boolean hasSupervisionRequest() {
+        return hasSupervisionRequest;
+    }
+
+    public boolean isSupervisionRequestAccepted() {
+        return supervisionRequestAccepted;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Collects the parts while the requests are running.
+     */
+    public static final class Builder {
+        private ThesisApiModel thesis;
+        private List<BillingStatusResponse> billingStatuses;
+        private SubjectAreaResponse subjectArea;
+        private UserResponse owner;
+        private UserResponse tutor;
+        private UserResponse secondSupervisor;
+        private boolean hasSupervisionRequest;
+        private boolean supervisionRequestAccepted;
+
+        public Builder thesis(ThesisApiModel thesis) {
+            this.thesis = thesis;
+            return this;
+        }
+
+        public ThesisApiModel getThesis() {
+            return thesis;
+        }
+
+        public Builder billingStatuses(List<BillingStatusResponse> billingStatuses) {
+            this.billingStatuses = billingStatuses;
+            return this;
+        }
+
+        public Builder subjectArea(SubjectAreaResponse subjectArea) {
+            this.subjectArea = subjectArea;
+            return this;
+        }
+
+        public Builder owner(UserResponse owner) {
+            this.owner = owner;
+            return this;
+        }
+
+        public Builder tutor(UserResponse tutor) {
+            this.tutor = tutor;
+            return this;
+        }
+
+        public Builder secondSupervisor(UserResponse secondSupervisor) {
+            this.secondSupervisor = secondSupervisor;
+            return this;
+        }
+
+        public Builder supervisionRequest(boolean exists, boolean accepted) {
+            this.hasSupervisionRequest = exists;
+            this.supervisionRequestAccepted = accepted;
+            return this;
+        }
+
+        public ThesisDetailState build(boolean complete) {
+            return new ThesisDetailState(this, thesis, complete);
+        }
+    }
+}
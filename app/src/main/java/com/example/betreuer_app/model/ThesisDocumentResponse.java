@@ -1,5 +1,10 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.UUID;
 
 public class ThesisDocumentResponse {
@@ -59,4 +64,58 @@ public class ThesisDocumentResponse {
     public void setUserId(UUID userId) {
         this.userId = userId;
     }
+
+    static final class JsonAdapter extends TypeAdapter<ThesisDocumentResponse> {
+        @Override
+        public void write(JsonWriter out, ThesisDocumentResponse model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id");
+            JsonFields.writeUuid(out, model.id);
+            out.name("fileName").value(model.fileName);
+            out.name("contentType").value(model.contentType);
+            out.name("thesisId");
+            JsonFields.writeUuid(out, model.thesisId);
+            out.name("userId");
+            JsonFields.writeUuid(out, model.userId);
+            out.endObject();
+        }
+
+        @Override
+        public ThesisDocumentResponse read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            ThesisDocumentResponse model = new ThesisDocumentResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "id":
+                        model.id = JsonFields.readUuid(in);
+                        break;
+                    case "fileName":
+                        model.fileName = JsonFields.readString(in);
+                        break;
+                    case "contentType":
+                        model.contentType = JsonFields.readString(in);
+                        break;
+                    case "thesisId":
+                        model.thesisId = JsonFields.readSharedUuid(in);
+                        break;
+                    case "userId":
+                        model.userId = JsonFields.readSharedUuid(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
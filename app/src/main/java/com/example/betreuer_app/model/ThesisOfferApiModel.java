@@ -1,6 +1,13 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.time.OffsetDateTime;
+import java.util.Date;
 import java.util.UUID;
 
 public class ThesisOfferApiModel extends BaseEntityApiModel {
@@ -12,6 +19,10 @@ public class ThesisOfferApiModel extends BaseEntityApiModel {
     private Integer maxStudents;
     private OffsetDateTime expiresAt;
 
+    private ThesisOfferApiModel(JsonReader in) {
+        super(in);
+    }
+
     public ThesisOfferApiModel() {
     }
 
@@ -70,4 +81,91 @@ public class ThesisOfferApiModel extends BaseEntityApiModel {
     public void setExpiresAt(OffsetDateTime expiresAt) {
         this.expiresAt = expiresAt;
     }
+
+    static final class JsonAdapter extends TypeAdapter<ThesisOfferApiModel> {
+        private final Gson gson;
+        private final TypeAdapter<Date> dates;
+        // Resolved on first use; only offers with an expiry date need it
+        private TypeAdapter<OffsetDateTime> offsetDateTimes;
+
+        JsonAdapter(Gson gson) {
+            this.gson = gson;
+            dates = gson.getAdapter(Date.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, ThesisOfferApiModel model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("title").value(model.title);
+            out.name("description").value(model.description);
+            out.name("subjectAreaId");
+            JsonFields.writeUuid(out, model.subjectAreaId);
+            out.name("tutorId");
+            JsonFields.writeUuid(out, model.tutorId);
+            out.name("status").value(model.status);
+            out.name("maxStudents").value(model.maxStudents);
+            out.name("expiresAt");
+            if (model.expiresAt != null) {
+                offsetDateTimes().write(out, model.expiresAt);
+            } else {
+                out.nullValue();
+            }
+            model.writeBaseFields(out, dates);
+            out.endObject();
+        }
+
+        @Override
+        public ThesisOfferApiModel read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            ThesisOfferApiModel model = new ThesisOfferApiModel(in);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "title":
+                        model.title = JsonFields.readString(in);
+                        break;
+                    case "description":
+                        model.description = JsonFields.readString(in);
+                        break;
+                    case "subjectAreaId":
+                        model.subjectAreaId = JsonFields.readSharedUuid(in);
+                        break;
+                    case "tutorId":
+                        model.tutorId = JsonFields.readSharedUuid(in);
+                        break;
+                    case "status":
+                        model.status = JsonFields.readStatus(in);
+                        break;
+                    case "maxStudents":
+                        model.maxStudents = JsonFields.readInteger(in);
+                        break;
+                    case "expiresAt":
+                        model.expiresAt = JsonFields.nextIsNull(in) ? null : offsetDateTimes().read(in);
+                        break;
+                    default:
+                        if (!model.readBaseField(name, in, dates)) {
+                            in.skipValue();
+                        }
+                        break;
+                }
+            }
+            in.endObject();
+            model.fillMissingBaseFields();
+            return model;
+        }
+
+        private TypeAdapter<OffsetDateTime> offsetDateTimes() {
+            if (offsetDateTimes == null) {
+                offsetDateTimes = gson.getAdapter(OffsetDateTime.class);
+            }
+            return offsetDateTimes;
+        }
+    }
 }
@@ -1,5 +1,10 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.UUID;
 
 /**
@@ -15,4 +20,40 @@ public class ThesisOfferApplicationResponse {
     public void setId(UUID id) {
         this.id = id;
     }
+
+    static final class JsonAdapter extends TypeAdapter<ThesisOfferApplicationResponse> {
+        @Override
+        public void write(JsonWriter out, ThesisOfferApplicationResponse model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id");
+            JsonFields.writeUuid(out, model.id);
+            out.endObject();
+        }
+
+        @Override
+        public ThesisOfferApplicationResponse read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            ThesisOfferApplicationResponse model = new ThesisOfferApplicationResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "id":
+                        model.id = JsonFields.readUuid(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
@@ -1,5 +1,11 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.List;
 
 public class ThesisOfferResponse {
@@ -39,4 +45,58 @@ public class ThesisOfferResponse {
     public void setPageSize(int pageSize) {
         this.pageSize = pageSize;
     }
+
+    static final class JsonAdapter extends TypeAdapter<ThesisOfferResponse> {
+        private final TypeAdapter<ThesisOfferApiModel> offers;
+
+        JsonAdapter(Gson gson) {
+            offers = gson.getAdapter(ThesisOfferApiModel.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, ThesisOfferResponse model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("items");
+            JsonFields.writeList(out, model.items, offers);
+            out.name("totalCount").value(model.totalCount);
+            out.name("page").value(model.page);
+            out.name("pageSize").value(model.pageSize);
+            out.endObject();
+        }
+
+        @Override
+        public ThesisOfferResponse read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            ThesisOfferResponse model = new ThesisOfferResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "items":
+                        model.items = JsonFields.readList(in, offers);
+                        break;
+                    case "totalCount":
+                        model.totalCount = JsonFields.readInt(in, model.totalCount);
+                        break;
+                    case "page":
+                        model.page = JsonFields.readInt(in, model.page);
+                        break;
+                    case "pageSize":
+                        model.pageSize = JsonFields.readInt(in, model.pageSize);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
@@ -1,5 +1,10 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.UUID;
 
 public class ThesisOfferStatusResponse {
@@ -29,4 +34,44 @@ public class ThesisOfferStatusResponse {
     public void setName(String name) {
         this.name = name;
     }
+
+    static final class JsonAdapter extends TypeAdapter<ThesisOfferStatusResponse> {
+        @Override
+        public void write(JsonWriter out, ThesisOfferStatusResponse model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id");
+            JsonFields.writeUuid(out, model.id);
+            out.name("name").value(model.name);
+            out.endObject();
+        }
+
+        @Override
+        public ThesisOfferStatusResponse read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            ThesisOfferStatusResponse model = new ThesisOfferStatusResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "id":
+                        model.id = JsonFields.readUuid(in);
+                        break;
+                    case "name":
+                        model.name = JsonFields.readStatus(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
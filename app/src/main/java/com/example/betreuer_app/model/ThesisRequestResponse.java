@@ -1,5 +1,11 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.UUID;
 
 public class ThesisRequestResponse {
@@ -17,6 +23,28 @@ public class ThesisRequestResponse {
     private String documentFileName;
     private UUID documentId;
 
+    public ThesisRequestResponse() {
+    }
+
+    /**
+     * Creates a copy of {@code other} that can be changed without affecting its other holders.
+     */
+    public ThesisRequestResponse(ThesisRequestResponse other) {
+        id = other.id;
+        thesisId = other.thesisId;
+        thesisTitle = other.thesisTitle;
+        requester = other.requester;
+        receiver = other.receiver;
+        requestType = other.requestType;
+        status = other.status;
+        message = other.message;
+        createdAt = other.createdAt;
+        plannedStartOfSupervision = other.plannedStartOfSupervision;
+        plannedEndOfSupervision = other.plannedEndOfSupervision;
+        documentFileName = other.documentFileName;
+        documentId = other.documentId;
+    }
+
     public UUID getId() {
         return id;
     }
@@ -45,6 +73,10 @@ public class ThesisRequestResponse {
         return status;
     }
 
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
     public String getMessage() {
         return message;
     }
@@ -71,4 +103,98 @@ public class ThesisRequestResponse {
     public UUID getDocumentId() {
         return documentId;
     }
+
+    static final class JsonAdapter extends TypeAdapter<ThesisRequestResponse> {
+        private final TypeAdapter<UserResponse> users;
+
+        JsonAdapter(Gson gson) {
+            users = gson.getAdapter(UserResponse.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, ThesisRequestResponse model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id");
+            JsonFields.writeUuid(out, model.id);
+            out.name("thesisId");
+            JsonFields.writeUuid(out, model.thesisId);
+            out.name("thesisTitle").value(model.thesisTitle);
+            out.name("requester");
+            users.write(out, model.requester);
+            out.name("receiver");
+            users.write(out, model.receiver);
+            out.name("requestType").value(model.requestType);
+            out.name("status").value(model.status);
+            out.name("message").value(model.message);
+            out.name("createdAt").value(model.createdAt);
+            out.name("plannedStartOfSupervision").value(model.plannedStartOfSupervision);
+            out.name("plannedEndOfSupervision").value(model.plannedEndOfSupervision);
+            out.name("documentFileName").value(model.documentFileName);
+            out.name("documentId");
+            JsonFields.writeUuid(out, model.documentId);
+            out.endObject();
+        }
+
+        @Override
+        public ThesisRequestResponse read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            ThesisRequestResponse model = new ThesisRequestResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "id":
+                        model.id = JsonFields.readUuid(in);
+                        break;
+                    case "thesisId":
+                        model.thesisId = JsonFields.readSharedUuid(in);
+                        break;
+                    case "thesisTitle":
+                        model.thesisTitle = JsonFields.readString(in);
+                        break;
+                    case "requester":
+                        model.requester = users.read(in);
+                        break;
+                    case "receiver":
+                        model.receiver = users.read(in);
+                        break;
+                    case "requestType":
+                        model.requestType = JsonFields.readStatus(in);
+                        break;
+                    case "status":
+                        model.status = JsonFields.readStatus(in);
+                        break;
+                    case "message":
+                        model.message = JsonFields.readString(in);
+                        break;
+                    case "createdAt":
+                        model.createdAt = JsonFields.readString(in);
+                        break;
+                    case "plannedStartOfSupervision":
+                        model.plannedStartOfSupervision = JsonFields.readString(in);
+                        break;
+                    case "plannedEndOfSupervision":
+                        model.plannedEndOfSupervision = JsonFields.readString(in);
+                        break;
+                    case "documentFileName":
+                        model.documentFileName = JsonFields.readString(in);
+                        break;
+                    case "documentId":
+                        model.documentId = JsonFields.readUuid(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
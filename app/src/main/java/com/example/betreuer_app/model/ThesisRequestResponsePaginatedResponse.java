@@ -1,5 +1,11 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.List;
 
 public class ThesisRequestResponsePaginatedResponse {
@@ -8,6 +14,13 @@ public class ThesisRequestResponsePaginatedResponse {
     private int page;
     private int pageSize;
 
+    public ThesisRequestResponsePaginatedResponse(List<ThesisRequestResponse> items, int totalCount, int page, int pageSize) {
+        this.items = items;
+        this.totalCount = totalCount;
+        this.page = page;
+        this.pageSize = pageSize;
+    }
+
     public List<ThesisRequestResponse> getItems() {
         return items;
     }
@@ -23,4 +36,58 @@ public class ThesisRequestResponsePaginatedResponse {
     public int getPageSize() {
         return pageSize;
     }
+
+    static final class JsonAdapter extends TypeAdapter<ThesisRequestResponsePaginatedResponse> {
+        private final TypeAdapter<ThesisRequestResponse> requests;
+
+        JsonAdapter(Gson gson) {
+            requests = gson.getAdapter(ThesisRequestResponse.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, ThesisRequestResponsePaginatedResponse model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("items");
+            JsonFields.writeList(out, model.items, requests);
+            out.name("totalCount").value(model.totalCount);
+            out.name("page").value(model.page);
+            out.name("pageSize").value(model.pageSize);
+            out.endObject();
+        }
+
+        @Override
+        public ThesisRequestResponsePaginatedResponse read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            ThesisRequestResponsePaginatedResponse model = new ThesisRequestResponsePaginatedResponse(null, 0, 0, 0);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "items":
+                        model.items = JsonFields.readList(in, requests);
+                        break;
+                    case "totalCount":
+                        model.totalCount = JsonFields.readInt(in, model.totalCount);
+                        break;
+                    case "page":
+                        model.page = JsonFields.readInt(in, model.page);
+                        break;
+                    case "pageSize":
+                        model.pageSize = JsonFields.readInt(in, model.pageSize);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
@@ -1,5 +1,12 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -10,6 +17,10 @@ public class ThesisStatus extends BaseEntityApiModel {
     private String name;
     private List<ThesisApiModel> theses;
 
+    private ThesisStatus(JsonReader in) {
+        super(in);
+    }
+
     /**
      * Default constructor.
      */
@@ -55,4 +66,56 @@ public class ThesisStatus extends BaseEntityApiModel {
     public void setTheses(List<ThesisApiModel> theses) {
         this.theses = theses;
     }
+
+    static final class JsonAdapter extends TypeAdapter<ThesisStatus> {
+        private final TypeAdapter<Date> dates;
+        private final TypeAdapter<ThesisApiModel> theses;
+
+        JsonAdapter(Gson gson) {
+            dates = gson.getAdapter(Date.class);
+            theses = gson.getAdapter(ThesisApiModel.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, ThesisStatus model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("name").value(model.name);
+            out.name("theses");
+            JsonFields.writeList(out, model.theses, theses);
+            model.writeBaseFields(out, dates);
+            out.endObject();
+        }
+
+        @Override
+        public ThesisStatus read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            ThesisStatus model = new ThesisStatus(in);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "name":
+                        model.name = JsonFields.readStatus(in);
+                        break;
+                    case "theses":
+                        model.theses = JsonFields.readList(in, theses);
+                        break;
+                    default:
+                        if (!model.readBaseField(name, in, dates)) {
+                            in.skipValue();
+                        }
+                        break;
+                }
+            }
+            in.endObject();
+            model.fillMissingBaseFields();
+            return model;
+        }
+    }
 }
@@ -2,6 +2,12 @@ package com.example.betreuer_app.model;
 
 import androidx.annotation.NonNull;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
 /**
  * Response-Model für ThesisStatus vom API.
  * Verwendet für Dropdown-Anzeige.
@@ -36,5 +42,43 @@ public class ThesisStatusResponse {
     public String toString() {
         return displayName != null ? displayName : name;
     }
-}
 
+    static final class JsonAdapter extends TypeAdapter<ThesisStatusResponse> {
+        @Override
+        public void write(JsonWriter out, ThesisStatusResponse model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("name").value(model.name);
+            out.name("displayName").value(model.displayName);
+            out.endObject();
+        }
+
+        @Override
+        public ThesisStatusResponse read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            ThesisStatusResponse model = new ThesisStatusResponse(null, null);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "name":
+                        model.name = JsonFields.readStatus(in);
+                        break;
+                    case "displayName":
+                        model.displayName = JsonFields.readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
+}
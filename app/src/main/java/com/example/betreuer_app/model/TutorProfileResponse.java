@@ -1,5 +1,12 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
@@ -9,6 +16,10 @@ public class TutorProfileResponse extends BaseEntityApiModel {
     private String email;
     private List<SubjectAreaResponse> subjectAreas;
 
+    private TutorProfileResponse(JsonReader in) {
+        super(in);
+    }
+
     public TutorProfileResponse(String id, String firstName, String lastName, String email, List<SubjectAreaResponse> subjectAreas) {
         super();
         if (id != null) {
@@ -51,4 +62,63 @@ public class TutorProfileResponse extends BaseEntityApiModel {
     public void setSubjectAreas(List<SubjectAreaResponse> subjectAreas) {
         this.subjectAreas = subjectAreas;
     }
+
+    static final class JsonAdapter extends TypeAdapter<TutorProfileResponse> {
+        private final TypeAdapter<Date> dates;
+        private final TypeAdapter<SubjectAreaResponse> subjectAreas;
+
+        JsonAdapter(Gson gson) {
+            dates = gson.getAdapter(Date.class);
+            subjectAreas = gson.getAdapter(SubjectAreaResponse.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, TutorProfileResponse model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("firstName").value(model.firstName);
+            out.name("lastName").value(model.lastName);
+            out.name("email").value(model.email);
+            out.name("subjectAreas");
+            JsonFields.writeList(out, model.subjectAreas, subjectAreas);
+            model.writeBaseFields(out, dates);
+            out.endObject();
+        }
+
+        @Override
+        public TutorProfileResponse read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            TutorProfileResponse model = new TutorProfileResponse(in);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "firstName":
+                        model.firstName = JsonFields.readString(in);
+                        break;
+                    case "lastName":
+                        model.lastName = JsonFields.readString(in);
+                        break;
+                    case "email":
+                        model.email = JsonFields.readString(in);
+                        break;
+                    case "subjectAreas":
+                        model.subjectAreas = JsonFields.readList(in, subjectAreas);
+                        break;
+                    default:
+                        if (!model.readBaseField(name, in, dates)) {
+                            in.skipValue();
+                        }
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
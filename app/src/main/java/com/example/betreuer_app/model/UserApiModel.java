@@ -1,5 +1,11 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -101,4 +107,71 @@ public class UserApiModel {
     public void setUserSubjectAreas(List<UserSubjectArea> userSubjectAreas) {
         this.userSubjectAreas = userSubjectAreas;
     }
+
+    static final class JsonAdapter extends TypeAdapter<UserApiModel> {
+        private final TypeAdapter<UserSubjectArea> userSubjectAreas;
+
+        JsonAdapter(Gson gson) {
+            userSubjectAreas = gson.getAdapter(UserSubjectArea.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, UserApiModel model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id").value(model.id);
+            out.name("firstName").value(model.firstName);
+            out.name("lastName").value(model.lastName);
+            out.name("email").value(model.email);
+            out.name("passwordHash").value(model.passwordHash);
+            out.name("roles");
+            JsonFields.writeStringList(out, model.roles);
+            out.name("userSubjectAreas");
+            JsonFields.writeList(out, model.userSubjectAreas, userSubjectAreas);
+            out.endObject();
+        }
+
+        @Override
+        public UserApiModel read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            UserApiModel model = new UserApiModel();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "id":
+                        model.id = JsonFields.readString(in);
+                        break;
+                    case "firstName":
+                        model.firstName = JsonFields.readString(in);
+                        break;
+                    case "lastName":
+                        model.lastName = JsonFields.readString(in);
+                        break;
+                    case "email":
+                        model.email = JsonFields.readString(in);
+                        break;
+                    case "passwordHash":
+                        model.passwordHash = JsonFields.readString(in);
+                        break;
+                    case "roles":
+                        model.roles = JsonFields.readStringList(in);
+                        break;
+                    case "userSubjectAreas":
+                        model.userSubjectAreas = JsonFields.readList(in, userSubjectAreas);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
@@ -1,6 +1,12 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 
 public class UserResponse {
@@ -10,6 +16,17 @@ public class UserResponse {
     private String email;
     private List<String> roles;
 
+    public UserResponse() {
+    }
+
+    public UserResponse(UUID id, String firstName, String lastName, String email, List<String> roles) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.roles = roles;
+    }
+
     public UUID getId() {
         return id;
     }
@@ -29,4 +46,67 @@ public class UserResponse {
     public List<String> getRoles() {
         return roles;
     }
+
+    // Field by field, for sharing equal users between rows; not an equals() for callers
+    boolean sameAs(UserResponse other) {
+        return Objects.equals(id, other.id)
+                && Objects.equals(firstName, other.firstName)
+                && Objects.equals(lastName, other.lastName)
+                && Objects.equals(email, other.email)
+                && Objects.equals(roles, other.roles);
+    }
+
+    static final class JsonAdapter extends TypeAdapter<UserResponse> {
+        @Override
+        public void write(JsonWriter out, UserResponse model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("id");
+            JsonFields.writeUuid(out, model.id);
+            out.name("firstName").value(model.firstName);
+            out.name("lastName").value(model.lastName);
+            out.name("email").value(model.email);
+            out.name("roles");
+            JsonFields.writeStringList(out, model.roles);
+            out.endObject();
+        }
+
+        @Override
+        public UserResponse read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            UserResponse model = new UserResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "id":
+                        model.id = JsonFields.readSharedUuid(in);
+                        break;
+                    case "firstName":
+                        model.firstName = JsonFields.readString(in);
+                        break;
+                    case "lastName":
+                        model.lastName = JsonFields.readString(in);
+                        break;
+                    case "email":
+                        model.email = JsonFields.readString(in);
+                        break;
+                    case "roles":
+                        model.roles = JsonFields.readStringList(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            // The same requester or receiver appears in many requests of a list
+            return SharedValues.user(model);
+        }
+    }
 }
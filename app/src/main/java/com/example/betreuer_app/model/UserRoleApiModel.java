@@ -1,5 +1,12 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.Date;
 import java.util.UUID;
 
 /**
@@ -12,6 +19,10 @@ public class UserRoleApiModel extends BaseEntityApiModel {
     private UUID roleId;
     private RoleApiModel role;
 
+    private UserRoleApiModel(JsonReader in) {
+        super(in);
+    }
+
     /**
      * Returns the user ID.
      * @return The UUID of the user.
@@ -75,4 +86,68 @@ public class UserRoleApiModel extends BaseEntityApiModel {
     public void setRole(RoleApiModel role) {
         this.role = role;
     }
+
+    static final class JsonAdapter extends TypeAdapter<UserRoleApiModel> {
+        private final TypeAdapter<Date> dates;
+        private final TypeAdapter<UserApiModel> users;
+        private final TypeAdapter<RoleApiModel> roles;
+
+        JsonAdapter(Gson gson) {
+            dates = gson.getAdapter(Date.class);
+            users = gson.getAdapter(UserApiModel.class);
+            roles = gson.getAdapter(RoleApiModel.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, UserRoleApiModel model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("userId").value(model.userId);
+            out.name("user");
+            users.write(out, model.user);
+            out.name("roleId");
+            JsonFields.writeUuid(out, model.roleId);
+            out.name("role");
+            roles.write(out, model.role);
+            model.writeBaseFields(out, dates);
+            out.endObject();
+        }
+
+        @Override
+        public UserRoleApiModel read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            UserRoleApiModel model = new UserRoleApiModel(in);
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "userId":
+                        model.userId = JsonFields.readString(in);
+                        break;
+                    case "user":
+                        model.user = users.read(in);
+                        break;
+                    case "roleId":
+                        model.roleId = JsonFields.readSharedUuid(in);
+                        break;
+                    case "role":
+                        model.role = roles.read(in);
+                        break;
+                    default:
+                        if (!model.readBaseField(name, in, dates)) {
+                            in.skipValue();
+                        }
+                        break;
+                }
+            }
+            in.endObject();
+            model.fillMissingBaseFields();
+            return model;
+        }
+    }
 }
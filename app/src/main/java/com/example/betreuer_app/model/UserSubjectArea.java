@@ -1,5 +1,11 @@
 package com.example.betreuer_app.model;
 
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.UUID;
 
 /**
@@ -75,4 +81,62 @@ public class UserSubjectArea {
     public void setSubjectArea(SubjectAreaResponse subjectArea) {
         this.subjectArea = subjectArea;
     }
+
+    static final class JsonAdapter extends TypeAdapter<UserSubjectArea> {
+        private final TypeAdapter<UserApiModel> users;
+        private final TypeAdapter<SubjectAreaResponse> subjectAreas;
+
+        JsonAdapter(Gson gson) {
+            users = gson.getAdapter(UserApiModel.class);
+            subjectAreas = gson.getAdapter(SubjectAreaResponse.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, UserSubjectArea model) throws IOException {
+            if (model == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("userId").value(model.userId);
+            out.name("user");
+            users.write(out, model.user);
+            out.name("subjectAreaId");
+            JsonFields.writeUuid(out, model.subjectAreaId);
+            out.name("subjectArea");
+            subjectAreas.write(out, model.subjectArea);
+            out.endObject();
+        }
+
+        @Override
+        public UserSubjectArea read(JsonReader in) throws IOException {
+            if (JsonFields.nextIsNull(in)) {
+                return null;
+            }
+            UserSubjectArea model = new UserSubjectArea();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                switch (name) {
+                    case "userId":
+                        model.userId = JsonFields.readString(in);
+                        break;
+                    case "user":
+                        model.user = users.read(in);
+                        break;
+                    case "subjectAreaId":
+                        model.subjectAreaId = JsonFields.readSharedUuid(in);
+                        break;
+                    case "subjectArea":
+                        model.subjectArea = subjectAreas.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return model;
+        }
+    }
 }
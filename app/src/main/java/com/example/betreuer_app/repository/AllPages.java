@@ -0,0 +1,176 @@
+package com.example.betreuer_app.repository;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+
+import com.example.betreuer_app.api.ItemStream;
+import com.example.betreuer_app.util.Resource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Loads every page of a paginated query one after another and emits the items
+ * collected so far, so lists and lookups are complete however many items there are.
+ *
+ * While pages are outstanding the result is {@link Resource#loading} with the items
+ * loaded so far (including stored copies), then success with all items. A failing page
+ * ends the run with an error carrying the items loaded before it, as does reaching
+ * {@link #MAX_PAGES} with items still missing; {@code onComplete} is not called then.
+ *
+ * An optional overlay is applied to every emitted list (not to what is passed to
+ * {@code onComplete}), e.g. to show mutations that are still queued in the outbox.
+ *
+ * {@link #collect} must be used from the main thread. {@link #read} is its blocking
+ * counterpart for background syncs and lookups that read the pages as they are parsed.
+ */
+final class AllPages {
+
+    static final int PAGE_SIZE = 100;
+    // Guards against a server that keeps reporting more items than it returns
+    static final int MAX_PAGES = 50;
+    static final String TOO_MANY_PAGES = "More than " + MAX_PAGES + " pages";
+
+    private AllPages() {
+    }
+
+    interface PageRequest<T> {
+        Call<ItemStream<T>> request(int page, int pageSize);
+    }
+
+    /**
+     * Reads every page one after another on the calling thread, which must not be the
+     * main thread, handing each item to {@code visitor} as soon as it is parsed.
+     *
+     * @return true once all items were read, false if the visitor stopped reading
+     * @throws IOException if a page fails, or {@link #MAX_PAGES} were read with items still missing
+     */
+    static <T> boolean read(PageRequest<T> pageRequest, ItemStream.Visitor<? super T> visitor) throws IOException {
+        int read = 0;
+        for (int page = 1; page <= MAX_PAGES; page++) {
+            Response<ItemStream<T>> response = pageRequest.request(page, PAGE_SIZE).execute();
+            ItemStream<T> stream = response.body();
+            if (!response.isSuccessful() || stream == null) {
+                if (response.errorBody() != null) {
+                    response.errorBody().close();
+                }
+                throw new IOException("Error: " + response.code());
+            }
+            ItemStream.Page result = stream.read(visitor);
+            if (result.isStopped()) {
+                return false;
+            }
+            read += result.getItemCount();
+            if (result.getItemCount() == 0 || read >= result.getTotalCount()) {
+                return true;
+            }
+        }
+        throw new IOException(TOO_MANY_PAGES);
+    }
+
+    static <R, T> LiveData<Resource<List<T>>> collect(IntFunction<LiveData<Resource<R>>> pageLoader,
+                                                     Function<R, List<T>> itemsOf,
+                                                     ToIntFunction<R> totalCountOf,
+                                                     Consumer<List<T>> onComplete) {
+        return collect(pageLoader, itemsOf, totalCountOf, onComplete, UnaryOperator.identity());
+    }
+
+    /**
+     * @param pageLoader loads one page ({@code page} starts at 1) with {@link #PAGE_SIZE} items
+     * @param onComplete receives all items as the server sent them once the last page arrived; may be null
+     * @param overlay    applied to every emitted list; must return a new list and leave the items as they are
+     */
+    static <R, T> LiveData<Resource<List<T>>> collect(IntFunction<LiveData<Resource<R>>> pageLoader,
+                                                     Function<R, List<T>> itemsOf,
+                                                     ToIntFunction<R> totalCountOf,
+                                                     Consumer<List<T>> onComplete,
+                                                     UnaryOperator<List<T>> overlay) {
+        Collector<R, T> collector = new Collector<>(pageLoader, itemsOf, totalCountOf, onComplete, overlay);
+        collector.load(1);
+        return collector.result;
+    }
+
+    private static final class Collector<R, T> {
+        final MediatorLiveData<Resource<List<T>>> result = new MediatorLiveData<>();
+        private final IntFunction<LiveData<Resource<R>>> pageLoader;
+        private final Function<R, List<T>> itemsOf;
+        private final ToIntFunction<R> totalCountOf;
+        private final Consumer<List<T>> onComplete;
+        private final UnaryOperator<List<T>> overlay;
+        private final TreeMap<Integer, List<T>> pages = new TreeMap<>();
+
+        Collector(IntFunction<LiveData<Resource<R>>> pageLoader, Function<R, List<T>> itemsOf,
+                  ToIntFunction<R> totalCountOf, Consumer<List<T>> onComplete, UnaryOperator<List<T>> overlay) {
+            this.pageLoader = pageLoader;
+            this.itemsOf = itemsOf;
+            this.totalCountOf = totalCountOf;
+            this.onComplete = onComplete;
+            this.overlay = overlay;
+            result.setValue(Resource.loading(null));
+        }
+
+        void load(int page) {
+            LiveData<Resource<R>> source = pageLoader.apply(page);
+            result.addSource(source, resource -> onPage(page, source, resource));
+        }
+
+        private void onPage(int page, LiveData<Resource<R>> source, Resource<R> resource) {
+            if (resource == null) {
+                return;
+            }
+            R body = resource.getData();
+            if (body != null) {
+                List<T> items = itemsOf.apply(body);
+                pages.put(page, items != null ? items : Collections.emptyList());
+            }
+            if (resource.isLoading()) {
+                if (body != null) {
+                    result.setValue(Resource.loading(overlay.apply(flatten())));
+                }
+                return;
+            }
+
+            result.removeSource(source);
+            if (resource.isError()) {
+                result.setValue(Resource.error(resource.getMessage(), pages.isEmpty() ? null : overlay.apply(flatten()), resource.getCode()));
+                return;
+            }
+
+            List<T> items = pages.containsKey(page) ? pages.get(page) : Collections.emptyList();
+            List<T> all = flatten();
+            if (body != null && !items.isEmpty() && all.size() < totalCountOf.applyAsInt(body)) {
+                if (page >= MAX_PAGES) {
+                    // The items are incomplete, so they must not be taken as all there are
+                    result.setValue(Resource.error(TOO_MANY_PAGES, overlay.apply(all)));
+                    return;
+                }
+                result.setValue(Resource.loading(overlay.apply(all)));
+                load(page + 1);
+                return;
+            }
+            if (onComplete != null) {
+                onComplete.accept(all);
+            }
+            result.setValue(Resource.success(overlay.apply(all)));
+        }
+
+        private List<T> flatten() {
+            List<T> all = new ArrayList<>();
+            for (List<T> items : pages.values()) {
+                all.addAll(items);
+            }
+            return all;
+        }
+    }
+}
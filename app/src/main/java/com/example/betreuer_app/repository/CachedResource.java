@@ -0,0 +1,182 @@
+package com.example.betreuer_app.repository;
+
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.betreuer_app.api.ItemStream;
+import com.example.betreuer_app.local.EntityStore;
+import com.example.betreuer_app.util.Resource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Cache-then-network loader used by the observable repository queries.
+ * <ol>
+ *     <li>emits the stored copy as {@link Resource#loading(Object)} (null if nothing is stored),</li>
+ *     <li>fetches fresh data, emits it as {@link Resource#success(Object)} and persists it,</li>
+ *     <li>on failure emits {@link Resource#error(String, Object)} carrying the stored copy.</li>
+ * </ol>
+ * An optional overlay is applied to every emitted value (not to what is stored),
+ * e.g. to show mutations that are still queued in the outbox. It is given the same
+ * objects that are stored, so it must return changed copies and leave its argument as it is.
+ *
+ * Paginated lists can be loaded with {@link #loadStreamed}, which parses the network copy
+ * while it is read and shows the first rows early when nothing is stored.
+ */
+final class CachedResource {
+
+    private static final String TAG = "CachedResource";
+    // Reading a stream blocks on the network, so it must not hold up the entity store
+    private static final ExecutorService STREAM_EXECUTOR =
+            Executors.newFixedThreadPool(2, r -> new Thread(r, "page-stream"));
+
+    private CachedResource() {
+    }
+
+    static <T> LiveData<Resource<T>> load(Supplier<T> cacheReader,
+                                         Supplier<Call<T>> callFactory,
+                                         Consumer<T> cacheWriter) {
+        return load(cacheReader, callFactory, cacheWriter, UnaryOperator.identity());
+    }
+
+    static <T> LiveData<Resource<T>> load(Supplier<T> cacheReader,
+                                         Supplier<Call<T>> callFactory,
+                                         Consumer<T> cacheWriter,
+                                         UnaryOperator<T> overlay) {
+        MutableLiveData<Resource<T>> result = new MutableLiveData<>(Resource.loading(null));
+
+        EntityStore.getIoExecutor().execute(() -> {
+            T stored = readSafely(cacheReader);
+            T cached = stored != null ? overlay.apply(stored) : null;
+            result.postValue(Resource.loading(cached));
+
+            // Enqueued after the cached value was posted, so the network result always arrives second
+            callFactory.get().enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(Call<T> call, Response<T> response) {
+                    T body = response.body();
+                    if (response.isSuccessful() && body != null) {
+                        // Store the server's copy before the overlay touches it, then emit
+                        EntityStore.getIoExecutor().execute(() -> {
+                            writeSafely(cacheWriter, body);
+                            result.postValue(Resource.success(overlay.apply(body)));
+                        });
+                    } else {
+                        result.setValue(Resource.error("Error: " + response.code(), cached, response.code()));
+                    }
+                }
+
+                @Override
+                public void onFailure(Call<T> call, Throwable t) {
+                    result.setValue(Resource.error(t.getMessage(), cached));
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Like {@link #load}, but the page is parsed while it is read. If nothing is stored,
+     * the first {@code screenful} items are emitted as {@link Resource#loading(Object)}
+     * as soon as they are parsed, before the rest of the page has arrived.
+     *
+     * @param pageOf builds the page from its items; the stream's page info is null for the
+     *               early screenful, whose total count is not known yet
+     */
+    static <P, T> LiveData<Resource<P>> loadStreamed(Supplier<P> cacheReader,
+                                                   Supplier<Call<ItemStream<T>>> callFactory,
+                                                   BiFunction<List<T>, ItemStream.Page, P> pageOf,
+                                                   int screenful,
+                                                   Consumer<P> cacheWriter,
+                                                   UnaryOperator<P> overlay) {
+        MutableLiveData<Resource<P>> result = new MutableLiveData<>(Resource.loading(null));
+
+        EntityStore.getIoExecutor().execute(() -> {
+            P stored = readSafely(cacheReader);
+            P cached = stored != null ? overlay.apply(stored) : null;
+            result.postValue(Resource.loading(cached));
+            STREAM_EXECUTOR.execute(() -> readStream(result, cached, callFactory, pageOf, screenful, cacheWriter, overlay));
+        });
+        return result;
+    }
+
+    private static <P, T> void readStream(MutableLiveData<Resource<P>> result, P cached,
+                                          Supplier<Call<ItemStream<T>>> callFactory,
+                                          BiFunction<List<T>, ItemStream.Page, P> pageOf,
+                                          int screenful,
+                                          Consumer<P> cacheWriter,
+                                          UnaryOperator<P> overlay) {
+        List<T> items = new ArrayList<>();
+        ItemStream.Page page;
+        try {
+            Response<ItemStream<T>> response = callFactory.get().execute();
+            ItemStream<T> stream = response.body();
+            if (!response.isSuccessful() || stream == null) {
+                if (response.errorBody() != null) {
+                    response.errorBody().close();
+                }
+                postInOrder(result, Resource.error("Error: " + response.code(), cached, response.code()));
+                return;
+            }
+            page = stream.read(item -> {
+                items.add(item);
+                // A stored copy is complete, so it is not replaced by a partial one
+                if (cached == null && items.size() == screenful) {
+                    // These items are stored with the complete page later; the overlay only copies them
+                    P first = pageOf.apply(new ArrayList<>(items), null);
+                    EntityStore.getIoExecutor().execute(() -> result.postValue(Resource.loading(overlay.apply(first))));
+                }
+                return true;
+            });
+        } catch (IOException | RuntimeException e) {
+            postInOrder(result, Resource.error(e.getMessage(), cached));
+            return;
+        }
+
+        P body = pageOf.apply(items, page);
+        // Same executor as the early screenful, so the complete page is always emitted last
+        EntityStore.getIoExecutor().execute(() -> {
+            writeSafely(cacheWriter, body);
+            result.postValue(Resource.success(overlay.apply(body)));
+        });
+    }
+
+    /**
+     * Posts {@code value} through the same executor as the early screenful, so it cannot be
+     * overtaken by it (e.g. an error after the stream broke past the first rows).
+     */
+    private static <P> void postInOrder(MutableLiveData<Resource<P>> result, Resource<P> value) {
+        EntityStore.getIoExecutor().execute(() -> result.postValue(value));
+    }
+
+    private static <T> T readSafely(Supplier<T> cacheReader) {
+        try {
+            return cacheReader.get();
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Reading local copy failed", e);
+            return null;
+        }
+    }
+
+    private static <T> void writeSafely(Consumer<T> cacheWriter, T value) {
+        try {
+            cacheWriter.accept(value);
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Storing local copy failed", e);
+        }
+    }
+}
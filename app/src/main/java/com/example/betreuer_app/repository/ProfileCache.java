@@ -0,0 +1,113 @@
+package com.example.betreuer_app.repository;
+
+import com.example.betreuer_app.model.TutorProfileResponse;
+import com.example.betreuer_app.model.UserApiModel;
+import com.example.betreuer_app.model.UserResponse;
+import com.example.betreuer_app.util.ExpiringLruCache;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * App-wide in-memory cache of users and tutor profiles keyed by UUID.
+ * List responses (users, tutors) seed it, so detail screens can usually show
+ * names without another request. Cleared on logout.
+ */
+public final class ProfileCache {
+
+    static final int MAX_ENTRIES = 200;
+    static final long TTL_MILLIS = 5 * 60_000;
+
+    private static final ProfileCache INSTANCE = new ProfileCache(
+            new ExpiringLruCache<>(MAX_ENTRIES, TTL_MILLIS),
+            new ExpiringLruCache<>(MAX_ENTRIES, TTL_MILLIS));
+
+    private final ExpiringLruCache<UUID, UserResponse> users;
+    private final ExpiringLruCache<UUID, TutorProfileResponse> tutors;
+
+    ProfileCache(ExpiringLruCache<UUID, UserResponse> users, ExpiringLruCache<UUID, TutorProfileResponse> tutors) {
+        this.users = users;
+        this.tutors = tutors;
+    }
+
+    public static ProfileCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the cached user. Tutors only known from a tutor list are returned
+     * with their name and email; their roles are then null.
+     */
+    public UserResponse getUser(UUID id) {
+        UserResponse user = users.get(id);
+        if (user != null) {
+            return user;
+        }
+        TutorProfileResponse tutor = tutors.get(id);
+        if (tutor != null) {
+            return new UserResponse(tutor.getId(), tutor.getFirstName(), tutor.getLastName(), tutor.getEmail(), null);
+        }
+        return null;
+    }
+
+    public TutorProfileResponse getTutor(UUID id) {
+        return tutors.get(id);
+    }
+
+    public void putUser(UserResponse user) {
+        if (user != null) {
+            users.put(user.getId(), user);
+        }
+    }
+
+    public void putUsers(List<UserApiModel> items) {
+        if (items == null) {
+            return;
+        }
+        for (UserApiModel item : items) {
+            UUID id = parseId(item != null ? item.getId() : null);
+            if (id != null) {
+                users.put(id, new UserResponse(id, item.getFirstName(), item.getLastName(), item.getEmail(), item.getRoles()));
+            }
+        }
+    }
+
+    public void putTutor(TutorProfileResponse tutor) {
+        if (tutor != null) {
+            tutors.put(tutor.getId(), tutor);
+        }
+    }
+
+    public void putTutors(List<TutorProfileResponse> items) {
+        if (items == null) {
+            return;
+        }
+        for (TutorProfileResponse tutor : items) {
+            putTutor(tutor);
+        }
+    }
+
+    /**
+     * Drops everything cached for the given id, e.g. after the profile changed.
+     */
+    public void invalidate(UUID id) {
+        users.remove(id);
+        tutors.remove(id);
+    }
+
+    public void clear() {
+        users.clear();
+        tutors.clear();
+    }
+
+    private static UUID parseId(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.example.betreuer_app.repository;
+
+import android.content.Context;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.betreuer_app.api.ApiClient;
+import com.example.betreuer_app.api.SubjectAreaApiService;
+import com.example.betreuer_app.api.ThesisApiService;
+import com.example.betreuer_app.api.ThesisOfferApiService;
+import com.example.betreuer_app.local.EntityStore;
+import com.example.betreuer_app.local.ReferenceDataStore;
+import com.example.betreuer_app.model.BillingStatusResponse;
+import com.example.betreuer_app.model.ModelTypeAdapterFactory;
+import com.example.betreuer_app.model.SubjectAreaResponse;
+import com.example.betreuer_app.model.ThesisOfferStatusResponse;
+import com.example.betreuer_app.util.PrefixIndex;
+import com.example.betreuer_app.util.Resource;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * App-wide catalogue of small, rarely changing lookup lists: subject areas,
+ * billing statuses and thesis offer statuses. (Thesis statuses are fixed in the
+ * app and need no lookup.)
+ *
+ * Each list is loaded once, kept in memory and persisted together with a content
+ * version. Observers get the in-memory or stored copy at once; a copy older than
+ * its maximum age is refreshed in the background and only re-emitted when its
+ * version changed. {@link #prefetch()} is called after login so forms and
+ * filters normally open without waiting for a lookup request.
+ */
+public final class ReferenceDataCatalog {
+
+    private static final String TAG = "ReferenceDataCatalog";
+
+    /** Bump when the stored JSON no longer matches the model classes; older copies are ignored. */
+    static final int FORMAT_VERSION = 1;
+
+    static final String SUBJECT_AREAS = "subject_areas";
+    static final String BILLING_STATUSES = "billing_statuses";
+    static final String THESIS_OFFER_STATUSES = "thesis_offer_statuses";
+
+    static final long SUBJECT_AREAS_MAX_AGE_MILLIS = 60 * 60_000L;
+    static final long STATUSES_MAX_AGE_MILLIS = 24 * 60 * 60_000L;
+
+    private static volatile ReferenceDataCatalog instance;
+
+    private final ReferenceDataStore store;
+    private final Executor ioExecutor = EntityStore.getIoExecutor();
+    private final ExecutorService networkExecutor =
+            Executors.newSingleThreadExecutor(r -> new Thread(r, "reference-data"));
+    private final Gson gson = ModelTypeAdapterFactory.gson();
+
+    private final Dataset<SubjectAreaResponse> subjectAreas;
+    private final Dataset<BillingStatusResponse> billingStatuses;
+    private final Dataset<ThesisOfferStatusResponse> thesisOfferStatuses;
+    private volatile IndexedList subjectAreaIndex;
+
+    private ReferenceDataCatalog(Context context) {
+        store = EntityStore.getInstance(context).getReferenceDataStore();
+        SubjectAreaApiService subjectAreaApiService = ApiClient.getSubjectAreaApiService(context);
+        ThesisApiService thesisApiService = ApiClient.getThesisApiService(context);
+        ThesisOfferApiService thesisOfferApiService = ApiClient.getThesisOfferApiService(context);
+
+        subjectAreas = new Dataset<>(SUBJECT_AREAS,
+                new TypeToken<List<SubjectAreaResponse>>() {}.getType(),
+                SUBJECT_AREAS_MAX_AGE_MILLIS,
+                () -> fetchAllSubjectAreas(subjectAreaApiService));
+        billingStatuses = new Dataset<>(BILLING_STATUSES,
+                new TypeToken<List<BillingStatusResponse>>() {}.getType(),
+                STATUSES_MAX_AGE_MILLIS,
+                () -> execute(thesisApiService.getBillingStatuses()));
+        thesisOfferStatuses = new Dataset<>(THESIS_OFFER_STATUSES,
+                new TypeToken<List<ThesisOfferStatusResponse>>() {}.getType(),
+                STATUSES_MAX_AGE_MILLIS,
+                () -> execute(thesisOfferApiService.getThesisOfferStatuses()));
+    }
+
+    public static ReferenceDataCatalog getInstance(Context context) {
+        if (instance == null) {
+            synchronized (ReferenceDataCatalog.class) {
+                if (instance == null) {
+                    instance = new ReferenceDataCatalog(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Loads every list into memory and refreshes the stale ones in the background.
+     */
+    public void prefetch() {
+        subjectAreas.ensureFresh();
+        billingStatuses.ensureFresh();
+        thesisOfferStatuses.ensureFresh();
+    }
+
+    /**
+     * Returns all subject areas, sorted as delivered by the server.
+     */
+    public LiveData<Resource<List<SubjectAreaResponse>>> getSubjectAreas() {
+        subjectAreas.ensureFresh();
+        return subjectAreas.data;
+    }
+
+    /**
+     * Returns a prefix index over the subject areas held in memory, or null while none
+     * are loaded. The index is rebuilt only when the list changed.
+     */
+    public PrefixIndex<SubjectAreaResponse> getSubjectAreaIndex() {
+        subjectAreas.ensureFresh();
+        List<SubjectAreaResponse> items = subjectAreas.items;
+        if (items == null) {
+            return null;
+        }
+        IndexedList indexed = subjectAreaIndex;
+        if (indexed == null || indexed.source != items) {
+            indexed = new IndexedList(items, PrefixIndex.build(items, SubjectAreaResponse::getTitle));
+            subjectAreaIndex = indexed;
+        }
+        return indexed.index;
+    }
+
+    /**
+     * Whether the subject areas in memory are missing or older than their maximum age.
+     */
+    public boolean isSubjectAreasStale() {
+        return subjectAreas.items == null || subjectAreas.isStale();
+    }
+
+    public LiveData<Resource<List<BillingStatusResponse>>> getBillingStatuses() {
+        billingStatuses.ensureFresh();
+        return billingStatuses.data;
+    }
+
+    public LiveData<Resource<List<ThesisOfferStatusResponse>>> getThesisOfferStatuses() {
+        thesisOfferStatuses.ensureFresh();
+        return thesisOfferStatuses.data;
+    }
+
+    /**
+     * Returns the stored version of a list: the format version plus a digest of its JSON.
+     */
+    static String versionOf(String json) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            StringBuilder hex = new StringBuilder(FORMAT_VERSION + ":");
+            for (byte b : digest.digest(json.getBytes(StandardCharsets.UTF_8))) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return FORMAT_VERSION + ":" + json.hashCode();
+        }
+    }
+
+    static boolean isCurrentFormat(String version) {
+        return version != null && version.startsWith(FORMAT_VERSION + ":");
+    }
+
+    private List<SubjectAreaResponse> fetchAllSubjectAreas(SubjectAreaApiService apiService) throws IOException {
+        List<SubjectAreaResponse> all = new ArrayList<>();
+        AllPages.read(apiService::streamSubjectAreas, all::add);
+        return all;
+    }
+
+    private static <T> T execute(Call<T> call) throws IOException {
+        Response<T> response = call.execute();
+        if (!response.isSuccessful() || response.body() == null) {
+            throw new IOException("Error: " + response.code());
+        }
+        return response.body();
+    }
+
+    /**
+     * A subject area index together with the list it was built from.
+     */
+    private static final class IndexedList {
+        final List<SubjectAreaResponse> source;
+        final PrefixIndex<SubjectAreaResponse> index;
+
+        IndexedList(List<SubjectAreaResponse> source, PrefixIndex<SubjectAreaResponse> index) {
+            this.source = source;
+            this.index = index;
+        }
+    }
+
+    private interface Fetcher<T> {
+        List<T> fetch() throws IOException;
+    }
+
+    /**
+     * One lookup list with its in-memory copy.
+     */
+    private final class Dataset<T> {
+        final MutableLiveData<Resource<List<T>>> data = new MutableLiveData<>();
+        private final String name;
+        private final Type listType;
+        private final long maxAgeMillis;
+        private final Fetcher<T> fetcher;
+        private final AtomicBoolean loading = new AtomicBoolean();
+        private volatile boolean restored;
+        private volatile List<T> items;
+        private volatile String version;
+        private volatile long updatedAt;
+
+        Dataset(String name, Type listType, long maxAgeMillis, Fetcher<T> fetcher) {
+            this.name = name;
+            this.listType = listType;
+            this.maxAgeMillis = maxAgeMillis;
+            this.fetcher = fetcher;
+        }
+
+        void ensureFresh() {
+            if (restored && items != null && !isStale()) {
+                return;
+            }
+            if (!loading.compareAndSet(false, true)) {
+                return;
+            }
+            if (items == null) {
+                // Set synchronously on the main thread so a previous error is not handed to new observers
+                if (Looper.myLooper() == Looper.getMainLooper()) {
+                    data.setValue(Resource.loading(null));
+                } else {
+                    data.postValue(Resource.loading(null));
+                }
+            }
+            ioExecutor.execute(() -> {
+                if (!restored) {
+                    restore();
+                    restored = true;
+                }
+                if (items != null && !isStale()) {
+                    loading.set(false);
+                    return;
+                }
+                networkExecutor.execute(this::refresh);
+            });
+        }
+
+        private boolean isStale() {
+            return System.currentTimeMillis() - updatedAt >= maxAgeMillis;
+        }
+
+        private void restore() {
+            try {
+                ReferenceDataStore.Entry entry = store.get(name);
+                if (entry == null || !isCurrentFormat(entry.getVersion())) {
+                    return;
+                }
+                List<T> stored = gson.fromJson(entry.getJson(), listType);
+                if (stored != null) {
+                    items = Collections.unmodifiableList(stored);
+                    version = entry.getVersion();
+                    updatedAt = entry.getUpdatedAt();
+                    data.postValue(Resource.success(items));
+                }
+            } catch (RuntimeException e) {
+                Log.w(TAG, "Reading stored " + name + " failed", e);
+            }
+        }
+
+        private void refresh() {
+            try {
+                List<T> fresh = fetcher.fetch();
+                String json = gson.toJson(fresh);
+                String freshVersion = versionOf(json);
+                long now = System.currentTimeMillis();
+                boolean changed = !freshVersion.equals(version);
+
+                updatedAt = now;
+                if (changed) {
+                    version = freshVersion;
+                    items = Collections.unmodifiableList(fresh);
+                    data.postValue(Resource.success(items));
+                }
+                ioExecutor.execute(() -> persist(changed, freshVersion, json, now));
+            } catch (IOException | RuntimeException e) {
+                Log.w(TAG, "Refreshing " + name + " failed", e);
+                if (items == null) {
+                    data.postValue(Resource.error(e.getMessage(), null));
+                }
+            } finally {
+                loading.set(false);
+            }
+        }
+
+        private void persist(boolean changed, String freshVersion, String json, long now) {
+            try {
+                if (changed) {
+                    store.put(name, new ReferenceDataStore.Entry(freshVersion, json, now));
+                } else {
+                    store.touch(name, now);
+                }
+            } catch (RuntimeException e) {
+                Log.w(TAG, "Storing " + name + " failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.betreuer_app.repository;
+
+import com.example.betreuer_app.model.ThesisApiModel;
+import com.example.betreuer_app.model.ThesisRequestResponse;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * App-wide in-memory index of the current user's requests and theses, so a
+ * thesis' requests and a thesis picked by title are found without scanning lists.
+ *
+ * Every page the repositories fetch is added as it arrives; once all pages have been
+ * loaded the index is replaced as a whole and counts as complete, which drops items
+ * deleted on the server. Cleared on logout.
+ */
+public final class RequestIndex {
+
+    private static final RequestIndex INSTANCE = new RequestIndex();
+
+    private final Map<UUID, ThesisRequestResponse> requestsById = new HashMap<>();
+    private final Map<String, Map<UUID, ThesisRequestResponse>> requestsByThesisAndType = new HashMap<>();
+    private final Map<UUID, ThesisApiModel> thesesById = new HashMap<>();
+    // Titles need not be unique; the first thesis with a title wins
+    private final Map<String, Set<UUID>> thesisIdsByTitle = new HashMap<>();
+    private long requestsCompletedAt;
+    private long thesesCompletedAt;
+
+    RequestIndex() {
+    }
+
+    public static RequestIndex getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized void putRequests(Collection<ThesisRequestResponse> requests) {
+        if (requests == null) {
+            return;
+        }
+        for (ThesisRequestResponse request : requests) {
+            if (request == null || request.getId() == null) {
+                continue;
+            }
+            removeRequest(requestsById.put(request.getId(), request));
+            if (request.getThesisId() != null) {
+                requestsByThesisAndType
+                        .computeIfAbsent(key(request.getThesisId(), request.getRequestType()), k -> new LinkedHashMap<>())
+                        .put(request.getId(), request);
+            }
+        }
+    }
+
+    /**
+     * Replaces all requests with the complete list of them.
+     */
+    public synchronized void replaceRequests(Collection<ThesisRequestResponse> requests) {
+        requestsById.clear();
+        requestsByThesisAndType.clear();
+        putRequests(requests);
+        requestsCompletedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the requests of one type for a thesis in the order they were indexed.
+     */
+    public synchronized List<ThesisRequestResponse> getRequests(UUID thesisId, String requestType) {
+        Map<UUID, ThesisRequestResponse> requests = requestsByThesisAndType.get(key(thesisId, requestType));
+        return requests != null ? new ArrayList<>(requests.values()) : new ArrayList<>();
+    }
+
+    /**
+     * Whether all requests were loaded within the last {@code maxAgeMillis}.
+     */
+    public synchronized boolean hasAllRequests(long maxAgeMillis) {
+        return requestsCompletedAt > 0 && System.currentTimeMillis() - requestsCompletedAt < maxAgeMillis;
+    }
+
+    public synchronized void putTheses(Collection<ThesisApiModel> theses) {
+        if (theses == null) {
+            return;
+        }
+        for (ThesisApiModel thesis : theses) {
+            if (thesis == null || thesis.getId() == null) {
+                continue;
+            }
+            removeThesis(thesesById.put(thesis.getId(), thesis));
+            String title = titleKey(thesis.getTitle());
+            if (title != null) {
+                thesisIdsByTitle.computeIfAbsent(title, k -> new LinkedHashSet<>()).add(thesis.getId());
+            }
+        }
+    }
+
+    /**
+     * Replaces all theses with the complete list of them.
+     */
+    public synchronized void replaceTheses(Collection<ThesisApiModel> theses) {
+        thesesById.clear();
+        thesisIdsByTitle.clear();
+        putTheses(theses);
+        thesesCompletedAt = System.currentTimeMillis();
+    }
+
+    public synchronized ThesisApiModel getThesis(UUID thesisId) {
+        return thesesById.get(thesisId);
+    }
+
+    /**
+     * Returns the thesis with exactly this title (ignoring surrounding whitespace), or null.
+     */
+    public synchronized ThesisApiModel getThesisByTitle(String title) {
+        Set<UUID> ids = thesisIdsByTitle.get(titleKey(title));
+        return ids != null && !ids.isEmpty() ? thesesById.get(ids.iterator().next()) : null;
+    }
+
+    /**
+     * Whether all theses were loaded within the last {@code maxAgeMillis}.
+     */
+    public synchronized boolean hasAllTheses(long maxAgeMillis) {
+        return thesesCompletedAt > 0 && System.currentTimeMillis() - thesesCompletedAt < maxAgeMillis;
+    }
+
+    public synchronized void clear() {
+        requestsById.clear();
+        requestsByThesisAndType.clear();
+        thesesById.clear();
+        thesisIdsByTitle.clear();
+        requestsCompletedAt = 0;
+        thesesCompletedAt = 0;
+    }
+
+    private void removeRequest(ThesisRequestResponse previous) {
+        if (previous == null || previous.getThesisId() == null) {
+            return;
+        }
+        String key = key(previous.getThesisId(), previous.getRequestType());
+        Map<UUID, ThesisRequestResponse> requests = requestsByThesisAndType.get(key);
+        if (requests != null) {
+            requests.remove(previous.getId());
+            if (requests.isEmpty()) {
+                requestsByThesisAndType.remove(key);
+            }
+        }
+    }
+
+    private void removeThesis(ThesisApiModel previous) {
+        if (previous == null) {
+            return;
+        }
+        String title = titleKey(previous.getTitle());
+        Set<UUID> ids = title != null ? thesisIdsByTitle.get(title) : null;
+        if (ids != null) {
+            ids.remove(previous.getId());
+            if (ids.isEmpty()) {
+                thesisIdsByTitle.remove(title);
+            }
+        }
+    }
+
+    private static String key(UUID thesisId, String requestType) {
+        return thesisId + "|" + requestType;
+    }
+
+    private static String titleKey(String title) {
+        return title != null ? title.trim() : null;
+    }
+}
@@ -1,16 +1,29 @@
 package com.example.betreuer_app.repository;
 
 import android.content.Context;
+
 import com.example.betreuer_app.api.ApiClient;
 import com.example.betreuer_app.api.SubjectAreaApiService;
+import com.example.betreuer_app.model.SubjectAreaResponse;
 import com.example.betreuer_app.model.SubjectAreaResponsePaginatedResponse;
+import com.example.betreuer_app.util.PrefixIndex;
+import com.example.betreuer_app.util.Resource;
+import com.example.betreuer_app.util.ResourceLiveData;
+import com.example.betreuer_app.util.SearchPipeline;
+
+import java.util.List;
+import java.util.function.Consumer;
+
 import retrofit2.Call;
 import retrofit2.Callback;
+import retrofit2.Response;
 
 public class SubjectAreaRepository {
     private SubjectAreaApiService apiService;
+    private final Context context;
 
     public SubjectAreaRepository(Context context) {
+        this.context = context;
         apiService = ApiClient.getSubjectAreaApiService(context);
     }
 
@@ -19,6 +32,71 @@ public class SubjectAreaRepository {
         call.enqueue(callback);
     }
 
+    /**
+     * Delivers all subject areas from the reference data catalogue, usually without a request.
+     * Must be called on the main thread.
+     */
+    public void getAllSubjectAreas(Consumer<Resource<List<SubjectAreaResponse>>> callback) {
+        ResourceLiveData.whenReady(ReferenceDataCatalog.getInstance(context).getSubjectAreas(), callback);
+    }
+
+    /**
+     * Suggests up to {@code limit} subject areas with a word starting with {@code query}.
+     * While the catalogue is fresh the answer comes synchronously from its prefix index;
+     * otherwise the server search is used, falling back to the local copy if that fails.
+     * Must be called on the main thread.
+     *
+     * @return the started search call, or null if the answer was given locally
+     */
+    public Call<SubjectAreaResponsePaginatedResponse> suggestSubjectAreas(String query, int limit, Consumer<Resource<List<SubjectAreaResponse>>> callback) {
+        ReferenceDataCatalog catalog = ReferenceDataCatalog.getInstance(context);
+        PrefixIndex<SubjectAreaResponse> index = catalog.getSubjectAreaIndex();
+        if (index != null && !catalog.isSubjectAreasStale()) {
+            callback.accept(Resource.success(index.search(query, limit)));
+            return null;
+        }
+
+        Call<SubjectAreaResponsePaginatedResponse> call = apiService.searchSubjectAreas(query, 1, limit);
+        call.enqueue(new Callback<SubjectAreaResponsePaginatedResponse>() {
+            @Override
+            public void onResponse(Call<SubjectAreaResponsePaginatedResponse> call, Response<SubjectAreaResponsePaginatedResponse> response) {
+                if (response.isSuccessful() && response.body() != null && response.body().getItems() != null) {
+                    callback.accept(Resource.success(response.body().getItems()));
+                } else {
+                    fallBack("Error: " + response.code());
+                }
+            }
+
+            @Override
+            public void onFailure(Call<SubjectAreaResponsePaginatedResponse> call, Throwable t) {
+                fallBack(t.getMessage());
+            }
+
+            private void fallBack(String message) {
+                if (index != null) {
+                    callback.accept(Resource.success(index.search(query, limit)));
+                } else {
+                    callback.accept(Resource.error(message, null));
+                }
+            }
+        });
+        return call;
+    }
+
+    /**
+     * Looks up the entries of a subject area dropdown: all subject areas for an empty query,
+     * otherwise the {@link #suggestSubjectAreas suggestions}. Fits {@link SearchPipeline.Source}.
+     *
+     * @return the started search call, or null if there is none
+     */
+    public Call<SubjectAreaResponsePaginatedResponse> lookUpSubjectAreas(String query, int limit, Consumer<Resource<List<SubjectAreaResponse>>> callback) {
+        if (query == null || query.isEmpty()) {
+            getAllSubjectAreas(callback);
+            return null;
+        }
+        return suggestSubjectAreas(query, limit, callback);
+    }
+
     public void searchSubjectAreas(String query, int page, int pageSize, Callback<SubjectAreaResponsePaginatedResponse> callback) {
         Call<SubjectAreaResponsePaginatedResponse> call = apiService.searchSubjectAreas(query, page, pageSize);
         call.enqueue(callback);
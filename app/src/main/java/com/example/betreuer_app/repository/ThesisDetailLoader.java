@@ -0,0 +1,258 @@
+package com.example.betreuer_app.repository;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.betreuer_app.api.ApiClient;
+import com.example.betreuer_app.api.SubjectAreaApiService;
+import com.example.betreuer_app.api.ThesisApiService;
+import com.example.betreuer_app.api.UserApiService;
+import com.example.betreuer_app.model.ThesisApiModel;
+import com.example.betreuer_app.model.ThesisDetailState;
+import com.example.betreuer_app.model.ThesisRequestResponse;
+import com.example.betreuer_app.model.UserResponse;
+import com.example.betreuer_app.util.Resource;
+import com.example.betreuer_app.util.ResourceLiveData;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Loads everything the thesis detail screen needs in parallel and joins it
+ * into one {@link ThesisDetailState}.
+ *
+ * The thesis is requested at once, the student's supervision request is looked up in the
+ * {@link RequestIndex} and the billing statuses are taken from the {@link ReferenceDataCatalog};
+ * the subject area and the three people are requested as soon as the
+ * thesis (and thus their ids) is known; people found in the {@link ProfileCache}
+ * are not requested at all. Once the thesis has arrived the remaining
+ * requests get {@code budgetMillis} to finish. If they do not, the state is emitted
+ * with the missing parts left null and emitted again when the last one finishes.
+ *
+ * Must be used from the main thread.
+ */
+public class ThesisDetailLoader {
+
+    private final ThesisApiService thesisApiService;
+    private final UserApiService userApiService;
+    private final SubjectAreaApiService subjectAreaApiService;
+    private final ThesisRepository thesisRepository;
+    private final ThesisRequestRepository thesisRequestRepository;
+    private final ReferenceDataCatalog referenceData;
+    private final ProfileCache profileCache = ProfileCache.getInstance();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private Run current;
+
+    public ThesisDetailLoader(Context context) {
+        this.thesisApiService = ApiClient.getThesisApiService(context);
+        this.userApiService = ApiClient.getUserApiService(context);
+        this.subjectAreaApiService = ApiClient.getSubjectAreaApiService(context);
+        this.thesisRepository = new ThesisRepository(context);
+        this.thesisRequestRepository = new ThesisRequestRepository(context);
+        this.referenceData = ReferenceDataCatalog.getInstance(context);
+    }
+
+    /**
+     * Starts loading, cancelling a load that is still running. A malformed
+     * {@code thesisId} gives an error at once.
+     *
+     * @param includeSupervisionRequest whether to look up the student's supervision request for the thesis
+     * @param budgetMillis how long to wait for the remaining requests once the thesis has arrived
+     */
+    public LiveData<Resource<ThesisDetailState>> load(String thesisId, boolean includeSupervisionRequest, long budgetMillis) {
+        cancel();
+        UUID id = parseId(thesisId);
+        if (id == null) {
+            return new MutableLiveData<>(Resource.error("Invalid thesis id: " + thesisId, null));
+        }
+        current = new Run(id, includeSupervisionRequest, budgetMillis);
+        current.start();
+        return current.result;
+    }
+
+    public void cancel() {
+        if (current != null) {
+            current.cancel();
+            current = null;
+        }
+    }
+
+    private static UUID parseId(String thesisId) {
+        if (thesisId == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(thesisId);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private final class Run {
+        final MutableLiveData<Resource<ThesisDetailState>> result = new MutableLiveData<>(Resource.loading(null));
+        private final UUID thesisId;
+        private final boolean includeSupervisionRequest;
+        private final long budgetMillis;
+        private final ThesisDetailState.Builder builder = new ThesisDetailState.Builder();
+        private final List<Call<?>> calls = new ArrayList<>();
+        // Removes the observers still waiting for their source
+        private final List<Runnable> observers = new ArrayList<>();
+        private final Runnable budgetExpired = () -> deliver(false);
+        private int outstanding;
+        private boolean cancelled;
+        private boolean finished;
+
+        Run(UUID thesisId, boolean includeSupervisionRequest, long budgetMillis) {
+            this.thesisId = thesisId;
+            this.includeSupervisionRequest = includeSupervisionRequest;
+            this.budgetMillis = budgetMillis;
+        }
+
+        void start() {
+            enqueue(thesisApiService.getThesis(thesisId.toString()), this::onThesis, this::onThesisFailed);
+            outstanding++;
+            observers.add(ResourceLiveData.whenReady(referenceData.getBillingStatuses(), resource -> {
+                if (cancelled) {
+                    return;
+                }
+                if (resource.isSuccess()) {
+                    builder.billingStatuses(resource.getData());
+                }
+                onFinished();
+            }));
+            if (includeSupervisionRequest) {
+                outstanding++;
+                // Only whether there is a request and whether one was accepted is shown
+                thesisRequestRepository.findMyRequests(thesisId, "SUPERVISION",
+                        request -> "ACCEPTED".equals(request.getStatus()), resource -> {
+                    if (cancelled) {
+                        return;
+                    }
+                    if (resource.getData() != null) {
+                        onSupervisionRequests(resource.getData());
+                    }
+                    onFinished();
+                });
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            mainHandler.removeCallbacks(budgetExpired);
+            for (Call<?> call : calls) {
+                call.cancel();
+            }
+            for (Runnable observer : observers) {
+                observer.run();
+            }
+        }
+
+        private void onThesis(ThesisApiModel thesis) {
+            // Keep showing status changes that are still queued
+            builder.thesis(thesisRepository.applyPendingChanges(thesis));
+
+            if (thesis.getSubjectAreaId() != null) {
+                enqueue(subjectAreaApiService.getSubjectArea(thesis.getSubjectAreaId()), builder::subjectArea, null);
+            }
+            enqueueUser(thesis.getOwnerId(), builder::owner);
+            enqueueUser(thesis.getTutorId(), builder::tutor);
+            enqueueUser(thesis.getSecondSupervisorId(), builder::secondSupervisor);
+
+            mainHandler.postDelayed(budgetExpired, budgetMillis);
+        }
+
+        private void onThesisFailed(Resource<ThesisDetailState> error) {
+            // Nothing can be shown without the thesis
+            cancel();
+            result.setValue(error);
+        }
+
+        private void onSupervisionRequests(List<ThesisRequestResponse> requests) {
+            boolean accepted = false;
+            for (ThesisRequestResponse request : requests) {
+                if ("ACCEPTED".equals(request.getStatus())) {
+                    accepted = true;
+                    break;
+                }
+            }
+            builder.supervisionRequest(!requests.isEmpty(), accepted);
+        }
+
+        private void enqueueUser(UUID userId, Consumer<UserResponse> target) {
+            if (userId == null) {
+                return;
+            }
+            UserResponse cached = profileCache.getUser(userId);
+            if (cached != null) {
+                target.accept(cached);
+                return;
+            }
+            enqueue(userApiService.getUser(userId), user -> {
+                profileCache.putUser(user);
+                target.accept(user);
+            }, null);
+        }
+
+        private <T> void enqueue(Call<T> call, Consumer<T> onSuccess,
+                                 Consumer<Resource<ThesisDetailState>> onError) {
+            outstanding++;
+            calls.add(call);
+            call.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(Call<T> call, Response<T> response) {
+                    if (cancelled) {
+                        return;
+                    }
+                    if (response.isSuccessful() && response.body() != null) {
+                        onSuccess.accept(response.body());
+                    } else if (onError != null) {
+                        onError.accept(Resource.error("Error: " + response.code(), null, response.code()));
+                        return;
+                    }
+                    onFinished();
+                }
+
+                @Override
+                public void onFailure(Call<T> call, Throwable t) {
+                    if (cancelled) {
+                        return;
+                    }
+                    if (onError != null) {
+                        onError.accept(Resource.error(t.getMessage(), null));
+                        return;
+                    }
+                    onFinished();
+                }
+            });
+        }
+
+        private void onFinished() {
+            outstanding--;
+            if (outstanding == 0 && builder.getThesis() != null) {
+                deliver(true);
+            }
+        }
+
+        private void deliver(boolean complete) {
+            if (finished) {
+                return;
+            }
+            if (complete) {
+                finished = true;
+                mainHandler.removeCallbacks(budgetExpired);
+            }
+            result.setValue(Resource.success(builder.build(complete)));
+        }
+    }
+}
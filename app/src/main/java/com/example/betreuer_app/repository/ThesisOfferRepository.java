@@ -1,23 +1,36 @@
 package com.example.betreuer_app.repository;
 
 import android.content.Context;
+
+import androidx.lifecycle.LiveData;
+
 import com.example.betreuer_app.api.ApiClient;
 import com.example.betreuer_app.api.ThesisOfferApiService;
+import com.example.betreuer_app.local.CachedPage;
+import com.example.betreuer_app.local.EntityStore;
+import com.example.betreuer_app.model.CreateThesisOfferApplicationRequest;
 import com.example.betreuer_app.model.CreateThesisOfferRequest;
 import com.example.betreuer_app.model.ThesisOfferApiModel;
 import com.example.betreuer_app.model.ThesisOfferResponse;
 import com.example.betreuer_app.model.ThesisOfferStatusResponse;
 import com.example.betreuer_app.model.UpdateThesisOfferRequest;
-import retrofit2.Call;
+import com.example.betreuer_app.sync.Mutation;
+import com.example.betreuer_app.sync.MutationOutbox;
+import com.example.betreuer_app.sync.MutationResult;
+import com.example.betreuer_app.util.Resource;
+import com.example.betreuer_app.util.ResourceLiveData;
 import retrofit2.Callback;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public class ThesisOfferRepository {
     private final ThesisOfferApiService apiService;
+    private final Context context;
 
     public ThesisOfferRepository(Context context) {
+        this.context = context;
         this.apiService = ApiClient.getThesisOfferApiService(context);
     }
 
@@ -28,12 +41,50 @@ public class ThesisOfferRepository {
     public void getThesisOffersByUser(UUID userId, int page, int pageSize, Callback<ThesisOfferResponse> callback) {
         apiService.getThesisOffersByUser(userId, page, pageSize).enqueue(callback);
     }
+
+    /**
+     * Emits the locally stored offers of a user first, then the fresh page from the server.
+     */
+    public LiveData<Resource<ThesisOfferResponse>> observeThesisOffersByUser(UUID userId, int page, int pageSize) {
+        String queryKey = "thesis-offers/user/" + userId + "?page=" + page + "&pageSize=" + pageSize;
+        return CachedResource.load(
+                () -> {
+                    CachedPage<ThesisOfferApiModel> cached = store().getPage(queryKey, ThesisOfferApiModel.class);
+                    if (cached == null) {
+                        return null;
+                    }
+                    ThesisOfferResponse response = new ThesisOfferResponse();
+                    response.setItems(cached.getItems());
+                    response.setTotalCount(cached.getTotalCount());
+                    response.setPage(cached.getPage());
+                    response.setPageSize(cached.getPageSize());
+                    return response;
+                },
+                () -> apiService.getThesisOffersByUser(userId, page, pageSize),
+                body -> store().putPage(queryKey, EntityStore.TYPE_THESIS_OFFER, body.getItems(), ThesisOfferApiModel::getId,
+                        body.getTotalCount(), body.getPage(), body.getPageSize()));
+    }
     
     public void updateThesisOffer(UUID id, UpdateThesisOfferRequest request, Callback<ThesisOfferApiModel> callback) {
         apiService.updateThesisOffer(id, request).enqueue(callback);
     }
 
-    public void getThesisOfferStatuses(Callback<List<ThesisOfferStatusResponse>> callback) {
-        apiService.getThesisOfferStatuses().enqueue(callback);
+    /**
+     * Queues an application for an offer; it is sent in the background and retried while offline.
+     */
+    public LiveData<MutationResult> applyForThesisOffer(CreateThesisOfferApplicationRequest request) {
+        return MutationOutbox.getInstance(context).enqueue(Mutation.createApplication(request));
+    }
+
+    /**
+     * Delivers the offer statuses from the reference data catalogue, usually without a request.
+     * Must be called on the main thread.
+     */
+    public void getThesisOfferStatuses(Consumer<Resource<List<ThesisOfferStatusResponse>>> callback) {
+        ResourceLiveData.whenReady(ReferenceDataCatalog.getInstance(context).getThesisOfferStatuses(), callback);
+    }
+
+    private EntityStore store() {
+        return EntityStore.getInstance(context);
     }
 }
@@ -1,24 +1,28 @@
 package com.example.betreuer_app.repository;
 
 import android.content.Context;
-import android.database.Cursor;
+import android.content.Intent;
 import android.net.Uri;
-import android.provider.OpenableColumns;
+
+import androidx.lifecycle.LiveData;
+
 import com.example.betreuer_app.api.ApiClient;
 import com.example.betreuer_app.api.ThesisApiService;
+import com.example.betreuer_app.local.CachedPage;
+import com.example.betreuer_app.local.EntityStore;
 import com.example.betreuer_app.model.ThesesResponse;
 import com.example.betreuer_app.model.ThesisApiModel;
+import com.example.betreuer_app.sync.Mutation;
+import com.example.betreuer_app.sync.MutationOutbox;
+import com.example.betreuer_app.sync.MutationResult;
+import com.example.betreuer_app.util.Resource;
 import okhttp3.MediaType;
-import okhttp3.MultipartBody;
 import okhttp3.RequestBody;
 import retrofit2.Call;
 import retrofit2.Callback;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.UUID;
+import java.util.List;
+import java.util.function.UnaryOperator;
 
 public class ThesisRepository {
     private final ThesisApiService apiService;
@@ -34,15 +38,94 @@ public class ThesisRepository {
         call.enqueue(callback);
     }
 
-    public void createThesis(String title, String description, String topicId, String supervisorId, String coSupervisorId, Callback<ThesisApiModel> callback) {
-        executeCreateThesis(title, description, topicId, supervisorId, coSupervisorId, null, callback);
+    /**
+     * Emits the locally stored page first, then the fresh page from the server.
+     */
+    public LiveData<Resource<ThesesResponse>> observeTheses(int page, int pageSize) {
+        return loadTheses(page, pageSize,
+                response -> new ThesesResponse(outbox().applyPendingToTheses(response.getItems()),
+                        response.getTotalCount(), response.getPage(), response.getPageSize()));
+    }
+
+    /**
+     * All theses of the current user, loaded page by page; completes the {@link RequestIndex}.
+     */
+    public LiveData<Resource<List<ThesisApiModel>>> observeAllTheses() {
+        // The index gets the server's copies; queued changes are only applied to the emitted lists
+        return AllPages.collect(page -> loadTheses(page, AllPages.PAGE_SIZE, UnaryOperator.identity()),
+                ThesesResponse::getItems,
+                ThesesResponse::getTotalCount,
+                RequestIndex.getInstance()::replaceTheses,
+                theses -> outbox().applyPendingToTheses(theses));
+    }
+
+    private LiveData<Resource<ThesesResponse>> loadTheses(int page, int pageSize, UnaryOperator<ThesesResponse> overlay) {
+        String queryKey = "theses?page=" + page + "&pageSize=" + pageSize;
+        return CachedResource.load(
+                () -> {
+                    CachedPage<ThesisApiModel> cached = store().getPage(queryKey, ThesisApiModel.class);
+                    return cached != null
+                            ? new ThesesResponse(cached.getItems(), cached.getTotalCount(), cached.getPage(), cached.getPageSize())
+                            : null;
+                },
+                () -> apiService.getTheses(page, pageSize),
+                body -> {
+                    store().putPage(queryKey, EntityStore.TYPE_THESIS, body.getItems(), ThesisApiModel::getId,
+                            body.getTotalCount(), body.getPage(), body.getPageSize());
+                    RequestIndex.getInstance().putTheses(body.getItems());
+                },
+                overlay);
+    }
+
+    /**
+     * Queues a status change. It is visible locally at once and sent in the background.
+     */
+    public LiveData<MutationResult> updateStatus(String thesisId, String status) {
+        return outbox().enqueue(Mutation.updateThesisStatus(thesisId, status));
+    }
+
+    /**
+     * Queues a billing status change. It is visible locally at once and sent in the background.
+     */
+    public LiveData<MutationResult> updateBillingStatus(String thesisId, String billingStatusId, String billingStatusName) {
+        return outbox().enqueue(Mutation.updateBillingStatus(thesisId, billingStatusId, billingStatusName));
+    }
+
+    /**
+     * Queues an upload of the document at {@code documentUri} as the thesis' new document.
+     * It is sent in the background and continues after the screen is closed; read access
+     * to the Uri is kept until then, so it also survives a restart of the app.
+     */
+    public LiveData<MutationResult> uploadDocument(String thesisId, Uri documentUri, String fileName) {
+        try {
+            context.getContentResolver().takePersistableUriPermission(documentUri, Intent.FLAG_GRANT_READ_URI_PERMISSION);
+        } catch (SecurityException e) {
+            // Not a document that can be kept; readable as long as the app keeps running
+        }
+        String mimeType = context.getContentResolver().getType(documentUri);
+        if (mimeType == null) {
+            mimeType = "application/octet-stream";
+        }
+        return outbox().enqueue(Mutation.uploadThesisDocument(thesisId, documentUri.toString(),
+                fileName != null ? fileName : "document", mimeType));
+    }
+
+    /**
+     * Applies queued status changes to a thesis that was loaded elsewhere.
+     */
+    public ThesisApiModel applyPendingChanges(ThesisApiModel thesis) {
+        return outbox().applyPending(thesis);
+    }
+
+    private EntityStore store() {
+        return EntityStore.getInstance(context);
     }
 
-    public void createThesisWithFile(String title, String description, String topicId, Uri fileUri, Callback<ThesisApiModel> callback) {
-        executeCreateThesis(title, description, topicId, null, null, fileUri, callback);
+    private MutationOutbox outbox() {
+        return MutationOutbox.getInstance(context);
     }
 
-    private void executeCreateThesis(String title, String description, String topicId, String supervisorId, String coSupervisorId, Uri fileUri, Callback<ThesisApiModel> callback) {
+    public void createThesis(String title, String description, String topicId, String supervisorId, String coSupervisorId, Callback<ThesisApiModel> callback) {
         RequestBody titlePart = RequestBody.create(MediaType.parse("text/plain"), title);
         RequestBody descriptionPart = RequestBody.create(MediaType.parse("text/plain"), description != null ? description : "");
         RequestBody subjectAreaIdPart = topicId != null
@@ -55,91 +138,8 @@ public class ThesisRepository {
                 ? RequestBody.create(MediaType.parse("text/plain"), coSupervisorId)
                 : null;
 
-        MultipartBody.Part documentPart = null;
-        File fileToDelete = null;
-
-        if (fileUri != null) {
-            File file = prepareFilePart(fileUri);
-            if (file == null) {
-                callback.onFailure(null, new Exception("Konnte Datei nicht verarbeiten"));
-                return;
-            }
-            fileToDelete = file;
-
-            String mimeType = context.getContentResolver().getType(fileUri);
-            if (mimeType == null) mimeType = "application/octet-stream";
-
-            RequestBody requestFile = RequestBody.create(MediaType.parse(mimeType), file);
-            documentPart = MultipartBody.Part.createFormData("Document", file.getName(), requestFile);
-        }
-
-        Call<ThesisApiModel> call = apiService.createThesis(titlePart, descriptionPart, subjectAreaIdPart, supervisorIdPart, coSupervisorIdPart, documentPart);
-
-        final File finalFileToDelete = fileToDelete;
-        call.enqueue(new Callback<>() {
-            @Override
-            public void onResponse(Call<ThesisApiModel> call, retrofit2.Response<ThesisApiModel> response) {
-                if (finalFileToDelete != null) {
-                    finalFileToDelete.delete();
-                }
-                callback.onResponse(call, response);
-            }
-
-            @Override
-            public void onFailure(Call<ThesisApiModel> call, Throwable t) {
-                if (finalFileToDelete != null) {
-                    finalFileToDelete.delete();
-                }
-                callback.onFailure(call, t);
-            }
-        });
-    }
-
-    private File prepareFilePart(Uri fileUri) {
-        try {
-            InputStream inputStream = context.getContentResolver().openInputStream(fileUri);
-            if (inputStream == null) return null;
-
-            String originalName = getFileNameFromUri(fileUri);
-            String uniqueName = (originalName != null ? originalName : "upload_temp_file") + "_" + UUID.randomUUID().toString();
-
-            File file = new File(context.getCacheDir(), uniqueName);
-
-            try (FileOutputStream outputStream = new FileOutputStream(file)) {
-                byte[] buffer = new byte[4096];
-                int bytesRead;
-                while ((bytesRead = inputStream.read(buffer)) != -1) {
-                    outputStream.write(buffer, 0, bytesRead);
-                }
-            }
-            return file;
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
-        }
-    }
-
-    private String getFileNameFromUri(Uri uri) {
-        String result = null;
-        if (uri.getScheme() != null && uri.getScheme().equals("content")) {
-            try (Cursor cursor = context.getContentResolver().query(uri, null, null, null, null)) {
-                if (cursor != null && cursor.moveToFirst()) {
-                    int index = cursor.getColumnIndex(OpenableColumns.DISPLAY_NAME);
-                    if (index >= 0) {
-                        result = cursor.getString(index);
-                    }
-                }
-            }
-        }
-        if (result == null) {
-            result = uri.getPath();
-            if (result != null) {
-                int cut = result.lastIndexOf('/');
-                if (cut != -1) {
-                    result = result.substring(cut + 1);
-                }
-            }
-        }
-        return result;
+        // The document follows through uploadDocument once the thesis exists
+        apiService.createThesis(titlePart, descriptionPart, subjectAreaIdPart, supervisorIdPart, coSupervisorIdPart, null)
+                .enqueue(callback);
     }
 }
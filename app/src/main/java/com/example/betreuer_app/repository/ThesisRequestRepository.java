@@ -0,0 +1,286 @@
+package com.example.betreuer_app.repository;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.lifecycle.LiveData;
+
+import com.example.betreuer_app.api.ApiClient;
+import com.example.betreuer_app.api.ItemStream;
+import com.example.betreuer_app.api.ThesisRequestApiService;
+import com.example.betreuer_app.local.CachedPage;
+import com.example.betreuer_app.local.EntityStore;
+import com.example.betreuer_app.model.CreateThesisRequestRequest;
+import com.example.betreuer_app.model.ThesisRequestResponse;
+import com.example.betreuer_app.model.ThesisRequestResponsePaginatedResponse;
+import com.example.betreuer_app.sync.Mutation;
+import com.example.betreuer_app.sync.MutationOutbox;
+import com.example.betreuer_app.sync.MutationResult;
+import com.example.betreuer_app.util.Resource;
+import com.example.betreuer_app.util.ResourceLiveData;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import retrofit2.Call;
+
+public class ThesisRequestRepository {
+    // How long lookups trust the RequestIndex before all requests are loaded again
+    static final long INDEX_MAX_AGE_MILLIS = 30_000L;
+    // Rows shown from a page that is still being read when nothing is stored for it
+    static final int FIRST_SCREENFUL = 20;
+
+    private static final ExecutorService LOOKUP_EXECUTOR = Executors.newSingleThreadExecutor(r -> new Thread(r, "request-lookup"));
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+
+    private final ThesisRequestApiService apiService;
+    private final Context context;
+
+    public ThesisRequestRepository(Context context) {
+        this.context = context;
+        this.apiService = ApiClient.getThesisRequestApiService(context);
+    }
+
+    /**
+     * Requests of the current user (sent by students), cached first.
+     */
+    public LiveData<Resource<ThesisRequestResponsePaginatedResponse>> observeMyRequests(int page, int pageSize) {
+        return loadMyRequests(page, pageSize, this::withPendingChanges);
+    }
+
+    /**
+     * All requests of the current user, loaded page by page; completes the {@link RequestIndex}.
+     */
+    public LiveData<Resource<List<ThesisRequestResponse>>> observeAllMyRequests() {
+        // The index gets the server's copies; queued changes are only applied to the emitted lists
+        return AllPages.collect(page -> loadMyRequests(page, AllPages.PAGE_SIZE, UnaryOperator.identity()),
+                ThesisRequestResponsePaginatedResponse::getItems,
+                ThesisRequestResponsePaginatedResponse::getTotalCount,
+                RequestIndex.getInstance()::replaceRequests,
+                requests -> outbox().applyPendingToRequests(requests));
+    }
+
+    /**
+     * All requests a tutor received, optionally filtered by status, loaded page by page.
+     */
+    public LiveData<Resource<List<ThesisRequestResponse>>> observeAllIncomingRequests(String status) {
+        return AllPages.collect(page -> observePage(incomingKey(status, page, AllPages.PAGE_SIZE),
+                        () -> apiService.streamIncomingRequests(status, page, AllPages.PAGE_SIZE), null, UnaryOperator.identity()),
+                ThesisRequestResponsePaginatedResponse::getItems,
+                ThesisRequestResponsePaginatedResponse::getTotalCount,
+                null,
+                requests -> outbox().applyPendingToRequests(requests));
+    }
+
+    /**
+     * All requests a tutor sent, optionally filtered by status, loaded page by page.
+     */
+    public LiveData<Resource<List<ThesisRequestResponse>>> observeAllOutgoingRequests(String status) {
+        return AllPages.collect(page -> observePage(outgoingKey(status, page, AllPages.PAGE_SIZE),
+                        () -> apiService.streamOutgoingRequests(status, page, AllPages.PAGE_SIZE), null, UnaryOperator.identity()),
+                ThesisRequestResponsePaginatedResponse::getItems,
+                ThesisRequestResponsePaginatedResponse::getTotalCount,
+                null,
+                requests -> outbox().applyPendingToRequests(requests));
+    }
+
+    /**
+     * Looks up the current user's requests of one type for a thesis, oldest first and with
+     * queued changes applied. Answered from the {@link RequestIndex} while it is recent,
+     * otherwise once all requests have been loaded again. Must be called from the main thread.
+     */
+    public void findMyRequests(UUID thesisId, String requestType, Consumer<Resource<List<ThesisRequestResponse>>> callback) {
+        if (RequestIndex.getInstance().hasAllRequests(INDEX_MAX_AGE_MILLIS)) {
+            callback.accept(Resource.success(indexedRequests(thesisId, requestType)));
+            return;
+        }
+        ResourceLiveData.whenReady(observeAllMyRequests(), resource -> {
+            if (resource.isSuccess()) {
+                callback.accept(Resource.success(indexedRequests(thesisId, requestType)));
+            } else {
+                // Whatever was loaded before the failure is still indexed
+                callback.accept(Resource.error(resource.getMessage(), indexedRequests(thesisId, requestType), resource.getCode()));
+            }
+        });
+    }
+
+    /**
+     * Like {@link #findMyRequests(UUID, String, Consumer)}, for callers that only need the
+     * requests up to the first one matching {@code stopAt}: when the index is not recent,
+     * the pages are read as they arrive and reading stops at that request. The result is
+     * then only complete up to it. Must be called from the main thread.
+     */
+    public void findMyRequests(UUID thesisId, String requestType, Predicate<ThesisRequestResponse> stopAt,
+                               Consumer<Resource<List<ThesisRequestResponse>>> callback) {
+        if (RequestIndex.getInstance().hasAllRequests(INDEX_MAX_AGE_MILLIS)) {
+            callback.accept(Resource.success(indexedRequests(thesisId, requestType)));
+            return;
+        }
+        LOOKUP_EXECUTOR.execute(() -> {
+            Resource<List<ThesisRequestResponse>> resource = scanMyRequests(thesisId, requestType, stopAt);
+            MAIN_HANDLER.post(() -> callback.accept(resource));
+        });
+    }
+
+    /**
+     * Requests a tutor received, optionally filtered by status, cached first.
+     */
+    public LiveData<Resource<ThesisRequestResponsePaginatedResponse>> observeIncomingRequests(String status, int page, int pageSize) {
+        return observePage(incomingKey(status, page, pageSize),
+                () -> apiService.streamIncomingRequests(status, page, pageSize), null, this::withPendingChanges);
+    }
+
+    /**
+     * Requests a tutor sent, optionally filtered by status, cached first.
+     */
+    public LiveData<Resource<ThesisRequestResponsePaginatedResponse>> observeOutgoingRequests(String status, int page, int pageSize) {
+        return observePage(outgoingKey(status, page, pageSize),
+                () -> apiService.streamOutgoingRequests(status, page, pageSize), null, this::withPendingChanges);
+    }
+
+    /**
+     * Queues accepting, rejecting or cancelling a request; the new status is visible locally at once.
+     */
+    public LiveData<MutationResult> respondToRequest(UUID requestId, boolean accepted, String message) {
+        return outbox().enqueue(Mutation.respondToRequest(requestId, accepted, message));
+    }
+
+    /**
+     * Queues deleting a request; it disappears from local lists at once.
+     */
+    public LiveData<MutationResult> deleteRequest(UUID requestId) {
+        return outbox().enqueue(Mutation.deleteRequest(requestId));
+    }
+
+    /**
+     * Queues a new supervision request. It is kept until the server accepted or rejected it.
+     */
+    public LiveData<MutationResult> createRequest(CreateThesisRequestRequest request) {
+        return outbox().enqueue(Mutation.createRequest(request));
+    }
+
+    /**
+     * Applies queued decisions to a request that was loaded elsewhere; null if it is being deleted.
+     */
+    public ThesisRequestResponse applyPendingChanges(ThesisRequestResponse request) {
+        return outbox().applyPending(request);
+    }
+
+    private Resource<List<ThesisRequestResponse>> scanMyRequests(UUID thesisId, String requestType,
+                                                                Predicate<ThesisRequestResponse> stopAt) {
+        List<ThesisRequestResponse> all = new ArrayList<>();
+        List<ThesisRequestResponse> matches = new ArrayList<>();
+        try {
+            boolean complete = AllPages.read(apiService::streamMyRequests, request -> {
+                all.add(request);
+                RequestIndex.getInstance().putRequests(Collections.singletonList(request));
+                if (!thesisId.equals(request.getThesisId()) || !requestType.equals(request.getRequestType())) {
+                    return true;
+                }
+                ThesisRequestResponse pending = outbox().applyPending(request);
+                if (pending != null) {
+                    matches.add(pending);
+                }
+                return pending == null || !stopAt.test(pending);
+            });
+            if (!complete) {
+                return Resource.success(matches);
+            }
+        } catch (IOException | RuntimeException e) {
+            // Whatever was read before the failure is indexed, but the index is not marked complete
+            return Resource.error(e.getMessage(), indexedRequests(thesisId, requestType));
+        }
+        RequestIndex.getInstance().replaceRequests(all);
+        return Resource.success(indexedRequests(thesisId, requestType));
+    }
+
+    private List<ThesisRequestResponse> indexedRequests(UUID thesisId, String requestType) {
+        List<ThesisRequestResponse> requests = new ArrayList<>();
+        for (ThesisRequestResponse request : RequestIndex.getInstance().getRequests(thesisId, requestType)) {
+            // A copy if a decision is queued, so the index keeps the server's status
+            request = outbox().applyPending(request);
+            if (request != null) {
+                requests.add(request);
+            }
+        }
+        // createdAt is ISO-8601, so the text order is the time order; unknown dates go last
+        requests.sort(Comparator.comparing(ThesisRequestResponse::getCreatedAt,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        return requests;
+    }
+
+    private LiveData<Resource<ThesisRequestResponsePaginatedResponse>> loadMyRequests(
+            int page, int pageSize, UnaryOperator<ThesisRequestResponsePaginatedResponse> overlay) {
+        return observePage("thesis-requests?page=" + page + "&pageSize=" + pageSize,
+                () -> apiService.streamMyRequests(page, pageSize),
+                RequestIndex.getInstance()::putRequests,
+                overlay);
+    }
+
+    /**
+     * @param indexer receives every page fetched from the server; may be null
+     */
+    private LiveData<Resource<ThesisRequestResponsePaginatedResponse>> observePage(
+            String queryKey, Supplier<Call<ItemStream<ThesisRequestResponse>>> callFactory,
+            Consumer<List<ThesisRequestResponse>> indexer,
+            UnaryOperator<ThesisRequestResponsePaginatedResponse> overlay) {
+        return CachedResource.loadStreamed(
+                () -> {
+                    CachedPage<ThesisRequestResponse> cached = store().getPage(queryKey, ThesisRequestResponse.class);
+                    return cached != null
+                            ? new ThesisRequestResponsePaginatedResponse(cached.getItems(), cached.getTotalCount(), cached.getPage(), cached.getPageSize())
+                            : null;
+                },
+                callFactory,
+                ThesisRequestRepository::pageOf,
+                FIRST_SCREENFUL,
+                body -> {
+                    store().putPage(queryKey, EntityStore.TYPE_THESIS_REQUEST, body.getItems(), ThesisRequestResponse::getId,
+                            body.getTotalCount(), body.getPage(), body.getPageSize());
+                    if (indexer != null) {
+                        indexer.accept(body.getItems());
+                    }
+                },
+                overlay);
+    }
+
+    private ThesisRequestResponsePaginatedResponse withPendingChanges(ThesisRequestResponsePaginatedResponse response) {
+        return new ThesisRequestResponsePaginatedResponse(outbox().applyPendingToRequests(response.getItems()),
+                response.getTotalCount(), response.getPage(), response.getPageSize());
+    }
+
+    private static String incomingKey(String status, int page, int pageSize) {
+        return "thesis-requests/tutor/receiver?status=" + status + "&page=" + page + "&pageSize=" + pageSize;
+    }
+
+    private static String outgoingKey(String status, int page, int pageSize) {
+        return "thesis-requests/tutor/requester?status=" + status + "&page=" + page + "&pageSize=" + pageSize;
+    }
+
+    // Unknown counts are 0, as when the fields are missing from a bound page
+    private static ThesisRequestResponsePaginatedResponse pageOf(List<ThesisRequestResponse> items, ItemStream.Page page) {
+        return new ThesisRequestResponsePaginatedResponse(items,
+                page != null ? Math.max(page.getTotalCount(), 0) : 0,
+                page != null ? Math.max(page.getPage(), 0) : 0,
+                page != null ? Math.max(page.getPageSize(), 0) : 0);
+    }
+
+    private EntityStore store() {
+        return EntityStore.getInstance(context);
+    }
+
+    private MutationOutbox outbox() {
+        return MutationOutbox.getInstance(context);
+    }
+}
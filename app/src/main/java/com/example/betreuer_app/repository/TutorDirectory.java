@@ -0,0 +1,196 @@
+package com.example.betreuer_app.repository;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.betreuer_app.api.ApiClient;
+import com.example.betreuer_app.api.TutorApiService;
+import com.example.betreuer_app.local.CachedPage;
+import com.example.betreuer_app.local.EntityStore;
+import com.example.betreuer_app.model.SubjectAreaResponse;
+import com.example.betreuer_app.model.TutorProfileResponse;
+import com.example.betreuer_app.util.TextSearchIndex;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Local copy of all tutors with a search index, so the tutor list can filter by
+ * name and subject area without a request and while offline.
+ *
+ * The directory is restored from the {@link EntityStore} and synced in the background
+ * from {@link TutorApiService#getTutors} once it is older than {@link #MAX_AGE_MILLIS}.
+ * The index covers last name, first name and subject area titles and tolerates typos.
+ */
+public final class TutorDirectory {
+
+    private static final String TAG = "TutorDirectory";
+    private static final String QUERY_KEY = "tutor-directory";
+
+    static final long MAX_AGE_MILLIS = 15 * 60_000L;
+    // Minimum time between two sync attempts, so a failing server is not asked on every keystroke
+    static final long RETRY_DELAY_MILLIS = 60_000L;
+
+    static final float LAST_NAME_WEIGHT = 3f;
+    static final float FIRST_NAME_WEIGHT = 2f;
+    static final float SUBJECT_AREA_WEIGHT = 1f;
+
+    private static volatile TutorDirectory instance;
+
+    private final EntityStore store;
+    private final TutorApiService apiService;
+    private final Executor ioExecutor = EntityStore.getIoExecutor();
+    private final ExecutorService networkExecutor =
+            Executors.newSingleThreadExecutor(r -> new Thread(r, "tutor-directory"));
+    private final AtomicBoolean syncing = new AtomicBoolean();
+
+    private volatile TextSearchIndex<TutorProfileResponse> index;
+    private volatile boolean restored;
+    private volatile long syncedAt;
+    private volatile long attemptedAt;
+    // Incremented by discard() so a sync started before a logout is not published afterwards
+    private volatile int epoch;
+
+    private TutorDirectory(Context context) {
+        store = EntityStore.getInstance(context);
+        apiService = ApiClient.getTutorApiService(context);
+    }
+
+    public static TutorDirectory getInstance(Context context) {
+        if (instance == null) {
+            synchronized (TutorDirectory.class) {
+                if (instance == null) {
+                    instance = new TutorDirectory(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Forgets the directory held in memory, e.g. on logout. The stored copy is removed
+     * together with the rest of the {@link EntityStore}.
+     */
+    public static void discard() {
+        TutorDirectory directory = instance;
+        if (directory != null) {
+            directory.epoch++;
+            directory.index = null;
+            directory.restored = false;
+            directory.syncedAt = 0;
+            directory.attemptedAt = 0;
+        }
+    }
+
+    /**
+     * Loads the stored directory and syncs it in the background if it is missing or old.
+     */
+    public void ensureFresh() {
+        long now = System.currentTimeMillis();
+        if (restored && index != null && now - syncedAt < MAX_AGE_MILLIS) {
+            return;
+        }
+        if (restored && now - attemptedAt < RETRY_DELAY_MILLIS) {
+            return;
+        }
+        if (!syncing.compareAndSet(false, true)) {
+            return;
+        }
+        ioExecutor.execute(() -> {
+            if (!restored) {
+                restore();
+                restored = true;
+            }
+            networkExecutor.execute(this::sync);
+        });
+    }
+
+    /**
+     * Searches the directory, or returns null while it has not been loaded yet.
+     *
+     * @param text          name or subject area words; may be empty
+     * @param subjectAreaId only tutors with this subject area, or null for all
+     */
+    public List<TutorProfileResponse> search(String text, String subjectAreaId, int limit) {
+        ensureFresh();
+        TextSearchIndex<TutorProfileResponse> current = index;
+        if (current == null) {
+            return null;
+        }
+        return current.search(text, subjectAreaId != null ? tutor -> hasSubjectArea(tutor, subjectAreaId) : null, limit);
+    }
+
+    static TextSearchIndex<TutorProfileResponse> buildIndex(List<TutorProfileResponse> tutors) {
+        return TextSearchIndex.build(tutors, (tutor, fields) -> {
+            fields.add(tutor.getLastName(), LAST_NAME_WEIGHT);
+            fields.add(tutor.getFirstName(), FIRST_NAME_WEIGHT);
+            if (tutor.getSubjectAreas() != null) {
+                for (SubjectAreaResponse subjectArea : tutor.getSubjectAreas()) {
+                    fields.add(subjectArea.getTitle(), SUBJECT_AREA_WEIGHT);
+                }
+            }
+        });
+    }
+
+    static boolean hasSubjectArea(TutorProfileResponse tutor, String subjectAreaId) {
+        if (tutor.getSubjectAreas() == null) {
+            return false;
+        }
+        for (SubjectAreaResponse subjectArea : tutor.getSubjectAreas()) {
+            if (subjectArea.getId() != null && subjectAreaId.equals(subjectArea.getId().toString())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void restore() {
+        try {
+            CachedPage<TutorProfileResponse> cached = store.getPage(QUERY_KEY, TutorProfileResponse.class);
+            if (cached != null && index == null) {
+                index = buildIndex(cached.getItems());
+            }
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Reading stored tutors failed", e);
+        }
+    }
+
+    private void sync() {
+        int startEpoch = epoch;
+        attemptedAt = System.currentTimeMillis();
+        try {
+            List<TutorProfileResponse> tutors = fetchAll();
+            if (startEpoch != epoch) {
+                return;
+            }
+            index = buildIndex(tutors);
+            syncedAt = System.currentTimeMillis();
+            ProfileCache.getInstance().putTutors(tutors);
+            ioExecutor.execute(() -> {
+                try {
+                    store.putPage(QUERY_KEY, EntityStore.TYPE_TUTOR, tutors, TutorProfileResponse::getId,
+                            tutors.size(), 1, tutors.size());
+                } catch (RuntimeException e) {
+                    Log.w(TAG, "Storing tutors failed", e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            // The stored copy, if any, stays in use
+            Log.w(TAG, "Syncing tutors failed", e);
+        } finally {
+            syncing.set(false);
+        }
+    }
+
+    private List<TutorProfileResponse> fetchAll() throws IOException {
+        List<TutorProfileResponse> all = new ArrayList<>();
+        // Rows go straight into the list instead of an intermediate page object
+        AllPages.read((page, pageSize) -> apiService.streamTutors(null, null, null, page, pageSize), all::add);
+        return all;
+    }
+}
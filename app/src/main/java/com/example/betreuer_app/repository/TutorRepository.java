@@ -5,23 +5,74 @@ import com.example.betreuer_app.api.ApiClient;
 import com.example.betreuer_app.api.TutorApiService;
 import com.example.betreuer_app.model.TutorProfileResponse;
 import com.example.betreuer_app.model.TutorsResponse;
+
+import java.util.UUID;
+
 import retrofit2.Call;
 import retrofit2.Callback;
+import retrofit2.Response;
 
 public class TutorRepository {
     private TutorApiService apiService;
+    private final ProfileCache profileCache = ProfileCache.getInstance();
 
     public TutorRepository(Context context) {
         apiService = ApiClient.getTutorApiService(context);
     }
 
-    public void getTutors(String subjectAreaId, String subjectAreaName, String name, int page, int pageSize, Callback<TutorsResponse> callback) {
+    /**
+     * @return the started call, so that callers can cancel it when the search is superseded
+     */
+    public Call<TutorsResponse> getTutors(String subjectAreaId, String subjectAreaName, String name, int page, int pageSize, Callback<TutorsResponse> callback) {
         Call<TutorsResponse> call = apiService.getTutors(subjectAreaId, subjectAreaName, name, page, pageSize);
-        call.enqueue(callback);
+        call.enqueue(new Callback<TutorsResponse>() {
+            @Override
+            public void onResponse(Call<TutorsResponse> call, Response<TutorsResponse> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    profileCache.putTutors(response.body().getItems());
+                }
+                callback.onResponse(call, response);
+            }
+
+            @Override
+            public void onFailure(Call<TutorsResponse> call, Throwable t) {
+                callback.onFailure(call, t);
+            }
+        });
+        return call;
     }
 
+    /**
+     * Answers from the profile cache when the tutor was loaded recently, e.g. by {@link #getTutors}.
+     */
     public void getTutorById(String id, Callback<TutorProfileResponse> callback) {
         Call<TutorProfileResponse> call = apiService.getTutorById(id);
-        call.enqueue(callback);
+        TutorProfileResponse cached = profileCache.getTutor(parseId(id));
+        if (cached != null) {
+            callback.onResponse(call, Response.success(cached));
+            return;
+        }
+        call.enqueue(new Callback<TutorProfileResponse>() {
+            @Override
+            public void onResponse(Call<TutorProfileResponse> call, Response<TutorProfileResponse> response) {
+                if (response.isSuccessful()) {
+                    profileCache.putTutor(response.body());
+                }
+                callback.onResponse(call, response);
+            }
+
+            @Override
+            public void onFailure(Call<TutorProfileResponse> call, Throwable t) {
+                callback.onFailure(call, t);
+            }
+        });
+    }
+
+    private static UUID parseId(String id) {
+        try {
+            return id != null ? UUID.fromString(id) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 }
@@ -1,15 +1,18 @@
 package com.example.betreuer_app.repository;
 
 import android.content.Context;
+
 import com.example.betreuer_app.api.ApiClient;
 import com.example.betreuer_app.api.UserApiService;
 import com.example.betreuer_app.model.UsersResponse;
 
 import retrofit2.Call;
 import retrofit2.Callback;
+import retrofit2.Response;
 
 public class UserRepository {
     private UserApiService apiService;
+    private final ProfileCache profileCache = ProfileCache.getInstance();
 
     public UserRepository(Context context) {
         apiService = ApiClient.getUserApiService(context);
@@ -17,6 +20,19 @@ public class UserRepository {
 
     public void getUsers(int page, int pageSize, Callback<UsersResponse> callback) {
         Call<UsersResponse> call = apiService.getUsers(page, pageSize);
-        call.enqueue(callback);
+        call.enqueue(new Callback<UsersResponse>() {
+            @Override
+            public void onResponse(Call<UsersResponse> call, Response<UsersResponse> response) {
+                if (response.isSuccessful() && response.body() != null) {
+                    profileCache.putUsers(response.body().getItems());
+                }
+                callback.onResponse(call, response);
+            }
+
+            @Override
+            public void onFailure(Call<UsersResponse> call, Throwable t) {
+                callback.onFailure(call, t);
+            }
+        });
     }
 }
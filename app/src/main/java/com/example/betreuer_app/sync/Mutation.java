@@ -0,0 +1,160 @@
+package com.example.betreuer_app.sync;
+
+import com.example.betreuer_app.api.ThesisApiService;
+import com.example.betreuer_app.local.OutboxStore;
+import com.example.betreuer_app.model.CreateThesisOfferApplicationRequest;
+import com.example.betreuer_app.model.CreateThesisRequestRequest;
+import com.example.betreuer_app.model.ModelTypeAdapterFactory;
+import com.example.betreuer_app.model.RespondToThesisRequestRequest;
+import com.google.gson.Gson;
+
+import java.util.UUID;
+
+/**
+ * A write operation waiting in the {@link MutationOutbox}.
+ * The request body is kept as JSON so the mutation survives process death.
+ */
+public final class Mutation {
+
+    public enum Type {
+        UPDATE_THESIS_STATUS,
+        UPDATE_BILLING_STATUS,
+        RESPOND_TO_REQUEST,
+        DELETE_REQUEST,
+        CREATE_REQUEST,
+        CREATE_APPLICATION,
+        UPLOAD_THESIS_DOCUMENT
+    }
+
+    /**
+     * Billing update payload; the name is only kept to show the new status before the server answered.
+     */
+    static class BillingStatusPayload {
+        String billingStatusId;
+        String billingStatusName;
+
+        BillingStatusPayload(String billingStatusId, String billingStatusName) {
+            this.billingStatusId = billingStatusId;
+            this.billingStatusName = billingStatusName;
+        }
+    }
+
+    /**
+     * Document upload payload: where to read the document from when it is sent.
+     */
+    static class DocumentPayload {
+        String uri;
+        String fileName;
+        String mimeType;
+
+        DocumentPayload(String uri, String fileName, String mimeType) {
+            this.uri = uri;
+            this.fileName = fileName;
+            this.mimeType = mimeType;
+        }
+    }
+
+    private static final Gson GSON = ModelTypeAdapterFactory.gson();
+
+    private final String id;
+    private final Type type;
+    private final String entityId;
+    private final String coalesceKey;
+    private final String payload;
+
+    // Only changed by the outbox while holding its lock
+    int attempts;
+    int rejections;
+    long nextAttemptAt;
+
+    private Mutation(String id, Type type, String entityId, String coalesceKey, String payload,
+                     int attempts, int rejections, long nextAttemptAt) {
+        this.id = id;
+        this.type = type;
+        this.entityId = entityId;
+        this.coalesceKey = coalesceKey;
+        this.payload = payload;
+        this.attempts = attempts;
+        this.rejections = rejections;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    private static Mutation create(Type type, String entityId, String coalesceKey, Object payload) {
+        return new Mutation(UUID.randomUUID().toString(), type, entityId, coalesceKey,
+                payload != null ? GSON.toJson(payload) : null, 0, 0, 0);
+    }
+
+    /**
+     * Status changes are workflow steps the server only accepts one at a time
+     * (e.g. REGISTERED before SUBMITTED), so none replaces another; each is sent in order.
+     */
+    public static Mutation updateThesisStatus(String thesisId, String status) {
+        return create(Type.UPDATE_THESIS_STATUS, thesisId, null,
+                new ThesisApiService.StatusUpdateRequest(status));
+    }
+
+    public static Mutation updateBillingStatus(String thesisId, String billingStatusId, String billingStatusName) {
+        return create(Type.UPDATE_BILLING_STATUS, thesisId, "billing-status:" + thesisId,
+                new BillingStatusPayload(billingStatusId, billingStatusName));
+    }
+
+    /**
+     * Accept, reject or cancel a request. Shares its coalesce key with {@link #deleteRequest(UUID)},
+     * so only the last decision about a request is sent.
+     */
+    public static Mutation respondToRequest(UUID requestId, boolean accepted, String message) {
+        return create(Type.RESPOND_TO_REQUEST, requestId.toString(), "request:" + requestId,
+                new RespondToThesisRequestRequest(accepted, message));
+    }
+
+    public static Mutation deleteRequest(UUID requestId) {
+        return create(Type.DELETE_REQUEST, requestId.toString(), "request:" + requestId, null);
+    }
+
+    public static Mutation createRequest(CreateThesisRequestRequest request) {
+        return create(Type.CREATE_REQUEST, null, null, request);
+    }
+
+    public static Mutation createApplication(CreateThesisOfferApplicationRequest request) {
+        return create(Type.CREATE_APPLICATION, null, null, request);
+    }
+
+    /**
+     * Uploads the document at {@code uri} (a content Uri the app can still read when the
+     * upload is sent). A newer upload for the same thesis replaces one that was not sent yet.
+     */
+    public static Mutation uploadThesisDocument(String thesisId, String uri, String fileName, String mimeType) {
+        return create(Type.UPLOAD_THESIS_DOCUMENT, thesisId, "thesis-document:" + thesisId,
+                new DocumentPayload(uri, fileName, mimeType));
+    }
+
+    static Mutation fromEntry(OutboxStore.Entry entry) {
+        return new Mutation(entry.getMutationId(), Type.valueOf(entry.getType()), entry.getEntityId(),
+                entry.getCoalesceKey(), entry.getPayload(), entry.getAttempts(), entry.getRejections(),
+                entry.getNextAttemptAt());
+    }
+
+    OutboxStore.Entry toEntry() {
+        return new OutboxStore.Entry(id, type.name(), entityId, coalesceKey, payload, attempts, rejections, nextAttemptAt);
+    }
+
+    <T> T payloadAs(Class<T> payloadClass) {
+        return GSON.fromJson(payload, payloadClass);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public String getCoalesceKey() {
+        return coalesceKey;
+    }
+}
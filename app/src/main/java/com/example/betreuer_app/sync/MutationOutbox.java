@@ -0,0 +1,612 @@
+package com.example.betreuer_app.sync;
+
+import android.content.Context;
+import android.content.Intent;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.betreuer_app.api.ApiClient;
+import com.example.betreuer_app.api.ThesisApiService;
+import com.example.betreuer_app.api.ThesisOfferApplicationApiService;
+import com.example.betreuer_app.api.ThesisRequestApiService;
+import com.example.betreuer_app.api.UriRequestBody;
+import com.example.betreuer_app.constants.RequestStatuses;
+import com.example.betreuer_app.local.EntityStore;
+import com.example.betreuer_app.local.OutboxStore;
+import com.example.betreuer_app.model.CreateThesisOfferApplicationRequest;
+import com.example.betreuer_app.model.CreateThesisRequestRequest;
+import com.example.betreuer_app.model.RespondToThesisRequestRequest;
+import com.example.betreuer_app.model.ThesisApiModel;
+import com.example.betreuer_app.model.ThesisDocumentResponse;
+import com.example.betreuer_app.model.ThesisRequestResponse;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import okhttp3.MediaType;
+import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Persistent queue for write operations (status changes, request decisions,
+ * new requests and applications, document uploads).
+ * <p>
+ * A mutation is stored and takes effect locally right away: repositories pass
+ * server data through {@link #applyPending(ThesisApiModel)} and
+ * {@link #applyPendingToRequests(List)}, so screens show the intended state
+ * while it is still in flight. A single background thread sends mutations in
+ * insertion order; transient failures (no network, 5xx, 408, 429) are retried
+ * with exponential backoff and block the mutations behind them to keep the order.
+ * A mutation the server answers with such an error {@link #MAX_REJECTIONS} times
+ * is given up as failed, so it cannot hold up the rest of the queue for good;
+ * without a network it waits as long as it takes. After a 401 the queue waits
+ * for the user to log in again.
+ * A queued mutation is replaced by a newer one with the same coalesce key, e.g. a
+ * billing change or request decision (see {@link Mutation#getCoalesceKey()}); status
+ * changes are workflow steps and are all sent. Rejections by the server drop the local
+ * change and are reported through the per-mutation LiveData and {@link #getFailures()}.
+ * <p>
+ * Document uploads stream from their content Uri and report their progress as
+ * {@link MutationResult.State#SENDING}. The server takes a document in one request,
+ * so a failed upload is sent again from the start.
+ */
+public final class MutationOutbox {
+
+    private static final String TAG = "MutationOutbox";
+
+    static final long INITIAL_BACKOFF_MILLIS = 2_000;
+    static final long MAX_BACKOFF_MILLIS = 10 * 60_000;
+    // Server errors a mutation is retried for before it is given up as failed
+    static final int MAX_REJECTIONS = 10;
+    // After a 401 the head waits for the next login (see resume()) instead of a timer
+    private static final long WAITING_FOR_LOGIN = Long.MAX_VALUE;
+
+    private static volatile MutationOutbox instance;
+
+    private final Context context;
+    private final OutboxStore outboxStore;
+    private final EntityStore entityStore;
+    private final Function<Class<?>, Object> services;
+    private final Executor ioExecutor = EntityStore.getIoExecutor();
+    private final ScheduledExecutorService sender =
+            Executors.newSingleThreadScheduledExecutor(r -> new Thread(r, "mutation-outbox"));
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private final Object lock = new Object();
+    // Guarded by lock
+    private final List<Mutation> pending = new ArrayList<>();
+    private String inFlightId;
+    private boolean loaded;
+    private ScheduledFuture<?> scheduledDrain;
+
+    private final Map<String, MutableLiveData<MutationResult>> results = new ConcurrentHashMap<>();
+    private final MutableLiveData<MutationResult> failures = new MutableLiveData<>();
+
+    private MutationOutbox(Context context) {
+        this(context, EntityStore.getInstance(context), serviceClass -> ApiClient.getService(context, serviceClass));
+    }
+
+    // For tests: sends through the given services instead of the shared ApiClient
+    MutationOutbox(Context context, EntityStore entityStore, Function<Class<?>, Object> services) {
+        this.context = context;
+        this.entityStore = entityStore;
+        this.outboxStore = entityStore.getOutboxStore();
+        this.services = services;
+        ioExecutor.execute(this::loadPersisted);
+        registerNetworkCallback();
+    }
+
+    public static MutationOutbox getInstance(Context context) {
+        if (instance == null) {
+            synchronized (MutationOutbox.class) {
+                if (instance == null) {
+                    instance = new MutationOutbox(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Forgets all queued mutations on logout or when a different user logs in. The stored
+     * rows are removed together with the rest of the {@link EntityStore}.
+     */
+    public static void discardAll() {
+        MutationOutbox outbox = instance;
+        if (outbox == null) {
+            return;
+        }
+        synchronized (outbox.lock) {
+            outbox.pending.clear();
+            if (outbox.scheduledDrain != null) {
+                outbox.scheduledDrain.cancel(false);
+                outbox.scheduledDrain = null;
+            }
+        }
+        outbox.results.clear();
+    }
+
+    /**
+     * Sends the queue again without waiting for the backoff, e.g. after the user logged in
+     * again. Mutations that failed with 401 while the session was expired are kept until then.
+     */
+    public static void resume() {
+        MutationOutbox outbox = instance;
+        if (outbox != null) {
+            outbox.retryNow();
+        }
+    }
+
+    /**
+     * Queues a mutation. The returned LiveData reports its progress; the local
+     * effect is visible immediately.
+     */
+    public LiveData<MutationResult> enqueue(Mutation mutation) {
+        MutableLiveData<MutationResult> result =
+                new MutableLiveData<>(new MutationResult(mutation, MutationResult.State.QUEUED, 0, null, null));
+        results.put(mutation.getId(), result);
+
+        List<Mutation> superseded = new ArrayList<>();
+        synchronized (lock) {
+            if (mutation.getCoalesceKey() != null) {
+                Iterator<Mutation> it = pending.iterator();
+                while (it.hasNext()) {
+                    Mutation queued = it.next();
+                    if (mutation.getCoalesceKey().equals(queued.getCoalesceKey())
+                            && !queued.getId().equals(inFlightId)) {
+                        it.remove();
+                        superseded.add(queued);
+                    }
+                }
+            }
+            pending.add(mutation);
+            // Posted while holding the lock so the row is written before the sender can remove it
+            String keepId = inFlightId;
+            ioExecutor.execute(() -> {
+                outboxStore.add(mutation.toEntry(), keepId);
+                sender.execute(this::drain);
+            });
+        }
+
+        for (Mutation queued : superseded) {
+            releaseDocument(queued);
+            publish(new MutationResult(queued, MutationResult.State.SUPERSEDED, 0, null, null));
+        }
+        return result;
+    }
+
+    /**
+     * Reports mutations the server rejected, for screens that were no longer observing them.
+     */
+    public LiveData<MutationResult> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Retries the head of the queue now instead of waiting for the backoff, e.g. when the network comes back.
+     */
+    public void retryNow() {
+        synchronized (lock) {
+            if (!pending.isEmpty()) {
+                pending.get(0).nextAttemptAt = 0;
+            }
+        }
+        sender.execute(this::drain);
+    }
+
+    /**
+     * Applies queued status and billing changes to a thesis loaded from the server or the store.
+     * Returns a changed copy if a queued change applies, otherwise the thesis itself. The thesis
+     * passed in may be shared with the store, the index or other callers and is never changed.
+     */
+    public ThesisApiModel applyPending(ThesisApiModel thesis) {
+        return applyPending(thesis, snapshot());
+    }
+
+    static ThesisApiModel applyPending(ThesisApiModel thesis, List<Mutation> mutations) {
+        if (thesis == null || thesis.getId() == null) {
+            return thesis;
+        }
+        String thesisId = thesis.getId().toString();
+        ThesisApiModel applied = thesis;
+        for (Mutation mutation : mutations) {
+            if (!thesisId.equals(mutation.getEntityId())) {
+                continue;
+            }
+            if (mutation.getType() == Mutation.Type.UPDATE_THESIS_STATUS) {
+                applied = applied != thesis ? applied : new ThesisApiModel(thesis);
+                applied.setStatus(mutation.payloadAs(ThesisApiService.StatusUpdateRequest.class).status);
+            } else if (mutation.getType() == Mutation.Type.UPDATE_BILLING_STATUS) {
+                applied = applied != thesis ? applied : new ThesisApiModel(thesis);
+                applied.setBillingStatus(mutation.payloadAs(Mutation.BillingStatusPayload.class).billingStatusName);
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Returns a list of the theses with queued changes applied; the list and theses passed in are left as they are.
+     */
+    public List<ThesisApiModel> applyPendingToTheses(List<ThesisApiModel> theses) {
+        if (theses == null) {
+            return null;
+        }
+        List<Mutation> mutations = snapshot();
+        List<ThesisApiModel> visible = new ArrayList<>(theses.size());
+        for (ThesisApiModel thesis : theses) {
+            visible.add(applyPending(thesis, mutations));
+        }
+        return visible;
+    }
+
+    /**
+     * Applies queued decisions to a request. Returns null if the request is about to be deleted,
+     * a changed copy if a decision is queued, and the request itself otherwise.
+     */
+    public ThesisRequestResponse applyPending(ThesisRequestResponse request) {
+        return applyPending(request, snapshot());
+    }
+
+    static ThesisRequestResponse applyPending(ThesisRequestResponse request, List<Mutation> mutations) {
+        if (request == null || request.getId() == null) {
+            return request;
+        }
+        String requestId = request.getId().toString();
+        ThesisRequestResponse applied = request;
+        for (Mutation mutation : mutations) {
+            if (!requestId.equals(mutation.getEntityId())) {
+                continue;
+            }
+            if (mutation.getType() == Mutation.Type.DELETE_REQUEST) {
+                return null;
+            }
+            if (mutation.getType() == Mutation.Type.RESPOND_TO_REQUEST) {
+                boolean accepted = mutation.payloadAs(RespondToThesisRequestRequest.class).isAccepted();
+                applied = applied != request ? applied : new ThesisRequestResponse(request);
+                applied.setStatus(accepted ? RequestStatuses.ACCEPTED : RequestStatuses.REJECTED);
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Returns a copy of the list with queued decisions applied and pending deletions left out.
+     */
+    public List<ThesisRequestResponse> applyPendingToRequests(List<ThesisRequestResponse> requests) {
+        if (requests == null) {
+            return null;
+        }
+        List<Mutation> mutations = snapshot();
+        List<ThesisRequestResponse> visible = new ArrayList<>(requests.size());
+        for (ThesisRequestResponse request : requests) {
+            ThesisRequestResponse applied = applyPending(request, mutations);
+            if (applied != null) {
+                visible.add(applied);
+            }
+        }
+        return visible;
+    }
+
+    private List<Mutation> snapshot() {
+        synchronized (lock) {
+            return new ArrayList<>(pending);
+        }
+    }
+
+    private void loadPersisted() {
+        List<Mutation> stored = new ArrayList<>();
+        try {
+            for (OutboxStore.Entry entry : outboxStore.loadAll()) {
+                stored.add(Mutation.fromEntry(entry));
+            }
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Could not load pending mutations", e);
+        }
+        synchronized (lock) {
+            // Anything enqueued meanwhile is newer than what was stored
+            List<String> known = new ArrayList<>();
+            for (Mutation mutation : pending) {
+                known.add(mutation.getId());
+            }
+            List<Mutation> older = new ArrayList<>();
+            for (Mutation mutation : stored) {
+                if (!known.contains(mutation.getId())) {
+                    older.add(mutation);
+                }
+            }
+            pending.addAll(0, older);
+            loaded = true;
+        }
+        sender.execute(this::drain);
+    }
+
+    /**
+     * Sends queued mutations in order until the queue is empty or the head has to wait. Runs on {@link #sender}.
+     */
+    private void drain() {
+        while (true) {
+            Mutation next;
+            synchronized (lock) {
+                if (!loaded || pending.isEmpty()) {
+                    return;
+                }
+                next = pending.get(0);
+                if (next.nextAttemptAt == WAITING_FOR_LOGIN) {
+                    return;
+                }
+                long wait = next.nextAttemptAt - System.currentTimeMillis();
+                if (wait > 0) {
+                    scheduleDrain(wait);
+                    return;
+                }
+                inFlightId = next.getId();
+            }
+
+            MutationResult sent = send(next);
+
+            MutationResult result;
+            synchronized (lock) {
+                inFlightId = null;
+                result = giveUpIfRejectedTooOften(next, sent);
+                if (result.getState() == MutationResult.State.RETRYING) {
+                    next.attempts++;
+                    next.nextAttemptAt = result.getCode() == 401
+                            ? WAITING_FOR_LOGIN
+                            : System.currentTimeMillis() + backoffMillis(next.attempts);
+                    int attempts = next.attempts;
+                    int rejections = next.rejections;
+                    long nextAttemptAt = next.nextAttemptAt;
+                    ioExecutor.execute(() -> outboxStore.updateAttempts(next.getId(), attempts, rejections, nextAttemptAt));
+                } else {
+                    pending.remove(next);
+                    releaseDocument(next);
+                    ioExecutor.execute(() -> {
+                        outboxStore.remove(next.getId());
+                        if (result.getState() == MutationResult.State.SUCCEEDED) {
+                            storeResult(next, result.getBody());
+                        }
+                    });
+                }
+            }
+            publish(result);
+
+            if (result.getState() == MutationResult.State.RETRYING) {
+                Log.w(TAG, "Sending " + next.getType() + " failed (" + result.getMessage() + "), retry #" + next.attempts);
+                sender.execute(this::drain);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Counts a retryable error answer of the server and turns it into a failure once
+     * {@link #MAX_REJECTIONS} is reached. Network errors and 401 are not counted. Called holding the lock.
+     */
+    private static MutationResult giveUpIfRejectedTooOften(Mutation mutation, MutationResult result) {
+        if (result.getState() != MutationResult.State.RETRYING || result.getCode() == 0 || result.getCode() == 401) {
+            return result;
+        }
+        mutation.rejections++;
+        if (mutation.rejections < MAX_REJECTIONS) {
+            return result;
+        }
+        Log.w(TAG, "Giving up " + mutation.getType() + " after " + mutation.rejections + " server errors");
+        return new MutationResult(mutation, MutationResult.State.FAILED, result.getCode(), result.getMessage(), null);
+    }
+
+    private void scheduleDrain(long delayMillis) {
+        if (scheduledDrain != null) {
+            scheduledDrain.cancel(false);
+        }
+        scheduledDrain = sender.schedule(this::drain, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    static long backoffMillis(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 20);
+        return Math.min(INITIAL_BACKOFF_MILLIS << exponent, MAX_BACKOFF_MILLIS);
+    }
+
+    static boolean isRetryable(int code) {
+        // 401: the session is being renewed or has expired; the queue waits for the same user to log in again
+        return code >= 500 || code == 401 || code == 408 || code == 429;
+    }
+
+    private MutationResult send(Mutation mutation) {
+        try {
+            Response<?> response = createCall(mutation).execute();
+            if (response.isSuccessful()) {
+                return new MutationResult(mutation, MutationResult.State.SUCCEEDED, response.code(), null, response.body());
+            }
+            if (mutation.getType() == Mutation.Type.DELETE_REQUEST && response.code() == 404) {
+                // Already gone, which is what was asked for
+                return new MutationResult(mutation, MutationResult.State.SUCCEEDED, response.code(), null, null);
+            }
+            String errorBody = null;
+            if (response.errorBody() != null) {
+                try {
+                    errorBody = response.errorBody().string();
+                } catch (IOException e) {
+                    errorBody = null;
+                }
+            }
+            MutationResult.State state = isRetryable(response.code())
+                    ? MutationResult.State.RETRYING
+                    : MutationResult.State.FAILED;
+            return new MutationResult(mutation, state, response.code(), errorBody, null);
+        } catch (FileNotFoundException e) {
+            // The document to upload is gone; retrying would not help
+            return new MutationResult(mutation, MutationResult.State.FAILED, 0, e.getMessage(), null);
+        } catch (IOException e) {
+            return new MutationResult(mutation, MutationResult.State.RETRYING, 0, e.getMessage(), null);
+        } catch (RuntimeException e) {
+            // Unreadable payload; retrying would not help
+            Log.e(TAG, "Dropping malformed " + mutation.getType(), e);
+            return new MutationResult(mutation, MutationResult.State.FAILED, 0, e.getMessage(), null);
+        }
+    }
+
+    private Call<?> createCall(Mutation mutation) {
+        switch (mutation.getType()) {
+            case UPDATE_THESIS_STATUS:
+                return service(ThesisApiService.class).updateStatus(mutation.getEntityId(),
+                        mutation.payloadAs(ThesisApiService.StatusUpdateRequest.class));
+            case UPDATE_BILLING_STATUS:
+                return service(ThesisApiService.class).updateBillingStatus(mutation.getEntityId(),
+                        new ThesisApiService.BillingStatusUpdateRequest(
+                                mutation.payloadAs(Mutation.BillingStatusPayload.class).billingStatusId));
+            case RESPOND_TO_REQUEST:
+                return service(ThesisRequestApiService.class).respondToRequest(UUID.fromString(mutation.getEntityId()),
+                        mutation.payloadAs(RespondToThesisRequestRequest.class));
+            case DELETE_REQUEST:
+                return service(ThesisRequestApiService.class).deleteRequest(UUID.fromString(mutation.getEntityId()));
+            case CREATE_REQUEST:
+                return service(ThesisRequestApiService.class).createRequest(
+                        mutation.payloadAs(CreateThesisRequestRequest.class));
+            case CREATE_APPLICATION:
+                return service(ThesisOfferApplicationApiService.class).createApplication(
+                        mutation.payloadAs(CreateThesisOfferApplicationRequest.class));
+            case UPLOAD_THESIS_DOCUMENT: {
+                Mutation.DocumentPayload document = mutation.payloadAs(Mutation.DocumentPayload.class);
+                RequestBody body = new UriRequestBody(context.getContentResolver(), Uri.parse(document.uri),
+                        MediaType.parse(document.mimeType),
+                        (bytesSent, totalBytes) -> publish(new MutationResult(mutation, MutationResult.State.SENDING,
+                                0, null, null, bytesSent, totalBytes)));
+                return service(ThesisApiService.class).updateThesisDocument(mutation.getEntityId(),
+                        MultipartBody.Part.createFormData("document", document.fileName, body));
+            }
+            default:
+                throw new IllegalArgumentException("Unknown mutation type: " + mutation.getType());
+        }
+    }
+
+    private <T> T service(Class<T> serviceClass) {
+        return serviceClass.cast(services.apply(serviceClass));
+    }
+
+    /**
+     * Writes the server's view of a confirmed mutation into the entity store. Runs on the I/O executor.
+     */
+    private void storeResult(Mutation mutation, Object body) {
+        try {
+            switch (mutation.getType()) {
+                case UPDATE_THESIS_STATUS:
+                case UPDATE_BILLING_STATUS:
+                    if (body instanceof ThesisApiModel) {
+                        entityStore.put(EntityStore.TYPE_THESIS, ((ThesisApiModel) body).getId(), body);
+                    }
+                    break;
+                case RESPOND_TO_REQUEST: {
+                    UUID requestId = UUID.fromString(mutation.getEntityId());
+                    ThesisRequestResponse stored =
+                            entityStore.get(EntityStore.TYPE_THESIS_REQUEST, requestId, ThesisRequestResponse.class);
+                    if (stored != null) {
+                        boolean accepted = mutation.payloadAs(RespondToThesisRequestRequest.class).isAccepted();
+                        stored.setStatus(accepted ? RequestStatuses.ACCEPTED : RequestStatuses.REJECTED);
+                        entityStore.put(EntityStore.TYPE_THESIS_REQUEST, requestId, stored);
+                    }
+                    break;
+                }
+                case DELETE_REQUEST:
+                    entityStore.delete(EntityStore.TYPE_THESIS_REQUEST, UUID.fromString(mutation.getEntityId()));
+                    break;
+                case CREATE_REQUEST:
+                    if (body instanceof ThesisRequestResponse) {
+                        entityStore.put(EntityStore.TYPE_THESIS_REQUEST, ((ThesisRequestResponse) body).getId(), body);
+                    }
+                    break;
+                case UPLOAD_THESIS_DOCUMENT: {
+                    UUID thesisId = UUID.fromString(mutation.getEntityId());
+                    ThesisApiModel stored = entityStore.get(EntityStore.TYPE_THESIS, thesisId, ThesisApiModel.class);
+                    if (stored != null && body instanceof ThesisDocumentResponse) {
+                        stored.setDocumentId(((ThesisDocumentResponse) body).getId());
+                        stored.setDocumentFileName(((ThesisDocumentResponse) body).getFileName());
+                        entityStore.put(EntityStore.TYPE_THESIS, thesisId, stored);
+                    }
+                    break;
+                }
+                default:
+                    break;
+            }
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Could not store result of " + mutation.getType(), e);
+        }
+    }
+
+    /**
+     * Gives up the read access to an uploaded document once its upload left the queue.
+     */
+    private void releaseDocument(Mutation mutation) {
+        if (mutation.getType() != Mutation.Type.UPLOAD_THESIS_DOCUMENT) {
+            return;
+        }
+        String document = mutation.payloadAs(Mutation.DocumentPayload.class).uri;
+        for (Mutation queued : snapshot()) {
+            if (queued.getType() == Mutation.Type.UPLOAD_THESIS_DOCUMENT && queued != mutation
+                    && document.equals(queued.payloadAs(Mutation.DocumentPayload.class).uri)) {
+                // Still needed by a newer upload of the same document
+                return;
+            }
+        }
+        try {
+            Uri uri = Uri.parse(document);
+            context.getContentResolver().releasePersistableUriPermission(uri, Intent.FLAG_GRANT_READ_URI_PERMISSION);
+        } catch (RuntimeException e) {
+            // Access was not persisted
+        }
+    }
+
+    private void publish(MutationResult result) {
+        mainHandler.post(() -> {
+            MutableLiveData<MutationResult> liveData = result.isTerminal()
+                    ? results.remove(result.getMutationId())
+                    : results.get(result.getMutationId());
+            if (liveData != null) {
+                liveData.setValue(result);
+            }
+            if (result.getState() == MutationResult.State.FAILED
+                    && (liveData == null || !liveData.hasActiveObservers())) {
+                failures.setValue(result);
+            }
+        });
+    }
+
+    private void registerNetworkCallback() {
+        ConnectivityManager connectivityManager =
+                (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (connectivityManager == null) {
+            return;
+        }
+        try {
+            connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onAvailable(Network network) {
+                    retryNow();
+                }
+            });
+        } catch (RuntimeException e) {
+            // Retries then only follow the backoff schedule
+            Log.w(TAG, "Could not watch connectivity", e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.betreuer_app.sync;
+
+/**
+ * State of a mutation as reported by the {@link MutationOutbox}.
+ */
+public class MutationResult {
+
+    public enum State {
+        /** Stored and applied locally, not sent yet. */
+        QUEUED,
+        /** Being sent; a document upload reports how much of it is out. */
+        SENDING,
+        /** Sending failed for a transient reason; it will be retried. */
+        RETRYING,
+        /** Replaced by a newer mutation of the same entity before it was sent. */
+        SUPERSEDED,
+        /** Accepted by the server. */
+        SUCCEEDED,
+        /** Rejected by the server; the local change was dropped. */
+        FAILED
+    }
+
+    private final String mutationId;
+    private final Mutation.Type type;
+    private final String entityId;
+    private final State state;
+    private final int code;
+    private final String message;
+    private final Object body;
+    private final long bytesSent;
+    private final long totalBytes;
+
+    MutationResult(Mutation mutation, State state, int code, String message, Object body) {
+        this(mutation, state, code, message, body, 0, -1);
+    }
+
+    MutationResult(Mutation mutation, State state, int code, String message, Object body,
+                   long bytesSent, long totalBytes) {
+        this.mutationId = mutation.getId();
+        this.type = mutation.getType();
+        this.entityId = mutation.getEntityId();
+        this.state = state;
+        this.code = code;
+        this.message = message;
+        this.body = body;
+        this.bytesSent = bytesSent;
+        this.totalBytes = totalBytes;
+    }
+
+    public String getMutationId() {
+        return mutationId;
+    }
+
+    public Mutation.Type getType() {
+        return type;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Returns the HTTP status code of the last attempt, or 0 if no response was received.
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the server's error body or the network error message.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the deserialized response body of a successful mutation (may be null).
+     */
+    public Object getBody() {
+        return body;
+    }
+
+    /**
+     * Bytes of a document upload sent so far in the current attempt.
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Size of the uploaded document, or -1 if unknown.
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public boolean isTerminal() {
+        return state == State.SUCCEEDED || state == State.FAILED || state == State.SUPERSEDED;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.betreuer_app.ui;
+
+import android.content.Context;
+import android.widget.ArrayAdapter;
+import android.widget.Filter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Dropdown adapter for an {@link android.widget.AutoCompleteTextView} whose suggestions
+ * are already matched against the typed text, e.g. by a
+ * {@link com.example.betreuer_app.util.PrefixIndex}. Unlike {@link ArrayAdapter} it
+ * does not filter them again, so matches found by folding (case, diacritics) stay visible.
+ */
+public class SuggestionAdapter extends ArrayAdapter<String> {
+
+    private final List<String> suggestions;
+
+    private final Filter passThrough = new Filter() {
+        @Override
+        protected FilterResults performFiltering(CharSequence constraint) {
+            FilterResults results = new FilterResults();
+            results.values = suggestions;
+            results.count = suggestions.size();
+            return results;
+        }
+
+        @Override
+        protected void publishResults(CharSequence constraint, FilterResults results) {
+            notifyDataSetChanged();
+        }
+    };
+
+    public SuggestionAdapter(Context context, List<String> suggestions) {
+        super(context, android.R.layout.simple_dropdown_item_1line, new ArrayList<>(suggestions));
+        // Own copy: the filter reads it on a worker thread
+        this.suggestions = Collections.unmodifiableList(new ArrayList<>(suggestions));
+    }
+
+    @Override
+    public Filter getFilter() {
+        return passThrough;
+    }
+}
@@ -8,19 +8,45 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.betreuer_app.R;
 import com.example.betreuer_app.constants.RequestStatuses;
 import com.example.betreuer_app.model.ThesisRequestResponse;
 import com.example.betreuer_app.model.UserResponse;
+import com.example.betreuer_app.util.StableIds;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
-public class ThesisRequestAdapter extends RecyclerView.Adapter<ThesisRequestAdapter.ViewHolder> {
+/**
+ * Lists thesis requests. New lists are diffed in the background and only rows that
+ * changed are bound again; a change of status alone updates the row in place.
+ */
+public class ThesisRequestAdapter extends ListAdapter<ThesisRequestResponse, ThesisRequestAdapter.ViewHolder> {
+
+    // Payload of a change that only touched the status, e.g. after accepting a request
+    static final Object PAYLOAD_STATUS = new Object();
+
+    static final DiffUtil.ItemCallback<ThesisRequestResponse> DIFF_CALLBACK = new DiffUtil.ItemCallback<ThesisRequestResponse>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull ThesisRequestResponse oldItem, @NonNull ThesisRequestResponse newItem) {
+            return Objects.equals(oldItem.getId(), newItem.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull ThesisRequestResponse oldItem, @NonNull ThesisRequestResponse newItem) {
+            return sameExceptStatus(oldItem, newItem) && Objects.equals(oldItem.getStatus(), newItem.getStatus());
+        }
+
+        @Override
+        public Object getChangePayload(@NonNull ThesisRequestResponse oldItem, @NonNull ThesisRequestResponse newItem) {
+            return sameExceptStatus(oldItem, newItem) ? PAYLOAD_STATUS : null;
+        }
+    };
 
-    private List<ThesisRequestResponse> requests = new ArrayList<>();
     private OnRequestActionClickListener actionListener;
     private OnItemClickListener itemClickListener;
     private String currentUserId;
@@ -44,14 +70,23 @@ public class ThesisRequestAdapter extends RecyclerView.Adapter<ThesisRequestAdap
         this.itemClickListener = listener;
     }
 
-    public void setRequests(List<ThesisRequestResponse> requests) {
-        this.requests = requests;
-        notifyDataSetChanged();
+    public ThesisRequestAdapter() {
+        super(DIFF_CALLBACK);
+        setHasStableIds(true);
     }
 
     public void setCurrentUserId(String userId) {
+        if (Objects.equals(currentUserId, userId)) {
+            return;
+        }
         this.currentUserId = userId;
-        notifyDataSetChanged();
+        // Which actions a row offers depends on the user
+        notifyItemRangeChanged(0, getItemCount(), PAYLOAD_STATUS);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return StableIds.of(getItem(position).getId());
     }
 
     @NonNull
@@ -64,13 +99,33 @@ public class ThesisRequestAdapter extends RecyclerView.Adapter<ThesisRequestAdap
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        ThesisRequestResponse request = requests.get(position);
-        holder.bind(request);
+        holder.bind(getItem(position));
     }
 
     @Override
-    public int getItemCount() {
-        return requests.size();
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+        } else {
+            holder.bindStatus(getItem(position));
+        }
+    }
+
+    private static boolean sameExceptStatus(ThesisRequestResponse a, ThesisRequestResponse b) {
+        return Objects.equals(a.getThesisTitle(), b.getThesisTitle())
+                && Objects.equals(a.getMessage(), b.getMessage())
+                && Objects.equals(a.getRequestType(), b.getRequestType())
+                && sameUser(a.getRequester(), b.getRequester())
+                && sameUser(a.getReceiver(), b.getReceiver());
+    }
+
+    private static boolean sameUser(UserResponse a, UserResponse b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return Objects.equals(a.getId(), b.getId())
+                && Objects.equals(a.getFirstName(), b.getFirstName())
+                && Objects.equals(a.getLastName(), b.getLastName());
     }
 
     class ViewHolder extends RecyclerView.ViewHolder {
@@ -95,7 +150,7 @@ public class ThesisRequestAdapter extends RecyclerView.Adapter<ThesisRequestAdap
             itemView.setOnClickListener(v -> {
                 int pos = getAdapterPosition();
                 if (pos != RecyclerView.NO_POSITION && itemClickListener != null) {
-                    itemClickListener.onItemClick(requests.get(pos));
+                    itemClickListener.onItemClick(getItem(pos));
                 }
             });
         }
@@ -116,6 +171,13 @@ public class ThesisRequestAdapter extends RecyclerView.Adapter<ThesisRequestAdap
                 message.setVisibility(View.GONE);
             }
 
+            bindStatus(request);
+        }
+
+        /**
+         * Binds the parts of the row that depend on the status and the current user.
+         */
+        void bindStatus(ThesisRequestResponse request) {
             String statusText = request.getStatus() != null ? request.getStatus() : "PENDING";
             status.setText("Status: " + statusText);
 
@@ -5,17 +5,33 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.betreuer_app.R;
 import com.example.betreuer_app.model.ThesisApiModel;
 import com.example.betreuer_app.util.BillingStatusDisplayMapper;
+import com.example.betreuer_app.util.Pager;
 import com.example.betreuer_app.util.SessionManager;
 import com.example.betreuer_app.util.ThesisStatusHelper;
-import java.util.List;
+import java.util.Objects;
 
 public class ThesisListAdapter extends RecyclerView.Adapter<ThesisListAdapter.ThesisViewHolder> {
 
-    private List<ThesisApiModel> thesisList;
+    static final DiffUtil.ItemCallback<ThesisApiModel> DIFF_CALLBACK = new DiffUtil.ItemCallback<ThesisApiModel>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull ThesisApiModel oldItem, @NonNull ThesisApiModel newItem) {
+            return Objects.equals(oldItem.getId(), newItem.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull ThesisApiModel oldItem, @NonNull ThesisApiModel newItem) {
+            return Objects.equals(oldItem.getTitle(), newItem.getTitle())
+                    && Objects.equals(oldItem.getStatus(), newItem.getStatus())
+                    && Objects.equals(oldItem.getBillingStatus(), newItem.getBillingStatus());
+        }
+    };
+
+    private Pager.Snapshot<ThesisApiModel> theses;
     private OnItemClickListener listener;
 
     public interface OnItemClickListener {
@@ -26,8 +42,14 @@ public class ThesisListAdapter extends RecyclerView.Adapter<ThesisListAdapter.Th
         this.listener = listener;
     }
 
-    public ThesisListAdapter(List<ThesisApiModel> thesisList) {
-        this.thesisList = thesisList;
+    /**
+     * Shows {@code snapshot}, binding again only the rows that were loaded, dropped or
+     * changed, so the scroll position stays where it is.
+     */
+    public void submit(Pager.Snapshot<ThesisApiModel> snapshot) {
+        Pager.Snapshot<ThesisApiModel> previous = theses;
+        theses = snapshot;
+        snapshot.dispatchUpdatesTo(previous, this, DIFF_CALLBACK);
     }
 
     @NonNull
@@ -39,13 +61,17 @@ public class ThesisListAdapter extends RecyclerView.Adapter<ThesisListAdapter.Th
 
     @Override
     public void onBindViewHolder(@NonNull ThesisViewHolder holder, int position) {
-        ThesisApiModel thesis = thesisList.get(position);
-        holder.bind(thesis, listener);
+        ThesisApiModel thesis = theses.get(position);
+        if (thesis == null) {
+            holder.bindPlaceholder();
+        } else {
+            holder.bind(thesis, listener);
+        }
     }
 
     @Override
     public int getItemCount() {
-        return thesisList.size();
+        return theses != null ? theses.size() : 0;
     }
 
     public static class ThesisViewHolder extends RecyclerView.ViewHolder {
@@ -62,6 +88,17 @@ public class ThesisListAdapter extends RecyclerView.Adapter<ThesisListAdapter.Th
             textViewRechnungsstatus = itemView.findViewById(R.id.textViewRechnungsstatus);
         }
 
+        /**
+         * Row of a page that is still loading.
+         */
+        public void bindPlaceholder() {
+            textViewTitel.setText(R.string.thesis_list_item_loading);
+            textViewFachgebiet.setText("");
+            textViewStatus.setText("");
+            textViewRechnungsstatus.setText("");
+            itemView.setOnClickListener(null);
+        }
+
         public void bind(final ThesisApiModel thesis, final OnItemClickListener listener) {
             // Prüfe ob Benutzer Student ist
             SessionManager sessionManager = new SessionManager(itemView.getContext());
@@ -6,8 +6,6 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ProgressBar;
-import android.widget.TextView;
-import android.widget.Toast;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
@@ -17,12 +15,12 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.betreuer_app.R;
 import com.example.betreuer_app.ThesisDetailActivity;
-import com.example.betreuer_app.model.ThesesResponse;
 import com.example.betreuer_app.model.ThesisApiModel;
+import com.example.betreuer_app.util.Pager;
 import com.example.betreuer_app.viewmodel.ThesisListViewModel;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
-import com.google.android.material.button.MaterialButton;
+import com.google.android.material.snackbar.Snackbar;
 
 public class ThesisListFragment extends Fragment {
     private RecyclerView recyclerView;
@@ -30,9 +28,7 @@ public class ThesisListFragment extends Fragment {
     private ThesisListAdapter adapter;
     private MaterialToolbar toolbar;
     private FloatingActionButton fabAddThesis;
-    private MaterialButton buttonPrevious;
-    private MaterialButton buttonNext;
-    private TextView textPageIndicator;
+    private LinearLayoutManager layoutManager;
     private ProgressBar progressBar;
 
     @Nullable
@@ -42,11 +38,9 @@ public class ThesisListFragment extends Fragment {
         recyclerView = view.findViewById(R.id.thesesRecyclerView);
         toolbar = view.findViewById(R.id.toolbar);
         fabAddThesis = view.findViewById(R.id.fab_add_thesis);
-        buttonPrevious = view.findViewById(R.id.button_thesis_previous);
-        buttonNext = view.findViewById(R.id.button_thesis_next);
-        textPageIndicator = view.findViewById(R.id.text_thesis_page_indicator);
         progressBar = view.findViewById(R.id.thesis_list_progress);
-        recyclerView.setLayoutManager(new LinearLayoutManager(getContext()));
+        layoutManager = new LinearLayoutManager(getContext());
+        recyclerView.setLayoutManager(layoutManager);
         return view;
     }
 
@@ -73,21 +67,34 @@ public class ThesisListFragment extends Fragment {
             fabAddThesis.setOnClickListener(null);
         }
 
-        viewModel.getTheses().observe(getViewLifecycleOwner(), new Observer<ThesesResponse>() {
+        adapter = new ThesisListAdapter();
+        adapter.setOnItemClickListener(new ThesisListAdapter.OnItemClickListener() {
             @Override
-            public void onChanged(ThesesResponse thesesResponse) {
-                if (thesesResponse != null && thesesResponse.getItems() != null) {
-                    adapter = new ThesisListAdapter(thesesResponse.getItems());
-                    adapter.setOnItemClickListener(new ThesisListAdapter.OnItemClickListener() {
-                        @Override
-                        public void onItemClick(ThesisApiModel thesis) {
-                            Intent intent = new Intent(getContext(), ThesisDetailActivity.class);
-                            intent.putExtra("THESIS_ID", thesis.getId().toString());
-                            startActivity(intent);
-                        }
-                    });
-                    recyclerView.setAdapter(adapter);
-                    updatePaginationUi();
+            public void onItemClick(ThesisApiModel thesis) {
+                Intent intent = new Intent(getContext(), ThesisDetailActivity.class);
+                intent.putExtra("THESIS_ID", thesis.getId().toString());
+                startActivity(intent);
+            }
+        });
+        recyclerView.setAdapter(adapter);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                reportVisibleRange();
+            }
+        });
+        if (savedInstanceState == null && viewModel.getScrollPosition() > 0) {
+            // The view was recreated without saved state, e.g. coming back from the back stack
+            layoutManager.scrollToPosition(viewModel.getScrollPosition());
+        }
+
+        viewModel.getTheses().observe(getViewLifecycleOwner(), new Observer<Pager.Snapshot<ThesisApiModel>>() {
+            @Override
+            public void onChanged(Pager.Snapshot<ThesisApiModel> snapshot) {
+                if (snapshot != null) {
+                    adapter.submit(snapshot);
+                    // A short first page may not fill the screen, so no scroll would ask for more
+                    recyclerView.post(ThesisListFragment.this::reportVisibleRange);
                 }
             }
         });
@@ -96,7 +103,10 @@ public class ThesisListFragment extends Fragment {
             @Override
             public void onChanged(String error) {
                 if (error != null) {
-                    Toast.makeText(getContext(), error, Toast.LENGTH_SHORT).show();
+                    // Otherwise a failed first page would leave the list empty for good
+                    Snackbar.make(view, error, Snackbar.LENGTH_LONG)
+                            .setAction(R.string.thesis_list_retry, v -> viewModel.retry())
+                            .show();
                 }
             }
         });
@@ -110,58 +120,17 @@ public class ThesisListFragment extends Fragment {
             }
         });
 
-        viewModel.getCurrentPage().observe(getViewLifecycleOwner(), new Observer<Integer>() {
-            @Override
-            public void onChanged(Integer page) {
-                updatePaginationUi();
-            }
-        });
-
-        viewModel.getTotalPages().observe(getViewLifecycleOwner(), new Observer<Integer>() {
-            @Override
-            public void onChanged(Integer totalPages) {
-                updatePaginationUi();
-            }
-        });
-
-        if (buttonPrevious != null) {
-            buttonPrevious.setOnClickListener(v -> {
-                Integer currentPage = viewModel.getCurrentPage().getValue();
-                if (currentPage != null && currentPage > 1) {
-                    viewModel.loadTheses(currentPage - 1);
-                }
-            });
-        }
-
-        if (buttonNext != null) {
-            buttonNext.setOnClickListener(v -> {
-                Integer currentPage = viewModel.getCurrentPage().getValue();
-                Integer totalPages = viewModel.getTotalPages().getValue();
-                if (currentPage != null && totalPages != null && currentPage < totalPages) {
-                    viewModel.loadTheses(currentPage + 1);
-                }
-            });
-        }
+        // Pages that failed while the view was gone are requested again
+        viewModel.retry();
     }
 
-    private void updatePaginationUi() {
-        Integer currentPage = viewModel.getCurrentPage().getValue();
-        Integer totalPages = viewModel.getTotalPages().getValue();
-        int safeCurrentPage = currentPage != null ? currentPage : 1;
-        int safeTotalPages = totalPages != null ? totalPages : 1;
-
-        if (textPageIndicator != null) {
-            textPageIndicator.setText(getString(
-                R.string.thesis_page_indicator,
-                safeCurrentPage,
-                safeTotalPages
-            ));
-        }
-        if (buttonPrevious != null) {
-            buttonPrevious.setEnabled(safeCurrentPage > 1);
-        }
-        if (buttonNext != null) {
-            buttonNext.setEnabled(safeCurrentPage < safeTotalPages);
+    private void reportVisibleRange() {
+        if (recyclerView == null || viewModel == null) {
+            return;
         }
+        viewModel.onVisibleRange(
+                layoutManager.findFirstVisibleItemPosition(),
+                layoutManager.findLastVisibleItemPosition()
+        );
     }
 }
@@ -6,17 +6,32 @@ import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 import com.example.betreuer_app.R;
 import com.example.betreuer_app.model.SubjectAreaResponse;
 import com.example.betreuer_app.model.TutorProfileResponse;
-import java.util.List;
-import java.util.Random;
+import com.example.betreuer_app.util.StableIds;
+import java.util.Objects;
 
-public class TutorListAdapter extends RecyclerView.Adapter<TutorListAdapter.TutorViewHolder> {
+public class TutorListAdapter extends ListAdapter<TutorProfileResponse, TutorListAdapter.TutorViewHolder> {
 
-    private List<TutorProfileResponse> tutorList;
-    private OnItemClickListener listener;
+    static final DiffUtil.ItemCallback<TutorProfileResponse> DIFF_CALLBACK = new DiffUtil.ItemCallback<TutorProfileResponse>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull TutorProfileResponse oldItem, @NonNull TutorProfileResponse newItem) {
+            return Objects.equals(oldItem.getId(), newItem.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull TutorProfileResponse oldItem, @NonNull TutorProfileResponse newItem) {
+            return Objects.equals(oldItem.getFirstName(), newItem.getFirstName())
+                    && Objects.equals(oldItem.getLastName(), newItem.getLastName())
+                    && Objects.equals(subjectAreaTitles(oldItem), subjectAreaTitles(newItem));
+        }
+    };
+
+    private final OnItemClickListener listener;
     
     // Array of colors for avatar backgrounds
     private final int[] avatarColors = {
@@ -30,9 +45,15 @@ public class TutorListAdapter extends RecyclerView.Adapter<TutorListAdapter.Tuto
         void onItemClick(TutorProfileResponse tutor);
     }
 
-    public TutorListAdapter(List<TutorProfileResponse> tutorList, OnItemClickListener listener) {
-        this.tutorList = tutorList;
+    public TutorListAdapter(OnItemClickListener listener) {
+        super(DIFF_CALLBACK);
         this.listener = listener;
+        setHasStableIds(true);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return StableIds.of(getItem(position).getId());
     }
 
     @NonNull
@@ -44,23 +65,14 @@ public class TutorListAdapter extends RecyclerView.Adapter<TutorListAdapter.Tuto
 
     @Override
     public void onBindViewHolder(@NonNull TutorViewHolder holder, int position) {
-        TutorProfileResponse tutor = tutorList.get(position);
+        TutorProfileResponse tutor = getItem(position);
         
         String firstName = tutor.getFirstName() != null ? tutor.getFirstName() : "";
         String lastName = tutor.getLastName() != null ? tutor.getLastName() : "";
         String fullName = firstName + " " + lastName;
         holder.textViewName.setText(fullName.trim());
 
-        StringBuilder specializations = new StringBuilder();
-        if (tutor.getSubjectAreas() != null) {
-            for (SubjectAreaResponse subjectArea : tutor.getSubjectAreas()) {
-                if (specializations.length() > 0) {
-                    specializations.append(", ");
-                }
-                specializations.append(subjectArea.getTitle());
-            }
-        }
-        holder.textViewSpecialization.setText(specializations.toString());
+        holder.textViewSpecialization.setText(subjectAreaTitles(tutor));
         
         // Hide status indicator for now as it's not in the API response
         holder.statusIndicator.setVisibility(View.GONE);
@@ -93,9 +105,17 @@ public class TutorListAdapter extends RecyclerView.Adapter<TutorListAdapter.Tuto
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return tutorList.size();
+    private static String subjectAreaTitles(TutorProfileResponse tutor) {
+        StringBuilder specializations = new StringBuilder();
+        if (tutor.getSubjectAreas() != null) {
+            for (SubjectAreaResponse subjectArea : tutor.getSubjectAreas()) {
+                if (specializations.length() > 0) {
+                    specializations.append(", ");
+                }
+                specializations.append(subjectArea.getTitle());
+            }
+        }
+        return specializations.toString();
     }
 
     public static class TutorViewHolder extends RecyclerView.ViewHolder {
@@ -0,0 +1,84 @@
+package com.example.betreuer_app.util;
+
+import android.os.SystemClock;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Thread-safe, size-bounded in-memory cache. The least recently used entry is
+ * evicted when the cache is full, and entries older than the time-to-live are
+ * treated as missing.
+ */
+public class ExpiringLruCache<K, V> {
+
+    private static final class Entry<V> {
+        final V value;
+        final long storedAt;
+
+        Entry(V value, long storedAt) {
+            this.value = value;
+            this.storedAt = storedAt;
+        }
+    }
+
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    public ExpiringLruCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, SystemClock::elapsedRealtime);
+    }
+
+    ExpiringLruCache(int maxSize, long ttlMillis, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        // Access order: get() moves an entry to the end, so the eldest one is the least recently used
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value, or null if there is none or it has expired.
+     */
+    public synchronized V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (clock.getAsLong() - entry.storedAt >= ttlMillis) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        if (key == null || value == null) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, clock.getAsLong()));
+    }
+
+    public synchronized void remove(K key) {
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
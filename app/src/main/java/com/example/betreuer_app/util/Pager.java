@@ -0,0 +1,325 @@
+package com.example.betreuer_app.util;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Paging engine for list endpoints taking {@code page} and {@code pageSize}.
+ *
+ * Items keep their absolute position in the full list: pages that are not loaded
+ * (yet, or any more) show up as null placeholders, so the list never jumps while
+ * pages come and go. The screen reports its visible range via {@link #onVisibleRange};
+ * the pages within {@code prefetchDistance} items of it are loaded, a page is never
+ * requested twice at the same time, and only {@code maxPages} pages are kept in memory,
+ * dropping the ones farthest from the visible range first.
+ *
+ * Must be used from the main thread.
+ */
+public class Pager<R, T> {
+
+    /**
+     * Loads one page ({@code page} starts at 1), e.g. a cache-first repository query.
+     * A {@link Resource#loading} value carrying data is shown until the final value arrives.
+     */
+    public interface PageSource<R> {
+        LiveData<Resource<R>> load(int page, int pageSize);
+    }
+
+    private final PageSource<R> source;
+    private final Function<R, List<T>> itemsOf;
+    private final ToIntFunction<R> totalCountOf;
+    private final int pageSize;
+    private final int prefetchDistance;
+    private final int maxPages;
+
+    private final MutableLiveData<Snapshot<T>> snapshot;
+    private final MutableLiveData<Resource<Integer>> loadState = new MutableLiveData<>();
+    private final TreeMap<Integer, List<T>> pages = new TreeMap<>();
+    private final Map<Integer, LiveData<Resource<R>>> inFlight = new HashMap<>();
+    private final Map<Integer, Observer<Resource<R>>> observers = new HashMap<>();
+    // Not requested again on scrolling until another page loads, a retry or a refresh
+    private final Set<Integer> failed = new HashSet<>();
+    private int totalCount = -1;
+    private int firstVisible;
+    private int lastVisible;
+
+    /**
+     * @param prefetchDistance how many items before the end of the loaded range the next page is requested
+     * @param maxPages         how many pages are kept in memory at most; at least 3
+     */
+    public Pager(PageSource<R> source, Function<R, List<T>> itemsOf, ToIntFunction<R> totalCountOf,
+                 int pageSize, int prefetchDistance, int maxPages) {
+        this.source = source;
+        this.itemsOf = itemsOf;
+        this.totalCountOf = totalCountOf;
+        this.pageSize = pageSize;
+        this.prefetchDistance = prefetchDistance;
+        this.maxPages = Math.max(3, maxPages);
+        this.snapshot = new MutableLiveData<>(new Snapshot<>(pageSize, 0, Collections.emptyMap()));
+    }
+
+    public LiveData<Snapshot<T>> getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Loading while a page is requested, then success or error, each carrying the
+     * zero-based page number.
+     */
+    public LiveData<Resource<Integer>> getLoadState() {
+        return loadState;
+    }
+
+    /**
+     * Position of the first visible item as last reported, e.g. to restore the scroll position.
+     */
+    public int getFirstVisiblePosition() {
+        return firstVisible;
+    }
+
+    /**
+     * Loads the page at the last reported position unless something is loaded or loading.
+     */
+    public void start() {
+        if (pages.isEmpty() && inFlight.isEmpty()) {
+            load(pageOf(firstVisible));
+        }
+    }
+
+    /**
+     * Requests the pages that failed again, or the page at the last reported position
+     * if nothing is loaded or loading, e.g. after the first page failed.
+     */
+    public void retry() {
+        failed.clear();
+        if (pages.isEmpty() && inFlight.isEmpty()) {
+            load(pageOf(firstVisible));
+        } else {
+            onVisibleRange(firstVisible, lastVisible);
+        }
+    }
+
+    /**
+     * Drops every page and reloads the one at the last reported position.
+     */
+    public void refresh() {
+        cancel();
+        pages.clear();
+        failed.clear();
+        totalCount = -1;
+        publish();
+        load(pageOf(firstVisible));
+    }
+
+    /**
+     * Reports the visible range; loads the pages needed around it.
+     */
+    public void onVisibleRange(int first, int last) {
+        if (first < 0 || last < first) {
+            return;
+        }
+        firstVisible = first;
+        lastVisible = last;
+
+        int lastPage = lastPage();
+        int fromPage = pageOf(Math.max(0, first - prefetchDistance));
+        int toPage = Math.min(lastPage, pageOf(last + prefetchDistance));
+        for (int page = fromPage; page <= toPage; page++) {
+            if (!pages.containsKey(page) && !inFlight.containsKey(page) && !failed.contains(page)) {
+                load(page);
+            }
+        }
+    }
+
+    /**
+     * Stops observing all running page loads.
+     */
+    public void cancel() {
+        for (Map.Entry<Integer, LiveData<Resource<R>>> entry : inFlight.entrySet()) {
+            entry.getValue().removeObserver(observers.get(entry.getKey()));
+        }
+        inFlight.clear();
+        observers.clear();
+    }
+
+    private void load(int page) {
+        // Pages are zero-based here and one-based at the endpoint
+        LiveData<Resource<R>> data = source.load(page + 1, pageSize);
+        Observer<Resource<R>> observer = resource -> onPageResource(page, resource);
+        inFlight.put(page, data);
+        observers.put(page, observer);
+        loadState.setValue(Resource.loading(page));
+        data.observeForever(observer);
+    }
+
+    private void onPageResource(int page, Resource<R> resource) {
+        if (resource == null) {
+            return;
+        }
+        if (resource.isLoading()) {
+            // Show the stored copy while the fresh page is on its way
+            if (resource.getData() != null && !pages.containsKey(page)) {
+                apply(page, resource.getData());
+            }
+            return;
+        }
+
+        LiveData<Resource<R>> data = inFlight.remove(page);
+        Observer<Resource<R>> observer = observers.remove(page);
+        if (data != null && observer != null) {
+            data.removeObserver(observer);
+        }
+
+        if (resource.getData() != null) {
+            apply(page, resource.getData());
+        }
+        if (resource.isError()) {
+            failed.add(page);
+            loadState.setValue(Resource.error(resource.getMessage(), page, resource.getCode()));
+        } else {
+            failed.clear();
+            if (inFlight.isEmpty()) {
+                loadState.setValue(Resource.success(page));
+            }
+        }
+    }
+
+    private void apply(int page, R body) {
+        List<T> items = itemsOf.apply(body);
+        pages.put(page, items != null ? Collections.unmodifiableList(new ArrayList<>(items)) : Collections.emptyList());
+        int reportedTotal = totalCountOf.applyAsInt(body);
+        if (reportedTotal >= 0) {
+            totalCount = reportedTotal;
+        }
+        evictFarPages();
+        publish();
+    }
+
+    private void evictFarPages() {
+        int centre = pageOf((firstVisible + lastVisible) / 2);
+        while (pages.size() > maxPages) {
+            int first = pages.firstKey();
+            int last = pages.lastKey();
+            pages.remove(Math.abs(centre - first) >= Math.abs(last - centre) ? first : last);
+        }
+    }
+
+    private void publish() {
+        int size = Math.max(totalCount, 0);
+        if (!pages.isEmpty()) {
+            // Guards against a total that is smaller than what the server actually returned
+            Map.Entry<Integer, List<T>> last = pages.lastEntry();
+            size = Math.max(size, last.getKey() * pageSize + last.getValue().size());
+        }
+        snapshot.setValue(new Snapshot<>(pageSize, size, new TreeMap<>(pages)));
+    }
+
+    private int lastPage() {
+        if (totalCount < 0) {
+            return 0;
+        }
+        return Math.max(0, (totalCount - 1) / pageSize);
+    }
+
+    private int pageOf(int position) {
+        return position / pageSize;
+    }
+
+    /**
+     * Immutable view of the list with placeholders (null) for pages that are not loaded.
+     */
+    public static final class Snapshot<T> {
+        private final int pageSize;
+        private final int size;
+        private final Map<Integer, List<T>> pages;
+
+        Snapshot(int pageSize, int size, Map<Integer, List<T>> pages) {
+            this.pageSize = pageSize;
+            this.size = size;
+            this.pages = Collections.unmodifiableMap(pages);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the item at {@code position}, or null while its page is not loaded.
+         */
+        public T get(int position) {
+            List<T> page = pages.get(position / pageSize);
+            int index = position % pageSize;
+            return page != null && index < page.size() ? page.get(index) : null;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Notifies {@code adapter} of the changes from {@code previous} to this snapshot:
+         * rows added or removed at the end and the rows of pages that were loaded or dropped.
+         *
+         * @param diff compares the rows of a reloaded page, so only rows that actually changed
+         *             are bound again; null treats every row of the page as changed
+         */
+        public void dispatchUpdatesTo(Snapshot<T> previous, RecyclerView.Adapter<?> adapter, DiffUtil.ItemCallback<T> diff) {
+            if (previous == null || previous.size == 0) {
+                if (size > 0) {
+                    adapter.notifyItemRangeInserted(0, size);
+                }
+                return;
+            }
+            if (size > previous.size) {
+                adapter.notifyItemRangeInserted(previous.size, size - previous.size);
+            } else if (size < previous.size) {
+                adapter.notifyItemRangeRemoved(size, previous.size - size);
+            }
+
+            int common = Math.min(size, previous.size);
+            TreeSet<Integer> pageNumbers = new TreeSet<>(pages.keySet());
+            pageNumbers.addAll(previous.pages.keySet());
+            for (int page : pageNumbers) {
+                if (pages.get(page) == previous.pages.get(page)) {
+                    continue;
+                }
+                int start = page * pageSize;
+                int end = Math.min(start + pageSize, common);
+                int runStart = -1;
+                for (int position = start; position <= end; position++) {
+                    boolean changed = position < end && isChanged(previous.get(position), get(position), diff);
+                    if (changed && runStart < 0) {
+                        runStart = position;
+                    } else if (!changed && runStart >= 0) {
+                        adapter.notifyItemRangeChanged(runStart, position - runStart);
+                        runStart = -1;
+                    }
+                }
+            }
+        }
+
+        private static <T> boolean isChanged(T oldItem, T newItem, DiffUtil.ItemCallback<T> diff) {
+            if (oldItem == null || newItem == null) {
+                return oldItem != newItem;
+            }
+            return diff == null
+                    || !diff.areItemsTheSame(oldItem, newItem)
+                    || !diff.areContentsTheSame(oldItem, newItem);
+        }
+    }
+}
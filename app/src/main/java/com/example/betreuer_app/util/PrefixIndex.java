@@ -0,0 +1,130 @@
+package com.example.betreuer_app.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable in-memory index that answers "which items have a word starting with
+ * this text" for autocomplete.
+ *
+ * Every word start of an item's label is stored as a folded key in one sorted
+ * array, so a lookup is a binary search for the first key with the query as prefix
+ * followed by a scan over the matching keys. Folding ignores case and diacritics,
+ * so "uber" finds "Über" and "Ubersetzung" finds "Übersetzung".
+ */
+public final class PrefixIndex<T> {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final class Key implements Comparable<Key> {
+        final String folded;
+        final int item;
+
+        Key(String folded, int item) {
+            this.folded = folded;
+            this.item = item;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int result = folded.compareTo(other.folded);
+            // Equal keys keep the order of the source list
+            return result != 0 ? result : Integer.compare(item, other.item);
+        }
+    }
+
+    private final List<T> items;
+    private final Key[] keys;
+
+    private PrefixIndex(List<T> items, Key[] keys) {
+        this.items = items;
+        this.keys = keys;
+    }
+
+    /**
+     * Indexes {@code items} by the label returned for each; items without a label are skipped.
+     */
+    public static <T> PrefixIndex<T> build(List<T> items, Function<T, String> label) {
+        List<T> copy = Collections.unmodifiableList(new ArrayList<>(items));
+        List<Key> keys = new ArrayList<>();
+        for (int i = 0; i < copy.size(); i++) {
+            String text = label.apply(copy.get(i));
+            if (text == null) {
+                continue;
+            }
+            String folded = fold(text);
+            for (int start = 0; start < folded.length(); start++) {
+                boolean wordStart = start == 0 || !Character.isLetterOrDigit(folded.charAt(start - 1));
+                if (wordStart && Character.isLetterOrDigit(folded.charAt(start))) {
+                    keys.add(new Key(folded.substring(start), i));
+                }
+            }
+        }
+        Key[] sorted = keys.toArray(new Key[0]);
+        Arrays.sort(sorted);
+        return new PrefixIndex<>(copy, sorted);
+    }
+
+    /**
+     * Lower-cases {@code text}, strips diacritics and collapses whitespace.
+     */
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = COMBINING_MARKS.matcher(decomposed).replaceAll("");
+        return stripped.toLowerCase(Locale.ROOT)
+                .replace("ß", "ss")
+                .trim()
+                .replaceAll("\\s+", " ");
+    }
+
+    /**
+     * Returns up to {@code limit} items with a word starting with {@code query}, in the
+     * order of the source list. An empty query matches every item.
+     */
+    public List<T> search(String query, int limit) {
+        String prefix = query != null ? fold(query) : "";
+        if (prefix.isEmpty()) {
+            return items.subList(0, Math.min(limit, items.size()));
+        }
+
+        // Items can match several times (once per word), so collect them before ordering
+        Map<T, Integer> matches = new IdentityHashMap<>();
+        for (int i = lowerBound(prefix); i < keys.length && keys[i].folded.startsWith(prefix); i++) {
+            matches.put(items.get(keys[i].item), keys[i].item);
+        }
+        List<Integer> positions = new ArrayList<>(matches.values());
+        Collections.sort(positions);
+
+        List<T> result = new ArrayList<>(Math.min(limit, positions.size()));
+        for (int i = 0; i < positions.size() && result.size() < limit; i++) {
+            result.add(items.get(positions.get(i)));
+        }
+        return result;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].folded.compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
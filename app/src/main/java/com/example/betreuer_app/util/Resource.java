@@ -17,11 +17,17 @@ public class Resource<T> {
     private final Status status;
     private final T data;
     private final String message;
+    private final int code;
 
     private Resource(Status status, T data, String message) {
+        this(status, data, message, 0);
+    }
+
+    private Resource(Status status, T data, String message, int code) {
         this.status = status;
         this.data = data;
         this.message = message;
+        this.code = code;
     }
 
     public static <T> Resource<T> success(T data) {
@@ -32,6 +38,13 @@ public class Resource<T> {
         return new Resource<>(Status.ERROR, data, message);
     }
 
+    /**
+     * Error caused by an unsuccessful HTTP response with the given status code.
+     */
+    public static <T> Resource<T> error(String message, T data, int code) {
+        return new Resource<>(Status.ERROR, data, message, code);
+    }
+
     public static <T> Resource<T> loading(T data) {
         return new Resource<>(Status.LOADING, data, null);
     }
@@ -48,6 +61,13 @@ public class Resource<T> {
         return message;
     }
 
+    /**
+     * Returns the HTTP status code of a failed response, or 0 if no response was received.
+     */
+    public int getCode() {
+        return code;
+    }
+
     public boolean isSuccess() {
         return status == Status.SUCCESS;
     }
@@ -0,0 +1,36 @@
+package com.example.betreuer_app.util;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+
+import java.util.function.Consumer;
+
+/**
+ * Helpers for {@link LiveData} carrying a {@link Resource}.
+ */
+public final class ResourceLiveData {
+
+    private ResourceLiveData() {
+    }
+
+    /**
+     * Hands the first value of {@code source} that is no longer loading to {@code consumer}
+     * and stops observing. Must be called on the main thread.
+     *
+     * @return stops observing early, e.g. when the caller no longer needs the value
+     */
+    public static <T> Runnable whenReady(LiveData<Resource<T>> source, Consumer<Resource<T>> consumer) {
+        Observer<Resource<T>> observer = new Observer<Resource<T>>() {
+            @Override
+            public void onChanged(Resource<T> resource) {
+                if (resource == null || resource.isLoading()) {
+                    return;
+                }
+                source.removeObserver(this);
+                consumer.accept(resource);
+            }
+        };
+        source.observeForever(observer);
+        return () -> source.removeObserver(observer);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.betreuer_app.util;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import retrofit2.Call;
+
+/**
+ * Turns the queries of a search field into results that always belong to the latest query.
+ *
+ * Queries submitted with {@link #submit} are debounced, and a query equal to the one
+ * already shown is ignored. Starting a query cancels the request of the one it
+ * supersedes, and an answer that still arrives for an older query is dropped. While a
+ * query is running the results hold {@link Resource#loading} with the previous data,
+ * so lists need not be cleared in between.
+ *
+ * Must be used from the main thread.
+ */
+public class SearchPipeline<Q, R> {
+
+    /**
+     * Looks up the results for one query.
+     */
+    public interface Source<Q, R> {
+        /**
+         * Starts the lookup and hands its result to {@code callback} on the main thread,
+         * possibly before returning.
+         *
+         * @return the request to cancel if the query is superseded, or null if there is none
+         */
+        Call<?> search(Q query, Consumer<Resource<R>> callback);
+    }
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final MutableLiveData<Resource<R>> results = new MutableLiveData<>();
+    private final long debounceMillis;
+    private final Source<Q, R> source;
+    private final Runnable debounced = this::startPending;
+
+    private Q pending;
+    private Q current;
+    private boolean started;
+    private int generation;
+    private int answeredGeneration;
+    private Call<?> inFlight;
+
+    public SearchPipeline(long debounceMillis, Source<Q, R> source) {
+        this.debounceMillis = debounceMillis;
+        this.source = source;
+    }
+
+    public LiveData<Resource<R>> getResults() {
+        return results;
+    }
+
+    /**
+     * Runs {@code query} once no further query was submitted for the debounce delay.
+     */
+    public void submit(Q query) {
+        pending = query;
+        handler.removeCallbacks(debounced);
+        handler.postDelayed(debounced, debounceMillis);
+    }
+
+    /**
+     * Runs {@code query} without waiting, e.g. after a filter was picked.
+     */
+    public void submitNow(Q query) {
+        pending = query;
+        handler.removeCallbacks(debounced);
+        startPending();
+    }
+
+    /**
+     * Runs the latest query again, e.g. after it failed.
+     */
+    public void refresh() {
+        if (started) {
+            handler.removeCallbacks(debounced);
+            start(current);
+        }
+    }
+
+    /**
+     * Whether a query has been started, e.g. to skip the initial load after a rotation.
+     */
+    public boolean hasStarted() {
+        return started;
+    }
+
+    /**
+     * Drops the pending query and cancels the running one.
+     */
+    public void cancel() {
+        handler.removeCallbacks(debounced);
+        generation++;
+        cancelInFlight();
+    }
+
+    private void startPending() {
+        if (started && Objects.equals(pending, current)) {
+            return;
+        }
+        start(pending);
+    }
+
+    private void start(Q query) {
+        cancelInFlight();
+        current = query;
+        started = true;
+        int queryGeneration = ++generation;
+
+        Resource<R> previous = results.getValue();
+        results.setValue(Resource.loading(previous != null ? previous.getData() : null));
+
+        Call<?> call = source.search(query, resource -> {
+            if (queryGeneration != generation) {
+                // Superseded by a newer query
+                return;
+            }
+            answeredGeneration = queryGeneration;
+            inFlight = null;
+            results.setValue(resource);
+        });
+        if (queryGeneration == generation && answeredGeneration != queryGeneration) {
+            inFlight = call;
+        }
+    }
+
+    private void cancelInFlight() {
+        if (inFlight != null) {
+            inFlight.cancel();
+            inFlight = null;
+        }
+    }
+}
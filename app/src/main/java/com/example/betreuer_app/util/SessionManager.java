@@ -3,7 +3,15 @@ package com.example.betreuer_app.util;
 import android.content.Context;
 import android.content.SharedPreferences;
 
+import com.example.betreuer_app.api.ApiClient;
+import com.example.betreuer_app.api.SessionExpiryNotifier;
 import com.example.betreuer_app.constants.AuthConstants;
+import com.example.betreuer_app.local.DocumentCache;
+import com.example.betreuer_app.local.EntityStore;
+import com.example.betreuer_app.repository.ProfileCache;
+import com.example.betreuer_app.repository.RequestIndex;
+import com.example.betreuer_app.repository.TutorDirectory;
+import com.example.betreuer_app.sync.MutationOutbox;
 
 /**
  * Centralized session management for authentication and user data.
@@ -13,12 +21,14 @@ public class SessionManager {
     private static final String TAG = "SessionManager";
     private final SharedPreferences sharedPreferences;
     private final SharedPreferences.Editor editor;
+    private final Context context;
 
     // Additional keys not in AuthConstants
     private static final String KEY_EMAIL = "email";
     private static final String KEY_IS_LOGGED_IN = "is_logged_in";
 
     public SessionManager(Context context) {
+        this.context = context;
         this.sharedPreferences = context.getSharedPreferences(AuthConstants.PREFS_NAME, Context.MODE_PRIVATE);
         this.editor = sharedPreferences.edit();
     }
@@ -27,12 +37,29 @@ public class SessionManager {
      * Save user session after successful login
      */
     public void saveUserSession(String token, String userId, String email, String role) {
+        String previousUserId = getUserId();
+        if (previousUserId != null && !previousUserId.equals(userId)) {
+            // Someone else logs in after the last session expired
+            discardLocalData();
+        }
         editor.putString(AuthConstants.KEY_JWT_TOKEN, token);
         editor.putString(AuthConstants.KEY_USER_ID, userId);
         editor.putString(KEY_EMAIL, email);
         editor.putString(AuthConstants.KEY_USER_ROLE, role);
         editor.putBoolean(KEY_IS_LOGGED_IN, true);
         editor.apply();
+        SessionTokenCache.update(token);
+        SessionExpiryNotifier.reset();
+        MutationOutbox.resume();
+    }
+
+    /**
+     * Replace the authentication token after a successful re-authentication
+     */
+    public void updateToken(String token) {
+        editor.putString(AuthConstants.KEY_JWT_TOKEN, token);
+        editor.apply();
+        SessionTokenCache.update(token);
     }
 
     /**
@@ -76,6 +103,30 @@ public class SessionManager {
     public void clearSession() {
         editor.clear();
         editor.apply();
+        SessionTokenCache.clear();
+        discardLocalData();
+    }
+
+    /**
+     * End a session whose token expired or was rejected. Unlike {@link #clearSession()} the
+     * user ID and local data are kept, so changes still queued in the outbox are sent once
+     * the same user logs in again. They are dropped if a different user logs in.
+     */
+    public void expireSession() {
+        editor.remove(AuthConstants.KEY_JWT_TOKEN);
+        editor.putBoolean(KEY_IS_LOGGED_IN, false);
+        editor.apply();
+        SessionTokenCache.clear();
+    }
+
+    private void discardLocalData() {
+        ApiClient.evictHttpCache();
+        MutationOutbox.discardAll();
+        ProfileCache.getInstance().clear();
+        RequestIndex.getInstance().clear();
+        TutorDirectory.discard();
+        EntityStore.clearAll(context);
+        DocumentCache.clearAll(context);
     }
 
     /**
@@ -0,0 +1,84 @@
+package com.example.betreuer_app.util;
+
+import android.content.Context;
+
+import com.example.betreuer_app.constants.AuthConstants;
+
+/**
+ * In-memory holder for the current JWT.
+ * Keeps the token and the precomputed "Bearer ..." header in one immutable
+ * snapshot so OkHttp threads can read it without locks or SharedPreferences lookups.
+ * {@link SessionManager} keeps it in sync on login and logout.
+ */
+public final class SessionTokenCache {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final Snapshot EMPTY = new Snapshot(null);
+
+    // null means "not loaded yet"; EMPTY means "loaded, no token"
+    private static volatile Snapshot snapshot = null;
+
+    private SessionTokenCache() {
+    }
+
+    /**
+     * Immutable token/header pair.
+     */
+    private static final class Snapshot {
+        final String token;
+        final String authorizationHeader;
+
+        Snapshot(String token) {
+            this.token = token;
+            this.authorizationHeader = token != null ? BEARER_PREFIX + token : null;
+        }
+    }
+
+    /**
+     * Stores a new token (null clears it).
+     */
+    public static synchronized void update(String token) {
+        snapshot = token != null ? new Snapshot(token) : EMPTY;
+    }
+
+    /**
+     * Drops the cached token, e.g. on logout.
+     */
+    public static synchronized void clear() {
+        snapshot = EMPTY;
+    }
+
+    /**
+     * Returns the current token, loading it from SharedPreferences on first access.
+     */
+    public static String getToken(Context context) {
+        return current(context).token;
+    }
+
+    /**
+     * Returns the "Bearer ..." header value, or null if no user is logged in.
+     */
+    public static String getAuthorizationHeader(Context context) {
+        return current(context).authorizationHeader;
+    }
+
+    private static Snapshot current(Context context) {
+        Snapshot s = snapshot;
+        if (s != null) {
+            return s;
+        }
+        return load(context);
+    }
+
+    private static synchronized Snapshot load(Context context) {
+        if (snapshot == null) {
+            if (context == null) {
+                return EMPTY;
+            }
+            String token = context.getSharedPreferences(AuthConstants.PREFS_NAME, Context.MODE_PRIVATE)
+                    .getString(AuthConstants.KEY_JWT_TOKEN, null);
+            snapshot = token != null ? new Snapshot(token) : EMPTY;
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.betreuer_app.util;
+
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.UUID;
+
+/**
+ * Stable RecyclerView item ids derived from entity UUIDs, so a row keeps its
+ * view (and running animations) when the list around it changes.
+ */
+public final class StableIds {
+
+    private StableIds() {
+    }
+
+    /**
+     * Folds the UUID into a long; {@link RecyclerView#NO_ID} for null.
+     */
+    public static long of(UUID id) {
+        if (id == null) {
+            return RecyclerView.NO_ID;
+        }
+        long folded = id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+        // NO_ID is reserved for items without an id
+        return folded == RecyclerView.NO_ID ? 0 : folded;
+    }
+}
@@ -0,0 +1,269 @@
+package com.example.betreuer_app.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Immutable full-text index with typo tolerance for small local directories.
+ *
+ * Every item contributes the words of a few weighted fields (e.g. last name, first name).
+ * A query matches an item when each query word matches one of the item's words:
+ * exactly, as a prefix, or - from four characters on - within one or two typos, found
+ * through an index of the words' leading trigrams. Results are ranked by match quality
+ * times field weight, summed over the query words. Words are folded like in
+ * {@link PrefixIndex}, so case and diacritics do not matter.
+ */
+public final class TextSearchIndex<T> {
+
+    /**
+     * Receives the searchable texts of one item.
+     */
+    public interface Fields {
+        void add(String text, float weight);
+    }
+
+    static final float EXACT_MATCH = 1f;
+    static final float PREFIX_MATCH = 0.75f;
+    static final float FUZZY_MATCH = 0.5f;
+
+    private static final String PADDING = "^^";
+
+    private final List<T> items;
+    // Distinct words in sorted order, with the items containing them and the field weight there
+    private final String[] words;
+    private final int[][] postings;
+    private final float[][] weights;
+    private final Map<String, int[]> wordsByTrigram;
+
+    private TextSearchIndex(List<T> items, String[] words, int[][] postings, float[][] weights,
+                            Map<String, int[]> wordsByTrigram) {
+        this.items = items;
+        this.words = words;
+        this.postings = postings;
+        this.weights = weights;
+        this.wordsByTrigram = wordsByTrigram;
+    }
+
+    /**
+     * Indexes {@code items} with the fields {@code describe} reports for each.
+     */
+    public static <T> TextSearchIndex<T> build(List<T> items, BiConsumer<T, Fields> describe) {
+        List<T> copy = Collections.unmodifiableList(new ArrayList<>(items));
+        // Word -> item -> highest weight of a field containing the word
+        TreeMap<String, Map<Integer, Float>> byWord = new TreeMap<>();
+        for (int i = 0; i < copy.size(); i++) {
+            int item = i;
+            describe.accept(copy.get(i), (text, weight) -> {
+                if (text == null) {
+                    return;
+                }
+                for (String word : tokenize(text)) {
+                    byWord.computeIfAbsent(word, w -> new HashMap<>()).merge(item, weight, Math::max);
+                }
+            });
+        }
+
+        String[] words = byWord.keySet().toArray(new String[0]);
+        int[][] postings = new int[words.length][];
+        float[][] weights = new float[words.length][];
+        Map<String, List<Integer>> trigrams = new HashMap<>();
+        for (int w = 0; w < words.length; w++) {
+            Map<Integer, Float> occurrences = byWord.get(words[w]);
+            Integer[] sortedItems = occurrences.keySet().toArray(new Integer[0]);
+            Arrays.sort(sortedItems);
+            postings[w] = new int[sortedItems.length];
+            weights[w] = new float[sortedItems.length];
+            for (int k = 0; k < sortedItems.length; k++) {
+                postings[w][k] = sortedItems[k];
+                weights[w][k] = occurrences.get(sortedItems[k]);
+            }
+            for (String trigram : leadingTrigrams(words[w])) {
+                trigrams.computeIfAbsent(trigram, t -> new ArrayList<>()).add(w);
+            }
+        }
+
+        Map<String, int[]> wordsByTrigram = new HashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : trigrams.entrySet()) {
+            int[] wordIndexes = new int[entry.getValue().size()];
+            for (int k = 0; k < wordIndexes.length; k++) {
+                wordIndexes[k] = entry.getValue().get(k);
+            }
+            wordsByTrigram.put(entry.getKey(), wordIndexes);
+        }
+        return new TextSearchIndex<>(copy, words, postings, weights, wordsByTrigram);
+    }
+
+    /**
+     * Returns up to {@code limit} items that match every word of {@code query} and pass
+     * {@code filter}, best matches first. An empty query returns the items in source order.
+     */
+    public List<T> search(String query, Predicate<T> filter, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query != null ? query : ""));
+        List<T> result = new ArrayList<>();
+        if (terms.isEmpty()) {
+            for (T item : items) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                if (filter == null || filter.test(item)) {
+                    result.add(item);
+                }
+            }
+            return result;
+        }
+
+        float[] scores = new float[items.size()];
+        int[] matchedTerms = new int[items.size()];
+        for (String term : terms) {
+            float[] termScores = scoreTerm(term);
+            for (int i = 0; i < termScores.length; i++) {
+                if (termScores[i] > 0) {
+                    scores[i] += termScores[i];
+                    matchedTerms[i]++;
+                }
+            }
+        }
+
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (matchedTerms[i] == terms.size() && (filter == null || filter.test(items.get(i)))) {
+                matches.add(i);
+            }
+        }
+        // Best score first; equal scores keep the source order
+        matches.sort((a, b) -> scores[a] != scores[b] ? Float.compare(scores[b], scores[a]) : Integer.compare(a, b));
+        for (int i = 0; i < matches.size() && i < limit; i++) {
+            result.add(items.get(matches.get(i)));
+        }
+        return result;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Returns, per item, the best score any of its words reaches for {@code term}.
+     */
+    private float[] scoreTerm(String term) {
+        float[] best = new float[items.size()];
+        for (int w = lowerBound(term); w < words.length && words[w].startsWith(term); w++) {
+            collect(best, w, words[w].length() == term.length() ? EXACT_MATCH : PREFIX_MATCH);
+        }
+
+        int maxEdits = maxEdits(term);
+        if (maxEdits > 0) {
+            Set<Integer> candidates = new LinkedHashSet<>();
+            for (String trigram : leadingTrigrams(term)) {
+                int[] wordIndexes = wordsByTrigram.get(trigram);
+                if (wordIndexes != null) {
+                    for (int w : wordIndexes) {
+                        candidates.add(w);
+                    }
+                }
+            }
+            for (int w : candidates) {
+                if (words[w].startsWith(term)) {
+                    continue;
+                }
+                int edits = prefixEditDistance(term, words[w], maxEdits);
+                if (edits <= maxEdits) {
+                    collect(best, w, FUZZY_MATCH * (1f - (float) edits / (term.length() + 1)));
+                }
+            }
+        }
+        return best;
+    }
+
+    private void collect(float[] best, int word, float quality) {
+        for (int k = 0; k < postings[word].length; k++) {
+            int item = postings[word][k];
+            best[item] = Math.max(best[item], quality * weights[word][k]);
+        }
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = words.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (words[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    static int maxEdits(String term) {
+        if (term.length() >= 7) {
+            return 2;
+        }
+        return term.length() >= 4 ? 1 : 0;
+    }
+
+    /**
+     * Returns the smallest edit distance between {@code term} and any prefix of {@code word},
+     * or {@code maxEdits + 1} once it is certain to exceed {@code maxEdits}.
+     */
+    static int prefixEditDistance(String term, String word, int maxEdits) {
+        int[] previous = new int[word.length() + 1];
+        int[] current = new int[word.length() + 1];
+        for (int j = 0; j <= word.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= term.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= word.length(); j++) {
+                int cost = term.charAt(i - 1) == word.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return maxEdits + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        int best = previous[0];
+        for (int value : previous) {
+            best = Math.min(best, value);
+        }
+        return best;
+    }
+
+    /**
+     * Returns the trigrams of the first characters of {@code word}, padded at the start so
+     * that words differing only later still share one.
+     */
+    private static List<String> leadingTrigrams(String word) {
+        String padded = PADDING + word;
+        List<String> trigrams = new ArrayList<>();
+        for (int i = 0; i + 3 <= padded.length() && i < 4; i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : PrefixIndex.fold(text).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -7,7 +7,10 @@ import com.example.betreuer_app.model.ThesisApiModel;
 import com.example.betreuer_app.model.ThesisStatusResponse;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 /**
  * Encapsulates the business logic for displaying thesis status based on user role,
@@ -17,11 +20,14 @@ import java.util.List;
  * - Whether to show a spinner or text view for status display
  * - Which status options are available to the user
  * - Whether status changes are allowed
+ *
+ * The rules come from {@link ThesisWorkflow}. All results are built once per context,
+ * so rendering a status in a list does not allocate.
  */
 public class ThesisStatusDisplayLogic {
 
     /**
-     * Result of status display logic computation
+     * Result of status display logic computation; immutable
      */
     public static class DisplayResult {
         private final DisplayMode displayMode;
@@ -34,7 +40,7 @@ public class ThesisStatusDisplayLogic {
                            String currentStatusText,
                            boolean spinnerEnabled) {
             this.displayMode = displayMode;
-            this.availableStatuses = availableStatuses;
+            this.availableStatuses = Collections.unmodifiableList(availableStatuses);
             this.currentStatusText = currentStatusText;
             this.spinnerEnabled = spinnerEnabled;
         }
@@ -73,8 +79,12 @@ public class ThesisStatusDisplayLogic {
         SPINNER     // Show spinner for status selection
     }
 
+    // Results for each context, built on first use; they keep no reference to it
+    private static final Map<Context, DisplayTable> TABLES = new WeakHashMap<>();
+
     /**
-     * Compute how to display the thesis status based on user role and thesis state
+     * Compute how to display the thesis status based on user role and thesis state.
+     * The result is shared between calls and must not be changed.
      *
      * @param context Android context for string resources
      * @param thesis The thesis to display
@@ -101,139 +111,89 @@ public class ThesisStatusDisplayLogic {
             currentStatus = "IN_DISCUSSION";
         }
 
-        boolean hasTutor = thesis.getTutorId() != null;
+        ThesisWorkflow.Role role = isStudent ? ThesisWorkflow.Role.STUDENT
+            : isTutor ? ThesisWorkflow.Role.TUTOR : ThesisWorkflow.Role.OTHER;
+        return tableFor(context).lookup(context, role, currentStatus,
+            ThesisWorkflow.hasTutor(thesis),
+            ThesisWorkflow.hasSecondSupervisor(thesis),
+            ThesisWorkflow.RequestState.of(hasSupervisionRequest, isSupervisionRequestAccepted));
+    }
 
-        if (isStudent) {
-            return computeStudentDisplay(context, currentStatus, hasTutor,
-                hasSupervisionRequest, isSupervisionRequestAccepted);
-        } else if (isTutor) {
-            boolean hasSecondSupervisor = thesis.getSecondSupervisorId() != null;
-            return computeTutorDisplay(context, currentStatus, hasSecondSupervisor);
+    private static DisplayTable tableFor(Context context) {
+        synchronized (TABLES) {
+            DisplayTable table = TABLES.get(context);
+            if (table == null) {
+                table = new DisplayTable(context);
+                TABLES.put(context, table);
+            }
+            return table;
         }
-
-        // Default fallback: show text view
-        return new DisplayResult(
-            DisplayMode.TEXT_VIEW,
-            new ArrayList<>(),
-            ThesisStatusHelper.translateStatus(context, currentStatus),
-            false
-        );
     }
 
     /**
-     * Compute display configuration for student users.
-     *
-     * This method determines the appropriate display settings based on the student's current status,
-     * whether they have a tutor, and the status of their supervision request. It handles different
-     * scenarios, such as when a supervision request has not been created, when a request is pending
-     * tutor assignment, and when the student has a tutor, providing the relevant status transitions
-     * for the user interface.
-     *
-     * @param context the context used to retrieve string resources
-     * @param currentStatus the current status of the student's thesis
-     * @param hasTutor indicates if the student has been assigned a tutor
-     * @param hasSupervisionRequest indicates if the student has created a supervision request
-     * @param isSupervisionRequestAccepted indicates if the supervision request has been accepted
+     * Every result a context can show, with its labels resolved once.
      */
-    private DisplayResult computeStudentDisplay(
-            Context context,
-            String currentStatus,
-            boolean hasTutor,
-            boolean hasSupervisionRequest,
-            boolean isSupervisionRequestAccepted) {
-
-        // Student has not created a supervision request yet
-        if (!hasSupervisionRequest) {
-            return new DisplayResult(
-                DisplayMode.TEXT_VIEW,
-                new ArrayList<>(),
-                context.getString(R.string.status_created),
-                false
-            );
-        }
+    private static final class DisplayTable {
+        private final DisplayResult created;
+        private final DisplayResult inCoordination;
+        private final DisplayResult[] textByStatus;
+        private final DisplayResult[][] spinnerByRoleAndStatus;
+
+        DisplayTable(Context context) {
+            created = text(context.getString(R.string.status_created));
+            inCoordination = text(context.getString(R.string.status_in_coordination));
+
+            ThesisWorkflow.Status[] statuses = ThesisWorkflow.Status.values();
+            textByStatus = new DisplayResult[statuses.length];
+            for (ThesisWorkflow.Status status : statuses) {
+                textByStatus[status.ordinal()] = text(ThesisStatusHelper.translateStatus(context, status.name()));
+            }
 
-        // Student has request but no tutor assigned yet
-        if (!isSupervisionRequestAccepted || !hasTutor) {
-            return new DisplayResult(
-                DisplayMode.TEXT_VIEW,
-                new ArrayList<>(),
-                context.getString(R.string.status_in_coordination),
-                false
-            );
+            // The current status comes first, so setting up the spinner does not select the next one
+            spinnerByRoleAndStatus = new DisplayResult[ThesisWorkflow.Role.values().length][statuses.length];
+            for (ThesisWorkflow.Transition transition : ThesisWorkflow.Transition.values()) {
+                List<ThesisStatusResponse> options = new ArrayList<>(2);
+                options.add(option(context, transition.getRole(), transition.getFrom()));
+                options.add(option(context, transition.getRole(), transition.getTo()));
+                spinnerByRoleAndStatus[transition.getRole().ordinal()][transition.getFrom().ordinal()] =
+                    new DisplayResult(DisplayMode.SPINNER, options, null, true);
+            }
         }
 
-        // Student has tutor: determine available status transitions
-        List<ThesisStatusResponse> availableStatuses = new ArrayList<>();
-
-        if ("IN_DISCUSSION".equals(currentStatus)) {
-            availableStatuses.add(new ThesisStatusResponse(
-                "IN_DISCUSSION", context.getString(R.string.status_in_coordination)));
-            availableStatuses.add(new ThesisStatusResponse(
-                "REGISTERED", context.getString(R.string.status_registered)));
-
-            return new DisplayResult(
-                DisplayMode.SPINNER,
-                availableStatuses,
-                null,
-                true
-            );
-        } else if ("REGISTERED".equals(currentStatus)) {
-            availableStatuses.add(new ThesisStatusResponse(
-                "REGISTERED", context.getString(R.string.status_registered)));
-            availableStatuses.add(new ThesisStatusResponse(
-                "SUBMITTED", context.getString(R.string.status_submitted)));
+        DisplayResult lookup(Context context, ThesisWorkflow.Role role, String currentStatus,
+                             boolean hasTutor, boolean hasSecondSupervisor,
+                             ThesisWorkflow.RequestState requestState) {
+            if (role == ThesisWorkflow.Role.STUDENT) {
+                // Student has not created a supervision request yet
+                if (requestState == ThesisWorkflow.RequestState.NONE) {
+                    return created;
+                }
+                // Student has request but no tutor assigned yet
+                if (requestState != ThesisWorkflow.RequestState.ACCEPTED || !hasTutor) {
+                    return inCoordination;
+                }
+            }
 
-            return new DisplayResult(
-                DisplayMode.SPINNER,
-                availableStatuses,
-                null,
-                true
-            );
-        } else {
-            // SUBMITTED or DEFENDED: Student cannot change anymore
-            return new DisplayResult(
-                DisplayMode.TEXT_VIEW,
-                new ArrayList<>(),
-                ThesisStatusHelper.translateStatus(context, currentStatus),
-                false
-            );
+            ThesisWorkflow.Status status = ThesisWorkflow.Status.of(currentStatus);
+            ThesisWorkflow.Transition next = ThesisWorkflow.Transition.of(role, status);
+            if (next != null && next.isOffered(hasTutor, hasSecondSupervisor)) {
+                return spinnerByRoleAndStatus[role.ordinal()][status.ordinal()];
+            }
+            if (status != null) {
+                return textByStatus[status.ordinal()];
+            }
+            // Unknown statuses are shown by name
+            return text(ThesisStatusHelper.translateStatus(context, currentStatus));
         }
-    }
 
-    /**
-     * Computes the display configuration for tutor users based on the current status.
-     *
-     * CRITICAL FIX: When the thesis is SUBMITTED and has a second supervisor, the tutor
-     * can change the status to DEFENDED. However, the spinner MUST include BOTH statuses:
-     * - SUBMITTED (current status) - to maintain the current state
-     * - DEFENDED (target status) - to allow manual transition
-     *
-     * This prevents automatic status changes when the spinner is initialized.
-     * The status can ONLY be changed by explicit tutor action.
-     */
-    private DisplayResult computeTutorDisplay(Context context, String currentStatus, boolean hasSecondSupervisor) {
-        if ("SUBMITTED".equals(currentStatus) && hasSecondSupervisor) {
-            List<ThesisStatusResponse> availableStatuses = new ArrayList<>();
-            // CRITICAL: Include current status FIRST to prevent automatic selection of DEFENDED
-            availableStatuses.add(new ThesisStatusResponse(
-                "SUBMITTED", context.getString(R.string.status_submitted)));
-            availableStatuses.add(new ThesisStatusResponse(
-                "DEFENDED", context.getString(R.string.status_defended)));
-
-            return new DisplayResult(
-                DisplayMode.SPINNER,
-                availableStatuses,
-                null,
-                true
-            );
+        private static ThesisStatusResponse option(Context context, ThesisWorkflow.Role role, ThesisWorkflow.Status status) {
+            int labelRes = role == ThesisWorkflow.Role.STUDENT ? status.getStudentLabelRes() : status.getLabelRes();
+            return new ThesisStatusResponse(status.name(), context.getString(labelRes));
         }
 
-        return new DisplayResult(
-            DisplayMode.TEXT_VIEW,
-            new ArrayList<>(),
-            ThesisStatusHelper.translateStatus(context, currentStatus),
-            false
-        );
+        private static DisplayResult text(String statusText) {
+            return new DisplayResult(DisplayMode.TEXT_VIEW, Collections.emptyList(), statusText, false);
+        }
     }
 
     /**
@@ -5,8 +5,6 @@ import android.content.Context;
 import com.example.betreuer_app.R;
 import com.example.betreuer_app.model.ThesisApiModel;
 
-import java.util.UUID;
-
 /**
  * Hilfsklasse für Thesis-Status-bezogene Operationen.
  */
@@ -92,18 +90,9 @@ public class ThesisStatusHelper {
     public static boolean canStudentChangeStatus(ThesisApiModel thesis) {
         if (thesis == null) return false;
 
-        String status = thesis.getStatus();
-        UUID tutorId = thesis.getTutorId();
-
-        if ("REGISTERED".equals(status)) {
-            return true; // Student kann von REGISTERED zu SUBMITTED wechseln
-        }
-
-        if ("IN_DISCUSSION".equals(status) && tutorId != null) {
-            return true; // Student kann von IN_DISCUSSION zu REGISTERED wechseln, aber nur wenn Tutor zugewiesen
-        }
-
-        return false;
+        ThesisWorkflow.Transition next = ThesisWorkflow.Transition.of(
+                ThesisWorkflow.Role.STUDENT, ThesisWorkflow.Status.of(thesis.getStatus()));
+        return next != null && next.isOffered(ThesisWorkflow.hasTutor(thesis), ThesisWorkflow.hasSecondSupervisor(thesis));
     }
 
     /**
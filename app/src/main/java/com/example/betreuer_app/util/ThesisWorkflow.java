@@ -0,0 +1,211 @@
+package com.example.betreuer_app.util;
+
+import com.example.betreuer_app.R;
+import com.example.betreuer_app.model.ThesisApiModel;
+
+/**
+ * The thesis status workflow (IN_DISCUSSION → REGISTERED → SUBMITTED → DEFENDED) as one
+ * table: who may make each step and what the thesis needs for it. Status display, action
+ * buttons and permission checks all read it instead of deriving the rules themselves.
+ */
+public final class ThesisWorkflow {
+
+    public enum Role {
+        STUDENT,
+        TUTOR,
+        OTHER
+    }
+
+    /**
+     * State of the student's supervision request for the thesis.
+     */
+    public enum RequestState {
+        NONE,
+        PENDING,
+        ACCEPTED;
+
+        public static RequestState of(boolean hasRequest, boolean accepted) {
+            if (!hasRequest) {
+                return NONE;
+            }
+            return accepted ? ACCEPTED : PENDING;
+        }
+    }
+
+    public enum Status {
+        IN_DISCUSSION(R.string.status_in_discussion, R.string.status_in_coordination),
+        REGISTERED(R.string.status_registered, R.string.status_registered),
+        SUBMITTED(R.string.status_submitted, R.string.status_submitted),
+        DEFENDED(R.string.status_defended, R.string.status_defended);
+
+        private static final Status[] VALUES = values();
+
+        private final int labelRes;
+        private final int studentLabelRes;
+
+        Status(int labelRes, int studentLabelRes) {
+            this.labelRes = labelRes;
+            this.studentLabelRes = studentLabelRes;
+        }
+
+        /**
+         * Returns the status with this backend name, or null for null and unknown names.
+         */
+        public static Status of(String name) {
+            if (name == null) {
+                return null;
+            }
+            for (Status status : VALUES) {
+                if (status.name().equals(name)) {
+                    return status;
+                }
+            }
+            return null;
+        }
+
+        public int getLabelRes() {
+            return labelRes;
+        }
+
+        /**
+         * Students see a discussed thesis as "in coordination".
+         */
+        public int getStudentLabelRes() {
+            return studentLabelRes;
+        }
+
+        /**
+         * The step out of this status, or null for the last one.
+         */
+        public Transition getNext() {
+            return Transition.BY_STATUS[ordinal()];
+        }
+
+        /**
+         * The status after this one; the last status stays where it is.
+         */
+        public Status getNextStatus() {
+            Transition next = getNext();
+            return next != null ? next.to : this;
+        }
+    }
+
+    /**
+     * What a thesis must have before a step can be made.
+     */
+    public enum Requirement {
+        TUTOR(R.string.toast_not_allowed),
+        FILE(R.string.toast_need_expose),
+        SECOND_SUPERVISOR(R.string.toast_need_second_examiner);
+
+        private final int messageRes;
+
+        Requirement(int messageRes) {
+            this.messageRes = messageRes;
+        }
+
+        /**
+         * Message shown when a step is refused for lack of this.
+         */
+        public int getMessageRes() {
+            return messageRes;
+        }
+    }
+
+    public enum Transition {
+        REGISTER(Role.STUDENT, Status.IN_DISCUSSION, Status.REGISTERED, Requirement.TUTOR),
+        SUBMIT(Role.STUDENT, Status.REGISTERED, Status.SUBMITTED, Requirement.FILE),
+        DEFEND(Role.TUTOR, Status.SUBMITTED, Status.DEFENDED, Requirement.SECOND_SUPERVISOR);
+
+        // Each status has at most one step out of it
+        private static final Transition[] BY_STATUS = new Transition[Status.VALUES.length];
+        private static final Transition[][] BY_ROLE_AND_STATUS = new Transition[Role.values().length][Status.VALUES.length];
+
+        static {
+            for (Transition transition : values()) {
+                BY_STATUS[transition.from.ordinal()] = transition;
+                BY_ROLE_AND_STATUS[transition.role.ordinal()][transition.from.ordinal()] = transition;
+            }
+        }
+
+        private final Role role;
+        private final Status from;
+        private final Status to;
+        private final Requirement requirement;
+
+        Transition(Role role, Status from, Status to, Requirement requirement) {
+            this.role = role;
+            this.from = from;
+            this.to = to;
+            this.requirement = requirement;
+        }
+
+        /**
+         * The step {@code role} can make out of {@code from}, or null.
+         */
+        public static Transition of(Role role, Status from) {
+            return role != null && from != null ? BY_ROLE_AND_STATUS[role.ordinal()][from.ordinal()] : null;
+        }
+
+        /**
+         * The step {@code role} can make from status {@code from} to {@code to}, or null.
+         */
+        public static Transition of(Role role, String from, String to) {
+            Transition transition = of(role, Status.of(from));
+            return transition != null && transition.to.name().equals(to) ? transition : null;
+        }
+
+        public Role getRole() {
+            return role;
+        }
+
+        public Status getFrom() {
+            return from;
+        }
+
+        public Status getTo() {
+            return to;
+        }
+
+        /**
+         * Returns what the thesis still lacks for this step, or null if it can be made.
+         */
+        public Requirement missing(boolean hasTutor, boolean hasFile, boolean hasSecondSupervisor) {
+            switch (requirement) {
+                case TUTOR:
+                    return hasTutor ? null : requirement;
+                case FILE:
+                    return hasFile ? null : requirement;
+                default:
+                    return hasSecondSupervisor ? null : requirement;
+            }
+        }
+
+        public Requirement missing(ThesisApiModel thesis) {
+            return missing(hasTutor(thesis), hasFile(thesis), hasSecondSupervisor(thesis));
+        }
+
+        /**
+         * Whether the step is offered at all. The file is only asked for when the step is
+         * made, so it does not hide it.
+         */
+        public boolean isOffered(boolean hasTutor, boolean hasSecondSupervisor) {
+            return missing(hasTutor, true, hasSecondSupervisor) == null;
+        }
+    }
+
+    private ThesisWorkflow() {
+    }
+
+    public static boolean hasTutor(ThesisApiModel thesis) {
+        return thesis.getTutorId() != null;
+    }
+
+    public static boolean hasFile(ThesisApiModel thesis) {
+        return thesis.getDocumentFileName() != null && !thesis.getDocumentFileName().isEmpty();
+    }
+
+    public static boolean hasSecondSupervisor(ThesisApiModel thesis) {
+        return thesis.getSecondSupervisorId() != null;
+    }
+}
@@ -29,9 +29,6 @@ public class DashboardViewModel extends ViewModel {
     // LiveData for pending requests count
     private final MutableLiveData<Resource<Integer>> pendingRequestsCount = new MutableLiveData<>();
 
-    // LiveData for session expiration
-    private final MutableLiveData<Boolean> sessionExpired = new MutableLiveData<>();
-
     public DashboardViewModel(ThesisRepository thesisRepository, ThesisRequestApiService thesisRequestApiService) {
         this.thesisRepository = thesisRepository;
         this.thesisRequestApiService = thesisRequestApiService;
@@ -46,10 +43,6 @@ public class DashboardViewModel extends ViewModel {
         return pendingRequestsCount;
     }
 
-    public LiveData<Boolean> getSessionExpired() {
-        return sessionExpired;
-    }
-
     /**
      * Load thesis count for the current user
      */
@@ -63,7 +56,7 @@ public class DashboardViewModel extends ViewModel {
                     int count = response.body().getTotalCount();
                     thesisCount.setValue(Resource.success(count));
                 } else if (response.code() == 401) {
-                    sessionExpired.setValue(true);
+                    // Redirect to login is handled once, app-wide, by SessionAuthenticator
                     thesisCount.setValue(Resource.error("Session expired", null));
                 } else {
                     thesisCount.setValue(Resource.error("Failed to load thesis count. Code: " + response.code(), null));
@@ -90,7 +83,6 @@ public class DashboardViewModel extends ViewModel {
                     int count = response.body().getTotalCount();
                     pendingRequestsCount.setValue(Resource.success(count));
                 } else if (response.code() == 401) {
-                    sessionExpired.setValue(true);
                     pendingRequestsCount.setValue(Resource.error("Session expired", null));
                 } else {
                     // Silently fail for requests count - not critical
@@ -0,0 +1,43 @@
+package com.example.betreuer_app.viewmodel;
+
+import androidx.lifecycle.ViewModel;
+
+import com.example.betreuer_app.FileDownloader;
+
+/**
+ * Keeps the document download started on a screen across configuration changes,
+ * so the recreated screen shows its progress again and can still cancel it.
+ * The download is cancelled when the screen is closed for good.
+ */
+public class DocumentDownloadViewModel extends ViewModel {
+
+    private FileDownloader.Download download;
+    private String fileName;
+
+    public void start(FileDownloader.Download download, String fileName) {
+        this.download = download;
+        this.fileName = fileName;
+    }
+
+    /**
+     * Returns the download started here while it still runs, otherwise null.
+     */
+    public FileDownloader.Download getRunning() {
+        return download != null && !download.isFinished() ? download : null;
+    }
+
+    /**
+     * Name the document is saved under.
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        if (download != null) {
+            download.cancel();
+        }
+    }
+}
@@ -7,21 +7,18 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
 import com.example.betreuer_app.model.SubjectAreaResponse;
-import com.example.betreuer_app.model.SubjectAreaResponsePaginatedResponse;
 import com.example.betreuer_app.model.ThesisApiModel;
-import com.example.betreuer_app.model.ThesisDocumentResponse;
 import com.example.betreuer_app.repository.SubjectAreaRepository;
 import com.example.betreuer_app.api.ThesisApiService;
 import com.example.betreuer_app.util.Resource;
+import com.example.betreuer_app.util.SearchPipeline;
 
-import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import okhttp3.MediaType;
-import okhttp3.MultipartBody;
 import okhttp3.RequestBody;
 import retrofit2.Call;
 import retrofit2.Callback;
@@ -39,17 +36,13 @@ public class EditThesisViewModel extends ViewModel {
     // LiveData for thesis details
     private final MutableLiveData<Resource<ThesisApiModel>> thesisDetails = new MutableLiveData<>();
 
-    // LiveData for subject areas
-    private final MutableLiveData<Resource<List<SubjectAreaResponse>>> subjectAreas = new MutableLiveData<>();
+    // Subject areas for the dropdown: all of them, or the matches of the typed text
+    private final SearchPipeline<String, List<SubjectAreaResponse>> subjectAreaSearch;
 
     // LiveData for save operation
     private final MutableLiveData<Resource<ThesisApiModel>> saveResult = new MutableLiveData<>();
 
-    // LiveData for document upload
-    private final MutableLiveData<Resource<ThesisDocumentResponse>> uploadResult = new MutableLiveData<>();
-
     // LiveData for document download
-    private final MutableLiveData<Resource<okhttp3.ResponseBody>> downloadResult = new MutableLiveData<>();
 
     // Current thesis data
     private ThesisApiModel currentThesis;
@@ -58,9 +51,20 @@ public class EditThesisViewModel extends ViewModel {
     private final Map<String, String> subjectAreaMap = new HashMap<>();
     private final List<String> subjectAreaNames = new ArrayList<>();
 
+    // Maximum number of subject areas suggested while typing
+    private static final int SUBJECT_AREA_SUGGESTION_LIMIT = 20;
+    private static final long SUBJECT_AREA_SEARCH_DEBOUNCE_MS = 200L;
+
     public EditThesisViewModel(ThesisApiService thesisApiService, SubjectAreaRepository subjectAreaRepository) {
         this.thesisApiService = thesisApiService;
         this.subjectAreaRepository = subjectAreaRepository;
+        this.subjectAreaSearch = new SearchPipeline<>(SUBJECT_AREA_SEARCH_DEBOUNCE_MS, (query, callback) ->
+                subjectAreaRepository.lookUpSubjectAreas(query, SUBJECT_AREA_SUGGESTION_LIMIT, resource -> {
+                    if (resource.isSuccess()) {
+                        updateSubjectAreaMap(resource.getData());
+                    }
+                    callback.accept(resource);
+                }));
     }
 
     // Getters for LiveData
@@ -69,21 +73,13 @@ public class EditThesisViewModel extends ViewModel {
     }
 
     public LiveData<Resource<List<SubjectAreaResponse>>> getSubjectAreas() {
-        return subjectAreas;
+        return subjectAreaSearch.getResults();
     }
 
     public LiveData<Resource<ThesisApiModel>> getSaveResult() {
         return saveResult;
     }
 
-    public LiveData<Resource<ThesisDocumentResponse>> getUploadResult() {
-        return uploadResult;
-    }
-
-    public LiveData<Resource<okhttp3.ResponseBody>> getDownloadResult() {
-        return downloadResult;
-    }
-
     public ThesisApiModel getCurrentThesis() {
         return currentThesis;
     }
@@ -124,50 +120,19 @@ public class EditThesisViewModel extends ViewModel {
      * Load initial subject areas
      */
     public void loadSubjectAreas() {
-        subjectAreas.setValue(Resource.loading(null));
-
-        subjectAreaRepository.getSubjectAreas(1, 100, new Callback<SubjectAreaResponsePaginatedResponse>() {
-            @Override
-            public void onResponse(Call<SubjectAreaResponsePaginatedResponse> call, Response<SubjectAreaResponsePaginatedResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    List<SubjectAreaResponse> areas = response.body().getItems();
-                    updateSubjectAreaMap(areas);
-                    subjectAreas.setValue(Resource.success(areas));
-                } else {
-                    subjectAreas.setValue(Resource.error("Failed to load subject areas", null));
-                }
-            }
-
-            @Override
-            public void onFailure(Call<SubjectAreaResponsePaginatedResponse> call, Throwable t) {
-                subjectAreas.setValue(Resource.error(t.getMessage(), null));
-            }
-        });
+        // Served from the reference data catalogue
+        subjectAreaSearch.submitNow("");
     }
 
     /**
-     * Search subject areas by query
+     * Search subject areas by query; debounced, and only the latest query's results are shown
      */
     public void searchSubjectAreas(String query) {
-        subjectAreaRepository.searchSubjectAreas(query, 1, 20, new Callback<SubjectAreaResponsePaginatedResponse>() {
-            @Override
-            public void onResponse(Call<SubjectAreaResponsePaginatedResponse> call, Response<SubjectAreaResponsePaginatedResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    List<SubjectAreaResponse> areas = response.body().getItems();
-                    updateSubjectAreaMap(areas);
-                    subjectAreas.setValue(Resource.success(areas));
-                }
-            }
-
-            @Override
-            public void onFailure(Call<SubjectAreaResponsePaginatedResponse> call, Throwable t) {
-                // Silently fail for search suggestions
-            }
-        });
+        subjectAreaSearch.submit(query);
     }
 
     /**
-     * Update subject area map with new areas
+     * Add new areas to the subject area map; names already known keep their position
      */
     private void updateSubjectAreaMap(List<SubjectAreaResponse> areas) {
         if (areas != null) {
@@ -245,63 +210,6 @@ public class EditThesisViewModel extends ViewModel {
                 });
     }
 
-    /**
-     * Upload document for thesis
-     */
-    public void uploadDocument(String thesisId, File file, String mimeType) {
-        uploadResult.setValue(Resource.loading(null));
-
-        RequestBody requestFile = RequestBody.create(MediaType.parse(mimeType), file);
-        MultipartBody.Part body = MultipartBody.Part.createFormData("document", file.getName(), requestFile);
-
-        thesisApiService.updateThesisDocument(thesisId, body).enqueue(new Callback<ThesisDocumentResponse>() {
-            @Override
-            public void onResponse(Call<ThesisDocumentResponse> call, Response<ThesisDocumentResponse> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    uploadResult.setValue(Resource.success(response.body()));
-                } else {
-                    String errorMsg = "Fehler beim Hochladen";
-                    try {
-                        if (response.errorBody() != null) {
-                            errorMsg = response.errorBody().string();
-                        }
-                    } catch (Exception e) {
-                        errorMsg = "Fehler beim Hochladen (Code: " + response.code() + ")";
-                    }
-                    uploadResult.setValue(Resource.error(errorMsg, null));
-                }
-            }
-
-            @Override
-            public void onFailure(Call<ThesisDocumentResponse> call, Throwable t) {
-                uploadResult.setValue(Resource.error("Netzwerkfehler: " + t.getMessage(), null));
-            }
-        });
-    }
-
-    /**
-     * Download thesis document
-     */
-    public void downloadDocument(String thesisId) {
-        downloadResult.setValue(Resource.loading(null));
-
-        thesisApiService.downloadThesisDocument(thesisId).enqueue(new Callback<okhttp3.ResponseBody>() {
-            @Override
-            public void onResponse(Call<okhttp3.ResponseBody> call, Response<okhttp3.ResponseBody> response) {
-                if (response.isSuccessful() && response.body() != null) {
-                    downloadResult.setValue(Resource.success(response.body()));
-                } else {
-                    downloadResult.setValue(Resource.error("Fehler beim Herunterladen des Dokuments", null));
-                }
-            }
-
-            @Override
-            public void onFailure(Call<okhttp3.ResponseBody> call, Throwable t) {
-                downloadResult.setValue(Resource.error("Netzwerkfehler: " + t.getMessage(), null));
-            }
-        });
-    }
-
     /**
      * Check if thesis has a document
      */
@@ -334,6 +242,12 @@ public class EditThesisViewModel extends ViewModel {
                 : null;
     }
 
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        subjectAreaSearch.cancel();
+    }
+
     /**
      * Validation result class
      */
@@ -102,7 +102,7 @@ public class LoginViewModel extends ViewModel {
         String savedRole = sessionManager.getUserRole();
 
         if (token == null || savedName == null || savedRole == null) {
-            sessionManager.clearSession();
+            sessionManager.expireSession();
             autoLoginResult.setValue(Resource.error("Invalid session", false));
             return;
         }
@@ -115,17 +115,19 @@ public class LoginViewModel extends ViewModel {
             public void onResponse(Call<ThesesResponse> call, Response<ThesesResponse> response) {
                 if (response.isSuccessful()) {
                     autoLoginResult.setValue(Resource.success(true));
-                } else {
-                    // Token invalid, clear session
-                    sessionManager.clearSession();
+                } else if (response.code() == 401) {
+                    // Token rejected; SessionAuthenticator has already ended the session
+                    sessionManager.expireSession();
                     autoLoginResult.setValue(Resource.error("Token invalid", false));
+                } else {
+                    // Server error - keep the session, the token may still be valid
+                    autoLoginResult.setValue(Resource.error("Validation failed. Code: " + response.code(), false));
                 }
             }
 
             @Override
             public void onFailure(Call<ThesesResponse> call, Throwable t) {
-                // Network error or verification failed
-                sessionManager.clearSession();
+                // Network error - keep the session so the user is not logged out while offline
                 autoLoginResult.setValue(Resource.error("Validation failed: " + t.getMessage(), false));
             }
         });
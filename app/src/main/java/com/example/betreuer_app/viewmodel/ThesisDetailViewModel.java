@@ -0,0 +1,90 @@
+package com.example.betreuer_app.viewmodel;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+
+import com.example.betreuer_app.model.ThesisApiModel;
+import com.example.betreuer_app.model.ThesisDetailState;
+import com.example.betreuer_app.repository.ThesisDetailLoader;
+import com.example.betreuer_app.util.Resource;
+import com.example.betreuer_app.util.SessionManager;
+
+/**
+ * Holds the state of the thesis detail screen across configuration changes.
+ */
+public class ThesisDetailViewModel extends AndroidViewModel {
+
+    // Time the secondary requests (people, subject area, ...) get after the thesis arrived
+    static final long LOAD_BUDGET_MILLIS = 3_000;
+
+    private final ThesisDetailLoader loader;
+    private final boolean isTutor;
+    private final MediatorLiveData<Resource<ThesisDetailState>> state = new MediatorLiveData<>();
+    private LiveData<Resource<ThesisDetailState>> source;
+    private String thesisId;
+    private ThesisApiModel localThesis;
+
+    public ThesisDetailViewModel(@NonNull Application application) {
+        super(application);
+        loader = new ThesisDetailLoader(application);
+        isTutor = new SessionManager(application).isTutor();
+    }
+
+    public LiveData<Resource<ThesisDetailState>> getState() {
+        return state;
+    }
+
+    /**
+     * Loads the given thesis unless it is already loaded (e.g. after a rotation).
+     */
+    public void load(String thesisId) {
+        if (thesisId.equals(this.thesisId) && state.getValue() != null && !state.getValue().isError()) {
+            return;
+        }
+        this.thesisId = thesisId;
+        reload();
+    }
+
+    public void reload() {
+        if (thesisId == null) {
+            return;
+        }
+        if (source != null) {
+            state.removeSource(source);
+        }
+        localThesis = null;
+        // Only students need their supervision request to decide which statuses they may pick
+        source = loader.load(thesisId, !isTutor, LOAD_BUDGET_MILLIS);
+        state.addSource(source, this::onLoaded);
+    }
+
+    private void onLoaded(Resource<ThesisDetailState> resource) {
+        // Parts arriving after the budget must not undo a local change made in the meantime
+        if (localThesis != null && resource != null && resource.isSuccess() && resource.getData() != null) {
+            resource = Resource.success(resource.getData().withThesis(localThesis));
+        }
+        state.setValue(resource);
+    }
+
+    /**
+     * Replaces the shown thesis without reloading, e.g. after a queued status change.
+     */
+    public void updateThesis(ThesisApiModel thesis) {
+        Resource<ThesisDetailState> current = state.getValue();
+        if (current == null || current.getData() == null || thesis == null) {
+            return;
+        }
+        localThesis = thesis;
+        state.setValue(Resource.success(current.getData().withThesis(thesis)));
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        loader.cancel();
+    }
+}
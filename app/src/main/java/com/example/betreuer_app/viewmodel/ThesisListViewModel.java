@@ -5,94 +5,99 @@ import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
 import com.example.betreuer_app.model.ThesesResponse;
+import com.example.betreuer_app.model.ThesisApiModel;
 import com.example.betreuer_app.repository.ThesisRepository;
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import com.example.betreuer_app.util.Pager;
+import com.example.betreuer_app.util.Resource;
 
+/**
+ * Holds the endless thesis list: pages are loaded around what is on screen, cached pages
+ * show up first, and the list keeps its position across configuration changes.
+ */
 public class ThesisListViewModel extends AndroidViewModel {
-    private static final int DEFAULT_PAGE_SIZE = 10;
-    private MutableLiveData<ThesesResponse> thesesLiveData;
-    private MutableLiveData<String> errorLiveData;
-    private MutableLiveData<Boolean> loadingLiveData;
-    private MutableLiveData<Integer> currentPageLiveData;
-    private MutableLiveData<Integer> totalPagesLiveData;
-    private ThesisRepository repository;
-    private int pendingPage = 1;
-    private int pageSize = DEFAULT_PAGE_SIZE;
+    static final int PAGE_SIZE = 20;
+    // Loads the next page while about half a page is still ahead of the user
+    static final int PREFETCH_DISTANCE = 10;
+    static final int MAX_PAGES_IN_MEMORY = 5;
+
+    private final MutableLiveData<String> errorLiveData;
+    private final MutableLiveData<Boolean> loadingLiveData;
+    private final Pager<ThesesResponse, ThesisApiModel> pager;
+    private final Observer<Resource<Integer>> loadStateObserver = this::onLoadState;
 
     public ThesisListViewModel(@NonNull Application application) {
         super(application);
-        repository = new ThesisRepository(application);
-        thesesLiveData = new MutableLiveData<>();
+        ThesisRepository repository = new ThesisRepository(application);
         errorLiveData = new MutableLiveData<>();
         loadingLiveData = new MutableLiveData<>(false);
-        currentPageLiveData = new MutableLiveData<>(1);
-        totalPagesLiveData = new MutableLiveData<>(1);
-        loadTheses(1);
+        pager = new Pager<>(repository::observeTheses, ThesesResponse::getItems, ThesesResponse::getTotalCount,
+                PAGE_SIZE, PREFETCH_DISTANCE, MAX_PAGES_IN_MEMORY);
+        pager.getLoadState().observeForever(loadStateObserver);
+        pager.start();
     }
 
-    public LiveData<ThesesResponse> getTheses() {
-        return thesesLiveData;
+    public LiveData<Pager.Snapshot<ThesisApiModel>> getTheses() {
+        return pager.getSnapshot();
     }
 
     public LiveData<String> getError() {
         return errorLiveData;
     }
 
+    /**
+     * True while the list is empty and its first page is being loaded.
+     */
     public LiveData<Boolean> getLoading() {
         return loadingLiveData;
     }
 
-    public LiveData<Integer> getCurrentPage() {
-        return currentPageLiveData;
+    /**
+     * Loads the pages needed around the visible rows.
+     */
+    public void onVisibleRange(int firstPosition, int lastPosition) {
+        pager.onVisibleRange(firstPosition, lastPosition);
+    }
+
+    public int getScrollPosition() {
+        return pager.getFirstVisiblePosition();
     }
 
-    public LiveData<Integer> getTotalPages() {
-        return totalPagesLiveData;
+    /**
+     * Loads the pages that failed again, e.g. from the retry action or when the list is shown again.
+     */
+    public void retry() {
+        pager.retry();
     }
 
-    public void loadTheses(int page) {
-        pendingPage = page;
-        loadingLiveData.setValue(true);
-        repository.getTheses(page, pageSize, new Callback<ThesesResponse>() {
-            @Override
-            public void onResponse(Call<ThesesResponse> call, Response<ThesesResponse> response) {
-                loadingLiveData.setValue(false);
-                if (response.isSuccessful()) {
-                    ThesesResponse body = response.body();
-                    thesesLiveData.setValue(body);
-                    if (body != null) {
-                        pageSize = body.getPageSize() > 0 ? body.getPageSize() : pageSize;
-                        int totalCount = body.getTotalCount();
-                        int computedTotalPages = pageSize > 0
-                                ? (int) Math.ceil((double) totalCount / pageSize)
-                                : 1;
-                        if (computedTotalPages < 1) {
-                            computedTotalPages = 1;
-                        }
-                        totalPagesLiveData.setValue(computedTotalPages);
-                        currentPageLiveData.setValue(body.getPage() > 0 ? body.getPage() : pendingPage);
-                    } else {
-                        totalPagesLiveData.setValue(1);
-                        currentPageLiveData.setValue(pendingPage);
-                    }
-                } else {
-                    errorLiveData.setValue(getApplication().getString(
-                            com.example.betreuer_app.R.string.thesis_list_load_error_with_code,
-                            response.code()
-                    ));
-                }
-            }
+    private void onLoadState(Resource<Integer> state) {
+        if (state == null) {
+            return;
+        }
+        Pager.Snapshot<ThesisApiModel> snapshot = pager.getSnapshot().getValue();
+        boolean empty = snapshot == null || snapshot.isEmpty();
+        loadingLiveData.setValue(state.isLoading() && empty);
+
+        if (!state.isError()) {
+            return;
+        }
+        if (state.getCode() != 0) {
+            errorLiveData.setValue(getApplication().getString(
+                    com.example.betreuer_app.R.string.thesis_list_load_error_with_code,
+                    state.getCode()
+            ));
+        } else {
+            errorLiveData.setValue(getApplication().getString(
+                    com.example.betreuer_app.R.string.thesis_list_load_error_network
+            ));
+        }
+    }
 
-            @Override
-            public void onFailure(Call<ThesesResponse> call, Throwable t) {
-                loadingLiveData.setValue(false);
-                errorLiveData.setValue(getApplication().getString(
-                        com.example.betreuer_app.R.string.thesis_list_load_error_network
-                ));
-            }
-        });
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        pager.getLoadState().removeObserver(loadStateObserver);
+        pager.cancel();
     }
 }
@@ -6,6 +6,7 @@ import androidx.lifecycle.ViewModel;
 import com.example.betreuer_app.model.RoleApiModel;
 import com.example.betreuer_app.model.ThesisApiModel;
 import com.example.betreuer_app.model.ThesisStatus;
+import com.example.betreuer_app.util.ThesisWorkflow;
 
 /**
  * ViewModel zur Verwaltung des Status einer Abschlussarbeit.
@@ -57,29 +58,18 @@ public class ThesisStatusViewModel extends ViewModel {
 
     /**
      * Prüft die Berechtigung zur Statusänderung basierend auf der Rolle.
+     * Student: IN_DISCUSSION mit Tutor (zu REGISTERED), REGISTERED mit Datei (zu SUBMITTED).
+     * Tutor: SUBMITTED mit Zweitgutachter (zu DEFENDED).
      */
     public boolean isActionButtonEnabled() {
         ThesisApiModel thesis = thesisData.getValue();
         RoleApiModel role = currentUserRole.getValue();
         if (thesis == null || role == null) return false;
 
-        String status = thesis.getStatus();
-        boolean hasTutor = thesis.getTutorId() != null;
-        boolean hasFile = thesis.getDocumentFileName() != null && !thesis.getDocumentFileName().isEmpty();
-        boolean hasSecondSupervisor = thesis.getSecondSupervisorId() != null;
-
-        if ("STUDENT".equals(role.getName())) {
-            // Student kann nur ändern wenn:
-            // 1. Status ist REGISTERED (kann zu SUBMITTED wechseln)
-            // 2. Status ist IN_DISCUSSION UND Tutor ist zugewiesen (kann zu REGISTERED wechseln)
-            if ("IN_DISCUSSION".equals(status)) {
-                return hasTutor; // Nur wenn Tutor zugewiesen ist
-            }
-            return "REGISTERED".equals(status) && hasFile;
-        } else {
-            // Tutor kann nur bei SUBMITTED ändern (zu DEFENDED)
-            return "SUBMITTED".equals(status) && hasSecondSupervisor;
-        }
+        ThesisWorkflow.Role workflowRole = "STUDENT".equals(role.getName())
+                ? ThesisWorkflow.Role.STUDENT : ThesisWorkflow.Role.TUTOR;
+        ThesisWorkflow.Transition next = ThesisWorkflow.Transition.of(workflowRole, ThesisWorkflow.Status.of(thesis.getStatus()));
+        return next != null && next.missing(thesis) == null;
     }
 
     /**
@@ -89,11 +79,7 @@ public class ThesisStatusViewModel extends ViewModel {
         ThesisApiModel thesis = thesisData.getValue();
         if (thesis == null) return null;
 
-        switch (thesis.getStatus()) {
-            case "IN_DISCUSSION": return new ThesisStatus("REGISTERED");
-            case "REGISTERED":    return new ThesisStatus("SUBMITTED");
-            case "SUBMITTED":     return new ThesisStatus("DEFENDED");
-            default:            return new ThesisStatus(thesis.getStatus());
-        }
+        ThesisWorkflow.Status status = ThesisWorkflow.Status.of(thesis.getStatus());
+        return new ThesisStatus(status != null ? status.getNextStatus().name() : thesis.getStatus());
     }
 }
@@ -0,0 +1,137 @@
+package com.example.betreuer_app.viewmodel;
+
+import android.app.Application;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+
+import com.example.betreuer_app.model.TutorProfileResponse;
+import com.example.betreuer_app.model.TutorsResponse;
+import com.example.betreuer_app.repository.TutorDirectory;
+import com.example.betreuer_app.repository.TutorRepository;
+import com.example.betreuer_app.util.Resource;
+import com.example.betreuer_app.util.SearchPipeline;
+
+import java.util.List;
+import java.util.Objects;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Holds the tutor search of the tutor list screen: the typed name is debounced,
+ * a picked subject area applies at once, and only the latest search is shown.
+ * Searches are answered from the local {@link TutorDirectory}; the server is only
+ * asked until the directory has been loaded once.
+ */
+public class TutorListViewModel extends AndroidViewModel {
+
+    // Delay for debouncing search requests while typing
+    static final long SEARCH_DEBOUNCE_DELAY_MS = 300L;
+
+    private static final int PAGE_SIZE = 20;
+    // The local directory answers instantly, so it can show more matches than a server page
+    private static final int LOCAL_RESULT_LIMIT = 100;
+
+    private final SearchPipeline<TutorQuery, List<TutorProfileResponse>> search;
+    private String subjectAreaId;
+    private String name;
+
+    public TutorListViewModel(@NonNull Application application) {
+        super(application);
+        TutorRepository tutorRepository = new TutorRepository(application);
+        TutorDirectory directory = TutorDirectory.getInstance(application);
+        search = new SearchPipeline<>(SEARCH_DEBOUNCE_DELAY_MS, (query, callback) -> {
+            List<TutorProfileResponse> local = directory.search(query.name, query.subjectAreaId, LOCAL_RESULT_LIMIT);
+            if (local != null) {
+                callback.accept(Resource.success(local));
+                return null;
+            }
+            return tutorRepository.getTutors(query.subjectAreaId, null, query.name, 1, PAGE_SIZE, new Callback<TutorsResponse>() {
+                @Override
+                public void onResponse(Call<TutorsResponse> call, Response<TutorsResponse> response) {
+                    if (!response.isSuccessful() || response.body() == null) {
+                        callback.accept(Resource.error("No tutors found or error loading", null, response.code()));
+                    } else if (response.body().getItems() == null) {
+                        callback.accept(Resource.error("No tutors found", null));
+                    } else {
+                        callback.accept(Resource.success(response.body().getItems()));
+                    }
+                }
+
+                @Override
+                public void onFailure(Call<TutorsResponse> call, Throwable t) {
+                    callback.accept(Resource.error("Request failed: " + t.getMessage(), null));
+                }
+            });
+        });
+    }
+
+    public LiveData<Resource<List<TutorProfileResponse>>> getTutors() {
+        return search.getResults();
+    }
+
+    /**
+     * Loads the first page unless it is already loaded (e.g. after a rotation).
+     *
+     * @param preselectedSubjectAreaId subject area to filter by initially, may be null
+     */
+    public void start(String preselectedSubjectAreaId) {
+        if (search.hasStarted()) {
+            return;
+        }
+        subjectAreaId = preselectedSubjectAreaId;
+        search.submitNow(new TutorQuery(subjectAreaId, name));
+    }
+
+    public String getSubjectAreaId() {
+        return subjectAreaId;
+    }
+
+    /**
+     * Searches by name once the user stopped typing.
+     */
+    public void setSearchText(String text) {
+        name = text != null && !text.trim().isEmpty() ? text.trim() : null;
+        search.submit(new TutorQuery(subjectAreaId, name));
+    }
+
+    /**
+     * Filters by subject area at once; null removes the filter.
+     */
+    public void setSubjectAreaId(String subjectAreaId) {
+        this.subjectAreaId = subjectAreaId;
+        search.submitNow(new TutorQuery(subjectAreaId, name));
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        search.cancel();
+    }
+
+    private static final class TutorQuery {
+        final String subjectAreaId;
+        final String name;
+
+        TutorQuery(String subjectAreaId, String name) {
+            this.subjectAreaId = subjectAreaId;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TutorQuery)) return false;
+            TutorQuery other = (TutorQuery) o;
+            return Objects.equals(subjectAreaId, other.subjectAreaId) && Objects.equals(name, other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(subjectAreaId, name);
+        }
+    }
+}
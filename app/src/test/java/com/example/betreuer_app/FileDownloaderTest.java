@@ -0,0 +1,92 @@
+package com.example.betreuer_app;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24, manifest = Config.NONE)
+public class FileDownloaderTest {
+
+    private final Context context = RuntimeEnvironment.getApplication();
+    private final FileDownloader downloader = new FileDownloader();
+
+    @Test
+    public void download_returnsRunningDownloadOfSameKey() throws Exception {
+        FileDownloader.DocumentRequest request = (range, ifRange) -> hangingCall();
+
+        FileDownloader.Download first = downloader.download(context, null, "thesis-1", request, "a.pdf");
+        FileDownloader.Download second = downloader.download(context, null, "thesis-1", request, "a.pdf");
+        FileDownloader.Download other = downloader.download(context, null, "thesis-2", request, "b.pdf");
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+
+        first.cancel();
+        other.cancel();
+        awaitFinished(first);
+        awaitFinished(other);
+    }
+
+    @Test
+    public void download_startsAgainOnceCancelled() throws Exception {
+        FileDownloader.DocumentRequest request = (range, ifRange) -> hangingCall();
+
+        FileDownloader.Download first = downloader.download(context, null, "thesis-3", request, "a.pdf");
+        first.cancel();
+        FileDownloader.Download second = downloader.download(context, null, "thesis-3", request, "a.pdf");
+
+        assertNotSame(first, second);
+        second.cancel();
+        awaitFinished(first);
+        awaitFinished(second);
+    }
+
+    /**
+     * A call that blocks like a slow connection until it is cancelled.
+     */
+    @SuppressWarnings("unchecked")
+    private static Call<ResponseBody> hangingCall() {
+        Call<ResponseBody> call = mock(Call.class);
+        CountDownLatch dropped = new CountDownLatch(1);
+        try {
+            when(call.execute()).thenAnswer(invocation -> {
+                dropped.await(5, TimeUnit.SECONDS);
+                throw new IOException("Canceled");
+            });
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        doAnswer(invocation -> {
+            dropped.countDown();
+            return null;
+        }).when(call).cancel();
+        return call;
+    }
+
+    private static void awaitFinished(FileDownloader.Download download) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!download.isFinished()) {
+            assertTrue("Timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
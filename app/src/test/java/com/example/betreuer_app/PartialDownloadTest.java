@@ -0,0 +1,88 @@
+package com.example.betreuer_app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import okhttp3.Headers;
+
+public class PartialDownloadTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void rangeHeader_continuesAfterStoredBytesOfSameVersion() throws IOException {
+        File directory = folder.newFolder();
+        PartialDownload partial = PartialDownload.open(directory, "thesis-1");
+        assertNull(partial.rangeHeader());
+
+        try (OutputStream out = partial.restart("\"v1\"", 10)) {
+            out.write(new byte[4]);
+        }
+
+        PartialDownload reopened = PartialDownload.open(directory, "thesis-1");
+        assertEquals("bytes=4-", reopened.rangeHeader());
+        assertEquals("\"v1\"", reopened.getValidator());
+        assertEquals(10, reopened.getTotalBytes());
+        assertFalse(reopened.isComplete());
+
+        try (OutputStream out = reopened.append(10)) {
+            out.write(new byte[6]);
+        }
+        assertTrue(reopened.isComplete());
+    }
+
+    @Test
+    public void rangeHeader_isNullWithoutValidator() throws IOException {
+        PartialDownload partial = PartialDownload.open(folder.newFolder(), "thesis-2");
+        try (OutputStream out = partial.restart(null, -1)) {
+            out.write(new byte[4]);
+        }
+
+        assertNull(partial.rangeHeader());
+    }
+
+    @Test
+    public void delete_forgetsBytesAndVersion() throws IOException {
+        File directory = folder.newFolder();
+        PartialDownload partial = PartialDownload.open(directory, "thesis-3");
+        try (OutputStream out = partial.restart("\"v1\"", 10)) {
+            out.write(new byte[4]);
+        }
+
+        partial.delete();
+
+        PartialDownload reopened = PartialDownload.open(directory, "thesis-3");
+        assertEquals(0, reopened.length());
+        assertNull(reopened.getValidator());
+        assertNull(reopened.rangeHeader());
+    }
+
+    @Test
+    public void validatorOf_prefersStrongEtagOverLastModified() {
+        String lastModified = "Wed, 21 Oct 2026 07:28:00 GMT";
+
+        assertEquals("\"abc\"", PartialDownload.validatorOf(Headers.of("ETag", "\"abc\"", "Last-Modified", lastModified)));
+        assertEquals(lastModified, PartialDownload.validatorOf(Headers.of("ETag", "W/\"abc\"", "Last-Modified", lastModified)));
+        assertNull(PartialDownload.validatorOf(Headers.of("ETag", "W/\"abc\"")));
+    }
+
+    @Test
+    public void contentRange_parsesStartAndTotal() {
+        assertEquals(100, PartialDownload.contentRangeStart("bytes 100-999/1000"));
+        assertEquals(1000, PartialDownload.contentRangeTotal("bytes 100-999/1000"));
+        assertEquals(-1, PartialDownload.contentRangeTotal("bytes 100-999/*"));
+        assertEquals(-1, PartialDownload.contentRangeStart(null));
+        assertEquals(-1, PartialDownload.contentRangeStart("items 1-2/3"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.betreuer_app.api;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class CachePolicyInterceptorTest {
+
+    @Test
+    public void referenceData_isKeptForADay() {
+        assertEquals(CachePolicyInterceptor.ONE_DAY, CachePolicyInterceptor.maxAgeFor("/theses/billing-statuses"));
+        assertEquals(CachePolicyInterceptor.ONE_DAY, CachePolicyInterceptor.maxAgeFor("/thesis-offers/statuses"));
+    }
+
+    @Test
+    public void userLists_areKeptBriefly() {
+        assertEquals(CachePolicyInterceptor.ONE_MINUTE, CachePolicyInterceptor.maxAgeFor("/users"));
+        assertEquals(CachePolicyInterceptor.ONE_MINUTE, CachePolicyInterceptor.maxAgeFor("/users/6f1c0000-0000-0000-0000-000000000000"));
+        assertEquals(CachePolicyInterceptor.ONE_MINUTE, CachePolicyInterceptor.maxAgeFor("/api/Tutor"));
+    }
+
+    @Test
+    public void documents_areNeverStored() {
+        assertEquals(CachePolicyInterceptor.NO_STORE, CachePolicyInterceptor.maxAgeFor("/theses/123/document"));
+        assertEquals("no-store", CachePolicyInterceptor.cacheControlFor(CachePolicyInterceptor.NO_STORE));
+    }
+
+    @Test
+    public void otherEndpoints_areRevalidated() {
+        assertEquals(CachePolicyInterceptor.REVALIDATE, CachePolicyInterceptor.maxAgeFor("/theses"));
+        assertEquals(CachePolicyInterceptor.REVALIDATE, CachePolicyInterceptor.maxAgeFor("/thesis-requests"));
+        assertEquals("private, no-cache", CachePolicyInterceptor.cacheControlFor(CachePolicyInterceptor.REVALIDATE));
+        assertEquals("private, max-age=60", CachePolicyInterceptor.cacheControlFor(60));
+    }
+}
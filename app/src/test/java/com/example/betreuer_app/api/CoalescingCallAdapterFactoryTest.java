@@ -0,0 +1,172 @@
+package com.example.betreuer_app.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.betreuer_app.util.SessionTokenCache;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24, manifest = Config.NONE)
+public class CoalescingCallAdapterFactoryTest {
+
+    interface Service {
+        Call<String> get();
+    }
+
+    private CoalescingCallAdapterFactory factory;
+    private CallAdapter<String, Call<String>> adapter;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        SessionTokenCache.update("abc");
+        factory = new CoalescingCallAdapterFactory(ApplicationProvider.getApplicationContext());
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl("http://localhost/")
+                .callbackExecutor(Runnable::run)
+                .addCallAdapterFactory(factory)
+                .build();
+        Type returnType = Service.class.getDeclaredMethod("get").getGenericReturnType();
+        adapter = (CallAdapter<String, Call<String>>) factory.get(returnType, new Annotation[0], retrofit);
+    }
+
+    @After
+    public void tearDown() {
+        SessionTokenCache.clear();
+    }
+
+    @Test
+    public void identicalGets_shareOneExchangeAndBody() {
+        Call<String> exchange = mockCall("GET", "http://localhost/theses?page=1&pageSize=1");
+        Call<String> other = mockCall("GET", "http://localhost/theses?page=1&pageSize=1");
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+
+        adapter.adapt(exchange).enqueue(first);
+        adapter.adapt(other).enqueue(second);
+        assertEquals(1, factory.inFlightCount());
+
+        completeSuccessfully(exchange, "body");
+
+        verify(other, times(0)).enqueue(any());
+        assertEquals(1, first.responses.size());
+        assertSame(first.responses.get(0).body(), second.responses.get(0).body());
+        assertEquals(0, factory.inFlightCount());
+    }
+
+    @Test
+    public void differentUrls_areNotCoalesced() {
+        Call<String> a = mockCall("GET", "http://localhost/theses?page=1");
+        Call<String> b = mockCall("GET", "http://localhost/theses?page=2");
+
+        adapter.adapt(a).enqueue(new RecordingCallback());
+        adapter.adapt(b).enqueue(new RecordingCallback());
+
+        verify(a).enqueue(any());
+        verify(b).enqueue(any());
+        assertEquals(2, factory.inFlightCount());
+    }
+
+    @Test
+    public void nonGetCalls_passThrough() {
+        Call<String> a = mockCall("PUT", "http://localhost/theses/1/status");
+        Call<String> b = mockCall("PUT", "http://localhost/theses/1/status");
+
+        adapter.adapt(a).enqueue(new RecordingCallback());
+        adapter.adapt(b).enqueue(new RecordingCallback());
+
+        verify(a).enqueue(any());
+        verify(b).enqueue(any());
+        assertEquals(0, factory.inFlightCount());
+    }
+
+    @Test
+    public void cancellingOneCaller_keepsExchangeForOthers() {
+        Call<String> exchange = mockCall("GET", "http://localhost/thesis-requests/my?page=1&pageSize=100");
+        Call<String> other = mockCall("GET", "http://localhost/thesis-requests/my?page=1&pageSize=100");
+        RecordingCallback cancelled = new RecordingCallback();
+        RecordingCallback waiting = new RecordingCallback();
+
+        Call<String> cancelledCall = adapter.adapt(exchange);
+        cancelledCall.enqueue(cancelled);
+        adapter.adapt(other).enqueue(waiting);
+        cancelledCall.cancel();
+
+        verify(exchange, times(0)).cancel();
+        completeSuccessfully(exchange, "body");
+
+        assertEquals(1, cancelled.failures.size());
+        assertEquals("body", waiting.responses.get(0).body());
+    }
+
+    @Test
+    public void key_includesAuthorization() {
+        Request request = new Request.Builder().url("http://localhost/theses").build();
+
+        assertNotEquals(CoalescingCallAdapterFactory.keyOf(request, "Bearer a"),
+                CoalescingCallAdapterFactory.keyOf(request, "Bearer b"));
+        assertTrue(CoalescingCallAdapterFactory.keyOf(request, null).startsWith("GET http://localhost/theses"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Call<String> mockCall(String method, String url) {
+        Call<String> call = mock(Call.class);
+        Request.Builder builder = new Request.Builder().url(url);
+        if (!"GET".equals(method)) {
+            builder.method(method, okhttp3.RequestBody.create(null, new byte[0]));
+        }
+        when(call.request()).thenReturn(builder.build());
+        return call;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void completeSuccessfully(Call<String> call, String body) {
+        ArgumentCaptor<Callback<String>> captor = ArgumentCaptor.forClass(Callback.class);
+        verify(call).enqueue(captor.capture());
+        captor.getValue().onResponse(call, Response.success(body));
+    }
+
+    private static class RecordingCallback implements Callback<String> {
+        final List<Response<String>> responses = new ArrayList<>();
+        final List<Throwable> failures = new ArrayList<>();
+
+        @Override
+        public void onResponse(Call<String> call, Response<String> response) {
+            responses.add(response);
+        }
+
+        @Override
+        public void onFailure(Call<String> call, Throwable t) {
+            failures.add(t);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.betreuer_app.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.example.betreuer_app.model.ModelTypeAdapterFactory;
+import com.example.betreuer_app.model.ThesisRequestResponse;
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+
+public class ItemStreamTest {
+
+    private final Gson gson = ModelTypeAdapterFactory.gson();
+
+    @Test
+    public void read_passesItemsInOrderAndReadsMetadataInAnyPosition() throws IOException {
+        List<String> titles = new ArrayList<>();
+
+        ItemStream.Page page = stream("{\"totalCount\":3,\"extra\":{\"a\":[1]},\"items\":["
+                + request("A") + "," + request("B") + "," + request("C")
+                + "],\"page\":2,\"pageSize\":20}").read(item -> titles.add(item.getThesisTitle()));
+
+        assertEquals(List.of("A", "B", "C"), titles);
+        assertEquals(3, page.getItemCount());
+        assertEquals(3, page.getTotalCount());
+        assertEquals(2, page.getPage());
+        assertEquals(20, page.getPageSize());
+        assertFalse(page.isStopped());
+    }
+
+    @Test
+    public void read_stopsWhenVisitorReturnsFalse() throws IOException {
+        List<String> titles = new ArrayList<>();
+
+        // The rest is never parsed, so it may even be malformed
+        ItemStream.Page page = stream("{\"items\":[" + request("A") + "," + request("B") + ",{broken")
+                .read(item -> titles.add(item.getThesisTitle()) && !"B".equals(item.getThesisTitle()));
+
+        assertEquals(List.of("A", "B"), titles);
+        assertEquals(2, page.getItemCount());
+        assertEquals(-1, page.getTotalCount());
+        assertTrue(page.isStopped());
+    }
+
+    @Test
+    public void read_acceptsBareArrayAndNullItems() throws IOException {
+        List<ThesisRequestResponse> items = new ArrayList<>();
+
+        ItemStream.Page array = stream("[" + request("A") + "]").read(items::add);
+        ItemStream.Page empty = stream("{\"items\":null,\"totalCount\":0}").read(items::add);
+
+        assertEquals(1, array.getItemCount());
+        assertEquals(-1, array.getTotalCount());
+        assertEquals(0, empty.getItemCount());
+        assertEquals(0, empty.getTotalCount());
+        assertEquals(1, items.size());
+    }
+
+    private ItemStream<ThesisRequestResponse> stream(String json) {
+        ResponseBody body = ResponseBody.create(MediaType.parse("application/json"), json);
+        return new ItemStream<>(body, gson.getAdapter(ThesisRequestResponse.class), gson);
+    }
+
+    private static String request(String title) {
+        return "{\"id\":\"1b9d6bcd-bbfd-4b2d-9b5d-ab8dfbbd4bed\",\"thesisTitle\":\"" + title
+                + "\",\"requestType\":\"SUPERVISION\",\"status\":\"PENDING\"}";
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.betreuer_app.api;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.ContentResolver;
+import android.net.Uri;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okio.Buffer;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24, manifest = Config.NONE)
+public class UriRequestBodyTest {
+
+    private final ContentResolver contentResolver = RuntimeEnvironment.getApplication().getContentResolver();
+
+    @Test
+    public void writeTo_streamsBytesOfUriAndReportsProgress() throws IOException {
+        Uri uri = Uri.parse("content://documents/thesis.pdf");
+        byte[] content = new byte[300 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        shadowOf(contentResolver).registerInputStream(uri, new ByteArrayInputStream(content));
+        List<Long> progress = new ArrayList<>();
+
+        UriRequestBody body = new UriRequestBody(contentResolver, uri, MediaType.parse("application/pdf"),
+                (bytesWritten, contentLength) -> progress.add(bytesWritten));
+        Buffer sink = new Buffer();
+        body.writeTo(sink);
+
+        assertArrayEquals(content, sink.readByteArray());
+        assertFalse(progress.isEmpty());
+        assertEquals(content.length, (long) progress.get(progress.size() - 1));
+    }
+
+    @Test
+    public void contentLength_isUnknownWhenProviderDoesNotReportIt() {
+        Uri uri = Uri.parse("content://documents/unknown.pdf");
+
+        UriRequestBody body = new UriRequestBody(contentResolver, uri, MediaType.parse("application/pdf"), null);
+
+        assertEquals(-1, body.contentLength());
+    }
+}
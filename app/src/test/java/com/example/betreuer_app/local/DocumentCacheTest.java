@@ -0,0 +1,100 @@
+package com.example.betreuer_app.local;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24, manifest = Config.NONE)
+public class DocumentCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File directory;
+    private DocumentCache cache;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = folder.newFolder("documents");
+        cache = new DocumentCache(directory, 10);
+    }
+
+    @Test
+    public void put_thenGet_returnsDocumentAndRemovesSource() throws IOException {
+        UUID documentId = UUID.randomUUID();
+        File source = file("download.part", 4);
+
+        File cached = cache.put(documentId, source);
+
+        assertFalse(source.exists());
+        assertEquals(cached, cache.get(documentId));
+        assertEquals(4, cached.length());
+    }
+
+    @Test
+    public void get_dropsDocumentWhoseBytesChanged() throws IOException {
+        UUID documentId = UUID.randomUUID();
+        File cached = cache.put(documentId, file("download.part", 4));
+        // Same length, different bytes: only the hash notices
+        try (OutputStream out = new FileOutputStream(cached)) {
+            out.write(new byte[]{9, 9, 9, 9});
+        }
+
+        DocumentCache reopened = new DocumentCache(directory, 10);
+
+        assertNull(reopened.get(documentId));
+        assertFalse(cached.exists());
+    }
+
+    @Test
+    public void put_evictsLeastRecentlyUsedBeyondMaxBytes() throws IOException {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        cache.put(first, file("a.part", 4)).setLastModified(1_000);
+        cache.put(second, file("b.part", 4)).setLastModified(2_000);
+
+        cache.put(third, file("c.part", 4));
+
+        assertNull(cache.get(first));
+        assertNotNull(cache.get(second));
+        assertNotNull(cache.get(third));
+    }
+
+    @Test
+    public void savedLocation_isKeptPerDocument() throws IOException {
+        UUID documentId = UUID.randomUUID();
+        cache.put(documentId, file("download.part", 4));
+
+        cache.setSavedLocation(documentId, "content://media/external/downloads/7");
+
+        assertEquals("content://media/external/downloads/7", cache.getSavedLocation(documentId));
+        assertNull(cache.getSavedLocation(UUID.randomUUID()));
+    }
+
+    private File file(String name, int length) throws IOException {
+        File file = folder.newFile(name);
+        try (OutputStream out = new FileOutputStream(file)) {
+            for (int i = 0; i < length; i++) {
+                out.write(i);
+            }
+        }
+        return file;
+    }
+}
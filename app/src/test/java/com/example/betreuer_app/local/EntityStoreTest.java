@@ -0,0 +1,96 @@
+package com.example.betreuer_app.local;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import com.example.betreuer_app.model.ThesisApiModel;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.UUID;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24, manifest = Config.NONE)
+public class EntityStoreTest {
+
+    private EntityStore store;
+
+    @Before
+    public void setUp() {
+        store = new EntityStore(RuntimeEnvironment.getApplication());
+    }
+
+    private static ThesisApiModel thesis(String title) {
+        ThesisApiModel thesis = new ThesisApiModel();
+        thesis.setTitle(title);
+        return thesis;
+    }
+
+    @Test
+    public void put_thenGet_returnsStoredEntity() {
+        ThesisApiModel thesis = thesis("Arbeit A");
+        store.put(EntityStore.TYPE_THESIS, thesis.getId(), thesis);
+
+        ThesisApiModel loaded = store.get(EntityStore.TYPE_THESIS, thesis.getId(), ThesisApiModel.class);
+
+        assertNotNull(loaded);
+        assertEquals(thesis.getId(), loaded.getId());
+        assertEquals("Arbeit A", loaded.getTitle());
+    }
+
+    @Test
+    public void get_unknownId_returnsNull() {
+        assertNull(store.get(EntityStore.TYPE_THESIS, UUID.randomUUID(), ThesisApiModel.class));
+    }
+
+    @Test
+    public void putPage_keepsOrderAndSharesEntities() {
+        ThesisApiModel first = thesis("Erste");
+        ThesisApiModel second = thesis("Zweite");
+        store.putPage("theses?page=1", EntityStore.TYPE_THESIS, Arrays.asList(second, first),
+                ThesisApiModel::getId, 12, 1, 2);
+
+        // A later single-entity update is visible through the page
+        first.setTitle("Erste (neu)");
+        store.put(EntityStore.TYPE_THESIS, first.getId(), first);
+
+        CachedPage<ThesisApiModel> page = store.getPage("theses?page=1", ThesisApiModel.class);
+
+        assertNotNull(page);
+        assertEquals(12, page.getTotalCount());
+        assertEquals(2, page.getItems().size());
+        assertEquals("Zweite", page.getItems().get(0).getTitle());
+        assertEquals("Erste (neu)", page.getItems().get(1).getTitle());
+    }
+
+    @Test
+    public void putPage_emptyResult_isStoredAsEmpty() {
+        store.putPage("theses?page=3", EntityStore.TYPE_THESIS, Collections.emptyList(),
+                ThesisApiModel::getId, 0, 3, 10);
+
+        CachedPage<ThesisApiModel> page = store.getPage("theses?page=3", ThesisApiModel.class);
+
+        assertNotNull(page);
+        assertEquals(0, page.getItems().size());
+    }
+
+    @Test
+    public void clear_removesEntitiesAndPages() {
+        ThesisApiModel thesis = thesis("Arbeit");
+        store.putPage("theses?page=1", EntityStore.TYPE_THESIS, Collections.singletonList(thesis),
+                ThesisApiModel::getId, 1, 1, 10);
+
+        store.clear();
+
+        assertNull(store.get(EntityStore.TYPE_THESIS, thesis.getId(), ThesisApiModel.class));
+        assertNull(store.getPage("theses?page=1", ThesisApiModel.class));
+    }
+}
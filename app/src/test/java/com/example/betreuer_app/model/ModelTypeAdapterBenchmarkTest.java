@@ -0,0 +1,199 @@
+package com.example.betreuer_app.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+import com.google.gson.Gson;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Parses the same large pages with reflective Gson and with the model adapters and checks
+ * that the adapters take less time and allocate less per page, and that an inbox of requests
+ * keeps less heap. Allocation is only compared on JVMs that can measure it per thread (HotSpot).
+ *
+ * Timing depends on the machine, so this only runs when asked for with
+ * {@code ./gradlew test -Pbenchmark}; {@link ModelTypeAdapterFactoryTest} checks the results.
+ */
+public class ModelTypeAdapterBenchmarkTest {
+
+    private static final int ROWS = 500;
+    private static final int WARMUP_ROUNDS = 30;
+    private static final int MEASURED_ROUNDS = 50;
+
+    private final Gson reflective = new Gson();
+    private final Gson adapters = ModelTypeAdapterFactory.gson();
+
+    @Before
+    public void setUp() {
+        assumeTrue(Boolean.getBoolean("benchmark"));
+    }
+
+    @Test
+    public void thesesPage() {
+        String json = thesesPage(ROWS);
+
+        Result slow = measure(reflective, json, ThesesResponse.class);
+        Result fast = measure(adapters, json, ThesesResponse.class);
+
+        assertFaster(slow, fast);
+    }
+
+    @Test
+    public void requestPage() {
+        String json = requestPage(ROWS);
+
+        Result slow = measure(reflective, json, ThesisRequestResponsePaginatedResponse.class);
+        Result fast = measure(adapters, json, ThesisRequestResponsePaginatedResponse.class);
+
+        assertFaster(slow, fast);
+    }
+
+    @Test
+    public void requestInbox_retainedHeap() {
+        // A tutor's inbox: few students, each with several requests
+        String json = inboxPage(ROWS, 20);
+
+        long slow = retainedBytes(reflective, json);
+        long fast = retainedBytes(adapters, json);
+
+        assertTrue("adapters retain " + fast + " B, reflective " + slow + " B", fast < slow);
+    }
+
+    private static long retainedBytes(Gson gson, String json) {
+        Object[] pages = new Object[MEASURED_ROUNDS];
+        long before = usedHeap();
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = gson.fromJson(json, ThesisRequestResponsePaginatedResponse.class);
+        }
+        long retained = (usedHeap() - before) / pages.length;
+        // Keeps the pages reachable until after the measurement
+        assertEquals(ThesisRequestResponsePaginatedResponse.class, pages[pages.length - 1].getClass());
+        return retained;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static final class Result {
+        final double micros;
+        final long bytes;
+
+        Result(double micros, long bytes) {
+            this.micros = micros;
+            this.bytes = bytes;
+        }
+    }
+
+    private static Result measure(Gson gson, String json, Class<?> type) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            gson.fromJson(json, type);
+        }
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            gson.fromJson(json, type);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBytes() - allocatedBefore;
+        return new Result(elapsed / 1000.0 / MEASURED_ROUNDS, allocatedBefore < 0 ? -1 : allocated / MEASURED_ROUNDS);
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    private static void assertFaster(Result slow, Result fast) {
+        assertTrue("adapters take " + fast.micros + " us, reflective " + slow.micros + " us", fast.micros < slow.micros);
+        if (slow.bytes >= 0) {
+            assertTrue("adapters allocate " + fast.bytes + " B, reflective " + slow.bytes + " B", fast.bytes < slow.bytes);
+        }
+    }
+
+    private static String thesesPage(int rows) {
+        StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"").append(UUID.randomUUID())
+                    .append("\",\"createdAt\":\"2024-03-01T10:15:30Z\",\"updatedAt\":\"2024-03-02T08:00:00Z\"")
+                    .append(",\"title\":\"Thesis ").append(i)
+                    .append("\",\"description\":\"Beschreibung ").append(i)
+                    .append("\",\"status\":\"").append(i % 2 == 0 ? "IN_DISCUSSION" : "REGISTERED")
+                    .append("\",\"billingStatus\":\"ISSUED\"")
+                    .append(",\"ownerId\":\"").append(UUID.randomUUID())
+                    .append("\",\"tutorId\":\"").append(UUID.randomUUID())
+                    .append("\",\"secondSupervisorId\":null")
+                    .append(",\"subjectAreaId\":\"").append(UUID.randomUUID())
+                    .append("\",\"documentId\":\"").append(UUID.randomUUID())
+                    .append("\",\"documentFileName\":\"thesis-").append(i).append(".pdf\"}");
+        }
+        return json.append("],\"totalCount\":").append(rows).append(",\"page\":1,\"pageSize\":").append(rows).append('}').toString();
+    }
+
+    private static String requestPage(int rows) {
+        StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"").append(UUID.randomUUID())
+                    .append("\",\"thesisId\":\"").append(UUID.randomUUID())
+                    .append("\",\"thesisTitle\":\"Thesis ").append(i)
+                    .append("\",\"requester\":").append(user("Ada", "STUDENT"))
+                    .append(",\"receiver\":").append(i % 3 == 0 ? "null" : user("Grace", "TUTOR"))
+                    .append(",\"requestType\":\"SUPERVISION\",\"status\":\"PENDING\"")
+                    .append(",\"message\":\"Hallo\",\"createdAt\":\"2024-03-01T10:15:30Z\"}");
+        }
+        return json.append("],\"totalCount\":").append(rows).append(",\"page\":1,\"pageSize\":").append(rows).append('}').toString();
+    }
+
+    private static String inboxPage(int rows, int students) {
+        String[] requesters = new String[students];
+        for (int i = 0; i < students; i++) {
+            requesters[i] = user(UUID.randomUUID(), "Student " + i, "STUDENT");
+        }
+        String tutor = user(UUID.randomUUID(), "Grace", "TUTOR");
+        StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"").append(UUID.randomUUID())
+                    .append("\",\"thesisId\":\"").append(UUID.randomUUID())
+                    .append("\",\"thesisTitle\":\"Thesis ").append(i)
+                    .append("\",\"requester\":").append(requesters[i % students])
+                    .append(",\"receiver\":").append(tutor)
+                    .append(",\"requestType\":\"SUPERVISION\",\"status\":\"PENDING\"")
+                    .append(",\"message\":\"Hallo\",\"createdAt\":\"2024-03-01T10:15:30Z\"}");
+        }
+        return json.append("],\"totalCount\":").append(rows).append(",\"page\":1,\"pageSize\":").append(rows).append('}').toString();
+    }
+
+    private static String user(String firstName, String role) {
+        return user(UUID.randomUUID(), firstName, role);
+    }
+
+    private static String user(UUID id, String firstName, String role) {
+        return "{\"id\":\"" + id + "\",\"firstName\":\"" + firstName
+                + "\",\"lastName\":\"Lovelace\",\"email\":\"" + firstName.toLowerCase(Locale.ROOT)
+                + "@example.com\",\"roles\":[\"" + role + "\"]}";
+    }
+}
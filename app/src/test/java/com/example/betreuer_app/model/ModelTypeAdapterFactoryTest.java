@@ -0,0 +1,141 @@
+package com.example.betreuer_app.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.UUID;
+
+public class ModelTypeAdapterFactoryTest {
+
+    private static final String THESES_PAGE = "{"
+            + "\"items\":[{"
+            + "\"id\":\"3f2504e0-4f89-11d3-9a0c-0305e82c3301\","
+            + "\"createdAt\":\"2024-03-01T10:15:30Z\","
+            + "\"updatedAt\":\"2024-03-02T08:00:00Z\","
+            + "\"title\":\"Graph Layouts\","
+            + "\"description\":\"Force-directed\","
+            + "\"status\":\"IN_DISCUSSION\","
+            + "\"billingStatus\":\"ISSUED\","
+            + "\"ownerId\":\"A0EEBC99-9C0B-4EF8-BB6D-6BB9BD380A11\","
+            + "\"tutorId\":null,"
+            + "\"subjectAreaId\":\"6ba7b810-9dad-11d1-80b4-00c04fd430c8\","
+            + "\"documentId\":\"6ba7b811-9dad-11d1-80b4-00c04fd430c8\","
+            + "\"documentFileName\":\"expose.pdf\","
+            + "\"unknown\":{\"nested\":[1,2,3]}"
+            + "}],"
+            + "\"totalCount\":\"41\",\"page\":2,\"pageSize\":null}";
+
+    private static final String REQUEST_PAGE = "{\"items\":[{"
+            + "\"id\":\"1b9d6bcd-bbfd-4b2d-9b5d-ab8dfbbd4bed\","
+            + "\"thesisId\":\"3f2504e0-4f89-11d3-9a0c-0305e82c3301\","
+            + "\"thesisTitle\":\"Graph Layouts\","
+            + "\"requester\":{\"id\":\"a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11\",\"firstName\":\"Ada\",\"roles\":[\"STUDENT\"]},"
+            + "\"receiver\":null,"
+            + "\"requestType\":\"SUPERVISION\","
+            + "\"status\":\"PENDING\","
+            + "\"createdAt\":\"2024-03-01T10:15:30Z\""
+            + "}],\"totalCount\":1,\"page\":1,\"pageSize\":20}";
+
+    private final Gson gson = ModelTypeAdapterFactory.gson();
+    private final Gson reflective = new Gson();
+
+    @Test
+    public void thesesPage_readsLikeReflectiveBinding() {
+        ThesesResponse fast = gson.fromJson(THESES_PAGE, ThesesResponse.class);
+        ThesesResponse slow = reflective.fromJson(THESES_PAGE, ThesesResponse.class);
+
+        assertEquals(reflective.toJson(slow), reflective.toJson(fast));
+        ThesisApiModel thesis = fast.getItems().get(0);
+        assertEquals(UUID.fromString("a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11"), thesis.getOwnerId());
+        assertNull(thesis.getTutorId());
+        assertEquals(41, fast.getTotalCount());
+        assertEquals(0, fast.getPageSize());
+    }
+
+    @Test
+    public void requestPage_readsLikeReflectiveBinding() {
+        ThesisRequestResponsePaginatedResponse fast = gson.fromJson(REQUEST_PAGE, ThesisRequestResponsePaginatedResponse.class);
+        ThesisRequestResponsePaginatedResponse slow = reflective.fromJson(REQUEST_PAGE, ThesisRequestResponsePaginatedResponse.class);
+
+        assertEquals(reflective.toJson(slow), reflective.toJson(fast));
+        ThesisRequestResponse request = fast.getItems().get(0);
+        assertEquals("Ada", request.getRequester().getFirstName());
+        assertNull(request.getReceiver());
+    }
+
+    @Test
+    public void write_producesSameJsonAsReflectiveBinding() {
+        ThesesResponse page = reflective.fromJson(THESES_PAGE, ThesesResponse.class);
+
+        String written = gson.toJson(page);
+
+        assertEquals(reflective.toJson(page), reflective.toJson(gson.fromJson(written, ThesesResponse.class)));
+        assertEquals(reflective.toJson(page), reflective.toJson(reflective.fromJson(written, ThesesResponse.class)));
+    }
+
+    @Test
+    public void statusNames_areSharedConstants() {
+        ThesesResponse first = gson.fromJson(THESES_PAGE, ThesesResponse.class);
+        ThesesResponse second = gson.fromJson(THESES_PAGE, ThesesResponse.class);
+
+        assertSame(first.getItems().get(0).getStatus(), second.getItems().get(0).getStatus());
+    }
+
+    @Test
+    public void entityWithoutId_getsFreshIdLikeNoArgConstructor() {
+        ThesisApiModel thesis = gson.fromJson("{\"title\":\"Ohne Id\"}", ThesisApiModel.class);
+
+        assertNotNull(thesis.getId());
+        assertNotNull(thesis.getCreatedAt());
+    }
+
+    @Test
+    public void parseUuid_acceptsNonCanonicalForms() {
+        String[] values = {
+                "3f2504e0-4f89-11d3-9a0c-0305e82c3301",
+                "3F2504E0-4F89-11D3-9A0C-0305E82C3301",
+                "ffffffff-ffff-ffff-ffff-ffffffffffff",
+                "1-2-3-4-5"
+        };
+        for (String value : values) {
+            assertEquals(UUID.fromString(value), JsonFields.parseUuid(value));
+        }
+    }
+
+    @Test
+    public void parseIsoMillis_matchesGsonDateAdapter() {
+        String[] values = {
+                "2024-03-01T10:15:30Z",
+                "2024-02-29T23:59:59.5+02:00",
+                "1999-12-31T00:00:00.123456-0530",
+                "2024-03-01T10:15:30.1234567Z"
+        };
+        for (String value : values) {
+            Date expected = reflective.fromJson("\"" + value + "\"", Date.class);
+            assertEquals(value, expected.getTime(), JsonFields.parseIsoMillis(value));
+        }
+        assertEquals(Long.MIN_VALUE, JsonFields.parseIsoMillis("2024-03-01"));
+        assertEquals(Long.MIN_VALUE, JsonFields.parseIsoMillis("2024-02-30T10:15:30Z"));
+    }
+
+    @Test(expected = JsonSyntaxException.class)
+    public void invalidUuid_failsLikeGson() {
+        gson.fromJson("{\"ownerId\":\"not-a-uuid\"}", ThesisApiModel.class);
+    }
+
+    @Test
+    public void otherTypes_keepGsonDefaults() {
+        assertTrue(gson.getAdapter(ThesisApiModel.class) instanceof ThesisApiModel.JsonAdapter);
+        assertNull(new ModelTypeAdapterFactory().create(gson, TypeToken.get(String.class)));
+    }
+}
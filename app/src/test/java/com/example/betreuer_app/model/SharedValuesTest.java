@@ -0,0 +1,57 @@
+package com.example.betreuer_app.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+public class SharedValuesTest {
+
+    private static final String ADA = "{\"id\":\"a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11\",\"firstName\":\"Ada\",\"roles\":[\"STUDENT\"]}";
+    private static final String ADA_RENAMED = "{\"id\":\"a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11\",\"firstName\":\"Ada L.\",\"roles\":[\"STUDENT\"]}";
+
+    private final Gson gson = ModelTypeAdapterFactory.gson();
+
+    @Test
+    public void repeatedRequester_isOneInstance() {
+        List<ThesisRequestResponse> requests = gson.fromJson("{\"items\":[" + request("A", ADA) + "," + request("B", ADA) + "]}",
+                ThesisRequestResponsePaginatedResponse.class).getItems();
+
+        assertSame(requests.get(0).getRequester(), requests.get(1).getRequester());
+        assertSame(requests.get(0).getThesisId(), requests.get(1).getThesisId());
+    }
+
+    @Test
+    public void changedUser_isNotMergedWithOldCopy() {
+        ThesisRequestResponse before = gson.fromJson(request("A", ADA), ThesisRequestResponse.class);
+        ThesisRequestResponse after = gson.fromJson(request("B", ADA_RENAMED), ThesisRequestResponse.class);
+        ThesisRequestResponse again = gson.fromJson(request("C", ADA_RENAMED), ThesisRequestResponse.class);
+
+        assertNotSame(before.getRequester(), after.getRequester());
+        assertEquals("Ada", before.getRequester().getFirstName());
+        assertEquals("Ada L.", after.getRequester().getFirstName());
+        assertSame(after.getRequester(), again.getRequester());
+    }
+
+    @Test
+    public void referencedIdsAndUnknownNames_areShared() {
+        String thesis = "{\"ownerId\":\"a0eebc99-9c0b-4ef8-bb6d-6bb9bd380a11\",\"billingStatus\":\"NOT_BILLED\"}";
+
+        ThesisApiModel first = gson.fromJson(thesis, ThesisApiModel.class);
+        ThesisApiModel second = gson.fromJson(thesis, ThesisApiModel.class);
+
+        assertSame(first.getOwnerId(), second.getOwnerId());
+        assertSame(first.getBillingStatus(), second.getBillingStatus());
+    }
+
+    private static String request(String title, String requester) {
+        return "{\"id\":\"" + UUID.randomUUID() + "\",\"thesisId\":\"3f2504e0-4f89-11d3-9a0c-0305e82c3301\""
+                + ",\"thesisTitle\":\"" + title + "\",\"requester\":" + requester + ",\"status\":\"PENDING\"}";
+    }
+}
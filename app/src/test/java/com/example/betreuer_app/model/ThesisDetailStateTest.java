@@ -0,0 +1,66 @@
+package com.example.betreuer_app.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ThesisDetailStateTest {
+
+    @Test
+    public void build_keepsLoadedParts() {
+        ThesisApiModel thesis = new ThesisApiModel();
+        UserResponse owner = new UserResponse();
+
+        ThesisDetailState state = new ThesisDetailState.Builder()
+                .thesis(thesis)
+                .owner(owner)
+                .supervisionRequest(true, false)
+                .build(false);
+
+        assertSame(thesis, state.getThesis());
+        assertSame(owner, state.getOwner());
+        assertNull(state.getTutor());
+        assertTrue(state.hasSupervisionRequest());
+        assertFalse(state.isSupervisionRequestAccepted());
+        assertFalse(state.isComplete());
+    }
+
+    @Test
+    public void billingStatuses_cannotBeModified() {
+        List<BillingStatusResponse> statuses = new ArrayList<>();
+        statuses.add(new BillingStatusResponse());
+
+        ThesisDetailState state = new ThesisDetailState.Builder().billingStatuses(statuses).build(true);
+
+        assertEquals(1, state.getBillingStatuses().size());
+        try {
+            state.getBillingStatuses().clear();
+        } catch (UnsupportedOperationException expected) {
+            return;
+        }
+        throw new AssertionError("billing statuses must be read-only");
+    }
+
+    @Test
+    public void withThesis_keepsOtherParts() {
+        UserResponse tutor = new UserResponse();
+        ThesisDetailState state = new ThesisDetailState.Builder()
+                .thesis(new ThesisApiModel())
+                .tutor(tutor)
+                .build(true);
+        ThesisApiModel changed = new ThesisApiModel();
+
+        ThesisDetailState updated = state.withThesis(changed);
+
+        assertSame(changed, updated.getThesis());
+        assertSame(tutor, updated.getTutor());
+        assertTrue(updated.isComplete());
+    }
+}
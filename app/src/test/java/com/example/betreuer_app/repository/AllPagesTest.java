@@ -0,0 +1,220 @@
+package com.example.betreuer_app.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.betreuer_app.api.ItemStreamConverterFactory;
+import com.example.betreuer_app.api.SubjectAreaApiService;
+import com.example.betreuer_app.model.ModelTypeAdapterFactory;
+import com.example.betreuer_app.util.Resource;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24, manifest = Config.NONE)
+public class AllPagesTest {
+
+    private final Map<Integer, MutableLiveData<Resource<FakePage>>> sources = new HashMap<>();
+    private final List<List<String>> completed = new ArrayList<>();
+    private final MockWebServer server = new MockWebServer();
+
+    private final LiveData<Resource<List<String>>> all = AllPages.collect(page -> {
+        MutableLiveData<Resource<FakePage>> data = new MutableLiveData<>();
+        sources.put(page, data);
+        return data;
+    }, page -> page.items, page -> page.totalCount, completed::add);
+
+    @Test
+    public void collect_loadsPagesUntilTotalIsReached() {
+        all.observeForever(resource -> { });
+
+        sources.get(1).setValue(Resource.success(new FakePage(Arrays.asList("a", "b"), 3)));
+        assertTrue(all.getValue().isLoading());
+        assertEquals(Arrays.asList("a", "b"), all.getValue().getData());
+
+        sources.get(2).setValue(Resource.success(new FakePage(Collections.singletonList("c"), 3)));
+
+        assertTrue(all.getValue().isSuccess());
+        assertEquals(Arrays.asList("a", "b", "c"), all.getValue().getData());
+        assertEquals(Collections.singletonList(Arrays.asList("a", "b", "c")), completed);
+        assertNull(sources.get(3));
+    }
+
+    @Test
+    public void collect_stopsAtEmptyPage() {
+        all.observeForever(resource -> { });
+
+        sources.get(1).setValue(Resource.success(new FakePage(Collections.singletonList("a"), 10)));
+        sources.get(2).setValue(Resource.success(new FakePage(Collections.emptyList(), 10)));
+
+        assertTrue(all.getValue().isSuccess());
+        assertEquals(Collections.singletonList("a"), all.getValue().getData());
+        assertNull(sources.get(3));
+    }
+
+    @Test
+    public void collect_showsStoredPageWhileLoading() {
+        all.observeForever(resource -> { });
+
+        sources.get(1).setValue(Resource.loading(new FakePage(Collections.singletonList("stored"), 1)));
+
+        assertTrue(all.getValue().isLoading());
+        assertEquals(Collections.singletonList("stored"), all.getValue().getData());
+    }
+
+    @Test
+    public void collect_failingPageKeepsEarlierItemsAndDoesNotComplete() {
+        all.observeForever(resource -> { });
+
+        sources.get(1).setValue(Resource.success(new FakePage(Collections.singletonList("a"), 2)));
+        sources.get(2).setValue(Resource.error("offline", null));
+
+        assertTrue(all.getValue().isError());
+        assertEquals(Collections.singletonList("a"), all.getValue().getData());
+        assertTrue(completed.isEmpty());
+    }
+
+    @Test
+    public void collect_endsWithErrorAtPageCapWhenItemsAreMissing() {
+        all.observeForever(resource -> { });
+
+        for (int page = 1; page <= AllPages.MAX_PAGES; page++) {
+            sources.get(page).setValue(Resource.success(new FakePage(Collections.singletonList("p" + page), Integer.MAX_VALUE)));
+        }
+
+        assertTrue(all.getValue().isError());
+        assertEquals(AllPages.MAX_PAGES, all.getValue().getData().size());
+        assertTrue(completed.isEmpty());
+        assertNull(sources.get(AllPages.MAX_PAGES + 1));
+    }
+
+    @Test
+    public void collect_overlaysEmittedListsOnly() {
+        LiveData<Resource<List<String>>> overlaid = AllPages.collect(page -> {
+            MutableLiveData<Resource<FakePage>> data = new MutableLiveData<>();
+            sources.put(page, data);
+            return data;
+        }, page -> page.items, page -> page.totalCount, completed::add, items -> Collections.singletonList("pending"));
+        overlaid.observeForever(resource -> { });
+
+        sources.get(1).setValue(Resource.success(new FakePage(Arrays.asList("a", "b"), 2)));
+
+        assertEquals(Collections.singletonList("pending"), overlaid.getValue().getData());
+        assertEquals(Collections.singletonList(Arrays.asList("a", "b")), completed);
+    }
+
+    @Test
+    public void read_readsPagesUntilTotalIsReached() throws Exception {
+        server.enqueue(subjectAreas(3, "a", "b"));
+        server.enqueue(subjectAreas(3, "c"));
+        List<String> titles = new ArrayList<>();
+
+        boolean complete = AllPages.read(subjectAreaService()::streamSubjectAreas, area -> titles.add(area.getTitle()));
+
+        assertTrue(complete);
+        assertEquals(Arrays.asList("a", "b", "c"), titles);
+        assertEquals(2, server.getRequestCount());
+        assertEquals("/subject-areas?page=1&pageSize=" + AllPages.PAGE_SIZE, server.takeRequest().getPath());
+        assertEquals("/subject-areas?page=2&pageSize=" + AllPages.PAGE_SIZE, server.takeRequest().getPath());
+    }
+
+    @Test
+    public void read_stopsWhenVisitorStops() throws Exception {
+        server.enqueue(subjectAreas(10, "a", "b"));
+        List<String> titles = new ArrayList<>();
+
+        boolean complete = AllPages.read(subjectAreaService()::streamSubjectAreas, area -> {
+            titles.add(area.getTitle());
+            return false;
+        });
+
+        assertFalse(complete);
+        assertEquals(Collections.singletonList("a"), titles);
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    public void read_failsOnErrorResponse() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        try {
+            AllPages.read(subjectAreaService()::streamSubjectAreas, area -> true);
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("Error: 503", e.getMessage());
+        }
+    }
+
+    @Test
+    public void read_failsAtPageCapWhenItemsAreMissing() throws Exception {
+        for (int page = 1; page <= AllPages.MAX_PAGES; page++) {
+            server.enqueue(subjectAreas(Integer.MAX_VALUE, "p" + page));
+        }
+
+        try {
+            AllPages.read(subjectAreaService()::streamSubjectAreas, area -> true);
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals(AllPages.TOO_MANY_PAGES, e.getMessage());
+        }
+        assertEquals(AllPages.MAX_PAGES, server.getRequestCount());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private SubjectAreaApiService subjectAreaService() {
+        return new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(ItemStreamConverterFactory.create(ModelTypeAdapterFactory.gson()))
+                .addConverterFactory(GsonConverterFactory.create(ModelTypeAdapterFactory.gson()))
+                .build()
+                .create(SubjectAreaApiService.class);
+    }
+
+    private static MockResponse subjectAreas(int totalCount, String... titles) {
+        StringBuilder items = new StringBuilder();
+        for (String title : titles) {
+            if (items.length() > 0) {
+                items.append(',');
+            }
+            items.append("{\"title\":\"").append(title).append("\"}");
+        }
+        return new MockResponse().setBody("{\"items\":[" + items + "],\"totalCount\":" + totalCount + "}");
+    }
+
+    private static final class FakePage {
+        final List<String> items;
+        final int totalCount;
+
+        FakePage(List<String> items, int totalCount) {
+            this.items = items;
+            this.totalCount = totalCount;
+        }
+    }
+}
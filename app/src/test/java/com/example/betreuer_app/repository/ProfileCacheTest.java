@@ -0,0 +1,73 @@
+package com.example.betreuer_app.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.example.betreuer_app.model.TutorProfileResponse;
+import com.example.betreuer_app.model.UserApiModel;
+import com.example.betreuer_app.model.UserResponse;
+import com.example.betreuer_app.util.ExpiringLruCache;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Collections;
+import java.util.UUID;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24, manifest = Config.NONE)
+public class ProfileCacheTest {
+
+    private static final String ID = "6f1c0000-0000-0000-0000-000000000001";
+
+    private ProfileCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new ProfileCache(new ExpiringLruCache<>(10, 60_000), new ExpiringLruCache<>(10, 60_000));
+    }
+
+    @Test
+    public void putUser_isReturnedById() {
+        UserResponse user = new UserResponse(UUID.fromString(ID), "Ada", "Lovelace", "ada@example.com", null);
+        cache.putUser(user);
+
+        assertSame(user, cache.getUser(UUID.fromString(ID)));
+    }
+
+    @Test
+    public void userList_seedsCache() {
+        cache.putUsers(Collections.singletonList(
+                new UserApiModel(ID, "Ada", "Lovelace", "ada@example.com", Collections.singletonList("Student"))));
+
+        UserResponse user = cache.getUser(UUID.fromString(ID));
+        assertEquals("Ada", user.getFirstName());
+        assertEquals("Student", user.getRoles().get(0));
+    }
+
+    @Test
+    public void tutorList_resolvesUserNames() {
+        cache.putTutors(Collections.singletonList(
+                new TutorProfileResponse(ID, "Alan", "Turing", "alan@example.com", null)));
+
+        UserResponse user = cache.getUser(UUID.fromString(ID));
+        assertEquals("Alan", user.getFirstName());
+        assertEquals("Turing", user.getLastName());
+        assertEquals("Alan", cache.getTutor(UUID.fromString(ID)).getFirstName());
+    }
+
+    @Test
+    public void invalidate_dropsUserAndTutor() {
+        cache.putTutor(new TutorProfileResponse(ID, "Alan", "Turing", "alan@example.com", null));
+        cache.putUser(new UserResponse(UUID.fromString(ID), "Alan", "Turing", null, null));
+
+        cache.invalidate(UUID.fromString(ID));
+
+        assertNull(cache.getUser(UUID.fromString(ID)));
+        assertNull(cache.getTutor(UUID.fromString(ID)));
+    }
+}
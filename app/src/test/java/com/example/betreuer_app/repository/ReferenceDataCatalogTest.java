@@ -0,0 +1,31 @@
+package com.example.betreuer_app.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ReferenceDataCatalogTest {
+
+    @Test
+    public void versionOf_isStableForSameJson() {
+        String json = "[{\"id\":\"1\",\"name\":\"Offen\"}]";
+
+        assertEquals(ReferenceDataCatalog.versionOf(json), ReferenceDataCatalog.versionOf(json));
+    }
+
+    @Test
+    public void versionOf_changesWithContent() {
+        assertNotEquals(ReferenceDataCatalog.versionOf("[{\"name\":\"Offen\"}]"),
+                ReferenceDataCatalog.versionOf("[{\"name\":\"Geschlossen\"}]"));
+    }
+
+    @Test
+    public void isCurrentFormat_acceptsOwnVersionsOnly() {
+        assertTrue(ReferenceDataCatalog.isCurrentFormat(ReferenceDataCatalog.versionOf("[]")));
+        assertFalse(ReferenceDataCatalog.isCurrentFormat("0:abc"));
+        assertFalse(ReferenceDataCatalog.isCurrentFormat(null));
+    }
+}
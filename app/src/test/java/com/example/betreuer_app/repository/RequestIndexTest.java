@@ -0,0 +1,102 @@
+package com.example.betreuer_app.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.example.betreuer_app.model.ThesisApiModel;
+import com.example.betreuer_app.model.ThesisRequestResponse;
+import com.google.gson.Gson;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+public class RequestIndexTest {
+
+    private static final UUID THESIS_A = UUID.randomUUID();
+    private static final UUID THESIS_B = UUID.randomUUID();
+
+    private final Gson gson = new Gson();
+    private final RequestIndex index = new RequestIndex();
+
+    @Test
+    public void getRequests_findsByThesisAndType() {
+        ThesisRequestResponse supervision = request(THESIS_A, "SUPERVISION", "PENDING");
+        ThesisRequestResponse coSupervision = request(THESIS_A, "CO_SUPERVISION", "PENDING");
+        ThesisRequestResponse other = request(THESIS_B, "SUPERVISION", "ACCEPTED");
+
+        index.putRequests(Arrays.asList(supervision, coSupervision, other));
+
+        List<ThesisRequestResponse> found = index.getRequests(THESIS_A, "SUPERVISION");
+        assertEquals(1, found.size());
+        assertEquals(supervision.getId(), found.get(0).getId());
+        assertTrue(index.getRequests(UUID.randomUUID(), "SUPERVISION").isEmpty());
+    }
+
+    @Test
+    public void putRequests_replacesEarlierCopyOfRequest() {
+        ThesisRequestResponse pending = request(THESIS_A, "SUPERVISION", "PENDING");
+        index.putRequests(Collections.singletonList(pending));
+
+        ThesisRequestResponse accepted = gson.fromJson(gson.toJson(pending), ThesisRequestResponse.class);
+        accepted.setStatus("ACCEPTED");
+        index.putRequests(Collections.singletonList(accepted));
+
+        List<ThesisRequestResponse> found = index.getRequests(THESIS_A, "SUPERVISION");
+        assertEquals(1, found.size());
+        assertEquals("ACCEPTED", found.get(0).getStatus());
+    }
+
+    @Test
+    public void replaceRequests_dropsRequestsNoLongerOnServerAndCountsAsComplete() {
+        index.putRequests(Collections.singletonList(request(THESIS_A, "SUPERVISION", "PENDING")));
+        assertFalse(index.hasAllRequests(60_000));
+
+        index.replaceRequests(Collections.singletonList(request(THESIS_B, "SUPERVISION", "PENDING")));
+
+        assertTrue(index.getRequests(THESIS_A, "SUPERVISION").isEmpty());
+        assertEquals(1, index.getRequests(THESIS_B, "SUPERVISION").size());
+        assertTrue(index.hasAllRequests(60_000));
+    }
+
+    @Test
+    public void getThesisByTitle_ignoresSurroundingWhitespaceAndFollowsRenames() {
+        ThesisApiModel thesis = thesis(THESIS_A, "Machine Learning");
+        index.putTheses(Collections.singletonList(thesis));
+
+        assertEquals(THESIS_A, index.getThesisByTitle("  Machine Learning ").getId());
+        assertNull(index.getThesisByTitle("machine learning"));
+
+        index.putTheses(Collections.singletonList(thesis(THESIS_A, "Deep Learning")));
+
+        assertNull(index.getThesisByTitle("Machine Learning"));
+        assertEquals(THESIS_A, index.getThesisByTitle("Deep Learning").getId());
+    }
+
+    @Test
+    public void clear_forgetsEverything() {
+        index.replaceRequests(Collections.singletonList(request(THESIS_A, "SUPERVISION", "PENDING")));
+        index.replaceTheses(Collections.singletonList(thesis(THESIS_A, "Title")));
+
+        index.clear();
+
+        assertTrue(index.getRequests(THESIS_A, "SUPERVISION").isEmpty());
+        assertNull(index.getThesis(THESIS_A));
+        assertFalse(index.hasAllRequests(60_000));
+        assertFalse(index.hasAllTheses(60_000));
+    }
+
+    private ThesisRequestResponse request(UUID thesisId, String type, String status) {
+        return gson.fromJson("{\"id\":\"" + UUID.randomUUID() + "\",\"thesisId\":\"" + thesisId
+                + "\",\"requestType\":\"" + type + "\",\"status\":\"" + status + "\"}", ThesisRequestResponse.class);
+    }
+
+    private ThesisApiModel thesis(UUID id, String title) {
+        return gson.fromJson("{\"id\":\"" + id + "\",\"title\":\"" + title + "\"}", ThesisApiModel.class);
+    }
+}
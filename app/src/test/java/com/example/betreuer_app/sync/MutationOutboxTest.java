@@ -0,0 +1,315 @@
+package com.example.betreuer_app.sync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.Looper;
+
+import androidx.lifecycle.LiveData;
+
+import com.example.betreuer_app.constants.RequestStatuses;
+import com.example.betreuer_app.local.EntityStore;
+import com.example.betreuer_app.model.CreateThesisRequestRequest;
+import com.example.betreuer_app.model.ModelTypeAdapterFactory;
+import com.example.betreuer_app.model.ThesisApiModel;
+import com.example.betreuer_app.model.ThesisRequestResponse;
+import com.google.gson.Gson;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24, manifest = Config.NONE)
+public class MutationOutboxTest {
+
+    private final MockWebServer server = new MockWebServer();
+    // Holds the store's I/O thread, so nothing is sent until the test enqueued everything
+    private final CountDownLatch offline = new CountDownLatch(1);
+    private EntityStore entityStore;
+    private MutationOutbox outbox;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Before
+    public void setUp() throws IOException {
+        server.start();
+        Retrofit retrofit = new Retrofit.Builder()
+                .baseUrl(server.url("/"))
+                .addConverterFactory(GsonConverterFactory.create(ModelTypeAdapterFactory.gson()))
+                .build();
+        EntityStore.getIoExecutor().execute(() -> {
+            try {
+                offline.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Context context = RuntimeEnvironment.getApplication();
+        entityStore = new EntityStore(context);
+        outbox = new MutationOutbox(context, entityStore, retrofit::create);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        offline.countDown();
+        server.shutdown();
+    }
+
+    @Test
+    public void backoff_doublesPerAttempt() {
+        assertEquals(MutationOutbox.INITIAL_BACKOFF_MILLIS, MutationOutbox.backoffMillis(1));
+        assertEquals(2 * MutationOutbox.INITIAL_BACKOFF_MILLIS, MutationOutbox.backoffMillis(2));
+        assertEquals(4 * MutationOutbox.INITIAL_BACKOFF_MILLIS, MutationOutbox.backoffMillis(3));
+    }
+
+    @Test
+    public void backoff_isCapped() {
+        assertEquals(MutationOutbox.MAX_BACKOFF_MILLIS, MutationOutbox.backoffMillis(12));
+        assertEquals(MutationOutbox.MAX_BACKOFF_MILLIS, MutationOutbox.backoffMillis(1000));
+    }
+
+    @Test
+    public void transientErrors_areRetried() {
+        assertTrue(MutationOutbox.isRetryable(500));
+        assertTrue(MutationOutbox.isRetryable(503));
+        assertTrue(MutationOutbox.isRetryable(408));
+        assertTrue(MutationOutbox.isRetryable(429));
+        assertTrue(MutationOutbox.isRetryable(401));
+    }
+
+    @Test
+    public void conflicts_areNotRetried() {
+        assertFalse(MutationOutbox.isRetryable(400));
+        assertFalse(MutationOutbox.isRetryable(403));
+        assertFalse(MutationOutbox.isRetryable(404));
+        assertFalse(MutationOutbox.isRetryable(409));
+    }
+
+    @Test
+    public void applyPending_changesCopyAndKeepsServerThesisAfterFailure() {
+        ThesisApiModel server = new ThesisApiModel();
+        server.setStatus("IN_DISCUSSION");
+        List<Mutation> queued = Collections.singletonList(Mutation.updateThesisStatus(server.getId().toString(), "REGISTERED"));
+
+        ThesisApiModel shown = MutationOutbox.applyPending(server, queued);
+
+        assertNotSame(server, shown);
+        assertEquals("REGISTERED", shown.getStatus());
+        assertEquals("IN_DISCUSSION", server.getStatus());
+
+        // The server rejected the change (FAILED), so it left the queue
+        ThesisApiModel afterFailure = MutationOutbox.applyPending(server, Collections.emptyList());
+
+        assertSame(server, afterFailure);
+        assertEquals("IN_DISCUSSION", afterFailure.getStatus());
+    }
+
+    @Test
+    public void applyPending_changesCopyOfRequest() {
+        ThesisRequestResponse server = new Gson().fromJson(
+                "{\"id\":\"1b9d6bcd-bbfd-4b2d-9b5d-ab8dfbbd4bed\",\"status\":\"PENDING\"}", ThesisRequestResponse.class);
+        List<Mutation> queued = Collections.singletonList(Mutation.respondToRequest(server.getId(), true, null));
+
+        ThesisRequestResponse shown = MutationOutbox.applyPending(server, queued);
+
+        assertEquals(RequestStatuses.ACCEPTED, shown.getStatus());
+        assertEquals("PENDING", server.getStatus());
+        assertSame(server, MutationOutbox.applyPending(server, Collections.emptyList()));
+    }
+
+    @Test
+    public void statusSteps_areAllSentInOrder() throws Exception {
+        String thesisId = UUID.randomUUID().toString();
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse().setBody("{}"));
+
+        LiveData<MutationResult> registered = outbox.enqueue(Mutation.updateThesisStatus(thesisId, "REGISTERED"));
+        LiveData<MutationResult> submitted = outbox.enqueue(Mutation.updateThesisStatus(thesisId, "SUBMITTED"));
+        offline.countDown();
+        awaitState(submitted, MutationResult.State.SUCCEEDED);
+
+        assertEquals(MutationResult.State.SUCCEEDED, registered.getValue().getState());
+        assertRequest("PATCH", "/theses/" + thesisId + "/status", "{\"status\":\"REGISTERED\"}");
+        assertRequest("PATCH", "/theses/" + thesisId + "/status", "{\"status\":\"SUBMITTED\"}");
+    }
+
+    @Test
+    public void drain_sendsInInsertionOrder() throws Exception {
+        UUID thesisId = UUID.randomUUID();
+        UUID requestId = UUID.randomUUID();
+        server.enqueue(new MockResponse().setBody("{}"));
+        server.enqueue(new MockResponse());
+        server.enqueue(new MockResponse());
+
+        outbox.enqueue(Mutation.createRequest(new CreateThesisRequestRequest(thesisId, UUID.randomUUID(),
+                "SUPERVISION", "Hallo", null, null)));
+        outbox.enqueue(Mutation.respondToRequest(requestId, true, null));
+        LiveData<MutationResult> last = outbox.enqueue(Mutation.deleteRequest(UUID.randomUUID()));
+        offline.countDown();
+        awaitState(last, MutationResult.State.SUCCEEDED);
+
+        assertRequest("POST", "/thesis-requests", null);
+        assertRequest("POST", "/thesis-requests/" + requestId + "/respond", null);
+        assertEquals("DELETE", server.takeRequest().getMethod());
+    }
+
+    @Test
+    public void enqueue_replacesUnsentMutationWithSameCoalesceKey() throws Exception {
+        UUID requestId = UUID.randomUUID();
+        server.enqueue(new MockResponse());
+
+        LiveData<MutationResult> accept = outbox.enqueue(Mutation.respondToRequest(requestId, true, null));
+        LiveData<MutationResult> delete = outbox.enqueue(Mutation.deleteRequest(requestId));
+        offline.countDown();
+        awaitState(delete, MutationResult.State.SUCCEEDED);
+
+        assertEquals(MutationResult.State.SUPERSEDED, accept.getValue().getState());
+        assertEquals(1, server.getRequestCount());
+        assertRequest("DELETE", "/thesis-requests/" + requestId, null);
+    }
+
+    @Test
+    public void conflict_isReportedAndQueueMovesOn() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(409).setBody("already answered"));
+        server.enqueue(new MockResponse());
+
+        outbox.enqueue(Mutation.respondToRequest(UUID.randomUUID(), true, null));
+        LiveData<MutationResult> next = outbox.enqueue(Mutation.deleteRequest(UUID.randomUUID()));
+        offline.countDown();
+        awaitState(next, MutationResult.State.SUCCEEDED);
+
+        MutationResult failure = outbox.getFailures().getValue();
+        assertEquals(MutationResult.State.FAILED, failure.getState());
+        assertEquals(Mutation.Type.RESPOND_TO_REQUEST, failure.getType());
+        assertEquals(409, failure.getCode());
+        assertEquals("already answered", failure.getMessage());
+    }
+
+    @Test
+    public void serverErrors_giveUpAfterMaxRejectionsAndQueueMovesOn() throws Exception {
+        for (int i = 0; i < MutationOutbox.MAX_REJECTIONS; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+        }
+        server.enqueue(new MockResponse());
+
+        outbox.enqueue(Mutation.respondToRequest(UUID.randomUUID(), true, null));
+        LiveData<MutationResult> next = outbox.enqueue(Mutation.deleteRequest(UUID.randomUUID()));
+        offline.countDown();
+        await(() -> {
+            // Skips the backoff between the attempts
+            outbox.retryNow();
+            return next.getValue().getState() == MutationResult.State.SUCCEEDED;
+        });
+
+        MutationResult failure = outbox.getFailures().getValue();
+        assertEquals(Mutation.Type.RESPOND_TO_REQUEST, failure.getType());
+        assertEquals(500, failure.getCode());
+        assertEquals(MutationOutbox.MAX_REJECTIONS + 1, server.getRequestCount());
+    }
+
+    @Test
+    public void upload_retriesAfterServerErrorAndStoresDocumentId() throws Exception {
+        ThesisApiModel thesis = new ThesisApiModel();
+        entityStore.put(EntityStore.TYPE_THESIS, thesis.getId(), thesis);
+        byte[] content = new byte[200 * 1024];
+        File document = folder.newFile("Expose.pdf");
+        try (OutputStream out = new FileOutputStream(document)) {
+            out.write(content);
+        }
+        UUID documentId = UUID.randomUUID();
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setBody(
+                "{\"id\":\"" + documentId + "\",\"fileName\":\"Expose.pdf\",\"thesisId\":\"" + thesis.getId() + "\"}"));
+
+        LiveData<MutationResult> upload = outbox.enqueue(Mutation.uploadThesisDocument(thesis.getId().toString(),
+                Uri.fromFile(document).toString(), "Expose.pdf", "application/pdf"));
+        List<MutationResult> states = new ArrayList<>();
+        upload.observeForever(states::add);
+        offline.countDown();
+        awaitState(upload, MutationResult.State.RETRYING);
+        assertEquals(503, upload.getValue().getCode());
+        outbox.retryNow();
+        awaitState(upload, MutationResult.State.SUCCEEDED);
+
+        MutationResult lastProgress = null;
+        for (MutationResult state : states) {
+            if (state.getState() == MutationResult.State.SENDING) {
+                lastProgress = state;
+            }
+        }
+        assertNotNull(lastProgress);
+        assertEquals(content.length, lastProgress.getBytesSent());
+        assertEquals(2, server.getRequestCount());
+        for (int i = 0; i < 2; i++) {
+            RecordedRequest request = server.takeRequest();
+            assertEquals("PUT", request.getMethod());
+            assertEquals("/theses/" + thesis.getId() + "/document", request.getPath());
+            // The whole document is sent again after the failed attempt
+            assertTrue(request.getBodySize() > content.length);
+        }
+        await(() -> {
+            ThesisApiModel stored = entityStore.get(EntityStore.TYPE_THESIS, thesis.getId(), ThesisApiModel.class);
+            return stored != null && documentId.equals(stored.getDocumentId());
+        });
+    }
+
+    private void assertRequest(String method, String path, String body) throws InterruptedException {
+        RecordedRequest request = server.takeRequest();
+        assertEquals(method, request.getMethod());
+        assertEquals(path, request.getPath());
+        if (body != null) {
+            assertEquals(body, request.getBody().readUtf8());
+        }
+    }
+
+    private static void awaitState(LiveData<MutationResult> result, MutationResult.State state) throws InterruptedException {
+        await(() -> result.getValue() != null && result.getValue().getState() == state);
+    }
+
+    /**
+     * Runs the results the outbox posted to the main thread until {@code condition} holds.
+     */
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (true) {
+            shadowOf(Looper.getMainLooper()).idle();
+            if (condition.getAsBoolean()) {
+                return;
+            }
+            assertTrue("Timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
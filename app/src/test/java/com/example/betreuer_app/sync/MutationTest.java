@@ -0,0 +1,34 @@
+package com.example.betreuer_app.sync;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+public class MutationTest {
+
+    @Test
+    public void uploadThesisDocument_keepsDocumentAcrossStore() {
+        Mutation upload = Mutation.uploadThesisDocument("thesis-1", "content://documents/42", "Expose.pdf", "application/pdf");
+
+        Mutation restored = Mutation.fromEntry(upload.toEntry());
+
+        assertEquals(Mutation.Type.UPLOAD_THESIS_DOCUMENT, restored.getType());
+        assertEquals("thesis-1", restored.getEntityId());
+        Mutation.DocumentPayload document = restored.payloadAs(Mutation.DocumentPayload.class);
+        assertEquals("content://documents/42", document.uri);
+        assertEquals("Expose.pdf", document.fileName);
+        assertEquals("application/pdf", document.mimeType);
+    }
+
+    @Test
+    public void uploadThesisDocument_newerUploadOfSameThesisReplacesOlder() {
+        Mutation first = Mutation.uploadThesisDocument("thesis-1", "content://documents/1", "a.pdf", "application/pdf");
+        Mutation second = Mutation.uploadThesisDocument("thesis-1", "content://documents/2", "b.pdf", "application/pdf");
+        Mutation other = Mutation.uploadThesisDocument("thesis-2", "content://documents/3", "c.pdf", "application/pdf");
+
+        assertEquals(first.getCoalesceKey(), second.getCoalesceKey());
+        assertNotEquals(first.getCoalesceKey(), other.getCoalesceKey());
+        assertNotEquals(first.getCoalesceKey(), Mutation.updateThesisStatus("thesis-1", "IN_PROGRESS").getCoalesceKey());
+    }
+}
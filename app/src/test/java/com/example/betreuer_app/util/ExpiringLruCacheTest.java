@@ -0,0 +1,57 @@
+package com.example.betreuer_app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class ExpiringLruCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+
+    @Test
+    public void get_returnsStoredValue() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(2, 100, now::get);
+        cache.put("a", "A");
+
+        assertEquals("A", cache.get("a"));
+        assertNull(cache.get("b"));
+    }
+
+    @Test
+    public void get_dropsExpiredValue() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(2, 100, now::get);
+        cache.put("a", "A");
+
+        now.addAndGet(100);
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void put_evictsLeastRecentlyUsed() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(2, 100, now::get);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.get("a");
+
+        cache.put("c", "C");
+
+        assertEquals("A", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("C", cache.get("c"));
+    }
+
+    @Test
+    public void remove_invalidatesEntry() {
+        ExpiringLruCache<String, String> cache = new ExpiringLruCache<>(2, 100, now::get);
+        cache.put("a", "A");
+
+        cache.remove("a");
+
+        assertNull(cache.get("a"));
+    }
+}
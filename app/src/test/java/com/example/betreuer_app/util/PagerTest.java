@@ -0,0 +1,267 @@
+package com.example.betreuer_app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.MutableLiveData;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24, manifest = Config.NONE)
+public class PagerTest {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int TOTAL = 45;
+
+    private final List<Integer> requested = new ArrayList<>();
+    private final Map<Integer, MutableLiveData<Resource<FakePage>>> sources = new HashMap<>();
+
+    private final Pager<FakePage, String> pager = new Pager<>((page, pageSize) -> {
+        MutableLiveData<Resource<FakePage>> data = new MutableLiveData<>();
+        requested.add(page);
+        sources.put(page, data);
+        return data;
+    }, page -> page.items, page -> page.totalCount, PAGE_SIZE, 5, 3);
+
+    @Test
+    public void start_loadsFirstPageWithPlaceholdersForTheRest() {
+        pager.start();
+        assertEquals(Collections.singletonList(1), requested);
+
+        answer(1);
+
+        Pager.Snapshot<String> snapshot = pager.getSnapshot().getValue();
+        assertEquals(TOTAL, snapshot.size());
+        assertEquals("item-0", snapshot.get(0));
+        assertEquals("item-9", snapshot.get(9));
+        assertNull(snapshot.get(10));
+    }
+
+    @Test
+    public void start_showsStoredPageBeforeFreshOne() {
+        pager.start();
+        sources.get(1).setValue(Resource.loading(page(1, "stored")));
+
+        assertEquals("stored-0", pager.getSnapshot().getValue().get(0));
+
+        answer(1);
+        assertEquals("item-0", pager.getSnapshot().getValue().get(0));
+    }
+
+    @Test
+    public void onVisibleRange_prefetchesNextPageOnce() {
+        pager.start();
+        answer(1);
+
+        pager.onVisibleRange(0, 3);
+        assertEquals(Collections.singletonList(1), requested);
+
+        pager.onVisibleRange(0, 5);
+        pager.onVisibleRange(1, 6);
+        assertEquals(Arrays.asList(1, 2), requested);
+    }
+
+    @Test
+    public void onVisibleRange_stopsAtLastPage() {
+        pager.start();
+        answer(1);
+
+        pager.onVisibleRange(40, 44);
+
+        assertEquals(Arrays.asList(1, 4, 5), requested);
+    }
+
+    @Test
+    public void onVisibleRange_dropsFarPagesAndReloadsThemOnScrollingBack() {
+        pager.start();
+        answer(1);
+        for (int first = 5; first <= 35; first += 10) {
+            pager.onVisibleRange(first, first + 4);
+            answerPending();
+        }
+
+        Pager.Snapshot<String> snapshot = pager.getSnapshot().getValue();
+        assertNull(snapshot.get(0));
+        assertEquals("item-40", snapshot.get(40));
+
+        requested.clear();
+        pager.onVisibleRange(0, 4);
+        assertEquals(Collections.singletonList(1), requested);
+    }
+
+    @Test
+    public void onVisibleRange_doesNotRetryFailedPageUntilRefresh() {
+        pager.start();
+        answer(1);
+        pager.onVisibleRange(6, 9);
+        sources.get(2).setValue(Resource.error("offline", null));
+        assertTrue(pager.getLoadState().getValue().isError());
+
+        pager.onVisibleRange(7, 10);
+        assertEquals(Arrays.asList(1, 2), requested);
+
+        pager.refresh();
+        assertEquals(Arrays.asList(1, 2, 1), requested);
+        assertEquals(0, pager.getSnapshot().getValue().size());
+    }
+
+    @Test
+    public void retry_recoversFromFailedFirstPage() {
+        pager.start();
+        sources.get(1).setValue(Resource.error("offline", null));
+        assertTrue(pager.getLoadState().getValue().isError());
+
+        // An empty list reports no visible rows, so scrolling cannot ask again
+        pager.onVisibleRange(-1, -1);
+        assertEquals(Collections.singletonList(1), requested);
+
+        pager.retry();
+        assertEquals(Arrays.asList(1, 1), requested);
+
+        answer(1);
+        assertEquals(TOTAL, pager.getSnapshot().getValue().size());
+        assertEquals("item-0", pager.getSnapshot().getValue().get(0));
+    }
+
+    @Test
+    public void cancel_ignoresLateAnswers() {
+        pager.start();
+        MutableLiveData<Resource<FakePage>> first = sources.get(1);
+
+        pager.cancel();
+        first.setValue(Resource.success(page(1, "item")));
+
+        assertEquals(0, pager.getSnapshot().getValue().size());
+    }
+
+    @Test
+    public void dispatchUpdatesTo_notifiesOnlyChangedRanges() {
+        RecordingAdapter adapter = new RecordingAdapter();
+        pager.start();
+        Pager.Snapshot<String> empty = pager.getSnapshot().getValue();
+        answer(1);
+        Pager.Snapshot<String> firstPage = pager.getSnapshot().getValue();
+        firstPage.dispatchUpdatesTo(empty, adapter, null);
+        assertEquals(Collections.singletonList("inserted 0+45"), adapter.events);
+
+        adapter.events.clear();
+        pager.onVisibleRange(6, 9);
+        answer(2);
+        pager.getSnapshot().getValue().dispatchUpdatesTo(firstPage, adapter, null);
+        assertEquals(Collections.singletonList("changed 10+10"), adapter.events);
+    }
+
+    @Test
+    public void dispatchUpdatesTo_skipsRowsThatDidNotChangeOnReload() {
+        RecordingAdapter adapter = new RecordingAdapter();
+        pager.start();
+        sources.get(1).setValue(Resource.loading(page(1, "item")));
+        Pager.Snapshot<String> stored = pager.getSnapshot().getValue();
+
+        List<String> fresh = new ArrayList<>(page(1, "item").items);
+        fresh.set(3, "changed-3");
+        fresh.set(4, "changed-4");
+        sources.get(1).setValue(Resource.success(new FakePage(fresh, TOTAL)));
+        pager.getSnapshot().getValue().dispatchUpdatesTo(stored, adapter, new DiffUtil.ItemCallback<String>() {
+            @Override
+            public boolean areItemsTheSame(@NonNull String oldItem, @NonNull String newItem) {
+                return oldItem.substring(oldItem.indexOf('-')).equals(newItem.substring(newItem.indexOf('-')));
+            }
+
+            @Override
+            public boolean areContentsTheSame(@NonNull String oldItem, @NonNull String newItem) {
+                return oldItem.equals(newItem);
+            }
+        });
+
+        assertEquals(Collections.singletonList("changed 3+2"), adapter.events);
+    }
+
+    private void answer(int page) {
+        sources.get(page).setValue(Resource.success(page(page, "item")));
+    }
+
+    private void answerPending() {
+        for (Map.Entry<Integer, MutableLiveData<Resource<FakePage>>> entry : new HashMap<>(sources).entrySet()) {
+            if (entry.getValue().getValue() == null) {
+                answer(entry.getKey());
+            }
+        }
+    }
+
+    private static FakePage page(int page, String prefix) {
+        List<String> items = new ArrayList<>();
+        int start = (page - 1) * PAGE_SIZE;
+        for (int i = start; i < Math.min(start + PAGE_SIZE, TOTAL); i++) {
+            items.add(prefix + "-" + i);
+        }
+        return new FakePage(items, TOTAL);
+    }
+
+    private static final class FakePage {
+        final List<String> items;
+        final int totalCount;
+
+        FakePage(List<String> items, int totalCount) {
+            this.items = items;
+            this.totalCount = totalCount;
+        }
+    }
+
+    private static final class RecordingAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+        final List<String> events = new ArrayList<>();
+
+        RecordingAdapter() {
+            registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+                @Override
+                public void onItemRangeInserted(int positionStart, int itemCount) {
+                    events.add("inserted " + positionStart + "+" + itemCount);
+                }
+
+                @Override
+                public void onItemRangeRemoved(int positionStart, int itemCount) {
+                    events.add("removed " + positionStart + "+" + itemCount);
+                }
+
+                @Override
+                public void onItemRangeChanged(int positionStart, int itemCount) {
+                    events.add("changed " + positionStart + "+" + itemCount);
+                }
+            });
+        }
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            return new RecyclerView.ViewHolder(new View(parent.getContext())) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        }
+
+        @Override
+        public int getItemCount() {
+            return 0;
+        }
+    }
+}
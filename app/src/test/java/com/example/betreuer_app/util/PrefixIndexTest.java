@@ -0,0 +1,66 @@
+package com.example.betreuer_app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+public class PrefixIndexTest {
+
+    private static final List<String> AREAS = Arrays.asList(
+            "Informatik",
+            "Angewandte Informatik",
+            "Übersetzungswissenschaft",
+            "Straßenbau",
+            "Wirtschaftsinformatik");
+
+    private final PrefixIndex<String> index = PrefixIndex.build(AREAS, Function.identity());
+
+    @Test
+    public void search_matchesWordStartsInSourceOrder() {
+        assertEquals(Arrays.asList("Informatik", "Angewandte Informatik"), index.search("info", 10));
+    }
+
+    @Test
+    public void search_ignoresCaseAndDiacritics() {
+        assertEquals(Collections.singletonList("Übersetzungswissenschaft"), index.search("UBERS", 10));
+        assertEquals(Collections.singletonList("Straßenbau"), index.search("strassen", 10));
+    }
+
+    @Test
+    public void search_doesNotMatchInsideWords() {
+        assertTrue(index.search("matik", 10).isEmpty());
+    }
+
+    @Test
+    public void search_returnsEachItemOnce() {
+        PrefixIndex<String> repeated = PrefixIndex.build(
+                Collections.singletonList("Bau und Bauwesen"), Function.identity());
+
+        assertEquals(1, repeated.search("bau", 10).size());
+    }
+
+    @Test
+    public void search_respectsLimit() {
+        assertEquals(Collections.singletonList("Informatik"), index.search("inf", 1));
+    }
+
+    @Test
+    public void search_emptyQueryReturnsFirstItems() {
+        assertEquals(AREAS.subList(0, 2), index.search("", 2));
+    }
+
+    @Test
+    public void build_skipsItemsWithoutLabel() {
+        PrefixIndex<String> partial = PrefixIndex.build(Arrays.asList("Chemie", "Physik"),
+                s -> s.startsWith("C") ? s : null);
+
+        assertEquals(Collections.singletonList("Chemie"), partial.search("ch", 10));
+        assertTrue(partial.search("ph", 10).isEmpty());
+    }
+}
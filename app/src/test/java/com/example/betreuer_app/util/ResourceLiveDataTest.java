@@ -0,0 +1,48 @@
+package com.example.betreuer_app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.lifecycle.MutableLiveData;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24, manifest = Config.NONE)
+public class ResourceLiveDataTest {
+
+    private final MutableLiveData<Resource<String>> source = new MutableLiveData<>(Resource.loading(null));
+    private final List<Resource<String>> received = new ArrayList<>();
+
+    @Test
+    public void whenReady_handsOverFirstFinishedValueOnce() {
+        ResourceLiveData.whenReady(source, received::add);
+
+        source.setValue(Resource.loading("stored"));
+        source.setValue(Resource.success("fresh"));
+        source.setValue(Resource.success("again"));
+
+        assertEquals(1, received.size());
+        assertEquals("fresh", received.get(0).getData());
+        assertFalse(source.hasObservers());
+    }
+
+    @Test
+    public void whenReady_stopsObservingWhenStopped() {
+        Runnable stop = ResourceLiveData.whenReady(source, received::add);
+        assertTrue(source.hasObservers());
+
+        stop.run();
+        source.setValue(Resource.success("fresh"));
+
+        assertTrue(received.isEmpty());
+        assertFalse(source.hasObservers());
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.betreuer_app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Looper;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import retrofit2.Call;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24, manifest = Config.NONE)
+public class SearchPipelineTest {
+
+    private final List<String> queries = new ArrayList<>();
+    private final List<Consumer<Resource<String>>> callbacks = new ArrayList<>();
+    private final List<Call<?>> calls = new ArrayList<>();
+
+    private final SearchPipeline<String, String> pipeline = new SearchPipeline<>(300, (query, callback) -> {
+        Call<?> call = mock(Call.class);
+        queries.add(query);
+        callbacks.add(callback);
+        calls.add(call);
+        return call;
+    });
+
+    @Test
+    public void submit_onlyRunsLastQueryAfterDebounce() {
+        pipeline.submit("a");
+        pipeline.submit("ab");
+        pipeline.submit("abc");
+        assertTrue(queries.isEmpty());
+
+        idle(300);
+
+        assertEquals(Collections.singletonList("abc"), queries);
+    }
+
+    @Test
+    public void submit_ignoresUnchangedQuery() {
+        pipeline.submitNow("abc");
+        pipeline.submit("abc");
+        idle(300);
+
+        assertEquals(Collections.singletonList("abc"), queries);
+    }
+
+    @Test
+    public void newQuery_cancelsSupersededCall() {
+        pipeline.submitNow("a");
+        pipeline.submitNow("b");
+
+        verify(calls.get(0)).cancel();
+        verify(calls.get(1), never()).cancel();
+    }
+
+    @Test
+    public void lateAnswerOfOlderQuery_isDropped() {
+        pipeline.submitNow("a");
+        pipeline.submitNow("b");
+
+        callbacks.get(1).accept(Resource.success("B"));
+        callbacks.get(0).accept(Resource.success("A"));
+
+        assertEquals("B", pipeline.getResults().getValue().getData());
+    }
+
+    @Test
+    public void loading_keepsPreviousResults() {
+        pipeline.submitNow("a");
+        callbacks.get(0).accept(Resource.success("A"));
+
+        pipeline.submitNow("b");
+
+        Resource<String> value = pipeline.getResults().getValue();
+        assertTrue(value.isLoading());
+        assertEquals("A", value.getData());
+    }
+
+    @Test
+    public void answeredCall_isNotCancelledLater() {
+        pipeline.submitNow("a");
+        callbacks.get(0).accept(Resource.success("A"));
+
+        pipeline.submitNow("b");
+
+        verify(calls.get(0), never()).cancel();
+    }
+
+    private static void idle(long millis) {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(millis));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.betreuer_app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 24, manifest = Config.NONE)
+public class SessionManagerTest {
+
+    private SessionManager sessionManager;
+
+    @Before
+    public void setUp() {
+        sessionManager = new SessionManager(RuntimeEnvironment.getApplication());
+        sessionManager.saveUserSession("abc", "user-1", "ada@example.com", "STUDENT");
+    }
+
+    @After
+    public void tearDown() {
+        SessionTokenCache.clear();
+    }
+
+    @Test
+    public void expireSession_logsOutButKeepsUser() {
+        sessionManager.expireSession();
+
+        assertFalse(sessionManager.isLoggedIn());
+        assertNull(sessionManager.getToken());
+        assertNull(SessionTokenCache.getToken(null));
+        assertEquals("user-1", sessionManager.getUserId());
+
+        sessionManager.saveUserSession("def", "user-1", "ada@example.com", "STUDENT");
+        assertTrue(sessionManager.isLoggedIn());
+        assertEquals("def", sessionManager.getToken());
+    }
+
+    @Test
+    public void clearSession_forgetsUser() {
+        sessionManager.clearSession();
+
+        assertFalse(sessionManager.isLoggedIn());
+        assertNull(sessionManager.getUserId());
+    }
+}
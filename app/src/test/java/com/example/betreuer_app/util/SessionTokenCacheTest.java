@@ -0,0 +1,44 @@
+package com.example.betreuer_app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class SessionTokenCacheTest {
+
+    @After
+    public void tearDown() {
+        SessionTokenCache.clear();
+    }
+
+    @Test
+    public void update_precomputesBearerHeader() {
+        SessionTokenCache.update("abc");
+
+        assertEquals("abc", SessionTokenCache.getToken(null));
+        assertEquals("Bearer abc", SessionTokenCache.getAuthorizationHeader(null));
+    }
+
+    @Test
+    public void header_isReusedUntilTokenChanges() {
+        SessionTokenCache.update("abc");
+        String first = SessionTokenCache.getAuthorizationHeader(null);
+
+        assertSame(first, SessionTokenCache.getAuthorizationHeader(null));
+
+        SessionTokenCache.update("def");
+        assertEquals("Bearer def", SessionTokenCache.getAuthorizationHeader(null));
+    }
+
+    @Test
+    public void clear_removesToken() {
+        SessionTokenCache.update("abc");
+        SessionTokenCache.clear();
+
+        assertNull(SessionTokenCache.getToken(null));
+        assertNull(SessionTokenCache.getAuthorizationHeader(null));
+    }
+}
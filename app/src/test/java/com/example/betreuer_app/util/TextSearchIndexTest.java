@@ -0,0 +1,92 @@
+package com.example.betreuer_app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class TextSearchIndexTest {
+
+    private static final class Person {
+        final String first;
+        final String last;
+        final String area;
+
+        Person(String first, String last, String area) {
+            this.first = first;
+            this.last = last;
+            this.area = area;
+        }
+
+        @Override
+        public String toString() {
+            return first + " " + last;
+        }
+    }
+
+    private static final Person MUELLER = new Person("Anna", "Müller", "Informatik");
+    private static final Person SCHMIDT = new Person("Jonas", "Schmidt", "Maschinenbau");
+    private static final Person ANNA_SCHMIDT = new Person("Anna", "Schmidt", "Informatik");
+    private static final Person MARTIN = new Person("Martin", "Lehmann", "Mathematik");
+
+    private final TextSearchIndex<Person> index = TextSearchIndex.build(
+            Arrays.asList(MUELLER, SCHMIDT, ANNA_SCHMIDT, MARTIN),
+            (person, fields) -> {
+                fields.add(person.last, 3f);
+                fields.add(person.first, 2f);
+                fields.add(person.area, 1f);
+            });
+
+    @Test
+    public void search_matchesPrefixesIgnoringDiacritics() {
+        assertEquals(Collections.singletonList(MUELLER), index.search("mull", null, 10));
+    }
+
+    @Test
+    public void search_toleratesTypos() {
+        assertEquals(Arrays.asList(SCHMIDT, ANNA_SCHMIDT), index.search("shmidt", null, 10));
+        assertEquals(Collections.singletonList(MARTIN), index.search("lehman", null, 10));
+    }
+
+    @Test
+    public void search_requiresEveryWord() {
+        assertEquals(Collections.singletonList(ANNA_SCHMIDT), index.search("anna schmidt", null, 10));
+    }
+
+    @Test
+    public void search_ranksNameAboveSubjectArea() {
+        List<Person> result = index.search("ma", null, 10);
+
+        // "Martin" is a first name, "Maschinenbau" and "Mathematik" are subject areas
+        assertEquals(MARTIN, result.get(0));
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    public void search_appliesFilter() {
+        assertEquals(Collections.singletonList(ANNA_SCHMIDT),
+                index.search("schmidt", person -> "Informatik".equals(person.area), 10));
+    }
+
+    @Test
+    public void search_emptyQueryReturnsFilteredItemsInOrder() {
+        assertEquals(Arrays.asList(MUELLER, ANNA_SCHMIDT),
+                index.search(" ", person -> "Informatik".equals(person.area), 10));
+    }
+
+    @Test
+    public void search_shortWordsAreNotMatchedFuzzily() {
+        assertTrue(index.search("xyz", null, 10).isEmpty());
+    }
+
+    @Test
+    public void prefixEditDistance_measuresAgainstBestPrefix() {
+        assertEquals(0, TextSearchIndex.prefixEditDistance("schm", "schmidt", 2));
+        assertEquals(1, TextSearchIndex.prefixEditDistance("schn", "schmidt", 2));
+        assertEquals(3, TextSearchIndex.prefixEditDistance("abcd", "schmidt", 2));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.betreuer_app.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import com.example.betreuer_app.R;
+import com.example.betreuer_app.model.ThesisApiModel;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+public class ThesisWorkflowTest {
+
+    @Test
+    public void nextStatus_followsWorkflowAndStopsAtDefended() {
+        assertEquals(ThesisWorkflow.Status.REGISTERED, ThesisWorkflow.Status.IN_DISCUSSION.getNextStatus());
+        assertEquals(ThesisWorkflow.Status.SUBMITTED, ThesisWorkflow.Status.REGISTERED.getNextStatus());
+        assertEquals(ThesisWorkflow.Status.DEFENDED, ThesisWorkflow.Status.SUBMITTED.getNextStatus());
+        assertEquals(ThesisWorkflow.Status.DEFENDED, ThesisWorkflow.Status.DEFENDED.getNextStatus());
+        assertNull(ThesisWorkflow.Status.of("ARCHIVED"));
+        assertNull(ThesisWorkflow.Status.of(null));
+    }
+
+    @Test
+    public void transitions_belongToOneRole() {
+        assertSame(ThesisWorkflow.Transition.REGISTER,
+                ThesisWorkflow.Transition.of(ThesisWorkflow.Role.STUDENT, "IN_DISCUSSION", "REGISTERED"));
+        assertSame(ThesisWorkflow.Transition.DEFEND,
+                ThesisWorkflow.Transition.of(ThesisWorkflow.Role.TUTOR, "SUBMITTED", "DEFENDED"));
+        assertNull(ThesisWorkflow.Transition.of(ThesisWorkflow.Role.TUTOR, "REGISTERED", "SUBMITTED"));
+        assertNull(ThesisWorkflow.Transition.of(ThesisWorkflow.Role.STUDENT, "IN_DISCUSSION", "SUBMITTED"));
+        assertNull(ThesisWorkflow.Transition.of(ThesisWorkflow.Role.OTHER, "SUBMITTED", "DEFENDED"));
+    }
+
+    @Test
+    public void missing_reportsTheUnmetRequirement() {
+        ThesisApiModel thesis = thesis("REGISTERED", UUID.randomUUID(), null, null);
+
+        assertEquals(ThesisWorkflow.Requirement.FILE, ThesisWorkflow.Transition.SUBMIT.missing(thesis));
+        assertTrue(ThesisWorkflow.Transition.SUBMIT.isOffered(true, false));
+
+        thesis.setDocumentFileName("expose.pdf");
+        assertNull(ThesisWorkflow.Transition.SUBMIT.missing(thesis));
+        assertEquals(ThesisWorkflow.Requirement.SECOND_SUPERVISOR, ThesisWorkflow.Transition.DEFEND.missing(thesis));
+        assertFalse(ThesisWorkflow.Transition.DEFEND.isOffered(true, false));
+    }
+
+    @Test
+    public void displayResults_areSharedPerContext() {
+        Context context = mock(Context.class);
+        when(context.getSharedPreferences(anyString(), anyInt())).thenReturn(mock(SharedPreferences.class));
+        when(context.getString(R.string.status_in_coordination)).thenReturn("In Abstimmung");
+        when(context.getString(R.string.status_registered)).thenReturn("Angemeldet");
+        ThesisStatusDisplayLogic logic = new ThesisStatusDisplayLogic();
+        UUID tutorId = UUID.randomUUID();
+
+        ThesisStatusDisplayLogic.DisplayResult first = logic.computeStatusDisplay(
+                context, thesis("IN_DISCUSSION", tutorId, null, null), true, false, true, true);
+        ThesisStatusDisplayLogic.DisplayResult second = logic.computeStatusDisplay(
+                context, thesis("IN_DISCUSSION", tutorId, null, null), true, false, true, true);
+
+        assertSame(first, second);
+        assertEquals("In Abstimmung", first.getAvailableStatuses().get(0).getDisplayName());
+        assertEquals("Angemeldet", first.getAvailableStatuses().get(1).getDisplayName());
+    }
+
+    private static ThesisApiModel thesis(String status, UUID tutorId, UUID secondSupervisorId, String fileName) {
+        ThesisApiModel thesis = new ThesisApiModel();
+        thesis.setId(UUID.randomUUID());
+        thesis.setStatus(status);
+        thesis.setTutorId(tutorId);
+        thesis.setSecondSupervisorId(secondSupervisorId);
+        thesis.setDocumentFileName(fileName);
+        return thesis;
+    }
+}